@@ -41,13 +41,19 @@ import com.itextpdf.pdfocr.onnxtr.exceptions.PdfOcrOnnxTrExceptionMessageConstan
 import com.itextpdf.pdfocr.onnxtr.util.BatchProcessingGenerator;
 import com.itextpdf.pdfocr.onnxtr.util.Batching;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.FloatBuffer;
+import java.util.ArrayDeque;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.BiFunction;
 
 /**
  * Abstract predictor, based on models running over ONNX runtime.
@@ -79,10 +85,62 @@ public abstract class AbstractOnnxPredictor<T, R> implements IPredictor<T, R> {
     private final String inputName;
 
     /**
-     * Close status of the predictor.
+     * Input shape, as declared by the model. -1 entries mean that the dimension is dynamic.
+     */
+    private final long[] modelInputShape;
+
+    /**
+     * Element type of the model input. Either {@link OnnxJavaType#FLOAT} for models, which take normalized
+     * input, or {@link OnnxJavaType#UINT8} for models, which have normalization built into the graph.
+     */
+    private final OnnxJavaType inputType;
+
+    /**
+     * Key for the singular output of a model.
+     */
+    private final String outputName;
+
+    /**
+     * Output shape, as declared by the model. -1 entries mean that the dimension is dynamic.
+     */
+    private final long[] modelOutputShape;
+
+    /**
+     * Monitor, which guards the close status and the inference counters.
+     */
+    private final Object inferenceLock = new Object();
+
+    /**
+     * Close status of the predictor. Guarded by {@link #inferenceLock}.
      */
     private boolean closed = false;
 
+    /**
+     * Maximum number of concurrent inferences or 0, if there is no limit. Guarded by {@link #inferenceLock}.
+     */
+    private int maxConcurrentInferences = 0;
+
+    /**
+     * Number of currently running inferences. Guarded by {@link #inferenceLock}.
+     */
+    private int runningInferences = 0;
+
+    /**
+     * Maximum delay in milliseconds for coalescing batches of concurrent callers or 0, if disabled.
+     */
+    private volatile long maxBatchingDelay = 0;
+
+    /**
+     * Scheduler, which coalesces batches of concurrent callers, or null, if disabled.
+     */
+    private volatile MicroBatchScheduler<T> batchScheduler = null;
+
+    /**
+     * Output buffers, which are not used by any caller at the moment. There are never more of them,
+     * than there were concurrent callers. Guarded by itself.
+     */
+    private final Deque<ReusableOutputBuffer> freeOutputBuffers = new ArrayDeque<>();
+
     static {
         try {
             // OnnxRuntime.init() is used under the hood.
@@ -121,7 +179,13 @@ public abstract class AbstractOnnxPredictor<T, R> implements IPredictor<T, R> {
         }
 
         try {
-            this.inputName = validateModel(this.session, inputProperties, outputShape);
+            final NodeInfo inputNodeInfo = validateModelInput(this.session, inputProperties, supportsUint8Input());
+            this.inputName = inputNodeInfo.getName();
+            this.modelInputShape = ((TensorInfo) inputNodeInfo.getInfo()).getShape();
+            this.inputType = ((TensorInfo) inputNodeInfo.getInfo()).type;
+            final NodeInfo outputNodeInfo = validateModelOutput(this.session, outputShape);
+            this.outputName = outputNodeInfo.getName();
+            this.modelOutputShape = ((TensorInfo) outputNodeInfo.getInfo()).getShape();
         } catch (Exception e) {
             final PdfOcrException userException = new PdfOcrException(
                     PdfOcrOnnxTrExceptionMessageConstant.MODEL_DID_NOT_PASS_VALIDATION, e);
@@ -140,27 +204,165 @@ public abstract class AbstractOnnxPredictor<T, R> implements IPredictor<T, R> {
      */
     @Override
     public Iterator<R> predict(Iterator<T> inputs) {
+        return predict(inputs, this::fromOutputBuffer);
+    }
+
+    /**
+     * Runs the model over the inputs and converts the outputs with the provided parser instead
+     * of {@link #fromOutputBuffer(List, FloatBufferMdArray)}. This allows predictors to expose
+     * alternative views on the same model output.
+     *
+     * <p>
+     * Model output passed to the parser might be backed by a buffer, which is reused for the next
+     * batches, so the parser should not keep references to it.
+     *
+     * @param inputs predictor inputs
+     * @param outputParser converter from the batched model output to a list of results
+     * @param <U> result type
+     *
+     * @return iterator over the results
+     */
+    protected <U> Iterator<U> predict(Iterator<T> inputs,
+                                      BiFunction<List<T>, FloatBufferMdArray, List<U>> outputParser) {
         return new BatchProcessingGenerator<>(
                 Batching.wrap(inputs, inputProperties.getBatchSize()),
                 (List<T> batch) -> {
-                    try (final OnnxTensor inputTensor = createTensor(toInputBuffer(batch));
-                         final Result outputTensor = session.run(Collections.singletonMap(inputName, inputTensor))) {
-                        return fromOutputBuffer(batch, parseModelOutput(outputTensor));
-                    } catch (OrtException e) {
-                        throw new PdfOcrException(
-                                PdfOcrOnnxTrExceptionMessageConstant.ONNX_RUNTIME_OPERATION_FAILED, e);
+                    final MicroBatchScheduler<T> scheduler = batchScheduler;
+                    if (scheduler != null) {
+                        // Output slices are parsed by different callers, so the output buffer is not reused
+                        return outputParser.apply(batch, scheduler.run(batch));
+                    }
+                    final ReusableOutputBuffer outputBuffer = takeOutputBuffer();
+                    try {
+                        // Output is fully owned by us at this point, so parsing does not hold an inference slot
+                        return outputParser.apply(batch, runBatch(batch, outputBuffer));
+                    } finally {
+                        returnOutputBuffer(outputBuffer);
                     }
                 }
         );
     }
 
+    /**
+     * Sets the maximum number of inferences, which can run on the model session at the same time.
+     * Callers above the limit wait for a running inference to finish. Input preparation and output
+     * parsing are not limited.
+     *
+     * <p>
+     * ONNX runtime sessions are safe to use from multiple threads, but every inference already uses
+     * multiple threads internally, so limiting concurrency avoids CPU oversubscription and memory
+     * spikes, when the predictor is shared by many concurrent callers.
+     *
+     * @param maxConcurrentInferences maximum number of concurrent inferences or 0 for no limit
+     */
+    public void setMaxConcurrentInferences(int maxConcurrentInferences) {
+        if (maxConcurrentInferences < 0) {
+            throw new IllegalArgumentException(
+                    PdfOcrOnnxTrExceptionMessageConstant.MAX_CONCURRENT_INFERENCES_SHOULD_BE_NON_NEGATIVE);
+        }
+        synchronized (inferenceLock) {
+            this.maxConcurrentInferences = maxConcurrentInferences;
+            inferenceLock.notifyAll();
+        }
+    }
+
+    /**
+     * Sets the maximum delay, for which a batch can wait to be coalesced with batches of other
+     * concurrent callers into a single model batch.
+     *
+     * <p>
+     * When a predictor is shared by many concurrent callers, each with a handful of inputs, every
+     * call would produce a tiny model batch, which is inefficient. With a positive delay, batches
+     * of concurrent callers are combined until either the model batch size is reached or the oldest
+     * batch has waited for the specified delay. Results are then scattered back to the callers. So
+     * this trades a bit of latency for throughput.
+     *
+     * @param maxBatchingDelay maximum delay in milliseconds or 0 to run every batch on its own
+     */
+    public void setMaxBatchingDelay(long maxBatchingDelay) {
+        if (maxBatchingDelay < 0) {
+            throw new IllegalArgumentException(
+                    PdfOcrOnnxTrExceptionMessageConstant.MAX_BATCHING_DELAY_SHOULD_BE_NON_NEGATIVE);
+        }
+        this.maxBatchingDelay = maxBatchingDelay;
+        this.batchScheduler = maxBatchingDelay == 0 ? null
+                : new MicroBatchScheduler<>(inputProperties.getBatchSize(), maxBatchingDelay,
+                        (List<T> batch) -> runBatch(batch, null));
+    }
+
+    /**
+     * Returns the maximum delay, for which a batch can wait to be coalesced with batches of other
+     * concurrent callers.
+     *
+     * @return maximum delay in milliseconds or 0, if batches are not coalesced
+     */
+    public long getMaxBatchingDelay() {
+        return maxBatchingDelay;
+    }
+
+    /**
+     * Returns the maximum number of inferences, which can run on the model session at the same time.
+     *
+     * @return maximum number of concurrent inferences or 0, if there is no limit
+     */
+    public int getMaxConcurrentInferences() {
+        synchronized (inferenceLock) {
+            return maxConcurrentInferences;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Dummy batches are created with {@link #createWarmUpBatch(int)}. Warm-up stops early, if it
+     * returns an empty batch.
+     */
+    @Override
+    public void warmUp(int batchCount) {
+        if (batchCount < 0) {
+            throw new IllegalArgumentException(
+                    PdfOcrOnnxTrExceptionMessageConstant.WARM_UP_BATCH_COUNT_SHOULD_BE_NON_NEGATIVE);
+        }
+        for (int i = 0; i < batchCount; ++i) {
+            final List<T> batch = createWarmUpBatch(i);
+            if (batch.isEmpty()) {
+                return;
+            }
+            // Only the side effects on the runtime matter here, outputs are dropped
+            final Iterator<R> outputs = predict(batch.iterator());
+            while (outputs.hasNext()) {
+                outputs.next();
+            }
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public void close() {
-        if (closed) {
-            return;
+        synchronized (inferenceLock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            // Wake up waiting callers, so that they fail, and let running inferences finish
+            inferenceLock.notifyAll();
+            boolean interrupted = false;
+            while (runningInferences > 0) {
+                try {
+                    inferenceLock.wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (freeOutputBuffers) {
+            freeOutputBuffers.clear();
         }
         try {
             session.close();
@@ -168,7 +370,56 @@ public abstract class AbstractOnnxPredictor<T, R> implements IPredictor<T, R> {
         } catch (OrtException e) {
             throw new PdfOcrException(PdfOcrOnnxTrExceptionMessageConstant.FAILED_TO_CLOSE_ONNX_RUNTIME_SESSION, e);
         }
-        closed = true;
+    }
+
+    /**
+     * Returns whether the specified dimension of the model input is dynamic, i.e. the model accepts
+     * inputs of any size in that dimension.
+     *
+     * @param index index of the dimension in the BCHW input shape
+     *
+     * @return whether the input dimension is dynamic
+     */
+    protected boolean isDynamicInputDimension(int index) {
+        return modelInputShape[index] < 0;
+    }
+
+    /**
+     * Returns whether the model takes unsigned 8-bit input instead of a normalized float one. In
+     * such case {@link #toUint8InputBuffer(List)} is used to create the model input.
+     *
+     * @return whether the model input is uint8
+     */
+    protected boolean isUint8Input() {
+        return inputType == OnnxJavaType.UINT8;
+    }
+
+    /**
+     * Returns whether the predictor can build unsigned 8-bit model input, i.e. whether
+     * {@link #toUint8InputBuffer(List)} is implemented. Models with uint8 input are rejected at
+     * validation for predictors, which do not support it. By default, returns {@code false}.
+     *
+     * <p>
+     * This is called from the constructor, so implementations should not depend on the subclass
+     * state.
+     *
+     * @return whether models with uint8 input are supported
+     */
+    protected boolean supportsUint8Input() {
+        return false;
+    }
+
+    /**
+     * Creates a batch of dummy inputs for warming the model up. Inputs should be representative of
+     * the real ones, as the runtime prepares itself for the shapes it sees. By default, returns an
+     * empty list, which means that there is nothing to warm up.
+     *
+     * @param batchIndex index of the warm-up batch
+     *
+     * @return batch of dummy inputs, at most batch size long
+     */
+    protected List<T> createWarmUpBatch(int batchIndex) {
+        return Collections.<T>emptyList();
     }
 
     /**
@@ -180,6 +431,22 @@ public abstract class AbstractOnnxPredictor<T, R> implements IPredictor<T, R> {
      */
     protected abstract FloatBufferMdArray toInputBuffer(List<T> batch);
 
+    /**
+     * Converts predictor inputs to an ONNX runtime model batched unsigned 8-bit input MD-array
+     * buffer. This is used for models, which have input normalization built into the graph.
+     *
+     * <p>
+     * By default uint8 input is not supported and an exception is thrown. Subclasses, which
+     * override this, should also override {@link #supportsUint8Input()}.
+     *
+     * @param batch batch of raw predictor inputs
+     *
+     * @return batched model input MD-array buffer
+     */
+    protected ByteBufferMdArray toUint8InputBuffer(List<T> batch) {
+        throw new PdfOcrException(PdfOcrOnnxTrExceptionMessageConstant.UINT8_INPUT_IS_NOT_SUPPORTED);
+    }
+
     /**
      * Converts ONNX runtime model batched output MD-array buffer to a list of predictor outputs.
      *
@@ -190,6 +457,70 @@ public abstract class AbstractOnnxPredictor<T, R> implements IPredictor<T, R> {
      */
     protected abstract List<R> fromOutputBuffer(List<T> inputBatch, FloatBufferMdArray outputBatch);
 
+    /**
+     * Returns the output shape for the specified batch size, if it can be determined before running
+     * the model. This is the case, when the batch size is the only dynamic dimension of the model output.
+     *
+     * @param batchSize size of the batch to be processed
+     *
+     * @return output shape for the batch or null, if output shape is only known after running the model
+     */
+    private long[] getPinnedOutputShape(int batchSize) {
+        final long[] shape = modelOutputShape.clone();
+        if (shape.length == 0) {
+            return null;
+        }
+        shape[0] = batchSize;
+        for (final long dim : shape) {
+            if (dim <= 0) {
+                return null;
+            }
+        }
+        return shape;
+    }
+
+    /**
+     * Returns the number of elements in a tensor of the specified shape.
+     *
+     * @param shape tensor shape without dynamic dimensions
+     *
+     * @return element count
+     *
+     * @throws PdfOcrException if the tensor does not fit into a direct buffer
+     */
+    static int getElementCount(long[] shape) {
+        long count = 1;
+        try {
+            for (final long dim : shape) {
+                count = Math.multiplyExact(count, dim);
+            }
+        } catch (ArithmeticException e) {
+            count = Long.MAX_VALUE;
+        }
+        if (count > Integer.MAX_VALUE / Float.BYTES) {
+            throw new PdfOcrException(MessageFormatUtil.format(
+                    PdfOcrOnnxTrExceptionMessageConstant.TENSOR_IS_TOO_LARGE, Arrays.toString(shape)));
+        }
+        return (int) count;
+    }
+
+    private static FloatBuffer allocateDirectFloatBuffer(int elementCount) {
+        return ByteBuffer.allocateDirect(elementCount * Float.BYTES).order(ByteOrder.nativeOrder()).asFloatBuffer();
+    }
+
+    private ReusableOutputBuffer takeOutputBuffer() {
+        synchronized (freeOutputBuffers) {
+            final ReusableOutputBuffer outputBuffer = freeOutputBuffers.pollFirst();
+            return outputBuffer == null ? new ReusableOutputBuffer() : outputBuffer;
+        }
+    }
+
+    private void returnOutputBuffer(ReusableOutputBuffer outputBuffer) {
+        synchronized (freeOutputBuffers) {
+            freeOutputBuffers.addFirst(outputBuffer);
+        }
+    }
+
     private static OrtSession.SessionOptions createDefaultSessionOptions() throws OrtException {
         final OrtSession.SessionOptions ortOptions = new OrtSession.SessionOptions();
         try {
@@ -208,30 +539,101 @@ public abstract class AbstractOnnxPredictor<T, R> implements IPredictor<T, R> {
         }
     }
 
-    private static OnnxTensor createTensor(FloatBufferMdArray batch) throws OrtException {
-        return OnnxTensor.createTensor(OrtEnvironment.getEnvironment(), batch.getData(), batch.getShape());
+    /**
+     * Runs the model over a batch of inputs.
+     *
+     * @param batch batch of raw predictor inputs
+     * @param outputBuffer buffer to write the output to, if its shape is known beforehand, or null
+     *                     to allocate a new one
+     *
+     * @return batched model output MD-array buffer
+     */
+    private FloatBufferMdArray runBatch(List<T> batch, ReusableOutputBuffer outputBuffer) {
+        try (final OnnxTensor inputTensor = createInputTensor(batch)) {
+            return runInference(inputTensor, batch.size(), outputBuffer);
+        } catch (OrtException e) {
+            throw new PdfOcrException(PdfOcrOnnxTrExceptionMessageConstant.ONNX_RUNTIME_OPERATION_FAILED, e);
+        }
     }
 
     /**
-     * Validates model, loaded in session, against expected inputs and outputs.
-     * If model is invalid, then an exception is thrown.
+     * Runs the model over the input tensor, waiting for an inference slot, if necessary.
      *
-     * @param session current {@link OrtSession} with the loaded ONNX runtime model
-     * @param properties {@link OnnxInputProperties} properties of the input of an ONNX model which expects an RGB image
-     * @param outputShape expected shape of the output. -1 entries mean that the dimension can be of any size
+     * @param inputTensor batched model input
+     * @param batchSize size of the batch
+     * @param reusableOutputBuffer buffer to write the output to, if its shape is known beforehand,
+     *                             or null to allocate a new one
      *
-     * @return input info
+     * @return batched model output MD-array buffer
      *
-     * @throws OrtException in case model is invalid
+     * @throws OrtException if ONNX runtime fails to run the model
      */
-    private static String validateModel(OrtSession session, OnnxInputProperties properties, long[] outputShape)
-            throws OrtException {
-        final String inputName = validateModelInput(session, properties);
-        validateModelOutput(session, outputShape);
-        return inputName;
+    private FloatBufferMdArray runInference(OnnxTensor inputTensor, int batchSize,
+                                            ReusableOutputBuffer reusableOutputBuffer) throws OrtException {
+        acquireInferenceSlot();
+        try {
+            final Map<String, OnnxTensor> inputs = Collections.singletonMap(inputName, inputTensor);
+            final long[] pinnedOutputShape = getPinnedOutputShape(batchSize);
+            if (pinnedOutputShape == null) {
+                try (final Result result = session.run(inputs)) {
+                    return parseModelOutput(result);
+                }
+            }
+            /*
+             * Output shape is fully known beforehand, so we let the runtime write straight
+             * into a direct buffer, which we own. This way there is no copy of the whole
+             * output tensor to the heap, as OnnxTensor.getFloatBuffer would do. The buffer
+             * is reused by the following batches of the caller, unless it is too small.
+             */
+            final int elementCount = getElementCount(pinnedOutputShape);
+            final FloatBuffer outputBuffer = reusableOutputBuffer == null
+                    ? allocateDirectFloatBuffer(elementCount) : reusableOutputBuffer.get(elementCount);
+            try (final OnnxTensor outputTensor = OnnxTensor.createTensor(
+                    OrtEnvironment.getEnvironment(), outputBuffer, pinnedOutputShape);
+                 final Result result = session.run(inputs, Collections.singletonMap(outputName, outputTensor))) {
+                return new FloatBufferMdArray(outputBuffer, pinnedOutputShape);
+            }
+        } finally {
+            releaseInferenceSlot();
+        }
+    }
+
+    private void acquireInferenceSlot() {
+        synchronized (inferenceLock) {
+            while (!closed && maxConcurrentInferences > 0 && runningInferences >= maxConcurrentInferences) {
+                try {
+                    inferenceLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new PdfOcrException(PdfOcrOnnxTrExceptionMessageConstant.INFERENCE_WAS_INTERRUPTED, e);
+                }
+            }
+            if (closed) {
+                throw new PdfOcrException(PdfOcrOnnxTrExceptionMessageConstant.PREDICTOR_IS_CLOSED);
+            }
+            ++runningInferences;
+        }
+    }
+
+    private void releaseInferenceSlot() {
+        synchronized (inferenceLock) {
+            --runningInferences;
+            inferenceLock.notifyAll();
+        }
     }
 
-    private static String validateModelInput(OrtSession session, OnnxInputProperties properties) throws OrtException {
+    private OnnxTensor createInputTensor(List<T> batch) throws OrtException {
+        if (isUint8Input()) {
+            final ByteBufferMdArray input = toUint8InputBuffer(batch);
+            return OnnxTensor.createTensor(
+                    OrtEnvironment.getEnvironment(), input.getData(), input.getShape(), OnnxJavaType.UINT8);
+        }
+        final FloatBufferMdArray input = toInputBuffer(batch);
+        return OnnxTensor.createTensor(OrtEnvironment.getEnvironment(), input.getData(), input.getShape());
+    }
+
+    private static NodeInfo validateModelInput(OrtSession session, OnnxInputProperties properties,
+            boolean uint8Supported) throws OrtException {
         final Collection<NodeInfo> inputInfo = session.getInputInfo().values();
         if (inputInfo.size() != 1) {
             throw new IllegalArgumentException(MessageFormatUtil.format(
@@ -243,19 +645,23 @@ public abstract class AbstractOnnxPredictor<T, R> implements IPredictor<T, R> {
             throw new IllegalArgumentException(PdfOcrOnnxTrExceptionMessageConstant.UNEXPECTED_INPUT_TYPE);
         }
         final TensorInfo inputTensorInfo = (TensorInfo) inputNodeValueInfo;
-        if (inputTensorInfo.type != OnnxJavaType.FLOAT) {
+        // Quantized models usually keep float input, so only the input element type matters here
+        if (inputTensorInfo.type != OnnxJavaType.FLOAT && inputTensorInfo.type != OnnxJavaType.UINT8) {
             throw new IllegalArgumentException(PdfOcrOnnxTrExceptionMessageConstant.UNEXPECTED_INPUT_TYPE);
         }
+        if (inputTensorInfo.type == OnnxJavaType.UINT8 && !uint8Supported) {
+            throw new IllegalArgumentException(PdfOcrOnnxTrExceptionMessageConstant.UINT8_INPUT_IS_NOT_SUPPORTED);
+        }
         final long[] inputShape = inputTensorInfo.getShape();
         if (isShapeIncompatible(properties.getShape(), inputShape)) {
             throw new IllegalArgumentException(MessageFormatUtil.format(
                     PdfOcrOnnxTrExceptionMessageConstant.UNEXPECTED_INPUT_SHAPE, Arrays.toString(properties.getShape()),
                     Arrays.toString(inputShape)));
         }
-        return inputNodeInfo.getName();
+        return inputNodeInfo;
     }
 
-    private static void validateModelOutput(OrtSession session, long[] expectedOutputShape) throws OrtException {
+    private static NodeInfo validateModelOutput(OrtSession session, long[] expectedOutputShape) throws OrtException {
         final Collection<NodeInfo> outputInfo = session.getOutputInfo().values();
         if (outputInfo.size() != 1) {
             throw new IllegalArgumentException(MessageFormatUtil.format(
@@ -276,6 +682,7 @@ public abstract class AbstractOnnxPredictor<T, R> implements IPredictor<T, R> {
                     PdfOcrOnnxTrExceptionMessageConstant.UNEXPECTED_OUTPUT_SHAPE, Arrays.toString(expectedOutputShape),
                     Arrays.toString(actualOutputShape)));
         }
+        return outputNodeInfo;
     }
 
     /**
@@ -315,4 +722,27 @@ public abstract class AbstractOnnxPredictor<T, R> implements IPredictor<T, R> {
         }
         return false;
     }
+
+    /**
+     * Direct buffer for the model output, which grows when a larger output arrives.
+     */
+    private static final class ReusableOutputBuffer {
+        private FloatBuffer buffer = null;
+
+        /**
+         * Returns the buffer, which is cleared and limited to the specified element count.
+         *
+         * @param elementCount number of elements in the output
+         *
+         * @return direct buffer for the output
+         */
+        FloatBuffer get(int elementCount) {
+            if (buffer == null || buffer.capacity() < elementCount) {
+                buffer = allocateDirectFloatBuffer(elementCount);
+            }
+            buffer.clear();
+            buffer.limit(elementCount);
+            return buffer;
+        }
+    }
 }
@@ -0,0 +1,95 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.pdfocr.onnxtr;
+
+import ai.onnxruntime.OrtUtil;
+import com.itextpdf.pdfocr.onnxtr.exceptions.PdfOcrOnnxTrExceptionMessageConstant;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * Multidimensional array with a {@link ByteBuffer} backing storage, one byte per element.
+ * Used as an input for models, which take unsigned 8-bit tensors.
+ */
+public class ByteBufferMdArray {
+    private final ByteBuffer data;
+    private final long[] shape;
+
+    /**
+     * Constructs a new {@code ByteBufferMdArray} with the specified data buffer and shape.
+     *
+     * @param data  the {@link ByteBuffer} containing the data for this array
+     * @param shape the shape of the multidimensional array, where each entry specifies the size of a dimension
+     *
+     * @throws NullPointerException     if {@code data} or {@code shape} is {@code null}
+     * @throws IllegalArgumentException if {@code shape} is invalid or the number of elements in {@code data}
+     *                                   does not match the element count derived from {@code shape}
+     */
+    public ByteBufferMdArray(ByteBuffer data, long[] shape) {
+        Objects.requireNonNull(data);
+        Objects.requireNonNull(shape);
+        if (!OrtUtil.validateShape(shape)) {
+            throw new IllegalArgumentException(PdfOcrOnnxTrExceptionMessageConstant.SHAPE_IS_NOT_VALID);
+        }
+        if (data.remaining() != OrtUtil.elementCount(shape)) {
+            throw new IllegalArgumentException(PdfOcrOnnxTrExceptionMessageConstant.ELEM_COUNT_DOES_NOT_MATCH_SHAPE);
+        }
+        this.data = data.duplicate();
+        this.shape = shape.clone();
+    }
+
+    /**
+     * Returns a duplicate of the backing {@link ByteBuffer}.
+     *
+     * @return a duplicate of the backing {@link ByteBuffer}
+     */
+    public ByteBuffer getData() {
+        return data.duplicate();
+    }
+
+    /**
+     * Returns a copy of the shape array that defines the dimensions of this multidimensional array.
+     *
+     * @return a copy of the shape array
+     */
+    public long[] getShape() {
+        return shape.clone();
+    }
+
+    /**
+     * Returns the size of the specified dimension.
+     *
+     * @param index the zero-based index of the dimension to query
+     *
+     * @return the size of the dimension at the specified index
+     *
+     * @throws IndexOutOfBoundsException if {@code index} is negative or greater than or equal to the number of dimensions
+     */
+    public int getDimension(int index) {
+        if (index < 0 || index >= shape.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        return (int) shape[index];
+    }
+}
@@ -129,6 +129,36 @@ public class FloatBufferMdArray {
         return new FloatBufferMdArray(newData, newShape);
     }
 
+    /**
+     * Returns a view of a range of sub-arrays along the first dimension. Unlike
+     * {@link #getSubArray(int)}, the dimension count is preserved.
+     *
+     * @param fromIndex the first index of the range, inclusive
+     * @param toIndex the last index of the range, exclusive
+     *
+     * @return a new {@code FloatBufferMdArray} with the first dimension equal to the range length
+     *
+     * @throws IllegalStateException if the array has no dimensions
+     * @throws IndexOutOfBoundsException if the range is empty or out of bounds
+     */
+    public FloatBufferMdArray getSubArrayRange(int fromIndex, int toIndex) {
+        if (shape.length == 0) {
+            throw new IllegalStateException();
+        }
+
+        if (fromIndex < 0 || toIndex > shape[0] || fromIndex >= toIndex) {
+            throw new IndexOutOfBoundsException();
+        }
+        final long[] newShape = shape.clone();
+        newShape[0] = toIndex - fromIndex;
+        final int subArraySize = (data.remaining() / (int) shape[0]);
+        FloatBuffer newData = data.duplicate();
+        newData.position(fromIndex * subArraySize);
+        newData = newData.slice();
+        newData.limit((toIndex - fromIndex) * subArraySize);
+        return new FloatBufferMdArray(newData, newShape);
+    }
+
     /**
      * Returns the scalar value at the specified index.
      *
@@ -55,4 +55,18 @@ public interface IPredictor<T, R> extends AutoCloseable {
     default Iterator<R> predict(Iterable<T> inputs) {
         return predict(inputs.iterator());
     }
+
+    /**
+     * Runs the predictor over the specified number of dummy input batches and discards the results.
+     *
+     * <p>
+     * First inferences are usually much slower, than the following ones, as runtimes select kernels
+     * and grow their memory arenas lazily. Warming up moves that cost out of the first real request.
+     * By default, there is nothing to warm up.
+     *
+     * @param batchCount number of dummy batches to run
+     */
+    default void warmUp(int batchCount) {
+        // Nothing to warm up by default
+    }
 }
@@ -0,0 +1,280 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.pdfocr.onnxtr;
+
+import com.itextpdf.pdfocr.exceptions.PdfOcrException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Scheduler, which coalesces batches of concurrent callers into shared model batches.
+ *
+ * <p>
+ * Callers submit their batches and block until results are ready. There is no dedicated worker
+ * thread: one of the waiting callers becomes the leader, which waits until there are enough
+ * pending inputs for a full batch or until the oldest pending batch has waited for the maximum
+ * delay. Then it takes as many pending batches, as fit into a model batch, releases leadership,
+ * so that the next batch can be collected in the meantime, runs the inference and scatters the
+ * output back to the callers.
+ *
+ * @param <T> predictor input type
+ */
+final class MicroBatchScheduler<T> {
+    /**
+     * Maximum number of inputs in a model batch.
+     */
+    private final int batchSize;
+
+    /**
+     * Maximum time in nanoseconds, which a batch can wait for other batches to be coalesced with.
+     */
+    private final long maxDelayNanos;
+
+    /**
+     * Function, which runs the model over a batch and returns the batched output.
+     */
+    private final Function<List<T>, FloatBufferMdArray> inference;
+
+    /**
+     * Monitor, which guards the queue and the leadership status.
+     */
+    private final Object lock = new Object();
+
+    /**
+     * Batches, which are waiting to be run. Guarded by {@link #lock}.
+     */
+    private final Deque<Request<T>> pendingRequests = new ArrayDeque<>();
+
+    /**
+     * Total count of inputs in the pending batches. Guarded by {@link #lock}.
+     */
+    private int pendingInputCount = 0;
+
+    /**
+     * Whether one of the callers is collecting the next model batch. Guarded by {@link #lock}.
+     */
+    private boolean leaderActive = false;
+
+    private final AtomicLong modelBatchCount = new AtomicLong();
+    private final AtomicLong submittedBatchCount = new AtomicLong();
+    private final AtomicLong inputCount = new AtomicLong();
+
+    /**
+     * Creates a new scheduler.
+     *
+     * @param batchSize maximum number of inputs in a model batch
+     * @param maxDelayMillis maximum time in milliseconds, which a batch can wait for other batches
+     * @param inference function, which runs the model over a batch and returns the batched output
+     */
+    MicroBatchScheduler(int batchSize, long maxDelayMillis, Function<List<T>, FloatBufferMdArray> inference) {
+        this.batchSize = batchSize;
+        this.maxDelayNanos = maxDelayMillis * 1_000_000;
+        this.inference = inference;
+    }
+
+    /**
+     * Submits a batch and waits until it is processed, possibly as a part of a larger model batch.
+     *
+     * @param batch batch of inputs, not larger than the model batch size
+     *
+     * @return batched model output for the submitted batch only
+     */
+    FloatBufferMdArray run(List<T> batch) {
+        final Request<T> request = new Request<>(batch, System.nanoTime());
+        submittedBatchCount.incrementAndGet();
+        inputCount.addAndGet(batch.size());
+        synchronized (lock) {
+            pendingRequests.addLast(request);
+            pendingInputCount += batch.size();
+            // Leader might be waiting for a batch to fill up
+            lock.notifyAll();
+        }
+        try {
+            while (true) {
+                final List<Request<T>> modelBatch;
+                synchronized (lock) {
+                    // Batch, which is taken, but not done yet, is being run by another caller
+                    while (!request.done && (leaderActive || request.taken)) {
+                        waitUninterruptibly(request, 0);
+                    }
+                    if (request.done) {
+                        return request.getOutput();
+                    }
+                    leaderActive = true;
+                    try {
+                        modelBatch = collectModelBatch(request);
+                    } finally {
+                        leaderActive = false;
+                        lock.notifyAll();
+                    }
+                }
+                runModelBatch(modelBatch);
+            }
+        } finally {
+            if (request.interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of model batches, which were run.
+     *
+     * @return the number of model batches
+     */
+    long getModelBatchCount() {
+        return modelBatchCount.get();
+    }
+
+    /**
+     * Returns the number of batches, which were submitted by callers.
+     *
+     * @return the number of submitted batches
+     */
+    long getSubmittedBatchCount() {
+        return submittedBatchCount.get();
+    }
+
+    /**
+     * Returns the number of inputs, which were submitted by callers.
+     *
+     * @return the number of submitted inputs
+     */
+    long getInputCount() {
+        return inputCount.get();
+    }
+
+    /**
+     * Waits until there are enough pending inputs or the oldest pending batch has waited for too
+     * long and takes the model batch from the queue. Should be called holding the lock.
+     *
+     * @param leaderRequest batch of the caller, which collects the model batch
+     *
+     * @return pending batches, which form the model batch
+     */
+    private List<Request<T>> collectModelBatch(Request<T> leaderRequest) {
+        while (pendingInputCount < batchSize) {
+            final long remainingNanos = pendingRequests.getFirst().submissionTime + maxDelayNanos - System.nanoTime();
+            if (remainingNanos <= 0) {
+                break;
+            }
+            // Object.wait takes milliseconds, so round up to avoid busy spinning for the last one
+            waitUninterruptibly(leaderRequest, (remainingNanos + 999_999) / 1_000_000);
+        }
+        final List<Request<T>> modelBatch = new ArrayList<>();
+        int modelBatchInputCount = 0;
+        while (!pendingRequests.isEmpty()
+                && modelBatchInputCount + pendingRequests.getFirst().inputs.size() <= batchSize) {
+            final Request<T> request = pendingRequests.removeFirst();
+            request.taken = true;
+            modelBatchInputCount += request.inputs.size();
+            modelBatch.add(request);
+        }
+        pendingInputCount -= modelBatchInputCount;
+        return modelBatch;
+    }
+
+    private void runModelBatch(List<Request<T>> modelBatch) {
+        FloatBufferMdArray output = null;
+        // Errors are caught as well, otherwise callers, whose batches were taken, would wait forever
+        Throwable error = null;
+        if (modelBatch.size() == 1) {
+            // Nothing to coalesce, so no need to copy the inputs
+            try {
+                output = inference.apply(modelBatch.get(0).inputs);
+            } catch (Throwable e) {
+                error = e;
+            }
+        } else {
+            final List<T> inputs = new ArrayList<>(batchSize);
+            for (final Request<T> request : modelBatch) {
+                inputs.addAll(request.inputs);
+            }
+            try {
+                output = inference.apply(inputs);
+            } catch (Throwable e) {
+                error = e;
+            }
+        }
+        modelBatchCount.incrementAndGet();
+        synchronized (lock) {
+            int offset = 0;
+            for (final Request<T> request : modelBatch) {
+                final int size = request.inputs.size();
+                if (error == null) {
+                    try {
+                        request.output = modelBatch.size() == 1
+                                ? output : output.getSubArrayRange(offset, offset + size);
+                    } catch (Throwable e) {
+                        request.error = e;
+                    }
+                } else {
+                    request.error = error;
+                }
+                request.done = true;
+                offset += size;
+            }
+            lock.notifyAll();
+        }
+    }
+
+    private void waitUninterruptibly(Request<T> request, long timeoutMillis) {
+        /*
+         * Once submitted, a batch might already be a part of a running model batch, so it cannot be
+         * withdrawn. Interruption status is restored, when the caller is done instead.
+         */
+        try {
+            lock.wait(timeoutMillis);
+        } catch (InterruptedException e) {
+            request.interrupted = true;
+        }
+    }
+
+    private static final class Request<T> {
+        private final List<T> inputs;
+        private final long submissionTime;
+        private FloatBufferMdArray output;
+        private Throwable error;
+        private boolean taken = false;
+        private boolean done = false;
+        private boolean interrupted = false;
+
+        Request(List<T> inputs, long submissionTime) {
+            this.inputs = inputs;
+            this.submissionTime = submissionTime;
+        }
+
+        FloatBufferMdArray getOutput() {
+            if (error != null) {
+                // Same error is shared by all batches in the model batch, so each caller gets its own wrapper
+                throw new PdfOcrException(error.getMessage(), error);
+            }
+            return output;
+        }
+    }
+}
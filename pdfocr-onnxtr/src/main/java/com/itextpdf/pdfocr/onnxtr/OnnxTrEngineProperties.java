@@ -44,6 +44,11 @@ public class OnnxTrEngineProperties {
      */
     private TextPositioning textPositioning;
 
+    /**
+     * Defines whether long text images are split before text recognition.
+     */
+    private boolean splittingTextImages = true;
+
     /**
      * Defines the way text is retrieved from ocr engine output using {@link TextPositioning}.
      *
@@ -65,4 +70,35 @@ public class OnnxTrEngineProperties {
         this.textPositioning = textPositioning;
         return this;
     }
+
+    /**
+     * Checks whether long text images are split into parts with better aspect ratios before
+     * text recognition. Enabled by default.
+     *
+     * @return true if long text images are split, false otherwise
+     */
+    public boolean isSplittingTextImages() {
+        return splittingTextImages;
+    }
+
+    /**
+     * Defines whether long text images are split into parts with better aspect ratios before
+     * text recognition. Recognized parts are then merged back.
+     *
+     * <p>
+     * Splitting is needed for recognition models with a fixed input width, as otherwise long
+     * text lines are scaled down to an unreadable size. Models with a dynamic input width can
+     * take long lines as is, so for them splitting can be disabled to skip the split and merge
+     * overhead. In such case the batch width limit of the recognition predictor should be raised
+     * as well, see
+     * {@link com.itextpdf.pdfocr.onnxtr.recognition.OnnxRecognitionPredictor#setDynamicWidthLimitFactor(int)}.
+     *
+     * @param splittingTextImages true if long text images should be split, false otherwise
+     *
+     * @return the {@link OnnxTrEngineProperties} instance
+     */
+    public OnnxTrEngineProperties setSplittingTextImages(boolean splittingTextImages) {
+        this.splittingTextImages = splittingTextImages;
+        return this;
+    }
 }
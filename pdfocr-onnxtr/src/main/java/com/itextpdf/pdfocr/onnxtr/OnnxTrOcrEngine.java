@@ -53,9 +53,20 @@ import java.util.Objects;
  * {@link IOcrEngine} implementation, based on OnnxTR/DocTR machine learning OCR projects.
  *
  * <p>
+ * Engine is thread-safe, as long as its predictors are, which is the case for all predictors in this
+ * module. Concurrent OCR calls share the same model sessions, so a single engine instance should be
+ * used for all threads instead of one instance per thread. Concurrency of the inferences per model
+ * session can be limited via {@link AbstractOnnxPredictor#setMaxConcurrentInferences(int)}.
+ *
+ * <p>
  * NOTE: {@link OnnxTrOcrEngine} instance shall be closed after all usages to avoid native allocations leak.
  */
 public class OnnxTrOcrEngine implements IOcrEngine, AutoCloseable, IProductAware {
+    /**
+     * Default number of dummy batches per predictor, which are run by {@link #warmUp()}.
+     */
+    public static final int DEFAULT_WARM_UP_BATCH_COUNT = 2;
+
     /**
      * Text detector. For an input image it outputs a list of text boxes.
      */
@@ -77,6 +88,16 @@ public class OnnxTrOcrEngine implements IOcrEngine, AutoCloseable, IProductAware
      */
     private final OnnxTrEngineProperties properties;
 
+    /**
+     * Whether warm-up has been completed.
+     */
+    private volatile boolean ready = false;
+
+    /**
+     * Duration of the last completed warm-up in milliseconds or -1, if there was none.
+     */
+    private volatile long warmUpDuration = -1;
+
     /**
      * Create a new OCR engine with the provided predictors.
      *
@@ -122,6 +143,59 @@ public class OnnxTrOcrEngine implements IOcrEngine, AutoCloseable, IProductAware
         this(detectionPredictor, null, recognitionPredictor);
     }
 
+    /**
+     * Warms the engine up by running {@link #DEFAULT_WARM_UP_BATCH_COUNT} dummy batches through each
+     * predictor. See {@link #warmUp(int)}.
+     */
+    public void warmUp() {
+        warmUp(DEFAULT_WARM_UP_BATCH_COUNT);
+    }
+
+    /**
+     * Warms the engine up by running the specified number of dummy batches through each predictor.
+     *
+     * <p>
+     * First OCR on a fresh engine is several times slower, than the following ones, as ONNX runtime
+     * selects kernels and grows its memory arenas lazily. Calling this method after the engine is
+     * created moves that cost out of the first real request. After the warm-up completes,
+     * {@link #isReady()} returns {@code true} and {@link #getWarmUpDuration()} returns its duration.
+     *
+     * @param batchCount number of dummy batches per predictor
+     */
+    public void warmUp(int batchCount) {
+        if (batchCount < 0) {
+            throw new IllegalArgumentException(
+                    PdfOcrOnnxTrExceptionMessageConstant.WARM_UP_BATCH_COUNT_SHOULD_BE_NON_NEGATIVE);
+        }
+        final long start = System.nanoTime();
+        detectionPredictor.warmUp(batchCount);
+        if (orientationPredictor != null) {
+            orientationPredictor.warmUp(batchCount);
+        }
+        recognitionPredictor.warmUp(batchCount);
+        warmUpDuration = (System.nanoTime() - start) / 1_000_000;
+        ready = true;
+    }
+
+    /**
+     * Returns whether the engine has been warmed up, see {@link #warmUp(int)}. Engine can be used
+     * before that as well, just the first calls will be slower.
+     *
+     * @return whether the engine has been warmed up
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns duration of the last completed warm-up in milliseconds.
+     *
+     * @return duration of the last completed warm-up in milliseconds or -1, if there was none
+     */
+    public long getWarmUpDuration() {
+        return warmUpDuration;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -259,7 +333,7 @@ public class OnnxTrOcrEngine implements IOcrEngine, AutoCloseable, IProductAware
     private Map<Integer, List<TextInfo>> doOnnxTrOcr(File input, OcrProcessContext ocrProcessContext) {
         final List<BufferedImage> images = getImages(input);
         OnnxTrProcessor onnxTrProcessor = new OnnxTrProcessor(detectionPredictor, orientationPredictor,
-                recognitionPredictor);
+                recognitionPredictor, properties.isSplittingTextImages());
         return onnxTrProcessor.doOcr(images, ocrProcessContext);
     }
 }
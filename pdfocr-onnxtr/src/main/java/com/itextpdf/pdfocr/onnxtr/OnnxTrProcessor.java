@@ -16,14 +16,15 @@ import com.itextpdf.pdfocr.TextInfo;
 import com.itextpdf.pdfocr.TextOrientation;
 import com.itextpdf.pdfocr.onnxtr.actions.events.PdfOcrOnnxTrProductEvent;
 import com.itextpdf.pdfocr.onnxtr.detection.IDetectionPredictor;
+import com.itextpdf.pdfocr.onnxtr.exceptions.PdfOcrOnnxTrExceptionMessageConstant;
 import com.itextpdf.pdfocr.onnxtr.orientation.IOrientationPredictor;
 import com.itextpdf.pdfocr.onnxtr.recognition.IRecognitionPredictor;
 import com.itextpdf.pdfocr.onnxtr.util.BufferedImageUtil;
-import com.itextpdf.pdfocr.onnxtr.util.MathUtil;
 
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -74,11 +75,22 @@ class OnnxTrProcessor {
      */
     private final IRecognitionPredictor recognitionPredictor;
 
+    /**
+     * Whether long text images should be split before recognition.
+     */
+    private final boolean splitTextImages;
+
     OnnxTrProcessor(IDetectionPredictor detectionPredictor, IOrientationPredictor orientationPredictor,
                     IRecognitionPredictor recognitionPredictor) {
+        this(detectionPredictor, orientationPredictor, recognitionPredictor, true);
+    }
+
+    OnnxTrProcessor(IDetectionPredictor detectionPredictor, IOrientationPredictor orientationPredictor,
+                    IRecognitionPredictor recognitionPredictor, boolean splitTextImages) {
         this.detectionPredictor = detectionPredictor;
         this.orientationPredictor = orientationPredictor;
         this.recognitionPredictor = recognitionPredictor;
+        this.splitTextImages = splitTextImages;
     }
 
     Map<Integer, List<TextInfo>> doOcr(List<BufferedImage> images, OcrProcessContext ocrProcessContext) {
@@ -105,22 +117,12 @@ class OnnxTrProcessor {
              */
             BufferedImage image = images.get(imageIndex);
             List<Point[]> textBoxes = textBoxGenerator.next();
-            List<BufferedImage> textImages = BufferedImageUtil.extractBoxes(image, textBoxes);
-            List<TextOrientation> textOrientations = null;
-            if (orientationPredictor != null) {
-                textOrientations = toList(orientationPredictor.predict(textImages));
-                correctOrientations(textImages, textOrientations);
-            }
-            List<String> textString = recognizeText(textImages);
-            List<TextInfo> textInfos = new ArrayList<>(textBoxes.size());
-            for (int i = 0; i < textBoxes.size(); ++i) {
-                TextOrientation textOrientation = TextOrientation.HORIZONTAL;
-                if (textOrientations != null) {
-                    textOrientation = textOrientations.get(i);
-                }
-                textInfos.add(new TextInfo(textString.get(i),
-                        toPdfRectangle(textBoxes.get(i), image.getHeight()),
-                        textOrientation));
+            List<TextInfo> textInfos;
+            if (textBoxes.isEmpty()) {
+                // Nothing to extract, orient or recognize, e.g. page was skipped by a text presence check
+                textInfos = new ArrayList<>();
+            } else {
+                textInfos = recognizeTextBoxes(image, textBoxes);
             }
             result.put(imageIndex + 1, textInfos);
             ++imageIndex;
@@ -136,6 +138,35 @@ class OnnxTrProcessor {
         return result;
     }
 
+    /**
+     * Extracts text images of the found text boxes, corrects their orientation and recognizes them.
+     *
+     * @param image image, where text boxes were found
+     * @param textBoxes found text boxes
+     *
+     * @return text infos of the text boxes
+     */
+    private List<TextInfo> recognizeTextBoxes(BufferedImage image, List<Point[]> textBoxes) {
+        List<BufferedImage> textImages = BufferedImageUtil.extractBoxes(image, textBoxes);
+        List<TextOrientation> textOrientations = null;
+        if (orientationPredictor != null) {
+            textOrientations = toList(orientationPredictor.predict(textImages));
+            correctOrientations(textImages, textOrientations);
+        }
+        List<String> textString = recognizeText(textImages);
+        List<TextInfo> textInfos = new ArrayList<>(textBoxes.size());
+        for (int i = 0; i < textBoxes.size(); ++i) {
+            TextOrientation textOrientation = TextOrientation.HORIZONTAL;
+            if (textOrientations != null) {
+                textOrientation = textOrientations.get(i);
+            }
+            textInfos.add(new TextInfo(textString.get(i),
+                    toPdfRectangle(textBoxes.get(i), image.getHeight()),
+                    textOrientation));
+        }
+        return textInfos;
+    }
+
     /**
      * Splits text images to smaller images with better aspect ratios.
      *
@@ -177,55 +208,6 @@ class OnnxTrProcessor {
         return result;
     }
 
-    /**
-     * Merges strings, collected from splits of text images.
-     *
-     * @param collector string builder collector, which contains the current left part of the string
-     * @param nextString next string to add to the collector
-     */
-    private static void mergeStrings(StringBuilder collector, String nextString) {
-        // Comments are also pretty much copies from OnnxTR...
-        int commonLength = Math.min(collector.length(), nextString.length());
-        double[] scores = new double[commonLength];
-        for (int i = 0; i < commonLength; ++i) {
-            scores[i] = MathUtil.calculateLevenshteinDistance(
-                    collector.substring(collector.length() - i - 1),
-                    nextString.substring(0, i + 1)
-            ) / (i + 1.0);
-        }
-
-        int index = 0;
-        // Comparing floats to 0 is fine here, as it only happens, when the
-        // integer nominator (i.e. Levenshtein distance) was 0
-        if (commonLength > 1 && scores[0] == 0 && scores[1] == 0) {
-            // Edge case (split in the middle of char repetitions): if it starts with 2 or more 0
-
-            // Compute n_overlap (number of overlapping chars, geometrically determined)
-            final int overlap = (int) Math.round(
-                    nextString.length() * (SPLIT_CROPS_DILATION_FACTOR - 1) / SPLIT_CROPS_DILATION_FACTOR);
-            // Find the number of consecutive zeros in the scores list
-            // Impossible to have a zero after a non-zero score in that case
-            final int zeros = (int) Arrays.stream(scores).filter(x -> x == 0).count();
-            index = Math.min(zeros, overlap);
-        } else {
-            // Common case: choose the min score index
-            double minScore = 1.0;
-            for (int i = 0; i < commonLength; ++i) {
-                if (scores[i] < minScore) {
-                    minScore = scores[i];
-                    index = i + 1;
-                }
-            }
-        }
-
-        if (index == 0) {
-            collector.append(nextString);
-        } else {
-            collector.setLength(Math.max(0, collector.length() - 1));
-            collector.append(nextString, index - 1, nextString.length());
-        }
-    }
-
     /**
      * Runs text recognition on the provided text images.
      *
@@ -233,11 +215,15 @@ class OnnxTrProcessor {
      *
      * @return list of strings, recognized in the images
      */
-    private List<String> recognizeText(List<BufferedImage> textImages) {
+    List<String> recognizeText(List<BufferedImage> textImages) {
+        if (!splitTextImages) {
+            return recognizeSortedByAspectRatio(textImages);
+        }
         // For better recognition results we want to split text images to have better aspect ratios
         OnnxTrProcessor.SplitResult split = OnnxTrProcessor.splitTextImages(textImages);
-        Iterator<String> recognitionIterator = recognitionPredictor.predict(split.splitImages);
+        Iterator<String> recognitionIterator = recognizeSortedByAspectRatio(split.splitImages).iterator();
         // And now we merge results back
+        final SplitStringMerger merger = new SplitStringMerger();
         List<String> textStrings = new ArrayList<>(split.restoreMap.length);
         for (int j = 0; j < split.restoreMap.length; ++j) {
             int stringPartsLeft = split.restoreMap[j];
@@ -247,7 +233,7 @@ class OnnxTrProcessor {
             } else {
                 final StringBuilder sb = new StringBuilder();
                 while (stringPartsLeft > 0 && recognitionIterator.hasNext()) {
-                    OnnxTrProcessor.mergeStrings(sb, recognitionIterator.next());
+                    merger.merge(sb, recognitionIterator.next());
                     --stringPartsLeft;
                 }
                 testString = sb.toString();
@@ -257,6 +243,46 @@ class OnnxTrProcessor {
         return textStrings;
     }
 
+    /**
+     * Runs text recognition on the provided images, which are batched in the order of their aspect
+     * ratios. This way crops of similar widths end up in the same batch, which reduces padding for
+     * models with a dynamic input width.
+     *
+     * @param images images with text to recognize
+     *
+     * @return list of strings, recognized in the images, in the original image order
+     *
+     * @throws IllegalStateException if the predictor returned a different number of strings
+     */
+    private List<String> recognizeSortedByAspectRatio(List<BufferedImage> images) {
+        final Integer[] order = new Integer[images.size()];
+        for (int i = 0; i < order.length; ++i) {
+            order[i] = i;
+        }
+        // Stable sort, so equal ratios keep the detection order
+        Arrays.sort(order, Comparator.comparingDouble((Integer i) -> getAspectRatio(images.get(i))));
+        final List<BufferedImage> sortedImages = new ArrayList<>(order.length);
+        for (final Integer index : order) {
+            sortedImages.add(images.get(index));
+        }
+        final Iterator<String> sortedStrings = recognitionPredictor.predict(sortedImages);
+        final String[] strings = new String[order.length];
+        for (int i = 0; i < order.length; ++i) {
+            if (!sortedStrings.hasNext()) {
+                throw new IllegalStateException(PdfOcrOnnxTrExceptionMessageConstant.INVALID_NUMBER_OF_OUTPUTS);
+            }
+            strings[order[i]] = sortedStrings.next();
+        }
+        if (sortedStrings.hasNext()) {
+            throw new IllegalStateException(PdfOcrOnnxTrExceptionMessageConstant.INVALID_NUMBER_OF_OUTPUTS);
+        }
+        return Arrays.asList(strings);
+    }
+
+    private static double getAspectRatio(BufferedImage image) {
+        return (double) image.getWidth() / image.getHeight();
+    }
+
     /**
      * Rotates all images in the text image list, so that they are upright, based on the found text
      * orientation information.
@@ -313,6 +339,124 @@ class OnnxTrProcessor {
         return list;
     }
 
+    /**
+     * Merges strings, collected from splits of text images.
+     *
+     * <p>
+     * For each overlap length it calculates the Levenshtein distance between the end of the
+     * current left part and the beginning of the next string, normalized by the overlap length,
+     * and picks the best overlap. This matches the OnnxTR algorithm, but characters are compared
+     * in place, dynamic programming rows are reused between overlap lengths and merges, and
+     * distance calculation stops early, once it is clear, that the overlap cannot be the best one.
+     */
+    static final class SplitStringMerger {
+        private int[] previousRow = new int[0];
+        private int[] currentRow = new int[0];
+
+        /**
+         * Merges the next string into the collector.
+         *
+         * @param collector string builder collector, which contains the current left part of the string
+         * @param nextString next string to add to the collector
+         */
+        void merge(StringBuilder collector, String nextString) {
+            // Comments are also pretty much copies from OnnxTR...
+            final int commonLength = Math.min(collector.length(), nextString.length());
+            ensureCapacity(commonLength + 1);
+
+            int zeros = 0;
+            boolean startsWithTwoZeros = commonLength > 1;
+            double minScore = 1.0;
+            int minScoreIndex = 0;
+            for (int i = 0; i < commonLength; ++i) {
+                final int overlapLength = i + 1;
+                // Only distances, which could beat the current min score (or are 0), are needed exactly
+                final int maxDistance = (int) Math.floor(minScore * overlapLength);
+                final int distance = calculateOverlapDistance(collector, nextString, overlapLength, maxDistance);
+                if (distance == 0) {
+                    ++zeros;
+                } else if (i < 2) {
+                    startsWithTwoZeros = false;
+                }
+                if (distance >= 0) {
+                    final double score = distance / (double) overlapLength;
+                    if (score < minScore) {
+                        minScore = score;
+                        minScoreIndex = overlapLength;
+                    }
+                }
+            }
+
+            final int index;
+            if (startsWithTwoZeros) {
+                // Edge case (split in the middle of char repetitions): if it starts with 2 or more 0
+
+                // Compute n_overlap (number of overlapping chars, geometrically determined)
+                final int overlap = (int) Math.round(
+                        nextString.length() * (SPLIT_CROPS_DILATION_FACTOR - 1) / SPLIT_CROPS_DILATION_FACTOR);
+                // Impossible to have a zero after a non-zero score in that case
+                index = Math.min(zeros, overlap);
+            } else {
+                // Common case: choose the min score index
+                index = minScoreIndex;
+            }
+
+            if (index == 0) {
+                collector.append(nextString);
+            } else {
+                collector.setLength(Math.max(0, collector.length() - 1));
+                collector.append(nextString, index - 1, nextString.length());
+            }
+        }
+
+        /**
+         * Calculates the Levenshtein distance between the last {@code length} characters of the
+         * left string and the first {@code length} characters of the right string.
+         *
+         * @param left left string
+         * @param right right string
+         * @param length overlap length
+         * @param maxDistance distance, above which the exact value is not needed
+         *
+         * @return the Levenshtein distance or -1, if it is larger than {@code maxDistance}
+         */
+        private int calculateOverlapDistance(CharSequence left, CharSequence right, int length, int maxDistance) {
+            final int leftOffset = left.length() - length;
+            int[] previous = previousRow;
+            int[] current = currentRow;
+            for (int j = 0; j <= length; ++j) {
+                previous[j] = j;
+            }
+            for (int i = 1; i <= length; ++i) {
+                final char leftChar = left.charAt(leftOffset + i - 1);
+                current[0] = i;
+                int rowMin = i;
+                for (int j = 1; j <= length; ++j) {
+                    final int costReplace = previous[j - 1] + (leftChar == right.charAt(j - 1) ? 0 : 1);
+                    final int costDeleteOrInsert = Math.min(previous[j], current[j - 1]) + 1;
+                    current[j] = Math.min(costReplace, costDeleteOrInsert);
+                    rowMin = Math.min(rowMin, current[j]);
+                }
+                // Distances along any alignment path never decrease, so the row min is a lower bound
+                if (rowMin > maxDistance) {
+                    return -1;
+                }
+                final int[] swap = previous;
+                previous = current;
+                current = swap;
+            }
+            return previous[length];
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (previousRow.length < capacity) {
+                final int newCapacity = Math.max(capacity, previousRow.length * 2);
+                previousRow = new int[newCapacity];
+                currentRow = new int[newCapacity];
+            }
+        }
+    }
+
     /**
      * Contains results of a text image split.
      */
@@ -12,10 +12,12 @@ import com.itextpdf.pdfocr.onnxtr.util.MathUtil;
 import com.itextpdf.pdfocr.onnxtr.util.OpenCvUtil;
 
 import java.awt.image.BufferedImage;
+import java.nio.FloatBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
-import org.bytedeco.javacpp.indexer.UByteIndexer;
+import org.bytedeco.javacpp.FloatPointer;
+import org.bytedeco.opencv.global.opencv_core;
 import org.bytedeco.opencv.global.opencv_imgproc;
 import org.bytedeco.opencv.opencv_core.Mat;
 import org.bytedeco.opencv.opencv_core.MatVector;
@@ -94,14 +96,14 @@ public class OnnxDetectionPostProcessor implements IDetectionPostProcessor {
      */
     @Override
     public List<Point[]> process(BufferedImage input, FloatBufferMdArray output) {
+        assert output.getDimensionCount() == 3 && output.getDimension(0) == 1;
+
         final int height = output.getDimension(1);
         final int width = output.getDimension(2);
         final List<Point[]> boxes = new ArrayList<>();
-        // Ideally we would want to either cache the score mask (as model dimensions won't change)
-        // or use a smaller mask with only the contour. Though based on profiling, it doesn't look
-        // like it is that bad, when it is only once per input image.
-        try (final Mat scoreMask = new Mat(height, width, CvType.CV_8U, new Scalar(0));
-             final MatVector contours = findTextContours(output, binarizationThresholdLogit)) {
+        try (final FloatPointer predictionsPointer = toFloatPointer(output.getData(), height * width);
+             final Mat predictions = new Mat(height, width, CvType.CV_32F, predictionsPointer);
+             final MatVector contours = findTextContours(predictions, binarizationThresholdLogit)) {
             final long contourCount = contours.size();
             for (long contourIdx = 0; contourIdx < contourCount; ++contourIdx) {
                 try (final Mat contour = contours.get(contourIdx);
@@ -111,7 +113,7 @@ public class OnnxDetectionPostProcessor implements IDetectionPostProcessor {
                         continue;
                     }
 
-                    final float score = getPredictionScore(scoreMask, output, contour, contourBox);
+                    final float score = getPredictionScore(predictions, contour, contourBox);
                     if (score < scoreThreshold) {
                         continue;
                     }
@@ -123,8 +125,26 @@ public class OnnxDetectionPostProcessor implements IDetectionPostProcessor {
         return boxes;
     }
 
-    private static MatVector findTextContours(FloatBufferMdArray chwMdArray, float binarizationThreshold) {
-        try (final Mat binaryImage = binarizeImage(chwMdArray, binarizationThreshold)) {
+    /**
+     * Returns a native pointer to the buffer data. Direct buffers are wrapped as is, so that the
+     * Mat, based on it, works over the model output directly. Heap buffers are copied once.
+     *
+     * @param data buffer with the data
+     * @param length amount of floats to use from the buffer
+     *
+     * @return native pointer to the buffer data
+     */
+    private static FloatPointer toFloatPointer(FloatBuffer data, int length) {
+        if (data.isDirect()) {
+            return new FloatPointer(data);
+        }
+        final FloatPointer pointer = new FloatPointer((long) length);
+        pointer.put(data.array(), data.arrayOffset() + data.position(), length);
+        return pointer;
+    }
+
+    private static MatVector findTextContours(Mat predictions, float binarizationThreshold) {
+        try (final Mat binaryImage = binarizeImage(predictions, binarizationThreshold)) {
             opencv_imgproc.morphologyEx(
                     binaryImage, binaryImage, opencv_imgproc.MORPH_OPEN, OPENING_KERNEL
             );
@@ -136,70 +156,54 @@ public class OnnxDetectionPostProcessor implements IDetectionPostProcessor {
         }
     }
 
-    private static Mat binarizeImage(FloatBufferMdArray chwMdArray, float binarizationThreshold) {
-        assert chwMdArray.getDimensionCount() == 3 && chwMdArray.getDimension(0) == 1;
-
-        final FloatBufferMdArray hwMdArray = chwMdArray.getSubArray(0);
-        final int height = hwMdArray.getDimension(0);
-        final int width = hwMdArray.getDimension(1);
-        final Mat binaryImage = new Mat(height, width, CvType.CV_8U);
-        try (final UByteIndexer binaryImageIndexer = binaryImage.createIndexer()) {
-            for (int y = 0; y < height; y++) {
-                final FloatBufferMdArray predictionsRow = hwMdArray.getSubArray(y);
-                for (int x = 0; x < width; ++x) {
-                    final float prediction = predictionsRow.getScalar(x);
-                    binaryImageIndexer.put(y, x, prediction >= binarizationThreshold ? (byte) 1 : (byte) 0);
-                }
-            }
+    private static Mat binarizeImage(Mat predictions, float binarizationThreshold) {
+        /*
+         * OpenCV binary threshold is strict (value > threshold), while we
+         * want value >= threshold. For floats these are the same, if we use
+         * the previous representable value as the threshold.
+         */
+        final Mat binaryImage = new Mat();
+        try (final Mat binaryFloatImage = new Mat()) {
+            opencv_imgproc.threshold(predictions, binaryFloatImage, Math.nextDown(binarizationThreshold), 1,
+                    opencv_imgproc.THRESH_BINARY);
+            binaryFloatImage.convertTo(binaryImage, CvType.CV_8U);
         }
         return binaryImage;
     }
 
-    private static float getPredictionScore(
-            Mat scoreMask,
-            FloatBufferMdArray predictions,
-            Mat contour,
-            Rect contourBox
-    ) {
+    private static float getPredictionScore(Mat predictions, Mat contour, Rect contourBox) {
         /*
-         * Algorithm here is pretty simple. We go over all the points, painted
-         * by the contour shape, and calculate the mean prediction score
-         * value over the original output array, values of which we normalize
-         * via expit.
+         * Algorithm here is pretty simple. We take the mean prediction score
+         * over all the points, painted by the contour shape. Prediction
+         * values are normalized via expit, which we only apply to the
+         * bounding box of the contour.
          */
-        final FloatBufferMdArray hwMdArray = predictions.getSubArray(0);
-        final int height = hwMdArray.getDimension(0);
-        final int width = hwMdArray.getDimension(1);
-        double sum = 0;
-        long nonZeroCount = 0;
-        try (final UByteIndexer maskIndexer = scoreMask.createIndexer()) {
-            try (final MatVector polys = new MatVector(contour)) {
-                opencv_imgproc.fillPoly(scoreMask, polys, Scalar.ONE);
-            }
-            final int yBegin = Math.max(0, contourBox.y());
-            final int yEnd = Math.min(height, contourBox.y() + contourBox.height());
-            final int xBegin = Math.max(0, contourBox.x());
-            final int xEnd = Math.min(width, contourBox.x() + contourBox.width());
-            for (int y = yBegin; y < yEnd; ++y) {
-                final FloatBufferMdArray predictionsRow = hwMdArray.getSubArray(y);
-                for (int x = xBegin; x < xEnd; ++x) {
-                    if (maskIndexer.get(y, x) != 1) {
-                        continue;
-                    }
-                    final float prediction = MathUtil.expit(predictionsRow.getScalar(x));
-                    if (prediction > 0) {
-                        sum += prediction;
-                        ++nonZeroCount;
-                    }
-                    maskIndexer.put(y, x, 0);
-                }
-            }
-        }
-        // Should not happen
-        if (nonZeroCount == 0) {
+        final int xBegin = Math.max(0, contourBox.x());
+        final int yBegin = Math.max(0, contourBox.y());
+        final int xEnd = Math.min(predictions.cols(), contourBox.x() + contourBox.width());
+        final int yEnd = Math.min(predictions.rows(), contourBox.y() + contourBox.height());
+        if (xBegin >= xEnd || yBegin >= yEnd) {
+            // Should not happen
             return 0;
         }
-        return (float) (sum / nonZeroCount);
+        try (final Rect roi = new Rect(xBegin, yBegin, xEnd - xBegin, yEnd - yBegin);
+             final Mat predictionsRoi = predictions.apply(roi);
+             final Mat scoreMask = new Mat(roi.height(), roi.width(), CvType.CV_8U, new Scalar(0));
+             final Mat scores = new Mat();
+             final MatVector polys = new MatVector(contour);
+             final org.bytedeco.opencv.opencv_core.Point offset =
+                     new org.bytedeco.opencv.opencv_core.Point(-xBegin, -yBegin)) {
+            opencv_imgproc.fillPoly(scoreMask, polys, Scalar.ONE, opencv_imgproc.LINE_8, 0, offset);
+            // expit(x) = 1 / (1 + exp(-x))
+            predictionsRoi.convertTo(scores, CvType.CV_32F, -1, 0);
+            opencv_core.exp(scores, scores);
+            scores.convertTo(scores, CvType.CV_32F, 1, 1);
+            opencv_core.divide(1.0, scores, scores);
+            try (final Scalar mean = opencv_core.mean(scores, scoreMask)) {
+                // Mean is 0 for an empty mask, which should not happen
+                return (float) mean.get(0);
+            }
+        }
     }
 
     private static Point2fVector getPaddedBox(Mat points) {
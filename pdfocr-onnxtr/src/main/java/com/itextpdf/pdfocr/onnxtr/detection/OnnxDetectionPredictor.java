@@ -24,12 +24,15 @@ package com.itextpdf.pdfocr.onnxtr.detection;
 
 import com.itextpdf.kernel.geom.Point;
 import com.itextpdf.pdfocr.onnxtr.AbstractOnnxPredictor;
+import com.itextpdf.pdfocr.onnxtr.ByteBufferMdArray;
 import com.itextpdf.pdfocr.onnxtr.FloatBufferMdArray;
+import com.itextpdf.pdfocr.onnxtr.OnnxInputProperties;
 import com.itextpdf.pdfocr.onnxtr.util.BufferedImageUtil;
 import com.itextpdf.pdfocr.onnxtr.util.MathUtil;
 
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.function.Consumer;
 
@@ -208,6 +211,36 @@ public class OnnxDetectionPredictor extends AbstractOnnxPredictor<BufferedImage,
         return BufferedImageUtil.toBchwInput(batch, properties.getInputProperties());
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * For detection these are full batches of synthetic text pages of the model input size.
+     */
+    @Override
+    protected List<BufferedImage> createWarmUpBatch(int batchIndex) {
+        final OnnxInputProperties inputProperties = properties.getInputProperties();
+        final BufferedImage page = BufferedImageUtil.createDummyTextImage(
+                inputProperties.getWidth(), inputProperties.getHeight());
+        return Collections.nCopies(inputProperties.getBatchSize(), page);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean supportsUint8Input() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected ByteBufferMdArray toUint8InputBuffer(List<BufferedImage> batch) {
+        return BufferedImageUtil.toBchwUint8Input(batch, properties.getInputProperties());
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -0,0 +1,282 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.pdfocr.onnxtr.detection;
+
+import com.itextpdf.kernel.geom.Point;
+import com.itextpdf.pdfocr.onnxtr.exceptions.PdfOcrOnnxTrExceptionMessageConstant;
+import com.itextpdf.pdfocr.onnxtr.util.BatchProcessingGenerator;
+import com.itextpdf.pdfocr.onnxtr.util.Batching;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A text detection predictor, which runs a cheap text presence check before
+ * running the underlying predictor.
+ *
+ * <p>
+ * Images, which fail the check, like blank separator sheets, are not passed
+ * to the underlying predictor and get an empty list of text boxes instead. As
+ * there are no text boxes, orientation and text recognition are skipped for
+ * them as well.
+ *
+ * <p>
+ * The check consists of two steps. First, the image is downscaled and the
+ * density of strong edges is calculated. Images with an edge density below
+ * the threshold are considered blank. Then, if a pre-pass predictor is
+ * provided, it is run over the image. This should be a cheaper detector, for
+ * example, a model with a small input size. If it finds no text, the image is
+ * skipped as well. This is useful for picture-only pages, which have a lot of
+ * edges, but no text.
+ *
+ * <p>
+ * Images are processed in chunks: the pre-pass predictor is run over all the
+ * images of a chunk, which passed the edge density check, at once and the
+ * underlying predictor is run over all the images of a chunk with text at
+ * once, so both are batched across images.
+ */
+public class TextPresenceDetectionPredictor implements IDetectionPredictor {
+    /**
+     * Default minimum ratio of edge pixels in the downscaled image, for the
+     * image to be considered containing text.
+     */
+    public static final float DEFAULT_MIN_EDGE_DENSITY = 0.0002F;
+
+    /**
+     * Maximum side of the downscaled image, which is used for the edge
+     * density check. This matches the default detection input size, so that
+     * text, which would be lost by the check, would be too small for the
+     * detector anyway.
+     */
+    private static final int CHECK_IMAGE_MAX_SIZE = 1024;
+
+    /**
+     * Minimum sum of absolute horizontal and vertical intensity differences
+     * for a pixel to be considered an edge.
+     */
+    private static final int EDGE_THRESHOLD = 48;
+
+    /**
+     * Amount of images, which are processed together.
+     */
+    private static final int CHUNK_SIZE = 16;
+
+    /**
+     * Underlying text detector, which is run over images with text.
+     */
+    private final IDetectionPredictor predictor;
+
+    /**
+     * Optional cheap text detector, which is used to check, whether an image
+     * contains text. Can be null.
+     */
+    private final IDetectionPredictor prePassPredictor;
+
+    /**
+     * Minimum ratio of edge pixels in the downscaled image, for the image to
+     * be considered containing text.
+     */
+    private final float minEdgeDensity;
+
+    /**
+     * Count of images, which were skipped.
+     */
+    private final AtomicLong skippedImageCount = new AtomicLong();
+
+    /**
+     * Creates a new text presence checking predictor.
+     *
+     * @param predictor underlying text detector, which is run over images with text
+     * @param prePassPredictor optional cheap text detector, which is used to check, whether an image contains
+     *                         text. Can be null
+     * @param minEdgeDensity minimum ratio of edge pixels in the downscaled image, for the image to be considered
+     *                       containing text. Should be in [0; 1] range
+     */
+    public TextPresenceDetectionPredictor(IDetectionPredictor predictor, IDetectionPredictor prePassPredictor,
+                                          float minEdgeDensity) {
+        this.predictor = Objects.requireNonNull(predictor);
+        if (!(0 <= minEdgeDensity && minEdgeDensity <= 1)) {
+            throw new IllegalArgumentException(PdfOcrOnnxTrExceptionMessageConstant.EDGE_DENSITY_SHOULD_BE_IN_0_1_RANGE);
+        }
+        this.prePassPredictor = prePassPredictor;
+        this.minEdgeDensity = minEdgeDensity;
+    }
+
+    /**
+     * Creates a new text presence checking predictor with the default edge density threshold.
+     *
+     * @param predictor underlying text detector, which is run over images with text
+     * @param prePassPredictor optional cheap text detector, which is used to check, whether an image contains
+     *                         text. Can be null
+     */
+    public TextPresenceDetectionPredictor(IDetectionPredictor predictor, IDetectionPredictor prePassPredictor) {
+        this(predictor, prePassPredictor, DEFAULT_MIN_EDGE_DENSITY);
+    }
+
+    /**
+     * Creates a new text presence checking predictor, which only uses the edge density check.
+     *
+     * @param predictor underlying text detector, which is run over images with text
+     */
+    public TextPresenceDetectionPredictor(IDetectionPredictor predictor) {
+        this(predictor, null);
+    }
+
+    /**
+     * Returns the count of images, which were skipped, because they did not pass the text presence check.
+     *
+     * @return the count of skipped images
+     */
+    public long getSkippedImageCount() {
+        return skippedImageCount.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<List<Point[]>> predict(Iterator<BufferedImage> inputs) {
+        return new BatchProcessingGenerator<>(Batching.wrap(inputs, CHUNK_SIZE), this::detectChunk);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void warmUp(int batchCount) {
+        predictor.warmUp(batchCount);
+        if (prePassPredictor != null) {
+            prePassPredictor.warmUp(batchCount);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws Exception {
+        try {
+            predictor.close();
+        } finally {
+            if (prePassPredictor != null) {
+                prePassPredictor.close();
+            }
+        }
+    }
+
+    private List<List<Point[]>> detectChunk(List<BufferedImage> images) {
+        final boolean[] textFlags = findImagesWithText(images);
+        final List<BufferedImage> textImages = new ArrayList<>(images.size());
+        for (int i = 0; i < images.size(); ++i) {
+            if (textFlags[i]) {
+                textImages.add(images.get(i));
+            }
+        }
+        skippedImageCount.addAndGet(images.size() - textImages.size());
+
+        final Iterator<List<Point[]>> textBoxes = textImages.isEmpty()
+                ? Collections.<List<Point[]>>emptyIterator() : predictor.predict(textImages);
+        final List<List<Point[]>> result = new ArrayList<>(images.size());
+        for (final boolean textFlag : textFlags) {
+            result.add(textFlag ? textBoxes.next() : new ArrayList<Point[]>());
+        }
+        return result;
+    }
+
+    /**
+     * Checks, which images might contain text.
+     *
+     * @param images images to check
+     *
+     * @return flags, which are true for images, which might contain text
+     */
+    private boolean[] findImagesWithText(List<BufferedImage> images) {
+        final boolean[] textFlags = new boolean[images.size()];
+        final List<BufferedImage> candidates = new ArrayList<>(images.size());
+        for (int i = 0; i < images.size(); ++i) {
+            textFlags[i] = calculateEdgeDensity(images.get(i)) >= minEdgeDensity;
+            if (textFlags[i]) {
+                candidates.add(images.get(i));
+            }
+        }
+        if (prePassPredictor == null || candidates.isEmpty()) {
+            return textFlags;
+        }
+        final Iterator<List<Point[]>> prePassBoxes = prePassPredictor.predict(candidates);
+        for (int i = 0; i < textFlags.length; ++i) {
+            if (textFlags[i]) {
+                textFlags[i] = !prePassBoxes.next().isEmpty();
+            }
+        }
+        return textFlags;
+    }
+
+    /**
+     * Calculates the ratio of strong edge pixels in the downscaled grayscale version of the image.
+     *
+     * @param image image to check
+     *
+     * @return the ratio of edge pixels in [0; 1] range
+     */
+    static float calculateEdgeDensity(BufferedImage image) {
+        final double scale = Math.min(1.0,
+                (double) CHECK_IMAGE_MAX_SIZE / Math.max(image.getWidth(), image.getHeight()));
+        final int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        final int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+        if (width < 2 || height < 2) {
+            return 0;
+        }
+        final BufferedImage gray = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY);
+        final Graphics2D graphics = gray.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        final byte[] pixels = ((DataBufferByte) gray.getRaster().getDataBuffer()).getData();
+        int edgeCount = 0;
+        for (int y = 0; y < height - 1; ++y) {
+            final int rowOffset = y * width;
+            for (int x = 0; x < width - 1; ++x) {
+                final int offset = rowOffset + x;
+                final int value = pixels[offset] & 0xFF;
+                final int gradient = Math.abs((pixels[offset + 1] & 0xFF) - value)
+                        + Math.abs((pixels[offset + width] & 0xFF) - value);
+                if (gradient >= EDGE_THRESHOLD) {
+                    ++edgeCount;
+                }
+            }
+        }
+        return (float) edgeCount / ((width - 1) * (height - 1));
+    }
+}
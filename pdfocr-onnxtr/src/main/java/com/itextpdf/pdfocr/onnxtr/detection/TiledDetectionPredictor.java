@@ -0,0 +1,451 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.pdfocr.onnxtr.detection;
+
+import com.itextpdf.kernel.geom.Point;
+import com.itextpdf.pdfocr.onnxtr.exceptions.PdfOcrOnnxTrExceptionMessageConstant;
+import com.itextpdf.pdfocr.onnxtr.util.BatchProcessingGenerator;
+import com.itextpdf.pdfocr.onnxtr.util.Batching;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A text detection predictor, which splits large images into overlapping tiles
+ * and runs the underlying predictor over them.
+ *
+ * <p>
+ * Detection models usually have a fixed input size, so the whole image is
+ * resized to fit it. For large images, like A3 drawings, this degrades small
+ * text to the point, where it cannot be found anymore. With tiling, each tile
+ * is resized instead, so the effective input scale is picked based on the
+ * image pixel size: images, which fit into a single tile, are processed as
+ * is, larger images are split into as many tiles as needed.
+ *
+ * <p>
+ * Images are processed in chunks: whole images, which fit into a single tile,
+ * and tiles of larger images from the same chunk are passed to the underlying
+ * predictor together, so they are batched across images. Boxes of the tiles
+ * are then moved to the image coordinate space and stitched together:
+ * duplicates from the tile overlaps are removed and pieces of text, which
+ * was cut by tile borders, are merged.
+ */
+public class TiledDetectionPredictor implements IDetectionPredictor {
+    /**
+     * Default maximum tile size in image pixels.
+     */
+    public static final int DEFAULT_MAX_TILE_SIZE = 2048;
+
+    /**
+     * Default minimum overlap between neighbouring tiles in image pixels.
+     */
+    public static final int DEFAULT_TILE_OVERLAP = 128;
+
+    /**
+     * If a box is closer than this to an inner tile border, it is considered
+     * to be cut by the border.
+     */
+    private static final double CUT_BOX_MARGIN = 2;
+
+    /**
+     * If a cut box is covered by a complete box by this ratio, the cut box is
+     * considered to be a duplicate.
+     */
+    private static final double COVERED_BOX_RATIO = 0.5;
+
+    /**
+     * Amount of images, which are processed together. Whole images and tiles
+     * of a chunk are passed to the underlying predictor together, so that
+     * they are batched.
+     */
+    private static final int CHUNK_SIZE = 16;
+
+    /**
+     * Underlying text detector, which is run over the tiles.
+     */
+    private final IDetectionPredictor predictor;
+
+    /**
+     * Maximum tile size in image pixels. Images, which are not larger than
+     * this in both dimensions, are not split.
+     */
+    private final int maxTileSize;
+
+    /**
+     * Minimum overlap between neighbouring tiles in image pixels.
+     */
+    private final int tileOverlap;
+
+    /**
+     * Creates a new tiled text detection predictor.
+     *
+     * @param predictor underlying text detector, which is run over the tiles
+     * @param maxTileSize maximum tile size in image pixels. Images, which are not larger than this in both
+     *                    dimensions, are not split
+     * @param tileOverlap minimum overlap between neighbouring tiles in image pixels. Should be less than the
+     *                    tile size and, ideally, larger than a typical text box
+     */
+    public TiledDetectionPredictor(IDetectionPredictor predictor, int maxTileSize, int tileOverlap) {
+        this.predictor = Objects.requireNonNull(predictor);
+        if (maxTileSize <= 0 || tileOverlap < 0 || tileOverlap >= maxTileSize) {
+            throw new IllegalArgumentException(PdfOcrOnnxTrExceptionMessageConstant.INVALID_TILE_SIZE);
+        }
+        this.maxTileSize = maxTileSize;
+        this.tileOverlap = tileOverlap;
+    }
+
+    /**
+     * Creates a new tiled text detection predictor with the default tile size and overlap.
+     *
+     * @param predictor underlying text detector, which is run over the tiles
+     */
+    public TiledDetectionPredictor(IDetectionPredictor predictor) {
+        this(predictor, DEFAULT_MAX_TILE_SIZE, DEFAULT_TILE_OVERLAP);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<List<Point[]>> predict(Iterator<BufferedImage> inputs) {
+        return new BatchProcessingGenerator<>(Batching.wrap(inputs, CHUNK_SIZE), this::detectChunk);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void warmUp(int batchCount) {
+        predictor.warmUp(batchCount);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws Exception {
+        predictor.close();
+    }
+
+    private List<List<Point[]>> detectChunk(List<BufferedImage> images) {
+        final List<TileGrid> grids = new ArrayList<>(images.size());
+        final List<BufferedImage> predictorInputs = new ArrayList<>(images.size());
+        for (final BufferedImage image : images) {
+            final TileGrid grid = new TileGrid(image.getWidth(), image.getHeight(), maxTileSize, tileOverlap);
+            grids.add(grid);
+            if (grid.isSingleTile()) {
+                predictorInputs.add(image);
+            } else {
+                for (final int tileY : grid.tileYs) {
+                    for (final int tileX : grid.tileXs) {
+                        predictorInputs.add(image.getSubimage(tileX, tileY, grid.tileWidth, grid.tileHeight));
+                    }
+                }
+            }
+        }
+
+        final Iterator<List<Point[]>> predictorOutputs = predictor.predict(predictorInputs);
+        final List<List<Point[]>> result = new ArrayList<>(images.size());
+        for (final TileGrid grid : grids) {
+            if (grid.isSingleTile()) {
+                result.add(predictorOutputs.next());
+            } else {
+                result.add(stitchTileBoxes(grid, predictorOutputs));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Moves boxes of all the tiles of an image to the image coordinate space
+     * and stitches them together.
+     *
+     * @param grid tile grid of the image
+     * @param tileBoxesIterator iterator over boxes of the tiles in the row-major order
+     *
+     * @return boxes of the image
+     */
+    private static List<Point[]> stitchTileBoxes(TileGrid grid, Iterator<List<Point[]>> tileBoxesIterator) {
+        final int[] tileXs = grid.tileXs;
+        final int[] tileYs = grid.tileYs;
+        final List<TileBox> completeBoxes = new ArrayList<>();
+        final List<TileBox> cutBoxes = new ArrayList<>();
+        for (int row = 0; row < tileYs.length; ++row) {
+            for (int col = 0; col < tileXs.length; ++col) {
+                final List<Point[]> tileBoxes = tileBoxesIterator.next();
+                final int tileIndex = row * tileXs.length + col;
+                final TileBounds bounds = new TileBounds(tileXs, tileYs, col, row, grid.tileWidth, grid.tileHeight);
+                for (final Point[] box : tileBoxes) {
+                    final TileBox tileBox = new TileBox(tileIndex, toImageCoordinates(box, bounds.x, bounds.y));
+                    if (bounds.isCut(tileBox)) {
+                        cutBoxes.add(tileBox);
+                    } else if (bounds.coreContains(tileBox.getCenterX(), tileBox.getCenterY())) {
+                        // Complete boxes outside of the core are duplicates of boxes from a neighbour
+                        completeBoxes.add(tileBox);
+                    }
+                }
+            }
+        }
+
+        final List<Point[]> result = new ArrayList<>(completeBoxes.size() + cutBoxes.size());
+        for (final TileBox box : completeBoxes) {
+            result.add(box.points);
+        }
+        result.addAll(mergeCutBoxes(cutBoxes, completeBoxes));
+        return result;
+    }
+
+    /**
+     * Merges boxes, which were cut by tile borders. Cut boxes, which are
+     * mostly covered by a complete box, are dropped. Remaining cut boxes from
+     * different tiles, which intersect, are merged into their bounding box.
+     *
+     * @param cutBoxes boxes, which were cut by tile borders
+     * @param completeBoxes boxes, which were not cut by tile borders
+     *
+     * @return merged boxes
+     */
+    private static List<Point[]> mergeCutBoxes(List<TileBox> cutBoxes, List<TileBox> completeBoxes) {
+        final List<TileBox> pieces = new ArrayList<>(cutBoxes.size());
+        for (final TileBox cutBox : cutBoxes) {
+            boolean covered = false;
+            for (final TileBox completeBox : completeBoxes) {
+                if (cutBox.intersectionArea(completeBox) >= COVERED_BOX_RATIO * cutBox.area()) {
+                    covered = true;
+                    break;
+                }
+            }
+            if (!covered) {
+                pieces.add(cutBox);
+            }
+        }
+
+        // Simple union-find over intersecting pieces
+        final int[] parents = new int[pieces.size()];
+        for (int i = 0; i < parents.length; ++i) {
+            parents[i] = i;
+        }
+        for (int i = 0; i < pieces.size(); ++i) {
+            for (int j = i + 1; j < pieces.size(); ++j) {
+                if (pieces.get(i).tileIndex != pieces.get(j).tileIndex
+                        && pieces.get(i).intersectionArea(pieces.get(j)) > 0) {
+                    parents[findRoot(parents, i)] = findRoot(parents, j);
+                }
+            }
+        }
+
+        final List<Point[]> result = new ArrayList<>();
+        for (int root = 0; root < pieces.size(); ++root) {
+            if (findRoot(parents, root) != root) {
+                continue;
+            }
+            int groupSize = 0;
+            TileBox single = null;
+            double minX = Double.POSITIVE_INFINITY;
+            double minY = Double.POSITIVE_INFINITY;
+            double maxX = Double.NEGATIVE_INFINITY;
+            double maxY = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < pieces.size(); ++i) {
+                if (findRoot(parents, i) == root) {
+                    final TileBox piece = pieces.get(i);
+                    ++groupSize;
+                    single = piece;
+                    minX = Math.min(minX, piece.minX);
+                    minY = Math.min(minY, piece.minY);
+                    maxX = Math.max(maxX, piece.maxX);
+                    maxY = Math.max(maxY, piece.maxY);
+                }
+            }
+            if (groupSize == 1) {
+                result.add(single.points);
+            } else {
+                // BL, TL, TR, BR order, bottom as in bottom of the image
+                result.add(new Point[]{
+                        new Point(minX, maxY), new Point(minX, minY), new Point(maxX, minY), new Point(maxX, maxY),
+                });
+            }
+        }
+        return result;
+    }
+
+    private static int findRoot(int[] parents, int index) {
+        int root = index;
+        while (parents[root] != root) {
+            root = parents[root];
+        }
+        return root;
+    }
+
+    /**
+     * Calculates tile origins along one axis. Tiles are distributed evenly, so
+     * the actual overlap might be larger than requested.
+     *
+     * @param length image length along the axis
+     * @param tileSize maximum tile size
+     * @param overlap minimum overlap between neighbouring tiles
+     *
+     * @return tile origins along the axis
+     */
+    static int[] calculateTileOrigins(int length, int tileSize, int overlap) {
+        if (length <= tileSize) {
+            return new int[]{0};
+        }
+        final int count = (int) Math.ceil((double) (length - overlap) / (tileSize - overlap));
+        final int[] origins = new int[count];
+        final double step = (double) (length - tileSize) / (count - 1);
+        for (int i = 0; i < count - 1; ++i) {
+            origins[i] = (int) Math.round(i * step);
+        }
+        origins[count - 1] = length - tileSize;
+        return origins;
+    }
+
+    private static Point[] toImageCoordinates(Point[] box, int offsetX, int offsetY) {
+        final Point[] result = new Point[box.length];
+        for (int i = 0; i < box.length; ++i) {
+            result[i] = new Point(box[i].getX() + offsetX, box[i].getY() + offsetY);
+        }
+        return result;
+    }
+
+    /**
+     * Tiles, which an image is split into.
+     */
+    private static final class TileGrid {
+        final int[] tileXs;
+        final int[] tileYs;
+        final int tileWidth;
+        final int tileHeight;
+
+        TileGrid(int imageWidth, int imageHeight, int maxTileSize, int tileOverlap) {
+            this.tileXs = calculateTileOrigins(imageWidth, maxTileSize, tileOverlap);
+            this.tileYs = calculateTileOrigins(imageHeight, maxTileSize, tileOverlap);
+            this.tileWidth = Math.min(maxTileSize, imageWidth);
+            this.tileHeight = Math.min(maxTileSize, imageHeight);
+        }
+
+        boolean isSingleTile() {
+            return tileXs.length == 1 && tileYs.length == 1;
+        }
+    }
+
+    /**
+     * Box in image coordinates together with the tile it was found in.
+     */
+    private static final class TileBox {
+        final int tileIndex;
+        final Point[] points;
+        final double minX;
+        final double minY;
+        final double maxX;
+        final double maxY;
+
+        TileBox(int tileIndex, Point[] points) {
+            this.tileIndex = tileIndex;
+            this.points = points;
+            double minX = Double.POSITIVE_INFINITY;
+            double minY = Double.POSITIVE_INFINITY;
+            double maxX = Double.NEGATIVE_INFINITY;
+            double maxY = Double.NEGATIVE_INFINITY;
+            for (final Point point : points) {
+                minX = Math.min(minX, point.getX());
+                minY = Math.min(minY, point.getY());
+                maxX = Math.max(maxX, point.getX());
+                maxY = Math.max(maxY, point.getY());
+            }
+            this.minX = minX;
+            this.minY = minY;
+            this.maxX = maxX;
+            this.maxY = maxY;
+        }
+
+        double getCenterX() {
+            return (minX + maxX) / 2;
+        }
+
+        double getCenterY() {
+            return (minY + maxY) / 2;
+        }
+
+        double area() {
+            return (maxX - minX) * (maxY - minY);
+        }
+
+        double intersectionArea(TileBox other) {
+            final double width = Math.min(maxX, other.maxX) - Math.max(minX, other.minX);
+            final double height = Math.min(maxY, other.maxY) - Math.max(minY, other.minY);
+            if (width <= 0 || height <= 0) {
+                return 0;
+            }
+            return width * height;
+        }
+    }
+
+    /**
+     * Tile bounds in image coordinates. Core is the part of the tile, which
+     * is closer to this tile, than to any of its neighbours.
+     */
+    private static final class TileBounds {
+        final int x;
+        final int y;
+        final int width;
+        final int height;
+        final boolean hasLeft;
+        final boolean hasTop;
+        final boolean hasRight;
+        final boolean hasBottom;
+        final double coreMinX;
+        final double coreMinY;
+        final double coreMaxX;
+        final double coreMaxY;
+
+        TileBounds(int[] tileXs, int[] tileYs, int col, int row, int width, int height) {
+            this.x = tileXs[col];
+            this.y = tileYs[row];
+            this.width = width;
+            this.height = height;
+            this.hasLeft = col > 0;
+            this.hasTop = row > 0;
+            this.hasRight = col < tileXs.length - 1;
+            this.hasBottom = row < tileYs.length - 1;
+            this.coreMinX = hasLeft ? (tileXs[col - 1] + width + x) / 2.0 : Double.NEGATIVE_INFINITY;
+            this.coreMinY = hasTop ? (tileYs[row - 1] + height + y) / 2.0 : Double.NEGATIVE_INFINITY;
+            this.coreMaxX = hasRight ? (x + width + tileXs[col + 1]) / 2.0 : Double.POSITIVE_INFINITY;
+            this.coreMaxY = hasBottom ? (y + height + tileYs[row + 1]) / 2.0 : Double.POSITIVE_INFINITY;
+        }
+
+        boolean coreContains(double pointX, double pointY) {
+            return coreMinX <= pointX && pointX < coreMaxX && coreMinY <= pointY && pointY < coreMaxY;
+        }
+
+        boolean isCut(TileBox box) {
+            return (hasLeft && box.minX - x <= CUT_BOX_MARGIN)
+                    || (hasTop && box.minY - y <= CUT_BOX_MARGIN)
+                    || (hasRight && x + width - box.maxX <= CUT_BOX_MARGIN)
+                    || (hasBottom && y + height - box.maxY <= CUT_BOX_MARGIN);
+        }
+    }
+}
@@ -27,6 +27,12 @@ package com.itextpdf.pdfocr.onnxtr.exceptions;
  */
 public final class PdfOcrOnnxTrExceptionMessageConstant {
     public static final String BATCH_SIZE_SHOULD_BE_POSITIVE = "Target batch size should be positive.";
+    public static final String CACHE_SIZE_SHOULD_BE_POSITIVE = "Cache size should be positive.";
+    public static final String CONFIDENCE_THRESHOLD_SHOULD_BE_IN_0_1_RANGE = "Confidence threshold should be in " +
+            "[0; 1] range.";
+    public static final String DYNAMIC_WIDTH_LIMIT_FACTOR_SHOULD_BE_POSITIVE =
+            "Dynamic width limit factor should be positive.";
+    public static final String EDGE_DENSITY_SHOULD_BE_IN_0_1_RANGE = "Edge density should be in [0; 1] range.";
     public static final String ELEM_COUNT_DOES_NOT_MATCH_SHAPE = "Data buffer element count does not match the shape.";
     public static final String FAILED_TO_CLOSE_ONNX_RUNTIME_SESSION = "Failed to close an ONNX Runtime session.";
     public static final String FAILED_TO_INIT_ONNX_RUNTIME_SESSION = "Failed to init ONNX Runtime session.";
@@ -34,21 +40,32 @@ public final class PdfOcrOnnxTrExceptionMessageConstant {
     public static final String FAILED_TO_LOAD_ONNXRUNTIME = "Failed to load ONNX Runtime native library.";
     public static final String FAILED_TO_READ_IMAGE = "Failed to read image.";
     public static final String INDEX_OUT_OF_BOUNDS = "Index out of bounds: {0}.";
+    public static final String INFERENCE_WAS_INTERRUPTED = "Waiting for an inference slot was interrupted.";
     public static final String INVALID_NUMBER_OF_OUTPUTS = "Batch processing failed: invalid number of outputs.";
+    public static final String INVALID_TILE_SIZE = "Tile size should be positive and larger than tile overlap, " +
+            "tile overlap should not be negative.";
     public static final String LOOK_UP_STRING_CONTAINS_2_CODE_UNITS_POINTS = "Look-up string contains code points, " +
             "which are encoded with 2 code units.";
+    public static final String MAX_BATCHING_DELAY_SHOULD_BE_NON_NEGATIVE =
+            "Maximum batching delay should be non-negative.";
+    public static final String MAX_CONCURRENT_INFERENCES_SHOULD_BE_NON_NEGATIVE =
+            "Maximum number of concurrent inferences should be non-negative.";
     public static final String MAX_SHOULD_NOT_BE_LESS_THAN_MIN = "Max should not be less than min.";
     public static final String MODEL_DID_NOT_PASS_VALIDATION = "ONNX Runtime model did not pass validation.";
     public static final String MODEL_ONLY_SUPPORTS_RGB = "Model only supports RGB images with a BCHW input format.";
     public static final String NEGATIVE_VALUE_IN_SHAPE = "Received negative value in shape {0}.";
     public static final String ONLY_SUPPORT_RGB_IMAGES = "Method toBchwInput only support RGB images.";
     public static final String ONNX_RUNTIME_OPERATION_FAILED = "ONNX Runtime operation failed.";
+    public static final String PREDICTOR_IS_CLOSED = "Predictor is closed.";
+    public static final String SAMPLE_SIZE_SHOULD_BE_POSITIVE = "Sample size should be positive.";
     public static final String SHAPE_IS_NOT_VALID = "The shape of the data buffer is not valid.";
+    public static final String TENSOR_IS_TOO_LARGE = "Tensor of shape {0} is too large.";
     public static final String TOO_MANY_IMAGES = "Too many images ({0}) for the provided batch size ({1}).";
+    public static final String UINT8_INPUT_IS_NOT_SUPPORTED = "Predictor does not support models with uint8 input.";
     public static final String UNEXPECTED_DIMENSION_VALUE = "Unexpected dimension value: {0}.";
     public static final String UNEXPECTED_INPUT_SHAPE = "Expected {0} input shape, but got {1} instead.";
     public static final String UNEXPECTED_INPUT_SIZE = "Expected 1 input, but got {0} instead.";
-    public static final String UNEXPECTED_INPUT_TYPE = "Unexpected input type. Expected float32 tensor.";
+    public static final String UNEXPECTED_INPUT_TYPE = "Unexpected input type. Expected float32 or uint8 tensor.";
     public static final String UNEXPECTED_MAT_TYPE = "Unexpected Mat type {0}.";
     public static final String UNEXPECTED_MEAN_CHANNEL_COUNT = "Mean should be a {0}-element array.";
     public static final String UNEXPECTED_OUTPUT_SHAPE = "Expected {0} output shape, but got {1} instead.";
@@ -57,6 +74,8 @@ public final class PdfOcrOnnxTrExceptionMessageConstant {
     public static final String UNEXPECTED_SHAPE_SIZE = "Shape should be a {0}-element array (BCHW).";
     public static final String UNEXPECTED_STD_CHANNEL_COUNT = "Std should be a {0}-element array.";
     public static final String VALUES_SHOULD_BE_A_NON_EMPTY_ARRAY = "Values should be a non-empty array.";
+    public static final String WARM_UP_BATCH_COUNT_SHOULD_BE_NON_NEGATIVE =
+            "Warm-up batch count should be non-negative.";
     public static final String X_SHOULD_BE_IN_0_1_RANGE = "X should be in [0; 1] range.";
 
     private PdfOcrOnnxTrExceptionMessageConstant() {
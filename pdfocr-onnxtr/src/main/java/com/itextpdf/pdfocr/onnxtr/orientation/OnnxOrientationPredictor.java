@@ -24,12 +24,16 @@ package com.itextpdf.pdfocr.onnxtr.orientation;
 
 import com.itextpdf.pdfocr.TextOrientation;
 import com.itextpdf.pdfocr.onnxtr.AbstractOnnxPredictor;
+import com.itextpdf.pdfocr.onnxtr.ByteBufferMdArray;
 import com.itextpdf.pdfocr.onnxtr.FloatBufferMdArray;
+import com.itextpdf.pdfocr.onnxtr.OnnxInputProperties;
 import com.itextpdf.pdfocr.onnxtr.util.BufferedImageUtil;
 import com.itextpdf.pdfocr.onnxtr.util.MathUtil;
 
 import java.awt.image.BufferedImage;
+import java.nio.FloatBuffer;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -117,12 +121,41 @@ public class OnnxOrientationPredictor
          * figure out the orientation. On the other hand, not having one of the
          * dimensions getting degraded to nothing is much more useful.
          */
-        final List<BufferedImage> truncatedBatch = new ArrayList<>(batch.size());
-        for (int i = 0; i < batch.size(); ++i) {
-            truncatedBatch.add(BufferedImageUtil.truncateToRatio(batch.get(i), IMAGE_RATIO_LIMIT));
-        }
         // After that it is just a regular BCHW input conversion
-        return BufferedImageUtil.toBchwInput(truncatedBatch, properties.getInputProperties());
+        return BufferedImageUtil.toBchwInput(truncateBatch(batch), properties.getInputProperties());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * For orientation these are full batches of synthetic word crops as wide, as the truncation
+     * allows.
+     */
+    @Override
+    protected List<BufferedImage> createWarmUpBatch(int batchIndex) {
+        final OnnxInputProperties inputProperties = properties.getInputProperties();
+        final int height = inputProperties.getHeight();
+        final BufferedImage crop = BufferedImageUtil.createDummyTextImage(
+                (int) (height * IMAGE_RATIO_LIMIT), height);
+        return Collections.nCopies(inputProperties.getBatchSize(), crop);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean supportsUint8Input() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected ByteBufferMdArray toUint8InputBuffer(List<BufferedImage> batch) {
+        // Same truncation, as for the float input, see toInputBuffer
+        return BufferedImageUtil.toBchwUint8Input(truncateBatch(batch), properties.getInputProperties());
     }
 
     /**
@@ -131,13 +164,12 @@ public class OnnxOrientationPredictor
     @Override
     protected List<TextOrientation> fromOutputBuffer(List<BufferedImage> inputBatch, FloatBufferMdArray outputBatch) {
         // Just extracting the highest scoring "orientation class" for each image via argmax
-        final List<TextOrientation> orientations = new ArrayList<>(outputBatch.getDimension(0));
-        final float[] values = new float[outputBatch.getDimension(1)];
-        final float[] outputBuffer = outputBatch.getData().array();
-        int offset = outputBatch.getArrayOffset();
-        for (int i = offset; i < offset + outputBatch.getArraySize(); i += values.length) {
-            System.arraycopy(outputBuffer, i, values, 0, values.length);
-            final int label = MathUtil.argmax(values);
+        final int batchSize = outputBatch.getDimension(0);
+        final int classCount = outputBatch.getDimension(1);
+        final List<TextOrientation> orientations = new ArrayList<>(batchSize);
+        final FloatBuffer outputBuffer = outputBatch.getData();
+        for (int i = 0; i < batchSize; ++i) {
+            final int label = MathUtil.argmax(outputBuffer, i * classCount, classCount);
             orientations.add(properties.getOutputMapper().map(label));
         }
         return orientations;
@@ -149,4 +181,12 @@ public class OnnxOrientationPredictor
         final long classCount = properties.getOutputMapper().size();
         return new long[]{BATCH_SIZE, classCount};
     }
+
+    private static List<BufferedImage> truncateBatch(List<BufferedImage> batch) {
+        final List<BufferedImage> truncatedBatch = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); ++i) {
+            truncatedBatch.add(BufferedImageUtil.truncateToRatio(batch.get(i), IMAGE_RATIO_LIMIT));
+        }
+        return truncatedBatch;
+    }
 }
@@ -0,0 +1,246 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.pdfocr.onnxtr.orientation;
+
+import com.itextpdf.pdfocr.TextOrientation;
+import com.itextpdf.pdfocr.onnxtr.exceptions.PdfOcrOnnxTrExceptionMessageConstant;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A text orientation predictor, which estimates a single orientation for all
+ * the text crops of a page.
+ *
+ * <p>
+ * Most pages have a single dominant text orientation, so running the
+ * orientation model on every crop is wasteful. This predictor treats all the
+ * inputs of a single {@link #predict(Iterator)} call as crops of the same
+ * page, which is how they are passed by the OCR engine. It runs the
+ * underlying predictor only on a sample of the widest crops, as they contain
+ * the most text. If the whole sample agrees, its orientation is applied to
+ * all the crops. Otherwise, the underlying predictor is run on the rest of
+ * the crops as well.
+ */
+public class PageOrientationPredictor implements IOrientationPredictor {
+    /**
+     * Default amount of crops, which are used to estimate the page orientation.
+     */
+    public static final int DEFAULT_SAMPLE_SIZE = 8;
+
+    /**
+     * Underlying text orientation predictor.
+     */
+    private final IOrientationPredictor predictor;
+
+    /**
+     * Amount of crops, which are used to estimate the page orientation.
+     */
+    private final int sampleSize;
+
+    /**
+     * Count of pages, for which the sample agreed on the orientation.
+     */
+    private final AtomicLong uniformPageCount = new AtomicLong();
+
+    /**
+     * Count of pages, for which the underlying predictor had to be run on all crops.
+     */
+    private final AtomicLong fallbackPageCount = new AtomicLong();
+
+    /**
+     * Count of pages, which had no more crops than the sample size, so the underlying predictor was run on
+     * all crops without sampling.
+     */
+    private final AtomicLong shortPageCount = new AtomicLong();
+
+    /**
+     * Count of crops, which were passed to the underlying predictor.
+     */
+    private final AtomicLong predictedImageCount = new AtomicLong();
+
+    /**
+     * Count of crops, which got the page orientation without being passed to the underlying predictor.
+     */
+    private final AtomicLong skippedImageCount = new AtomicLong();
+
+    /**
+     * Creates a new page orientation predictor.
+     *
+     * @param predictor underlying text orientation predictor
+     * @param sampleSize amount of crops, which are used to estimate the page orientation
+     */
+    public PageOrientationPredictor(IOrientationPredictor predictor, int sampleSize) {
+        this.predictor = Objects.requireNonNull(predictor);
+        if (sampleSize <= 0) {
+            throw new IllegalArgumentException(PdfOcrOnnxTrExceptionMessageConstant.SAMPLE_SIZE_SHOULD_BE_POSITIVE);
+        }
+        this.sampleSize = sampleSize;
+    }
+
+    /**
+     * Creates a new page orientation predictor with the default sample size.
+     *
+     * @param predictor underlying text orientation predictor
+     */
+    public PageOrientationPredictor(IOrientationPredictor predictor) {
+        this(predictor, DEFAULT_SAMPLE_SIZE);
+    }
+
+    /**
+     * Returns the count of pages, for which the sample agreed on the orientation.
+     *
+     * @return the count of pages with a uniform orientation
+     */
+    public long getUniformPageCount() {
+        return uniformPageCount.get();
+    }
+
+    /**
+     * Returns the count of pages, for which the sample disagreed, so the underlying predictor had to be run on
+     * all crops.
+     *
+     * @return the count of pages with a mixed orientation
+     */
+    public long getFallbackPageCount() {
+        return fallbackPageCount.get();
+    }
+
+    /**
+     * Returns the count of pages, which had no more crops than the sample size, so the underlying predictor was
+     * run on all crops without sampling. Such pages are counted neither as uniform, nor as fallback pages.
+     *
+     * @return the count of pages, which were too short for sampling
+     */
+    public long getShortPageCount() {
+        return shortPageCount.get();
+    }
+
+    /**
+     * Returns the count of crops, which were passed to the underlying predictor.
+     *
+     * @return the count of predicted crops
+     */
+    public long getPredictedImageCount() {
+        return predictedImageCount.get();
+    }
+
+    /**
+     * Returns the count of crops, which got the page orientation without being passed to the underlying
+     * predictor.
+     *
+     * @return the count of skipped crops
+     */
+    public long getSkippedImageCount() {
+        return skippedImageCount.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<TextOrientation> predict(Iterator<BufferedImage> inputs) {
+        final List<BufferedImage> images = new ArrayList<>();
+        inputs.forEachRemaining(images::add);
+        return predictPage(images).iterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void warmUp(int batchCount) {
+        predictor.warmUp(batchCount);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws Exception {
+        predictor.close();
+    }
+
+    private List<TextOrientation> predictPage(List<BufferedImage> images) {
+        if (images.size() <= sampleSize) {
+            shortPageCount.incrementAndGet();
+            if (images.isEmpty()) {
+                return Collections.<TextOrientation>emptyList();
+            }
+            predictedImageCount.addAndGet(images.size());
+            return toList(predictor.predict(images));
+        }
+
+        final Integer[] order = new Integer[images.size()];
+        for (int i = 0; i < order.length; ++i) {
+            order[i] = i;
+        }
+        // Widest crops first, as they contain the most text
+        Arrays.sort(order, Comparator.comparingInt((Integer i) -> -images.get(i).getWidth()));
+        final List<BufferedImage> sample = new ArrayList<>(sampleSize);
+        for (int i = 0; i < sampleSize; ++i) {
+            sample.add(images.get(order[i]));
+        }
+        final List<TextOrientation> sampleOrientations = toList(predictor.predict(sample));
+        predictedImageCount.addAndGet(sample.size());
+
+        final TextOrientation[] orientations = new TextOrientation[images.size()];
+        boolean uniform = true;
+        for (int i = 0; i < sampleSize; ++i) {
+            orientations[order[i]] = sampleOrientations.get(i);
+            uniform &= sampleOrientations.get(i) == sampleOrientations.get(0);
+        }
+        if (uniform) {
+            Arrays.fill(orientations, sampleOrientations.get(0));
+            uniformPageCount.incrementAndGet();
+            skippedImageCount.addAndGet(images.size() - sampleSize);
+            return Arrays.asList(orientations);
+        }
+
+        // Sample disagrees, so falling back to per-crop orientation for the rest
+        final List<BufferedImage> rest = new ArrayList<>(images.size() - sampleSize);
+        for (int i = sampleSize; i < order.length; ++i) {
+            rest.add(images.get(order[i]));
+        }
+        final Iterator<TextOrientation> restOrientations = predictor.predict(rest);
+        for (int i = sampleSize; i < order.length; ++i) {
+            orientations[order[i]] = restOrientations.next();
+        }
+        fallbackPageCount.incrementAndGet();
+        predictedImageCount.addAndGet(rest.size());
+        return Arrays.asList(orientations);
+    }
+
+    private static List<TextOrientation> toList(Iterator<TextOrientation> iterator) {
+        final List<TextOrientation> list = new ArrayList<>();
+        iterator.forEachRemaining(list::add);
+        return list;
+    }
+}
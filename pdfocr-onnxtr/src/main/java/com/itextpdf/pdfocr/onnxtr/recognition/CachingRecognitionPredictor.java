@@ -0,0 +1,306 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.pdfocr.onnxtr.recognition;
+
+import com.itextpdf.pdfocr.onnxtr.exceptions.PdfOcrOnnxTrExceptionMessageConstant;
+import com.itextpdf.pdfocr.onnxtr.util.BatchProcessingGenerator;
+import com.itextpdf.pdfocr.onnxtr.util.Batching;
+
+import java.awt.image.BufferedImage;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A text recognition predictor, which caches recognition results of the
+ * underlying predictor.
+ *
+ * <p>
+ * Multi-page documents often repeat the same headers, footers and form
+ * labels on every page. Crops of such text are often pixel-identical, so
+ * there is no need to recognize them again.
+ *
+ * <p>
+ * The cache is keyed by the size and SHA-256 digest of the crop pixels, so
+ * a cached result is only reused for the input, which would produce the same
+ * result anyway. Keys don't keep the pixels themselves, so memory usage doesn't
+ * depend on the crop size. Keys are computed before the cache is locked, so
+ * concurrent recognitions only wait for each other during cache lookups and
+ * updates. Cache is bounded and least recently used entries are evicted first. Cached crops are not passed to the
+ * underlying predictor at all, so they do not take space in its batches.
+ */
+public class CachingRecognitionPredictor implements IRecognitionPredictor {
+    /**
+     * Default maximum amount of cached recognition results.
+     */
+    public static final int DEFAULT_MAX_CACHE_SIZE = 1024;
+
+    /**
+     * Amount of images, which are processed together. Cache misses of a chunk
+     * are passed to the underlying predictor together, so that they are
+     * batched.
+     */
+    private static final int CHUNK_SIZE = 256;
+
+    /**
+     * Underlying text recognizer, which is run on cache misses.
+     */
+    private final IRecognitionPredictor predictor;
+
+    /**
+     * Cached recognition results in access order.
+     */
+    private final Map<CropKey, RecognitionResult> cache;
+
+    /**
+     * Count of images, for which the cached result was used.
+     */
+    private final AtomicLong hitCount = new AtomicLong();
+
+    /**
+     * Count of images, which were passed to the underlying predictor.
+     */
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * Creates a new caching text recognition predictor.
+     *
+     * @param predictor underlying text recognizer, which is run on cache misses
+     * @param maxCacheSize maximum amount of cached recognition results
+     */
+    public CachingRecognitionPredictor(IRecognitionPredictor predictor, int maxCacheSize) {
+        this.predictor = Objects.requireNonNull(predictor);
+        if (maxCacheSize <= 0) {
+            throw new IllegalArgumentException(PdfOcrOnnxTrExceptionMessageConstant.CACHE_SIZE_SHOULD_BE_POSITIVE);
+        }
+        this.cache = new LinkedHashMap<CropKey, RecognitionResult>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CropKey, RecognitionResult> eldest) {
+                return size() > maxCacheSize;
+            }
+        };
+    }
+
+    /**
+     * Creates a new caching text recognition predictor with the default cache size.
+     *
+     * @param predictor underlying text recognizer, which is run on cache misses
+     */
+    public CachingRecognitionPredictor(IRecognitionPredictor predictor) {
+        this(predictor, DEFAULT_MAX_CACHE_SIZE);
+    }
+
+    /**
+     * Returns the count of images, for which the cached result was used.
+     *
+     * @return the count of cache hits
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Returns the count of images, which were passed to the underlying predictor.
+     *
+     * @return the count of cache misses
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Returns the ratio of images, for which the cached result was used.
+     *
+     * @return the cache hit rate in [0; 1] range, or 0, if nothing was recognized yet
+     */
+    public double getHitRate() {
+        final long hits = hitCount.get();
+        final long total = hits + missCount.get();
+        if (total == 0) {
+            return 0;
+        }
+        return (double) hits / total;
+    }
+
+    /**
+     * Removes all cached recognition results. Statistics are not reset.
+     */
+    public void clearCache() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<String> predict(Iterator<BufferedImage> inputs) {
+        final Iterator<RecognitionResult> results = predictWithConfidence(inputs);
+        return new Iterator<String>() {
+            @Override
+            public boolean hasNext() {
+                return results.hasNext();
+            }
+
+            @Override
+            public String next() {
+                return results.next().getText();
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<RecognitionResult> predictWithConfidence(Iterator<BufferedImage> inputs) {
+        return new BatchProcessingGenerator<>(Batching.wrap(inputs, CHUNK_SIZE), this::recognizeChunk);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void warmUp(int batchCount) {
+        predictor.warmUp(batchCount);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws Exception {
+        predictor.close();
+    }
+
+    private List<RecognitionResult> recognizeChunk(List<BufferedImage> images) {
+        final RecognitionResult[] results = new RecognitionResult[images.size()];
+        final CropKey[] keys = new CropKey[images.size()];
+        // Same crop might repeat within a chunk, so misses are deduplicated as well
+        final Map<CropKey, Integer> missIndices = new HashMap<>();
+        final List<BufferedImage> missImages = new ArrayList<>();
+        for (int i = 0; i < images.size(); ++i) {
+            keys[i] = CropKey.create(images.get(i));
+        }
+        synchronized (cache) {
+            for (int i = 0; i < images.size(); ++i) {
+                results[i] = cache.get(keys[i]);
+                if (results[i] == null && !missIndices.containsKey(keys[i])) {
+                    missIndices.put(keys[i], missImages.size());
+                    missImages.add(images.get(i));
+                }
+            }
+        }
+        hitCount.addAndGet(images.size() - missImages.size());
+        missCount.addAndGet(missImages.size());
+        if (missImages.isEmpty()) {
+            return Arrays.asList(results);
+        }
+
+        final List<RecognitionResult> missResults = new ArrayList<>(missImages.size());
+        predictor.predictWithConfidence(missImages).forEachRemaining(missResults::add);
+        synchronized (cache) {
+            for (final Map.Entry<CropKey, Integer> entry : missIndices.entrySet()) {
+                cache.put(entry.getKey(), missResults.get(entry.getValue()));
+            }
+        }
+        for (int i = 0; i < results.length; ++i) {
+            if (results[i] == null) {
+                results[i] = missResults.get(missIndices.get(keys[i]));
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Cache key: size and SHA-256 digest of the ARGB pixels of a crop.
+     */
+    private static final class CropKey {
+        private static final String DIGEST_ALGORITHM = "SHA-256";
+
+        private final int width;
+        private final int height;
+        private final byte[] digest;
+        private final int hash;
+
+        private CropKey(int width, int height, byte[] digest) {
+            this.width = width;
+            this.height = height;
+            this.digest = digest;
+            this.hash = (Arrays.hashCode(digest) * 31 + width) * 31 + height;
+        }
+
+        static CropKey create(BufferedImage image) {
+            final int width = image.getWidth();
+            final int height = image.getHeight();
+            final MessageDigest messageDigest;
+            try {
+                messageDigest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+            } catch (NoSuchAlgorithmException e) {
+                // SHA-256 is supported by every Java platform
+                throw new IllegalStateException(e);
+            }
+            // Pixels are digested row by row, so that the whole crop is not copied
+            final int[] row = new int[width];
+            final byte[] rowBytes = new byte[width * 4];
+            for (int y = 0; y < height; ++y) {
+                image.getRGB(0, y, width, 1, row, 0, width);
+                for (int x = 0; x < width; ++x) {
+                    final int pixel = row[x];
+                    rowBytes[4 * x] = (byte) (pixel >>> 24);
+                    rowBytes[4 * x + 1] = (byte) (pixel >>> 16);
+                    rowBytes[4 * x + 2] = (byte) (pixel >>> 8);
+                    rowBytes[4 * x + 3] = (byte) pixel;
+                }
+                messageDigest.update(rowBytes);
+            }
+            return new CropKey(width, height, messageDigest.digest());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || this.getClass() != o.getClass()) {
+                return false;
+            }
+            final CropKey that = (CropKey) o;
+            return width == that.width && height == that.height && Arrays.equals(digest, that.digest);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.pdfocr.onnxtr.recognition;
+
+import com.itextpdf.pdfocr.onnxtr.exceptions.PdfOcrOnnxTrExceptionMessageConstant;
+import com.itextpdf.pdfocr.onnxtr.util.BatchProcessingGenerator;
+import com.itextpdf.pdfocr.onnxtr.util.Batching;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A text recognition predictor, which combines a fast and an accurate
+ * recognizer.
+ *
+ * <p>
+ * All images are recognized by the fast predictor first. Only images, for
+ * which its confidence is below the threshold, are then recognized again by
+ * the accurate predictor, and its results are used instead. This way most of
+ * the text is recognized at the speed of the fast model, and the slow model
+ * is only used for hard cases.
+ */
+public class CascadeRecognitionPredictor implements IRecognitionPredictor {
+    /**
+     * Default confidence threshold, below which the accurate predictor is used.
+     */
+    public static final float DEFAULT_CONFIDENCE_THRESHOLD = 0.8F;
+
+    /**
+     * Amount of images, which are processed together. Fast predictor results
+     * for a chunk are collected, before the low confidence ones are passed to
+     * the accurate predictor, so that they are batched as well.
+     */
+    private static final int CHUNK_SIZE = 256;
+
+    /**
+     * Fast text recognizer, which is run over all images.
+     */
+    private final IRecognitionPredictor fastPredictor;
+
+    /**
+     * Accurate text recognizer, which is run over low confidence images.
+     */
+    private final IRecognitionPredictor accuratePredictor;
+
+    /**
+     * Confidence threshold, below which the accurate predictor is used.
+     */
+    private final float confidenceThreshold;
+
+    /**
+     * Count of images, which were recognized.
+     */
+    private final AtomicLong recognizedImageCount = new AtomicLong();
+
+    /**
+     * Count of images, which were passed to the accurate predictor.
+     */
+    private final AtomicLong escalatedImageCount = new AtomicLong();
+
+    /**
+     * Creates a new cascade text recognition predictor.
+     *
+     * @param fastPredictor fast text recognizer, which is run over all images
+     * @param accuratePredictor accurate text recognizer, which is run over low confidence images
+     * @param confidenceThreshold confidence threshold in [0; 1] range, below which the accurate predictor is used
+     */
+    public CascadeRecognitionPredictor(IRecognitionPredictor fastPredictor, IRecognitionPredictor accuratePredictor,
+                                       float confidenceThreshold) {
+        this.fastPredictor = Objects.requireNonNull(fastPredictor);
+        this.accuratePredictor = Objects.requireNonNull(accuratePredictor);
+        if (!(0 <= confidenceThreshold && confidenceThreshold <= 1)) {
+            throw new IllegalArgumentException(
+                    PdfOcrOnnxTrExceptionMessageConstant.CONFIDENCE_THRESHOLD_SHOULD_BE_IN_0_1_RANGE);
+        }
+        this.confidenceThreshold = confidenceThreshold;
+    }
+
+    /**
+     * Creates a new cascade text recognition predictor with the default confidence threshold.
+     *
+     * @param fastPredictor fast text recognizer, which is run over all images
+     * @param accuratePredictor accurate text recognizer, which is run over low confidence images
+     */
+    public CascadeRecognitionPredictor(IRecognitionPredictor fastPredictor, IRecognitionPredictor accuratePredictor) {
+        this(fastPredictor, accuratePredictor, DEFAULT_CONFIDENCE_THRESHOLD);
+    }
+
+    /**
+     * Returns the count of images, which were recognized by this predictor.
+     *
+     * @return the count of recognized images
+     */
+    public long getRecognizedImageCount() {
+        return recognizedImageCount.get();
+    }
+
+    /**
+     * Returns the count of images, which were passed to the accurate predictor,
+     * because of the low confidence of the fast one.
+     *
+     * @return the count of escalated images
+     */
+    public long getEscalatedImageCount() {
+        return escalatedImageCount.get();
+    }
+
+    /**
+     * Returns the ratio of images, which were passed to the accurate predictor.
+     *
+     * @return the escalation rate in [0; 1] range, or 0, if nothing was recognized yet
+     */
+    public double getEscalationRate() {
+        final long recognized = recognizedImageCount.get();
+        if (recognized == 0) {
+            return 0;
+        }
+        return (double) escalatedImageCount.get() / recognized;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<String> predict(Iterator<BufferedImage> inputs) {
+        final Iterator<RecognitionResult> results = predictWithConfidence(inputs);
+        return new Iterator<String>() {
+            @Override
+            public boolean hasNext() {
+                return results.hasNext();
+            }
+
+            @Override
+            public String next() {
+                return results.next().getText();
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<RecognitionResult> predictWithConfidence(Iterator<BufferedImage> inputs) {
+        return new BatchProcessingGenerator<>(Batching.wrap(inputs, CHUNK_SIZE), this::recognizeChunk);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void warmUp(int batchCount) {
+        fastPredictor.warmUp(batchCount);
+        accuratePredictor.warmUp(batchCount);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws Exception {
+        try {
+            fastPredictor.close();
+        } finally {
+            accuratePredictor.close();
+        }
+    }
+
+    private List<RecognitionResult> recognizeChunk(List<BufferedImage> images) {
+        final List<RecognitionResult> results = new ArrayList<>(images.size());
+        fastPredictor.predictWithConfidence(images).forEachRemaining(results::add);
+
+        final List<Integer> escalatedIndices = new ArrayList<>();
+        final List<BufferedImage> escalatedImages = new ArrayList<>();
+        for (int i = 0; i < results.size(); ++i) {
+            if (results.get(i).getConfidence() < confidenceThreshold) {
+                escalatedIndices.add(i);
+                escalatedImages.add(images.get(i));
+            }
+        }
+        if (!escalatedImages.isEmpty()) {
+            final Iterator<RecognitionResult> accurateResults = accuratePredictor.predictWithConfidence(
+                    escalatedImages);
+            for (final Integer index : escalatedIndices) {
+                results.set(index, accurateResults.next());
+            }
+        }
+
+        recognizedImageCount.addAndGet(images.size());
+        escalatedImageCount.addAndGet(escalatedImages.size());
+        return results;
+    }
+}
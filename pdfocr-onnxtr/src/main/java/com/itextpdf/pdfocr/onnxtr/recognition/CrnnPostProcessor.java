@@ -9,6 +9,7 @@ package com.itextpdf.pdfocr.onnxtr.recognition;
 import com.itextpdf.pdfocr.onnxtr.FloatBufferMdArray;
 import com.itextpdf.pdfocr.onnxtr.util.MathUtil;
 
+import java.nio.FloatBuffer;
 import java.util.Objects;
 
 /**
@@ -47,22 +48,19 @@ public class CrnnPostProcessor implements IRecognitionPostProcessor {
      */
     @Override
     public String process(FloatBufferMdArray output) {
-        final int maxWordLength = output.getDimension(0);
-        final StringBuilder wordBuilder = new StringBuilder(maxWordLength);
-        final float[] values = new float[labelDimension()];
-        final float[] outputBuffer = output.getData().array();
-        int prevLetterIndex = -1;
-        int arrayOffset = output.getArrayOffset();
-        for (int i = arrayOffset; i < arrayOffset + output.getArraySize(); i += values.length) {
-            System.arraycopy(outputBuffer, i, values, 0, values.length);
-            final int letterIndex = MathUtil.argmax(values);
-            // Last letter is <blank>
-            if (prevLetterIndex != letterIndex && letterIndex < vocabulary.size()) {
-                wordBuilder.append(vocabulary.map(letterIndex));
-            }
-            prevLetterIndex = letterIndex;
-        }
-        return wordBuilder.toString();
+        return decode(output, false).getText();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Confidence is the lowest softmax probability among the best tokens
+     * of all the steps, including blanks.
+     */
+    @Override
+    public RecognitionResult processWithConfidence(FloatBufferMdArray output) {
+        return decode(output, true);
     }
 
     /**
@@ -73,4 +71,27 @@ public class CrnnPostProcessor implements IRecognitionPostProcessor {
         // +1 is "<blank>" token
         return vocabulary.size() + 1;
     }
+
+    private RecognitionResult decode(FloatBufferMdArray output, boolean calculateConfidence) {
+        final int maxWordLength = output.getDimension(0);
+        final int labelDimension = labelDimension();
+        final StringBuilder wordBuilder = new StringBuilder(maxWordLength);
+        // Reading straight from the output buffer, which might be a direct one
+        final FloatBuffer outputBuffer = output.getData();
+        final int outputSize = outputBuffer.remaining();
+        float confidence = 1F;
+        int prevLetterIndex = -1;
+        for (int i = 0; i < outputSize; i += labelDimension) {
+            final int letterIndex = MathUtil.argmax(outputBuffer, i, labelDimension);
+            if (calculateConfidence) {
+                confidence = Math.min(confidence, MathUtil.softmax(outputBuffer, i, labelDimension, letterIndex));
+            }
+            // Last letter is <blank>
+            if (prevLetterIndex != letterIndex && letterIndex < vocabulary.size()) {
+                wordBuilder.append(vocabulary.map(letterIndex));
+            }
+            prevLetterIndex = letterIndex;
+        }
+        return new RecognitionResult(wordBuilder.toString(), confidence);
+    }
 }
@@ -9,6 +9,7 @@ package com.itextpdf.pdfocr.onnxtr.recognition;
 import com.itextpdf.pdfocr.onnxtr.FloatBufferMdArray;
 import com.itextpdf.pdfocr.onnxtr.util.MathUtil;
 
+import java.nio.FloatBuffer;
 import java.util.Objects;
 
 /**
@@ -63,24 +64,19 @@ public class EndOfStringPostProcessor implements IRecognitionPostProcessor {
      */
     @Override
     public String process(FloatBufferMdArray output) {
-        final int maxWordLength = output.getDimension(0);
-        final StringBuilder wordBuilder = new StringBuilder(maxWordLength);
-        final float[] values = new float[labelDimension()];
-
-        final float[] outputBuffer = output.getData().array();
-        int arrayOffset = output.getArrayOffset();
-        for (int i = arrayOffset; i < arrayOffset + output.getArraySize(); i += values.length) {
-            System.arraycopy(outputBuffer, i, values, 0, values.length);
-            final int letterIndex = MathUtil.argmax(values);
-            if (letterIndex < vocabulary.size()) {
-                wordBuilder.append(vocabulary.map(letterIndex));
-            } else if (letterIndex == vocabulary.size()) {
-                // If found end-of-sentence "<eos>" token
-                break;
-            }
-        }
+        return decode(output, false).getText();
+    }
 
-        return wordBuilder.toString();
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Confidence is the lowest softmax probability among the best tokens
+     * of all the steps up to, and including, the end-of-string token.
+     */
+    @Override
+    public RecognitionResult processWithConfidence(FloatBufferMdArray output) {
+        return decode(output, true);
     }
 
     /**
@@ -91,4 +87,27 @@ public class EndOfStringPostProcessor implements IRecognitionPostProcessor {
         // +1 is for "<eos>" token itself
         return vocabulary.size() + 1 + additionalTokens;
     }
+
+    private RecognitionResult decode(FloatBufferMdArray output, boolean calculateConfidence) {
+        final int maxWordLength = output.getDimension(0);
+        final int labelDimension = labelDimension();
+        final StringBuilder wordBuilder = new StringBuilder(maxWordLength);
+        // Reading straight from the output buffer, which might be a direct one
+        final FloatBuffer outputBuffer = output.getData();
+        final int outputSize = outputBuffer.remaining();
+        float confidence = 1F;
+        for (int i = 0; i < outputSize; i += labelDimension) {
+            final int letterIndex = MathUtil.argmax(outputBuffer, i, labelDimension);
+            if (calculateConfidence) {
+                confidence = Math.min(confidence, MathUtil.softmax(outputBuffer, i, labelDimension, letterIndex));
+            }
+            if (letterIndex < vocabulary.size()) {
+                wordBuilder.append(vocabulary.map(letterIndex));
+            } else if (letterIndex == vocabulary.size()) {
+                // If found end-of-sentence "<eos>" token
+                break;
+            }
+        }
+        return new RecognitionResult(wordBuilder.toString(), confidence);
+    }
 }
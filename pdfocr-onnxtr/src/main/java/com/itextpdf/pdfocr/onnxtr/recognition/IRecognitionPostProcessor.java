@@ -38,6 +38,22 @@ public interface IRecognitionPostProcessor {
      */
     String process(FloatBufferMdArray output);
 
+    /**
+     * Process ML model output and return recognized characters together with
+     * the recognition confidence.
+     *
+     * <p>
+     * Default implementation does not estimate the confidence and always
+     * reports the maximum one.
+     *
+     * @param output raw output of the ML model
+     *
+     * @return recognized characters together with the recognition confidence
+     */
+    default RecognitionResult processWithConfidence(FloatBufferMdArray output) {
+        return new RecognitionResult(process(output), 1F);
+    }
+
     /**
      * Returns the size of the output character label vector. I.e. how many
      * distinct tokens/characters the model recognizes.
@@ -25,9 +25,48 @@ package com.itextpdf.pdfocr.onnxtr.recognition;
 import com.itextpdf.pdfocr.onnxtr.IPredictor;
 
 import java.awt.image.BufferedImage;
+import java.util.Iterator;
 
 /**
  * Interface for predictors, which take a cropped image of text and recognize text characters on it.
  */
 public interface IRecognitionPredictor extends IPredictor<BufferedImage, String> {
+    /**
+     * Recognizes text on the input images and returns recognized characters
+     * together with the recognition confidence.
+     *
+     * <p>
+     * Default implementation does not estimate the confidence and always
+     * reports the maximum one.
+     *
+     * @param inputs cropped images of text
+     *
+     * @return iterator over the recognition results
+     */
+    default Iterator<RecognitionResult> predictWithConfidence(Iterator<BufferedImage> inputs) {
+        final Iterator<String> strings = predict(inputs);
+        return new Iterator<RecognitionResult>() {
+            @Override
+            public boolean hasNext() {
+                return strings.hasNext();
+            }
+
+            @Override
+            public RecognitionResult next() {
+                return new RecognitionResult(strings.next(), 1F);
+            }
+        };
+    }
+
+    /**
+     * Recognizes text on the input images and returns recognized characters
+     * together with the recognition confidence.
+     *
+     * @param inputs cropped images of text
+     *
+     * @return iterator over the recognition results
+     */
+    default Iterator<RecognitionResult> predictWithConfidence(Iterable<BufferedImage> inputs) {
+        return predictWithConfidence(inputs.iterator());
+    }
 }
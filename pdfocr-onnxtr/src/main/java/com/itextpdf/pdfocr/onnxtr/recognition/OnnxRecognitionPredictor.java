@@ -23,11 +23,16 @@
 package com.itextpdf.pdfocr.onnxtr.recognition;
 
 import com.itextpdf.pdfocr.onnxtr.AbstractOnnxPredictor;
+import com.itextpdf.pdfocr.onnxtr.ByteBufferMdArray;
 import com.itextpdf.pdfocr.onnxtr.FloatBufferMdArray;
+import com.itextpdf.pdfocr.onnxtr.OnnxInputProperties;
+import com.itextpdf.pdfocr.onnxtr.exceptions.PdfOcrOnnxTrExceptionMessageConstant;
 import com.itextpdf.pdfocr.onnxtr.util.BufferedImageUtil;
 
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -36,11 +41,29 @@ import java.util.List;
  */
 public class OnnxRecognitionPredictor extends AbstractOnnxPredictor<BufferedImage, String>
         implements IRecognitionPredictor {
+    /**
+     * Index of the width dimension in the BCHW input shape.
+     */
+    private static final int WIDTH_DIMENSION_INDEX = 3;
+
+    /**
+     * For models with a dynamic input width, batch width is rounded up to
+     * a multiple of this value. Backbones downsample the width, so too narrow
+     * or odd-sized inputs are not something they expect.
+     */
+    private static final int DYNAMIC_WIDTH_ALIGNMENT = 8;
+
     /**
      * Configuration properties of the predictor.
      */
     private final OnnxRecognitionPredictorProperties properties;
 
+    /**
+     * For models with a dynamic input width, batch width is limited to the
+     * input properties width multiplied by this factor.
+     */
+    private volatile int dynamicWidthLimitFactor = 1;
+
     /**
      * Creates a text recognition predictor with the specified properties.
      *
@@ -51,6 +74,39 @@ public class OnnxRecognitionPredictor extends AbstractOnnxPredictor<BufferedImag
         this.properties = properties;
     }
 
+    /**
+     * Sets the limit of the batch width for models with a dynamic input width, as a multiple of
+     * the input properties width. Text images, which are wider after resizing to the input
+     * height, are scaled down to the limit. It has no effect for models with a fixed input width.
+     *
+     * <p>
+     * By default the limit is the input properties width, which text images, split by
+     * {@link com.itextpdf.pdfocr.onnxtr.OnnxTrOcrEngine} before the recognition, rarely exceed.
+     * If splitting is disabled via
+     * {@link com.itextpdf.pdfocr.onnxtr.OnnxTrEngineProperties#setSplittingTextImages(boolean)},
+     * the limit should be raised, so that long text lines are taken as is. A larger limit means
+     * more memory for a batch of long lines.
+     *
+     * @param dynamicWidthLimitFactor batch width limit as a multiple of the input properties width
+     */
+    public void setDynamicWidthLimitFactor(int dynamicWidthLimitFactor) {
+        if (dynamicWidthLimitFactor <= 0) {
+            throw new IllegalArgumentException(
+                    PdfOcrOnnxTrExceptionMessageConstant.DYNAMIC_WIDTH_LIMIT_FACTOR_SHOULD_BE_POSITIVE);
+        }
+        this.dynamicWidthLimitFactor = dynamicWidthLimitFactor;
+    }
+
+    /**
+     * Returns the limit of the batch width for models with a dynamic input width, as a multiple
+     * of the input properties width.
+     *
+     * @return batch width limit factor
+     */
+    public int getDynamicWidthLimitFactor() {
+        return dynamicWidthLimitFactor;
+    }
+
     /**
      * Creates a new text recognition predictor using an existing pre-trained
      * CRNN model with a VGG-16 backbone, stored on disk. This is the default
@@ -255,13 +311,105 @@ public class OnnxRecognitionPredictor extends AbstractOnnxPredictor<BufferedImag
         return properties;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<RecognitionResult> predictWithConfidence(Iterator<BufferedImage> inputs) {
+        return predict(inputs, (List<BufferedImage> inputBatch, FloatBufferMdArray outputBatch) -> {
+            final int batchSize = outputBatch.getDimension(0);
+            final List<RecognitionResult> results = new ArrayList<>(batchSize);
+            for (int i = 0; i < batchSize; ++i) {
+                results.add(properties.getPostProcessor().processWithConfidence(outputBatch.getSubArray(i)));
+            }
+            return results;
+        });
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     protected FloatBufferMdArray toInputBuffer(List<BufferedImage> batch) {
-        // Just your regular BCHW input
-        return BufferedImageUtil.toBchwInput(batch, properties.getInputProperties());
+        // Just your regular BCHW input, but possibly narrower, see calculateBatchWidth
+        return BufferedImageUtil.toBchwInput(batch, properties.getInputProperties(), calculateBatchWidth(batch));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * For recognition these are full batches of synthetic text crops of the model input size. For
+     * models with a dynamic input width each next batch is half as wide, so that the runtime sees
+     * the range of widths, which real batches of short words and long lines would have.
+     */
+    @Override
+    protected List<BufferedImage> createWarmUpBatch(int batchIndex) {
+        final OnnxInputProperties inputProperties = properties.getInputProperties();
+        final int height = inputProperties.getHeight();
+        int width = inputProperties.getWidth();
+        if (isDynamicInputDimension(WIDTH_DIMENSION_INDEX)) {
+            width = Math.max(height, width >> Math.min(batchIndex, Integer.SIZE - 1));
+        }
+        final BufferedImage crop = BufferedImageUtil.createDummyTextImage(width, height);
+        return Collections.nCopies(inputProperties.getBatchSize(), crop);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean supportsUint8Input() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected ByteBufferMdArray toUint8InputBuffer(List<BufferedImage> batch) {
+        return BufferedImageUtil.toBchwUint8Input(batch, properties.getInputProperties(), calculateBatchWidth(batch));
+    }
+
+    /**
+     * Calculates the width of the model input for the batch.
+     *
+     * @param batch batch of text images
+     *
+     * @return width of the model input
+     */
+    private int calculateBatchWidth(List<BufferedImage> batch) {
+        final OnnxInputProperties inputProperties = properties.getInputProperties();
+        if (!isDynamicInputDimension(WIDTH_DIMENSION_INDEX)) {
+            return inputProperties.getWidth();
+        }
+        /*
+         * If model accepts any input width, then there is no need to pad every
+         * crop to the maximum width. Batch is made just wide enough for its
+         * widest crop, with a multiple of input properties width as the upper
+         * limit.
+         */
+        return calculateDynamicBatchWidth(batch, inputProperties.getHeight(),
+                inputProperties.getWidth() * dynamicWidthLimitFactor);
+    }
+
+    /**
+     * Calculates the width of the model input for the batch for models with a dynamic input width.
+     *
+     * @param batch batch of text images
+     * @param height height of the model input
+     * @param maxBatchWidth upper limit of the batch width
+     *
+     * @return width of the model input
+     */
+    static int calculateDynamicBatchWidth(List<BufferedImage> batch, int height, int maxBatchWidth) {
+        int batchWidth = DYNAMIC_WIDTH_ALIGNMENT;
+        for (final BufferedImage image : batch) {
+            final int scaledWidth = (int) Math.round((double) image.getWidth() * height / image.getHeight());
+            batchWidth = Math.max(batchWidth, scaledWidth);
+        }
+        batchWidth = ((batchWidth + DYNAMIC_WIDTH_ALIGNMENT - 1) / DYNAMIC_WIDTH_ALIGNMENT) * DYNAMIC_WIDTH_ALIGNMENT;
+        return Math.min(batchWidth, maxBatchWidth);
     }
 
     /**
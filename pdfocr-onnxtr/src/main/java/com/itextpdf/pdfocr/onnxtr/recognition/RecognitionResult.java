@@ -0,0 +1,106 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.pdfocr.onnxtr.recognition;
+
+import java.util.Objects;
+
+/**
+ * Result of text recognition: recognized characters together with the
+ * confidence of the recognizer.
+ */
+public class RecognitionResult {
+    /**
+     * Recognized characters.
+     */
+    private final String text;
+
+    /**
+     * Confidence of the recognition in [0; 1] range.
+     */
+    private final float confidence;
+
+    /**
+     * Creates a new recognition result.
+     *
+     * @param text recognized characters
+     * @param confidence confidence of the recognition in [0; 1] range
+     */
+    public RecognitionResult(String text, float confidence) {
+        this.text = Objects.requireNonNull(text);
+        this.confidence = confidence;
+    }
+
+    /**
+     * Returns the recognized characters.
+     *
+     * @return the recognized characters
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Returns the confidence of the recognition in [0; 1] range. For models,
+     * which output character probabilities, this is the lowest probability
+     * of a decoded character.
+     *
+     * @return the confidence of the recognition
+     */
+    public float getConfidence() {
+        return confidence;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || this.getClass() != o.getClass()) {
+            return false;
+        }
+        final RecognitionResult that = (RecognitionResult) o;
+        return Float.compare(confidence, that.confidence) == 0 && text.equals(that.text);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash((Object) text, confidence);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "RecognitionResult{" +
+                "text='" + text + '\'' +
+                ", confidence=" + confidence +
+                '}';
+    }
+}
@@ -25,14 +25,16 @@ package com.itextpdf.pdfocr.onnxtr.util;
 import com.itextpdf.commons.utils.MessageFormatUtil;
 import com.itextpdf.kernel.geom.Point;
 import com.itextpdf.pdfocr.TextOrientation;
+import com.itextpdf.pdfocr.onnxtr.ByteBufferMdArray;
 import com.itextpdf.pdfocr.onnxtr.FloatBufferMdArray;
 import com.itextpdf.pdfocr.onnxtr.OnnxInputProperties;
 import com.itextpdf.pdfocr.onnxtr.exceptions.PdfOcrOnnxTrExceptionMessageConstant;
 
 import org.bytedeco.javacpp.indexer.FloatIndexer;
-import org.bytedeco.javacpp.indexer.UByteIndexer;
 import org.bytedeco.opencv.global.opencv_imgproc;
 import org.bytedeco.opencv.opencv_core.Mat;
+import org.bytedeco.opencv.opencv_core.Rect;
+import org.bytedeco.opencv.opencv_core.Scalar;
 import org.bytedeco.opencv.opencv_core.Size;
 import org.opencv.core.CvType;
 
@@ -40,11 +42,14 @@ import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.awt.image.PixelInterleavedSampleModel;
 import java.awt.image.Raster;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.FloatBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 
@@ -70,6 +75,15 @@ public final class BufferedImageUtil {
      * variants: RGB, ARGB, BGR, ABGR.
      */
     private static final int BAND_BLUE = 2;
+    /**
+     * Line height in pixels of the synthetic text, see {@link #createDummyTextImage(int, int)}.
+     */
+    private static final int DUMMY_TEXT_LINE_HEIGHT = 32;
+    /**
+     * Maximum coordinate difference between box corners, at which box sides are still considered
+     * to be parallel to the image axes.
+     */
+    private static final double AXIS_ALIGNMENT_EPSILON = 1E-3;
 
     private BufferedImageUtil() {
     }
@@ -84,6 +98,22 @@ public final class BufferedImageUtil {
      * @return batched BCHW model input MD-array
      */
     public static FloatBufferMdArray toBchwInput(Collection<BufferedImage> images, OnnxInputProperties properties) {
+        return toBchwInput(images, properties, properties.getWidth());
+    }
+
+    /**
+     * Converts a collection of images to a batched ML model input in a BCHW format with 3 channels.
+     * This does aspect-preserving image resizing to fit the input shape, with the input width
+     * overridden by the provided one. This is used for models with a dynamic input width.
+     *
+     * @param images collection of images to convert to model input
+     * @param properties model input properties
+     * @param width target input width, which overrides the width from the properties
+     *
+     * @return batched BCHW model input MD-array
+     */
+    public static FloatBufferMdArray toBchwInput(Collection<BufferedImage> images, OnnxInputProperties properties,
+                                                 int width) {
         // Currently properties guarantee RGB, this is just in case this changes later
         if (properties.getChannelCount() != 3) {
             throw new IllegalArgumentException(PdfOcrOnnxTrExceptionMessageConstant.ONLY_SUPPORT_RGB_IMAGES);
@@ -97,7 +127,7 @@ public final class BufferedImageUtil {
                 images.size(),
                 properties.getChannelCount(),
                 properties.getHeight(),
-                properties.getWidth()
+                width
         };
         /*
          * It is important to do it via ByteBuffer with allocateDirect. If the
@@ -112,19 +142,107 @@ public final class BufferedImageUtil {
                 .allocateDirect(calculateBufferCapacity(inputShape))
                 .order(ByteOrder.nativeOrder())
                 .asFloatBuffer();
+        /*
+         * Canvas and plane buffers are shared by the whole batch. Resizing repaints every canvas
+         * pixel, so nothing from the previous image leaks into the next one.
+         */
+        final BufferedImage canvas = new BufferedImage(width, properties.getHeight(), BufferedImage.TYPE_3BYTE_BGR);
+        final float[] plane = new float[width * properties.getHeight()];
+        final float[][] normalizationTables = createNormalizationTables(properties);
         for (final BufferedImage image : images) {
-            final BufferedImage resizedImage = resize(
-                    image,
-                    properties.getWidth(),
-                    properties.getHeight(),
-                    properties.useSymmetricPad()
-            );
-            putRgbImageWithNormalization(inputData, resizedImage, properties);
+            resize(image, canvas, properties.useSymmetricPad());
+            putRgbImageWithNormalization(inputData, canvas, normalizationTables, plane);
         }
         inputData.rewind();
         return new FloatBufferMdArray(inputData, inputShape);
     }
 
+    /**
+     * Converts a collection of images to a batched unsigned 8-bit ML model input in a BCHW format
+     * with 3 channels. This does the same aspect-preserving image resizing, as
+     * {@link #toBchwInput(Collection, OnnxInputProperties)}, but keeps raw sample values without
+     * normalization. This is used for models, which have normalization built into the graph.
+     *
+     * @param images collection of images to convert to model input
+     * @param properties model input properties. Mean and std are ignored
+     *
+     * @return batched BCHW model input MD-array
+     */
+    public static ByteBufferMdArray toBchwUint8Input(Collection<BufferedImage> images,
+                                                     OnnxInputProperties properties) {
+        return toBchwUint8Input(images, properties, properties.getWidth());
+    }
+
+    /**
+     * Converts a collection of images to a batched unsigned 8-bit ML model input in a BCHW format
+     * with 3 channels, with the input width overridden by the provided one. This is used for models
+     * with a dynamic input width.
+     *
+     * @param images collection of images to convert to model input
+     * @param properties model input properties. Mean and std are ignored
+     * @param width target input width, which overrides the width from the properties
+     *
+     * @return batched BCHW model input MD-array
+     */
+    public static ByteBufferMdArray toBchwUint8Input(Collection<BufferedImage> images, OnnxInputProperties properties,
+                                                     int width) {
+        // Currently properties guarantee RGB, this is just in case this changes later
+        if (properties.getChannelCount() != 3) {
+            throw new IllegalArgumentException(PdfOcrOnnxTrExceptionMessageConstant.ONLY_SUPPORT_RGB_IMAGES);
+        }
+
+        if (images.size() > properties.getBatchSize()) {
+            throw new IllegalArgumentException(MessageFormatUtil.format(
+                    PdfOcrOnnxTrExceptionMessageConstant.TOO_MANY_IMAGES, images.size(), properties.getBatchSize()));
+        }
+        final long[] inputShape = new long[]{
+                images.size(),
+                properties.getChannelCount(),
+                properties.getHeight(),
+                width
+        };
+        // One byte per element, direct for the same reason, as with the float input
+        final ByteBuffer inputData = ByteBuffer.allocateDirect(
+                images.size() * properties.getChannelCount() * properties.getHeight() * width);
+        final BufferedImage canvas = new BufferedImage(width, properties.getHeight(), BufferedImage.TYPE_3BYTE_BGR);
+        final byte[] plane = new byte[width * properties.getHeight()];
+        for (final BufferedImage image : images) {
+            resize(image, canvas, properties.useSymmetricPad());
+            putRgbImage(inputData, canvas, plane);
+        }
+        inputData.rewind();
+        return new ByteBufferMdArray(inputData, inputShape);
+    }
+
+    /**
+     * Creates a synthetic image, which resembles text: black square "glyphs" arranged in lines on a
+     * white background. This is used as a dummy input for warming models up.
+     *
+     * @param width width of the image
+     * @param height height of the image
+     *
+     * @return synthetic text image
+     */
+    public static BufferedImage createDummyTextImage(int width, int height) {
+        final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_3BYTE_BGR);
+        final Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.setColor(Color.BLACK);
+            final int lineHeight = Math.min(height, DUMMY_TEXT_LINE_HEIGHT);
+            final int glyphSize = Math.max(1, lineHeight / 2);
+            for (int y = lineHeight / 4; y + glyphSize <= height; y += 2 * lineHeight) {
+                for (int x = glyphSize / 2; x + glyphSize <= width; x += glyphSize + glyphSize / 2) {
+                    graphics.fillRect(x, y, glyphSize, glyphSize);
+                }
+            }
+        } finally {
+            graphics.dispose();
+        }
+        return image;
+    }
+
     /**
      * Rotates image based on text orientation. If no rotation necessary, same image is returned.
      *
@@ -169,6 +287,10 @@ public final class BufferedImageUtil {
      * Extracts sub-images from an image, based on provided rotated 4-point boxes. Sub-images are
      * transformed to fit the whole image without (in our use cases it is just rotation).
      *
+     * <p>
+     * Axis-aligned boxes are extracted via a plain region copy, other boxes are extracted via an
+     * affine warp.
+     *
      * @param image original image to be used for extraction
      * @param boxes list of 4-point boxes. Points should be in the following order: BL, TL, TR, BR
      *
@@ -176,15 +298,19 @@ public final class BufferedImageUtil {
      */
     public static List<BufferedImage> extractBoxes(BufferedImage image, Collection<Point[]> boxes) {
         final List<BufferedImage> boxesImages = new ArrayList<>(boxes.size());
-        try (final Mat imageMat = BufferedImageUtil.toRgbMat(image)) {
+        try (final Mat imageMat = BufferedImageUtil.toBgrMat(image)) {
             for (final Point[] box : boxes) {
                 final float boxWidth = (float) box[1].distance(box[2]);
                 final float boxHeight = (float) box[1].distance(box[0]);
+                if (isAxisAligned(box) && (int) boxWidth > 0 && (int) boxHeight > 0) {
+                    boxesImages.add(extractAxisAlignedBox(imageMat, box, (int) boxWidth, (int) boxHeight));
+                    continue;
+                }
                 try (final Mat transformationMat = calculateBoxTransformationMat(box, boxWidth, boxHeight);
                      final Mat boxImageMat = new Mat((int) boxHeight, (int) boxWidth, CvType.CV_8UC3);
                      final Size size = new Size((int) boxWidth, (int) boxHeight)) {
                     opencv_imgproc.warpAffine(imageMat, boxImageMat, transformationMat, size);
-                    boxesImages.add(BufferedImageUtil.fromRgbMat(boxImageMat));
+                    boxesImages.add(BufferedImageUtil.fromBgrMat(boxImageMat));
                 }
             }
         }
@@ -192,68 +318,148 @@ public final class BufferedImageUtil {
     }
 
     /**
-     * Converts an image to an RGB Mat for use in OpenCV.
+     * Returns whether a 4-point box is an upright rectangle, i.e. its extraction does not require
+     * any rotation.
+     *
+     * @param box 4-point box. Points should be in the following order: BL, TL, TR, BR
+     *
+     * @return whether the box is an upright rectangle
+     */
+    private static boolean isAxisAligned(Point[] box) {
+        return Math.abs(box[0].getX() - box[1].getX()) < AXIS_ALIGNMENT_EPSILON
+                && Math.abs(box[1].getY() - box[2].getY()) < AXIS_ALIGNMENT_EPSILON
+                && Math.abs(box[2].getX() - box[3].getX()) < AXIS_ALIGNMENT_EPSILON
+                && Math.abs(box[3].getY() - box[0].getY()) < AXIS_ALIGNMENT_EPSILON
+                && box[0].getY() > box[1].getY()
+                && box[2].getX() > box[1].getX();
+    }
+
+    /**
+     * Extracts an upright box from an image via a region copy. Parts of the box outside of the image
+     * are filled with black, same as with the affine warp.
+     *
+     * @param imageMat BGR 8UC3 OpenCV Mat with the original image
+     * @param box 4-point box. Points should be in the following order: BL, TL, TR, BR
+     * @param width width of the extracted image
+     * @param height height of the extracted image
+     *
+     * @return extracted image box
+     */
+    private static BufferedImage extractAxisAlignedBox(Mat imageMat, Point[] box, int width, int height) {
+        final int x = (int) Math.round(box[1].getX());
+        final int y = (int) Math.round(box[1].getY());
+        final int srcMinX = Math.max(0, x);
+        final int srcMinY = Math.max(0, y);
+        final int srcMaxX = Math.min(imageMat.cols(), x + width);
+        final int srcMaxY = Math.min(imageMat.rows(), y + height);
+        try (final Mat boxImageMat = new Mat(height, width, CvType.CV_8UC3, new Scalar(0))) {
+            if (srcMinX < srcMaxX && srcMinY < srcMaxY) {
+                try (final Rect srcRect = new Rect(srcMinX, srcMinY, srcMaxX - srcMinX, srcMaxY - srcMinY);
+                     final Rect dstRect = new Rect(srcMinX - x, srcMinY - y, srcMaxX - srcMinX, srcMaxY - srcMinY);
+                     final Mat srcRoi = imageMat.apply(srcRect);
+                     final Mat dstRoi = boxImageMat.apply(dstRect)) {
+                    srcRoi.copyTo(dstRoi);
+                }
+            }
+            return BufferedImageUtil.fromBgrMat(boxImageMat);
+        }
+    }
+
+    /**
+     * Converts an image to a BGR Mat for use in OpenCV. BGR is used, so that the Mat memory layout
+     * matches the {@link BufferedImage#TYPE_3BYTE_BGR} one and pixels can be copied in bulk.
      *
      * @param image image to convert
      *
-     * @return RGB 8UC3 OpenCV Mat with the image
+     * @return BGR 8UC3 OpenCV Mat with the image
      */
-    private static Mat toRgbMat(BufferedImage image) {
-        final Mat resultMat = new Mat(image.getHeight(), image.getWidth(), CvType.CV_8UC3);
-        try (final UByteIndexer resultMatIndexer = resultMat.createIndexer()) {
-            for (int y = 0; y < image.getHeight(); ++y) {
-                for (int x = 0; x < image.getWidth(); ++x) {
-                    final int rgb = image.getRGB(x, y);
-                    final int r = (rgb >> 16) & 0xFF;
-                    final int g = (rgb >> 8) & 0xFF;
-                    final int b = rgb & 0xFF;
-                    resultMatIndexer.put(y, (long) x, r, g, b);
+    private static Mat toBgrMat(BufferedImage image) {
+        final int width = image.getWidth();
+        final int height = image.getHeight();
+        final byte[] bgr;
+        if (isPacked3ByteBgr(image)) {
+            bgr = ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+        } else {
+            bgr = new byte[width * height * 3];
+            final int[] row = new int[width];
+            int index = 0;
+            for (int y = 0; y < height; ++y) {
+                image.getRGB(0, y, width, 1, row, 0, width);
+                for (int x = 0; x < width; ++x) {
+                    final int rgb = row[x];
+                    bgr[index++] = (byte) rgb;
+                    bgr[index++] = (byte) (rgb >> 8);
+                    bgr[index++] = (byte) (rgb >> 16);
                 }
             }
         }
+        final Mat resultMat = new Mat(height, width, CvType.CV_8UC3);
+        resultMat.data().put(bgr, 0, width * height * 3);
         return resultMat;
     }
 
     /**
-     * Converts an RGB 8UC3 OpenCV Mat to a buffered image.
+     * Converts a BGR 8UC3 OpenCV Mat to a buffered image.
      *
-     * @param rgb RGB 8UC3 OpenCV Mat to convert
+     * @param bgr BGR 8UC3 OpenCV Mat to convert
      *
      * @return buffered image based on Mat
      */
-    private static BufferedImage fromRgbMat(Mat rgb) {
-        if (rgb.type() != CvType.CV_8UC3) {
+    private static BufferedImage fromBgrMat(Mat bgr) {
+        if (bgr.type() != CvType.CV_8UC3) {
             throw new IllegalArgumentException(MessageFormatUtil.format(
-                    PdfOcrOnnxTrExceptionMessageConstant.UNEXPECTED_MAT_TYPE, CvType.typeToString(rgb.type())));
+                    PdfOcrOnnxTrExceptionMessageConstant.UNEXPECTED_MAT_TYPE, CvType.typeToString(bgr.type())));
         }
 
-        final BufferedImage image = new BufferedImage(rgb.cols(), rgb.rows(), BufferedImage.TYPE_3BYTE_BGR);
-        final int[] rgbBuffer = new int[3];
-        try (final UByteIndexer rgbIndexer = rgb.createIndexer()) {
-            for (int y = 0; y < image.getHeight(); ++y) {
-                for (int x = 0; x < image.getWidth(); ++x) {
-                    rgbIndexer.get(y, x, rgbBuffer);
-                    final int rgbValue = 0xFF000000 | (rgbBuffer[0] << 16) | (rgbBuffer[1] << 8) | rgbBuffer[2];
-                    image.setRGB(x, y, rgbValue);
-                }
+        final BufferedImage image = new BufferedImage(bgr.cols(), bgr.rows(), BufferedImage.TYPE_3BYTE_BGR);
+        final byte[] imageData = ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+        if (bgr.isContinuous()) {
+            bgr.data().get(imageData, 0, imageData.length);
+        } else {
+            try (final Mat continuousBgr = bgr.clone()) {
+                continuousBgr.data().get(imageData, 0, imageData.length);
             }
         }
         return image;
     }
 
     /**
-     * Creates a new image with an aspect ratio preserving resize. New blank pixel will have black color.
+     * Returns whether the image is a {@link BufferedImage#TYPE_3BYTE_BGR} image, pixels of which are
+     * stored continuously from the start of its data buffer.
+     *
+     * @param image image to check
+     *
+     * @return whether the image data buffer can be used as is
+     */
+    private static boolean isPacked3ByteBgr(BufferedImage image) {
+        if (image.getType() != BufferedImage.TYPE_3BYTE_BGR) {
+            return false;
+        }
+        final Raster raster = image.getRaster();
+        if (!(raster.getDataBuffer() instanceof DataBufferByte)
+                || !(raster.getSampleModel() instanceof PixelInterleavedSampleModel)) {
+            return false;
+        }
+        final PixelInterleavedSampleModel sampleModel = (PixelInterleavedSampleModel) raster.getSampleModel();
+        return raster.getSampleModelTranslateX() == 0
+                && raster.getSampleModelTranslateY() == 0
+                && raster.getDataBuffer().getOffset() == 0
+                && sampleModel.getPixelStride() == 3
+                && sampleModel.getScanlineStride() == image.getWidth() * 3
+                && Arrays.equals(sampleModel.getBandOffsets(), new int[]{2, 1, 0});
+    }
+
+    /**
+     * Draws an image onto the target canvas with an aspect ratio preserving resize. Blank pixels will
+     * have black color. All pixels of the canvas are overwritten.
      *
      * @param image image to resize
-     * @param width target width
-     * @param height target height
+     * @param result target canvas, which defines the target width and height
      * @param symmetricPad whether padding should be symmetric or should it be bottom-right
-     *
-     * @return new resized image
      */
-    private static BufferedImage resize(BufferedImage image, int width, int height, boolean symmetricPad) {
-        // It is pretty unlikely, that the image is already the correct size, so no need for an exception
-        final BufferedImage result = new BufferedImage(width, height, BufferedImage.TYPE_3BYTE_BGR);
+    private static void resize(BufferedImage image, BufferedImage result, boolean symmetricPad) {
+        final int width = result.getWidth();
+        final int height = result.getHeight();
         final Graphics2D graphics = result.createGraphics();
         graphics.setColor(Color.BLACK);
         graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
@@ -286,7 +492,6 @@ public final class BufferedImageUtil {
             graphics.drawImage(image, xPos, 0, scaledWidth, height, Color.WHITE, null);
         }
         graphics.dispose();
-        return result;
     }
 
     /**
@@ -330,30 +535,106 @@ public final class BufferedImageUtil {
         return image;
     }
 
-    private static void putRgbImageWithNormalization(
-            FloatBuffer outputBuffer,
-            BufferedImage image,
-            OnnxInputProperties props
-    ) {
-        assert image.getType() == BufferedImage.TYPE_3BYTE_BGR;
+    /**
+     * Creates per-channel look-up tables, which map an 8-bit sample to its normalized value.
+     *
+     * @param props model input properties with normalization parameters
+     *
+     * @return normalization tables, indexed by band and then by sample value
+     */
+    private static float[][] createNormalizationTables(OnnxInputProperties props) {
+        final float[][] tables = new float[3][];
+        tables[BAND_RED] = createNormalizationTable(props.getRedMean(), props.getRedStd());
+        tables[BAND_GREEN] = createNormalizationTable(props.getGreenMean(), props.getGreenStd());
+        tables[BAND_BLUE] = createNormalizationTable(props.getBlueMean(), props.getBlueStd());
+        return tables;
+    }
 
-        putImageBandWithNormalization(outputBuffer, image, BAND_RED, props.getRedMean(), props.getRedStd());
-        putImageBandWithNormalization(outputBuffer, image, BAND_GREEN, props.getGreenMean(), props.getGreenStd());
-        putImageBandWithNormalization(outputBuffer, image, BAND_BLUE, props.getBlueMean(), props.getBlueStd());
+    private static float[] createNormalizationTable(double mean, double std) {
+        final float[] table = new float[256];
+        for (int i = 0; i < table.length; ++i) {
+            // Same double-precision math as before, so results are identical to a per-pixel computation
+            final double v = i / 255.0;
+            table[i] = (float) ((v - mean) / std);
+        }
+        return table;
     }
 
-    private static void putImageBandWithNormalization(
+    /**
+     * Writes raw channel planes of a canvas image to the output buffer in RGB order.
+     *
+     * @param outputBuffer buffer to write to
+     * @param canvas canvas image, created by this class
+     * @param plane temporary buffer for a single channel plane
+     */
+    private static void putRgbImage(ByteBuffer outputBuffer, BufferedImage canvas, byte[] plane) {
+        // Canvas is always a fresh TYPE_3BYTE_BGR image, so its backing array can be read directly
+        final Raster raster = canvas.getRaster();
+        final PixelInterleavedSampleModel sampleModel = (PixelInterleavedSampleModel) raster.getSampleModel();
+        final byte[] pixels = ((DataBufferByte) raster.getDataBuffer()).getData();
+        final int width = raster.getWidth();
+        final int height = raster.getHeight();
+        final int pixelStride = sampleModel.getPixelStride();
+        final int scanlineStride = sampleModel.getScanlineStride();
+        final int[] bandOffsets = sampleModel.getBandOffsets();
+        for (int band = BAND_RED; band <= BAND_BLUE; ++band) {
+            int planeIndex = 0;
+            for (int y = 0; y < height; ++y) {
+                int pixelIndex = y * scanlineStride + bandOffsets[band];
+                for (int x = 0; x < width; ++x) {
+                    plane[planeIndex++] = pixels[pixelIndex];
+                    pixelIndex += pixelStride;
+                }
+            }
+            outputBuffer.put(plane, 0, width * height);
+        }
+    }
+
+    private static void putRgbImageWithNormalization(
             FloatBuffer outputBuffer,
             BufferedImage image,
-            int band,
-            double mean,
-            double std
+            float[][] normalizationTables,
+            float[] plane
     ) {
+        assert image.getType() == BufferedImage.TYPE_3BYTE_BGR;
+
         final Raster raster = image.getRaster();
-        for (int y = 0; y < raster.getHeight(); ++y) {
-            for (int x = 0; x < raster.getWidth(); ++x) {
-                final double v = raster.getSample(x, y, band) / 255.0;
-                outputBuffer.put((float) ((v - mean) / std));
+        final int width = raster.getWidth();
+        final int height = raster.getHeight();
+        final int planeSize = width * height;
+        if (raster.getDataBuffer() instanceof DataBufferByte
+                && raster.getSampleModel() instanceof PixelInterleavedSampleModel
+                && raster.getSampleModelTranslateX() == 0 && raster.getSampleModelTranslateY() == 0) {
+            // Fast path: reading interleaved bytes directly from the backing array
+            final DataBufferByte dataBuffer = (DataBufferByte) raster.getDataBuffer();
+            final PixelInterleavedSampleModel sampleModel = (PixelInterleavedSampleModel) raster.getSampleModel();
+            final byte[] pixels = dataBuffer.getData();
+            final int pixelStride = sampleModel.getPixelStride();
+            final int scanlineStride = sampleModel.getScanlineStride();
+            final int[] bandOffsets = sampleModel.getBandOffsets();
+            for (int band = BAND_RED; band <= BAND_BLUE; ++band) {
+                final float[] table = normalizationTables[band];
+                int planeIndex = 0;
+                for (int y = 0; y < height; ++y) {
+                    int pixelIndex = dataBuffer.getOffset() + y * scanlineStride + bandOffsets[band];
+                    for (int x = 0; x < width; ++x) {
+                        plane[planeIndex++] = table[pixels[pixelIndex] & 0xFF];
+                        pixelIndex += pixelStride;
+                    }
+                }
+                outputBuffer.put(plane, 0, planeSize);
+            }
+        } else {
+            final int[] row = new int[width];
+            for (int band = BAND_RED; band <= BAND_BLUE; ++band) {
+                final float[] table = normalizationTables[band];
+                for (int y = 0; y < height; ++y) {
+                    raster.getSamples(0, y, width, 1, band, row);
+                    for (int x = 0; x < width; ++x) {
+                        plane[y * width + x] = table[row[x]];
+                    }
+                }
+                outputBuffer.put(plane, 0, planeSize);
             }
         }
     }
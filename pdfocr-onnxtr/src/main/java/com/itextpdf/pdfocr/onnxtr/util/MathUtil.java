@@ -24,6 +24,7 @@ package com.itextpdf.pdfocr.onnxtr.util;
 
 import com.itextpdf.pdfocr.onnxtr.exceptions.PdfOcrOnnxTrExceptionMessageConstant;
 
+import java.nio.FloatBuffer;
 import java.util.Objects;
 
 /**
@@ -59,6 +60,75 @@ public final class MathUtil {
         return resultIndex;
     }
 
+    /**
+     * Returns the index of the maximum value in the given range of a float buffer, relative to the
+     * range start.
+     *
+     * <p>
+     * Values are read with absolute gets, so this works for both heap and direct buffers and does not
+     * change the buffer position.
+     *
+     * @param values the buffer of float values (must not be null)
+     * @param offset the absolute index of the first value in the range
+     * @param length the length of the range (must be positive)
+     *
+     * @return the index of the maximum value in the range, relative to {@code offset}
+     *
+     * @throws NullPointerException     if {@code values} is {@code null}
+     * @throws IllegalArgumentException if {@code length} is not positive
+     */
+    public static int argmax(FloatBuffer values, int offset, int length) {
+        Objects.requireNonNull(values);
+        if (length <= 0) {
+            throw new IllegalArgumentException(PdfOcrOnnxTrExceptionMessageConstant.VALUES_SHOULD_BE_A_NON_EMPTY_ARRAY);
+        }
+        float resultValue = Float.NEGATIVE_INFINITY;
+        int resultIndex = 0;
+        for (int i = 0; i < length; ++i) {
+            final float value = values.get(offset + i);
+            if (value > resultValue) {
+                resultValue = value;
+                resultIndex = i;
+            }
+        }
+        return resultIndex;
+    }
+
+    /**
+     * Calculates the softmax probability of a single element in a range of a
+     * float buffer. I.e. {@code exp(x[index]) / sum(exp(x[i]))} over the range.
+     *
+     * <p>
+     * Values are read with absolute gets, so this works for both heap and direct buffers and does not
+     * change the buffer position.
+     *
+     * @param values the buffer of float values (must not be null)
+     * @param offset the absolute index of the first value in the range
+     * @param length the length of the range (must be positive)
+     * @param index the index of the element, relative to {@code offset}
+     *
+     * @return the softmax probability of the element in [0; 1] range
+     *
+     * @throws NullPointerException     if {@code values} is {@code null}
+     * @throws IllegalArgumentException if {@code length} is not positive
+     */
+    public static float softmax(FloatBuffer values, int offset, int length, int index) {
+        Objects.requireNonNull(values);
+        if (length <= 0) {
+            throw new IllegalArgumentException(PdfOcrOnnxTrExceptionMessageConstant.VALUES_SHOULD_BE_A_NON_EMPTY_ARRAY);
+        }
+        // Subtracting the max value for numerical stability
+        float maxValue = Float.NEGATIVE_INFINITY;
+        for (int i = 0; i < length; ++i) {
+            maxValue = Math.max(maxValue, values.get(offset + i));
+        }
+        double sum = 0;
+        for (int i = 0; i < length; ++i) {
+            sum += Math.exp(values.get(offset + i) - maxValue);
+        }
+        return (float) (Math.exp(values.get(offset + index) - maxValue) / sum);
+    }
+
     /**
      * Calculates the Levenshtein distance between two input strings.
      *
@@ -0,0 +1,177 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.pdfocr.onnxtr;
+
+import com.itextpdf.pdfocr.exceptions.PdfOcrException;
+import com.itextpdf.test.ExtendedITextTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Tag("UnitTest")
+public class MicroBatchSchedulerTest extends ExtendedITextTest {
+    @Test
+    public void fullBatchIsRunWithoutWaitingTest() {
+        final MicroBatchScheduler<Integer> scheduler = new MicroBatchScheduler<>(
+                4, TimeUnit.MINUTES.toMillis(10), MicroBatchSchedulerTest::doubleValues);
+        final FloatBufferMdArray output = scheduler.run(Arrays.asList(1, 2, 3, 4));
+        Assertions.assertArrayEquals(new float[]{2, 4, 6, 8}, toArray(output));
+        Assertions.assertEquals(1, scheduler.getModelBatchCount());
+    }
+
+    @Test
+    public void partialBatchIsRunAfterDelayTest() {
+        final MicroBatchScheduler<Integer> scheduler = new MicroBatchScheduler<>(
+                4, 50, MicroBatchSchedulerTest::doubleValues);
+        final long start = System.nanoTime();
+        final FloatBufferMdArray output = scheduler.run(Arrays.asList(1, 2));
+        final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        Assertions.assertArrayEquals(new float[]{2, 4}, toArray(output));
+        Assertions.assertArrayEquals(new long[]{2, 1}, output.getShape());
+        Assertions.assertTrue(elapsedMillis >= 45, "Elapsed: " + elapsedMillis);
+    }
+
+    @Test
+    public void concurrentBatchesAreCoalescedTest() throws Exception {
+        final int threadCount = 16;
+        final AtomicInteger maxModelBatchSize = new AtomicInteger();
+        // Delay is long enough for all callers to arrive, full model batches do not wait for it
+        final MicroBatchScheduler<Integer> scheduler = new MicroBatchScheduler<>(
+                8, TimeUnit.MINUTES.toMillis(10), (List<Integer> batch) -> {
+                    maxModelBatchSize.accumulateAndGet(batch.size(), Math::max);
+                    return doubleValues(batch);
+                });
+        final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            final CountDownLatch startLatch = new CountDownLatch(threadCount);
+            final List<Future<FloatBufferMdArray>> futures = new ArrayList<>(threadCount);
+            for (int t = 0; t < threadCount; ++t) {
+                final int value = t;
+                futures.add(executor.submit((Callable<FloatBufferMdArray>) () -> {
+                    startLatch.countDown();
+                    startLatch.await();
+                    return scheduler.run(Collections.singletonList(value));
+                }));
+            }
+            for (int t = 0; t < threadCount; ++t) {
+                // Each caller gets the output for its own input back
+                Assertions.assertArrayEquals(new float[]{2 * t}, toArray(futures.get(t).get(10, TimeUnit.SECONDS)));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assertions.assertEquals(2, scheduler.getModelBatchCount());
+        Assertions.assertEquals(8, maxModelBatchSize.get());
+        Assertions.assertEquals(threadCount, scheduler.getSubmittedBatchCount());
+        Assertions.assertEquals(threadCount, scheduler.getInputCount());
+    }
+
+    @Test
+    public void batchesLargerThanRemainingSpaceAreNotSplitTest() throws Exception {
+        final List<Integer> modelBatchSizes = Collections.synchronizedList(new ArrayList<>());
+        final MicroBatchScheduler<Integer> scheduler = new MicroBatchScheduler<>(
+                4, 100, (List<Integer> batch) -> {
+                    modelBatchSizes.add(batch.size());
+                    return doubleValues(batch);
+                });
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Future<FloatBufferMdArray> first = executor.submit(() -> scheduler.run(Arrays.asList(1, 2, 3)));
+            final Future<FloatBufferMdArray> second = executor.submit(() -> scheduler.run(Arrays.asList(4, 5)));
+            Assertions.assertArrayEquals(new float[]{2, 4, 6}, toArray(first.get(10, TimeUnit.SECONDS)));
+            Assertions.assertArrayEquals(new float[]{8, 10}, toArray(second.get(10, TimeUnit.SECONDS)));
+        } finally {
+            executor.shutdownNow();
+        }
+        // Both batches do not fit into a single model batch together, so they are run separately
+        Collections.sort(modelBatchSizes);
+        Assertions.assertEquals(Arrays.asList(2, 3), modelBatchSizes);
+    }
+
+    @Test
+    public void inferenceErrorIsPropagatedTest() {
+        final MicroBatchScheduler<Integer> scheduler = new MicroBatchScheduler<>(1, 10, (List<Integer> batch) -> {
+            throw new PdfOcrException("Test error");
+        });
+        final Exception e = Assertions.assertThrows(PdfOcrException.class,
+                () -> scheduler.run(Collections.singletonList(1)));
+        Assertions.assertEquals("Test error", e.getMessage());
+    }
+
+    @Test
+    public void inferenceErrorWakesUpAllCallersTest() throws Exception {
+        final int threadCount = 4;
+        // Not a RuntimeException, callers, whose batches were taken by the leader, should still wake up
+        final MicroBatchScheduler<Integer> scheduler = new MicroBatchScheduler<>(
+                threadCount, TimeUnit.MINUTES.toMillis(10), (List<Integer> batch) -> {
+                    throw new LinkageError("Test error");
+                });
+        final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            final List<Future<FloatBufferMdArray>> futures = new ArrayList<>(threadCount);
+            for (int t = 0; t < threadCount; ++t) {
+                final int value = t;
+                futures.add(executor.submit(() -> scheduler.run(Collections.singletonList(value))));
+            }
+            for (final Future<FloatBufferMdArray> future : futures) {
+                final ExecutionException e = Assertions.assertThrows(ExecutionException.class,
+                        () -> future.get(10, TimeUnit.SECONDS));
+                Assertions.assertTrue(e.getCause() instanceof PdfOcrException);
+                Assertions.assertTrue(e.getCause().getCause() instanceof LinkageError);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assertions.assertEquals(1, scheduler.getModelBatchCount());
+    }
+
+    private static FloatBufferMdArray doubleValues(List<Integer> batch) {
+        final FloatBuffer data = FloatBuffer.allocate(batch.size());
+        for (final Integer value : batch) {
+            data.put(2F * value);
+        }
+        data.rewind();
+        return new FloatBufferMdArray(data, new long[]{batch.size(), 1});
+    }
+
+    private static float[] toArray(FloatBufferMdArray array) {
+        final FloatBuffer data = array.getData();
+        final float[] result = new float[data.remaining()];
+        data.get(result);
+        return result;
+    }
+}
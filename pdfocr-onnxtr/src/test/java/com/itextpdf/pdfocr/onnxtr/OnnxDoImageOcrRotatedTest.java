@@ -64,6 +64,27 @@ public class OnnxDoImageOcrRotatedTest extends ExtendedITextTest {
         OCR_ENGINE.close();
     }
 
+    @Test
+    public void warmUpTest() throws Exception {
+        String src = TEST_IMAGE_DIRECTORY + "270_degrees_rotated.jpg";
+        File imageFile = new File(src);
+
+        try (OnnxTrOcrEngine ocrEngine = new OnnxTrOcrEngine(OnnxDetectionPredictor.fast(FAST),
+                OnnxOrientationPredictor.mobileNetV3(MOBILENETV3), OnnxRecognitionPredictor.crnnVgg16(CRNNVGG16))) {
+            Assertions.assertFalse(ocrEngine.isReady());
+            Assertions.assertEquals(-1, ocrEngine.getWarmUpDuration());
+            Assertions.assertThrows(IllegalArgumentException.class, () -> ocrEngine.warmUp(-1));
+
+            ocrEngine.warmUp();
+            Assertions.assertTrue(ocrEngine.isReady());
+            Assertions.assertTrue(ocrEngine.getWarmUpDuration() >= 0);
+
+            // Warm-up should not affect the results
+            String textFromImage = OnnxTestUtils.getTextFromImage(imageFile, ocrEngine);
+            Assertions.assertEquals("270\ndegrees\nrotated\nimage\n", textFromImage);
+        }
+    }
+
     @Test
     public void rotated270DoImageOcrTest() {
         String src = TEST_IMAGE_DIRECTORY + "270_degrees_rotated.jpg";
@@ -70,6 +70,20 @@ public class OnnxTRUnitTest extends ExtendedITextTest {
                 e.getMessage());
     }
 
+    @Test
+    public void tensorElementCountTest() {
+        Assertions.assertEquals(2 * 32 * 126, AbstractOnnxPredictor.getElementCount(new long[]{2, 32, 126}));
+        Assertions.assertEquals(1, AbstractOnnxPredictor.getElementCount(new long[0]));
+        long[] tooLarge = new long[]{1 << 16, 1 << 16};
+        Exception e = Assertions.assertThrows(PdfOcrException.class,
+                () -> AbstractOnnxPredictor.getElementCount(tooLarge));
+        Assertions.assertEquals(MessageFormatUtil.format(PdfOcrOnnxTrExceptionMessageConstant.TENSOR_IS_TOO_LARGE,
+                "[65536, 65536]"), e.getMessage());
+        // element count does not even fit into long
+        long[] overflowing = new long[]{1L << 32, 1L << 32, 3};
+        Assertions.assertThrows(PdfOcrException.class, () -> AbstractOnnxPredictor.getElementCount(overflowing));
+    }
+
     @Test
     public void invalidOrientationTest() {
         Exception e = Assertions.assertThrows(IndexOutOfBoundsException.class,
@@ -0,0 +1,193 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.pdfocr.onnxtr;
+
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.pdfocr.TextInfo;
+import com.itextpdf.pdfocr.onnxtr.detection.OnnxDetectionPredictor;
+import com.itextpdf.pdfocr.onnxtr.exceptions.PdfOcrOnnxTrExceptionMessageConstant;
+import com.itextpdf.pdfocr.onnxtr.orientation.OnnxOrientationPredictor;
+import com.itextpdf.pdfocr.onnxtr.recognition.OnnxRecognitionPredictor;
+import com.itextpdf.test.ExtendedITextTest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@Tag("IntegrationTest")
+public class OnnxTrConcurrencyIntegrationTest extends ExtendedITextTest {
+    private static final String TEST_DIRECTORY = "./src/test/resources/com/itextpdf/pdfocr/";
+    private static final String TEST_IMAGE_DIRECTORY = TEST_DIRECTORY + "images/";
+    private static final String FAST = TEST_DIRECTORY + "models/rep_fast_tiny-28867779.onnx";
+    private static final String CRNNVGG16 = TEST_DIRECTORY + "models/crnn_vgg16_bn-662979cc.onnx";
+    private static final String MOBILENETV3 = TEST_DIRECTORY + "models/mobilenet_v3_small_crop_orientation-5620cf7e.onnx";
+    private static final int THREAD_COUNT = 16;
+    private static final int ITERATIONS_PER_THREAD = 4;
+    private static final String[] IMAGES = new String[]{
+            "example_04.png",
+            "englishText.bmp",
+            "270_degrees_rotated.jpg",
+            "numbers_01.jpg",
+            "rotatedTextBasic.png",
+    };
+
+    private static OnnxDetectionPredictor DETECTION_PREDICTOR;
+    private static OnnxOrientationPredictor ORIENTATION_PREDICTOR;
+    private static OnnxRecognitionPredictor RECOGNITION_PREDICTOR;
+    private static OnnxTrOcrEngine OCR_ENGINE;
+
+    @BeforeAll
+    public static void beforeClass() {
+        DETECTION_PREDICTOR = OnnxDetectionPredictor.fast(FAST);
+        ORIENTATION_PREDICTOR = OnnxOrientationPredictor.mobileNetV3(MOBILENETV3);
+        RECOGNITION_PREDICTOR = OnnxRecognitionPredictor.crnnVgg16(CRNNVGG16);
+        OCR_ENGINE = new OnnxTrOcrEngine(DETECTION_PREDICTOR, ORIENTATION_PREDICTOR, RECOGNITION_PREDICTOR);
+    }
+
+    @AfterAll
+    public static void afterClass() throws Exception {
+        OCR_ENGINE.close();
+    }
+
+    @Test
+    public void concurrentOcrWithoutLimitTest() throws Exception {
+        setMaxConcurrentInferences(0);
+        concurrentOcrTest();
+    }
+
+    @Test
+    public void concurrentOcrWithLimitTest() throws Exception {
+        setMaxConcurrentInferences(2);
+        try {
+            concurrentOcrTest();
+        } finally {
+            setMaxConcurrentInferences(0);
+        }
+    }
+
+    @Test
+    public void concurrentOcrWithMicroBatchingTest() throws Exception {
+        setMaxBatchingDelay(20);
+        try {
+            concurrentOcrTest();
+        } finally {
+            setMaxBatchingDelay(0);
+        }
+    }
+
+    @Test
+    public void invalidMaxBatchingDelayTest() {
+        Exception e = Assertions.assertThrows(IllegalArgumentException.class,
+                () -> RECOGNITION_PREDICTOR.setMaxBatchingDelay(-1));
+        Assertions.assertEquals(PdfOcrOnnxTrExceptionMessageConstant.MAX_BATCHING_DELAY_SHOULD_BE_NON_NEGATIVE,
+                e.getMessage());
+        Assertions.assertEquals(0, RECOGNITION_PREDICTOR.getMaxBatchingDelay());
+    }
+
+    @Test
+    public void invalidMaxConcurrentInferencesTest() {
+        Exception e = Assertions.assertThrows(IllegalArgumentException.class,
+                () -> DETECTION_PREDICTOR.setMaxConcurrentInferences(-1));
+        Assertions.assertEquals(PdfOcrOnnxTrExceptionMessageConstant.MAX_CONCURRENT_INFERENCES_SHOULD_BE_NON_NEGATIVE,
+                e.getMessage());
+        Assertions.assertEquals(0, DETECTION_PREDICTOR.getMaxConcurrentInferences());
+    }
+
+    private static void concurrentOcrTest() throws Exception {
+        final List<String> expected = new ArrayList<>(IMAGES.length);
+        for (final String image : IMAGES) {
+            expected.add(toComparableString(OCR_ENGINE.doImageOcr(new File(TEST_IMAGE_DIRECTORY + image))));
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        try {
+            final CountDownLatch startLatch = new CountDownLatch(THREAD_COUNT);
+            final List<Future<List<String>>> futures = new ArrayList<>(THREAD_COUNT);
+            for (int t = 0; t < THREAD_COUNT; ++t) {
+                final int threadIndex = t;
+                futures.add(executor.submit((Callable<List<String>>) () -> {
+                    // Maximize the overlap of the calls
+                    startLatch.countDown();
+                    startLatch.await();
+                    final List<String> results = new ArrayList<>(IMAGES.length * ITERATIONS_PER_THREAD);
+                    for (int i = 0; i < IMAGES.length * ITERATIONS_PER_THREAD; ++i) {
+                        // Different threads start from different images, so that different models run at once
+                        final int imageIndex = (threadIndex + i) % IMAGES.length;
+                        results.add(toComparableString(
+                                OCR_ENGINE.doImageOcr(new File(TEST_IMAGE_DIRECTORY + IMAGES[imageIndex]))));
+                    }
+                    return results;
+                }));
+            }
+            for (int t = 0; t < THREAD_COUNT; ++t) {
+                final List<String> results = futures.get(t).get();
+                for (int i = 0; i < results.size(); ++i) {
+                    Assertions.assertEquals(expected.get((t + i) % IMAGES.length), results.get(i));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void setMaxConcurrentInferences(int maxConcurrentInferences) {
+        DETECTION_PREDICTOR.setMaxConcurrentInferences(maxConcurrentInferences);
+        ORIENTATION_PREDICTOR.setMaxConcurrentInferences(maxConcurrentInferences);
+        RECOGNITION_PREDICTOR.setMaxConcurrentInferences(maxConcurrentInferences);
+    }
+
+    private static void setMaxBatchingDelay(long maxBatchingDelay) {
+        DETECTION_PREDICTOR.setMaxBatchingDelay(maxBatchingDelay);
+        ORIENTATION_PREDICTOR.setMaxBatchingDelay(maxBatchingDelay);
+        RECOGNITION_PREDICTOR.setMaxBatchingDelay(maxBatchingDelay);
+    }
+
+    private static String toComparableString(Map<Integer, List<TextInfo>> result) {
+        final StringBuilder builder = new StringBuilder();
+        for (final Map.Entry<Integer, List<TextInfo>> page : result.entrySet()) {
+            builder.append("page ").append(page.getKey()).append('\n');
+            for (final TextInfo textInfo : page.getValue()) {
+                final Rectangle bbox = textInfo.getBboxRect();
+                builder.append(textInfo.getText())
+                        .append(' ').append(bbox.getX())
+                        .append(' ').append(bbox.getY())
+                        .append(' ').append(bbox.getWidth())
+                        .append(' ').append(bbox.getHeight())
+                        .append(' ').append(textInfo.getOrientation())
+                        .append('\n');
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,233 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.pdfocr.onnxtr;
+
+import com.itextpdf.pdfocr.onnxtr.exceptions.PdfOcrOnnxTrExceptionMessageConstant;
+import com.itextpdf.pdfocr.onnxtr.recognition.IRecognitionPredictor;
+import com.itextpdf.pdfocr.onnxtr.util.MathUtil;
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("UnitTest")
+public class OnnxTrProcessorTest extends ExtendedITextTest {
+    @Test
+    public void recognizeTextSortsByAspectRatioAndRestoresOrder() {
+        final WidthRecognitionPredictor recognitionPredictor = new WidthRecognitionPredictor();
+        final OnnxTrProcessor processor = new OnnxTrProcessor(null, null, recognitionPredictor);
+        final List<BufferedImage> images = Arrays.asList(
+                new BufferedImage(70, 10, BufferedImage.TYPE_3BYTE_BGR),
+                new BufferedImage(20, 10, BufferedImage.TYPE_3BYTE_BGR),
+                new BufferedImage(40, 10, BufferedImage.TYPE_3BYTE_BGR),
+                new BufferedImage(20, 20, BufferedImage.TYPE_3BYTE_BGR)
+        );
+
+        final List<String> result = processor.recognizeText(images);
+
+        Assertions.assertEquals(Arrays.asList("70", "20", "40", "20"), result);
+        Assertions.assertEquals(Arrays.asList(20, 20, 40, 70), recognitionPredictor.recognizedWidths);
+    }
+
+    @Test
+    public void recognizeTextWithoutSplittingTest() {
+        final WidthRecognitionPredictor recognitionPredictor = new WidthRecognitionPredictor();
+        final OnnxTrProcessor processor = new OnnxTrProcessor(null, null, recognitionPredictor, false);
+        // Aspect ratio is well above the split threshold
+        final List<BufferedImage> images = Arrays.asList(
+                new BufferedImage(400, 10, BufferedImage.TYPE_3BYTE_BGR),
+                new BufferedImage(20, 10, BufferedImage.TYPE_3BYTE_BGR)
+        );
+
+        final List<String> result = processor.recognizeText(images);
+
+        Assertions.assertEquals(Arrays.asList("400", "20"), result);
+        Assertions.assertEquals(Arrays.asList(20, 400), recognitionPredictor.recognizedWidths);
+    }
+
+    @Test
+    public void recognizeTextWithSplittingTest() {
+        final WidthRecognitionPredictor recognitionPredictor = new WidthRecognitionPredictor();
+        final OnnxTrProcessor processor = new OnnxTrProcessor(null, null, recognitionPredictor);
+        final List<BufferedImage> images = Arrays.asList(
+                new BufferedImage(400, 10, BufferedImage.TYPE_3BYTE_BGR)
+        );
+
+        processor.recognizeText(images);
+
+        // 400 / 10 / 6 gives 7 splits
+        Assertions.assertEquals(7, recognitionPredictor.recognizedWidths.size());
+    }
+
+    @Test
+    public void recognizeTextWithMissingResultsTest() {
+        final IRecognitionPredictor recognitionPredictor = new IRecognitionPredictor() {
+            @Override
+            public Iterator<String> predict(Iterator<BufferedImage> inputs) {
+                // Drops the last image
+                final List<String> result = new ArrayList<>();
+                inputs.next();
+                while (inputs.hasNext()) {
+                    result.add(String.valueOf(inputs.next().getWidth()));
+                }
+                return result.iterator();
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        final OnnxTrProcessor processor = new OnnxTrProcessor(null, null, recognitionPredictor, false);
+        final List<BufferedImage> images = Arrays.asList(
+                new BufferedImage(40, 10, BufferedImage.TYPE_3BYTE_BGR),
+                new BufferedImage(20, 10, BufferedImage.TYPE_3BYTE_BGR)
+        );
+
+        final Exception e = Assertions.assertThrows(IllegalStateException.class,
+                () -> processor.recognizeText(images));
+        Assertions.assertEquals(PdfOcrOnnxTrExceptionMessageConstant.INVALID_NUMBER_OF_OUTPUTS, e.getMessage());
+    }
+
+    @Test
+    public void splitStringMergerMatchesReferenceTest() {
+        final Random random = new Random(42);
+        final OnnxTrProcessor.SplitStringMerger merger = new OnnxTrProcessor.SplitStringMerger();
+        for (int iteration = 0; iteration < 2000; ++iteration) {
+            // Small alphabets produce a lot of repetitions and ties
+            final String alphabet = iteration % 2 == 0 ? "ab" : "abcdefgh0123 ";
+            final String left = randomString(random, alphabet, random.nextInt(20));
+            final String right = randomString(random, alphabet, random.nextInt(20));
+
+            final StringBuilder expected = new StringBuilder(left);
+            referenceMerge(expected, right);
+            final StringBuilder actual = new StringBuilder(left);
+            merger.merge(actual, right);
+
+            Assertions.assertEquals(expected.toString(), actual.toString(), left + " + " + right);
+        }
+    }
+
+    @Test
+    public void splitStringMergerLongTableRowsTest() {
+        final Random random = new Random(7);
+        final OnnxTrProcessor.SplitStringMerger merger = new OnnxTrProcessor.SplitStringMerger();
+        for (int row = 0; row < 20; ++row) {
+            final StringBuilder rowText = new StringBuilder();
+            while (rowText.length() < 600) {
+                rowText.append("| ").append(random.nextInt(100000)).append('.').append(random.nextInt(100)).append(' ');
+            }
+            // Overlapping splits, as if recognized from dilated crops, with an occasional recognition error
+            final List<String> parts = new ArrayList<>();
+            final int partLength = 40;
+            final int overlap = 12;
+            for (int start = 0; start < rowText.length(); start += partLength - overlap) {
+                final char[] part = rowText.substring(start, Math.min(rowText.length(), start + partLength))
+                        .toCharArray();
+                if (random.nextInt(4) == 0) {
+                    part[random.nextInt(part.length)] = '#';
+                }
+                parts.add(new String(part));
+            }
+
+            final StringBuilder expected = new StringBuilder();
+            final StringBuilder actual = new StringBuilder();
+            for (final String part : parts) {
+                referenceMerge(expected, part);
+                merger.merge(actual, part);
+            }
+            Assertions.assertEquals(expected.toString(), actual.toString());
+        }
+    }
+
+    private static String randomString(Random random, String alphabet, int length) {
+        final StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; ++i) {
+            sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Original OnnxTR merging algorithm, based on full Levenshtein distance calculation.
+     */
+    private static void referenceMerge(StringBuilder collector, String nextString) {
+        final float dilationFactor = 1.4F;
+        final int commonLength = Math.min(collector.length(), nextString.length());
+        final double[] scores = new double[commonLength];
+        for (int i = 0; i < commonLength; ++i) {
+            scores[i] = MathUtil.calculateLevenshteinDistance(
+                    collector.substring(collector.length() - i - 1),
+                    nextString.substring(0, i + 1)
+            ) / (i + 1.0);
+        }
+        int index = 0;
+        if (commonLength > 1 && scores[0] == 0 && scores[1] == 0) {
+            final int overlap = (int) Math.round(nextString.length() * (dilationFactor - 1) / dilationFactor);
+            final int zeros = (int) Arrays.stream(scores).filter(x -> x == 0).count();
+            index = Math.min(zeros, overlap);
+        } else {
+            double minScore = 1.0;
+            for (int i = 0; i < commonLength; ++i) {
+                if (scores[i] < minScore) {
+                    minScore = scores[i];
+                    index = i + 1;
+                }
+            }
+        }
+        if (index == 0) {
+            collector.append(nextString);
+        } else {
+            collector.setLength(Math.max(0, collector.length() - 1));
+            collector.append(nextString, index - 1, nextString.length());
+        }
+    }
+
+    /**
+     * Recognition predictor, which "recognizes" the image width and remembers the order of inputs.
+     */
+    private static final class WidthRecognitionPredictor implements IRecognitionPredictor {
+        private final List<Integer> recognizedWidths = new ArrayList<>();
+
+        @Override
+        public Iterator<String> predict(Iterator<BufferedImage> inputs) {
+            final List<String> result = new ArrayList<>();
+            while (inputs.hasNext()) {
+                final int width = inputs.next().getWidth();
+                recognizedWidths.add(width);
+                result.add(String.valueOf(width));
+            }
+            return result.iterator();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.pdfocr.onnxtr.detection;
+
+import com.itextpdf.kernel.geom.Point;
+import com.itextpdf.pdfocr.onnxtr.FloatBufferMdArray;
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.awt.image.BufferedImage;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+@Tag("UnitTest")
+public class OnnxDetectionPostProcessorTest extends ExtendedITextTest {
+    private static final int SIZE = 1024;
+
+    public static Iterable<Object[]> processParams() {
+        return Arrays.asList(new Object[][] {
+                {Boolean.FALSE},
+                {Boolean.TRUE},
+        });
+    }
+
+    @ParameterizedTest(name = "process: direct buffer {0}")
+    @MethodSource("processParams")
+    public void process(boolean directBuffer) {
+        final float[] logits = new float[SIZE * SIZE];
+        Arrays.fill(logits, -10F);
+        // Confident text region, which is kept
+        fillRect(logits, 100, 200, 300, 40, 5F);
+        // Region, which passes binarization, but has a low score: expit(-1) is ~0.27
+        fillRect(logits, 600, 700, 200, 30, -1F);
+        // Region, which is too small to survive the morphological opening
+        fillRect(logits, 900, 100, 1, 1, 5F);
+
+        final FloatBuffer data;
+        if (directBuffer) {
+            data = ByteBuffer.allocateDirect(logits.length * Float.BYTES).order(ByteOrder.nativeOrder())
+                    .asFloatBuffer();
+            data.put(logits);
+            data.rewind();
+        } else {
+            data = FloatBuffer.wrap(logits);
+        }
+        final FloatBufferMdArray output = new FloatBufferMdArray(data, new long[]{1, 1, SIZE, SIZE});
+        final BufferedImage input = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_3BYTE_BGR);
+
+        final List<Point[]> boxes = new OnnxDetectionPostProcessor(0.1F, 0.3F).process(input, output.getSubArray(0));
+
+        Assertions.assertEquals(1, boxes.size());
+        final Point[] box = boxes.get(0);
+        double minX = 1;
+        double maxX = 0;
+        double minY = 1;
+        double maxY = 0;
+        for (final Point p : box) {
+            minX = Math.min(minX, p.getX());
+            maxX = Math.max(maxX, p.getX());
+            minY = Math.min(minY, p.getY());
+            maxY = Math.max(maxY, p.getY());
+        }
+        // Box is enlarged a bit compared to the region, but should still be around it
+        Assertions.assertTrue(minX < 100.0 / SIZE && minX > 50.0 / SIZE);
+        Assertions.assertTrue(maxX > 400.0 / SIZE && maxX < 450.0 / SIZE);
+        Assertions.assertTrue(minY < 200.0 / SIZE && minY > 150.0 / SIZE);
+        Assertions.assertTrue(maxY > 240.0 / SIZE && maxY < 290.0 / SIZE);
+    }
+
+    private static void fillRect(float[] logits, int x, int y, int width, int height, float value) {
+        for (int row = y; row < y + height; ++row) {
+            Arrays.fill(logits, row * SIZE + x, row * SIZE + x + width, value);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.pdfocr.onnxtr.detection;
+
+import com.itextpdf.kernel.geom.Point;
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("UnitTest")
+public class TextPresenceDetectionPredictorTest extends ExtendedITextTest {
+    @Test
+    public void edgeDensityTest() {
+        Assertions.assertEquals(0F, TextPresenceDetectionPredictor.calculateEdgeDensity(newBlankImage(2480, 3508)));
+        Assertions.assertTrue(TextPresenceDetectionPredictor.calculateEdgeDensity(newTextImage(2480, 3508))
+                >= TextPresenceDetectionPredictor.DEFAULT_MIN_EDGE_DENSITY);
+    }
+
+    @Test
+    public void invalidEdgeDensityTest() {
+        final WidthPredictor predictor = new WidthPredictor();
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new TextPresenceDetectionPredictor(predictor, null, -0.1F));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new TextPresenceDetectionPredictor(predictor, null, 1.1F));
+    }
+
+    @Test
+    public void blankImagesAreSkippedTest() {
+        final WidthPredictor predictor = new WidthPredictor();
+        final TextPresenceDetectionPredictor textPresencePredictor = new TextPresenceDetectionPredictor(predictor);
+        final List<BufferedImage> images = Arrays.asList(
+                newTextImage(1000, 1400),
+                newBlankImage(1001, 1400),
+                newBlankImage(1002, 1400),
+                newTextImage(1003, 1400),
+                newBlankImage(1004, 1400)
+        );
+
+        final List<List<Point[]>> result = new ArrayList<>();
+        textPresencePredictor.predict(images).forEachRemaining(result::add);
+
+        Assertions.assertEquals(5, result.size());
+        Assertions.assertEquals(1000, result.get(0).get(0)[0].getX());
+        Assertions.assertTrue(result.get(1).isEmpty());
+        Assertions.assertTrue(result.get(2).isEmpty());
+        Assertions.assertEquals(1003, result.get(3).get(0)[0].getX());
+        Assertions.assertTrue(result.get(4).isEmpty());
+        Assertions.assertEquals(2, predictor.imageCount);
+        Assertions.assertEquals(3, textPresencePredictor.getSkippedImageCount());
+    }
+
+    @Test
+    public void prePassPredictorTest() {
+        final WidthPredictor predictor = new WidthPredictor();
+        final IDetectionPredictor emptyPrePass = new IDetectionPredictor() {
+            @Override
+            public Iterator<List<Point[]>> predict(Iterator<BufferedImage> inputs) {
+                final List<List<Point[]>> result = new ArrayList<>();
+                while (inputs.hasNext()) {
+                    inputs.next();
+                    result.add(Collections.<Point[]>emptyList());
+                }
+                return result.iterator();
+            }
+
+            @Override
+            public void close() {
+                // Nothing to close
+            }
+        };
+        final TextPresenceDetectionPredictor textPresencePredictor =
+                new TextPresenceDetectionPredictor(predictor, emptyPrePass);
+
+        final List<Point[]> boxes = textPresencePredictor.predict(
+                Collections.singletonList(newTextImage(1000, 1400))).next();
+
+        Assertions.assertTrue(boxes.isEmpty());
+        Assertions.assertEquals(0, predictor.imageCount);
+        Assertions.assertEquals(1, textPresencePredictor.getSkippedImageCount());
+    }
+
+    @Test
+    public void prePassPredictorIsBatchedTest() {
+        final WidthPredictor predictor = new WidthPredictor();
+        final WidthPredictor prePassPredictor = new WidthPredictor();
+        final TextPresenceDetectionPredictor textPresencePredictor =
+                new TextPresenceDetectionPredictor(predictor, prePassPredictor);
+        final List<BufferedImage> images = Arrays.asList(
+                newTextImage(1000, 1400),
+                newBlankImage(1001, 1400),
+                newTextImage(1002, 1400),
+                newTextImage(1003, 1400)
+        );
+
+        final List<List<Point[]>> result = new ArrayList<>();
+        textPresencePredictor.predict(images).forEachRemaining(result::add);
+
+        Assertions.assertEquals(4, result.size());
+        Assertions.assertEquals(1000, result.get(0).get(0)[0].getX());
+        Assertions.assertTrue(result.get(1).isEmpty());
+        Assertions.assertEquals(1002, result.get(2).get(0)[0].getX());
+        Assertions.assertEquals(1003, result.get(3).get(0)[0].getX());
+        // Pre-pass and main detection are run once over all the images with text
+        Assertions.assertEquals(1, prePassPredictor.callCount);
+        Assertions.assertEquals(3, prePassPredictor.imageCount);
+        Assertions.assertEquals(1, predictor.callCount);
+        Assertions.assertEquals(3, predictor.imageCount);
+        Assertions.assertEquals(1, textPresencePredictor.getSkippedImageCount());
+    }
+
+    private static BufferedImage newBlankImage(int width, int height) {
+        final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_3BYTE_BGR);
+        final Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+        } finally {
+            graphics.dispose();
+        }
+        return image;
+    }
+
+    private static BufferedImage newTextImage(int width, int height) {
+        final BufferedImage image = newBlankImage(width, height);
+        final Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setColor(Color.BLACK);
+            graphics.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, height / 40));
+            graphics.drawString("The quick brown fox jumps over the lazy dog", width / 10, height / 10);
+        } finally {
+            graphics.dispose();
+        }
+        return image;
+    }
+
+    /**
+     * Fake detector, which returns a single box with the image width as its x coordinate.
+     */
+    private static final class WidthPredictor implements IDetectionPredictor {
+        private int imageCount = 0;
+        private int callCount = 0;
+
+        @Override
+        public Iterator<List<Point[]>> predict(Iterator<BufferedImage> inputs) {
+            ++callCount;
+            return new Iterator<List<Point[]>>() {
+                @Override
+                public boolean hasNext() {
+                    return inputs.hasNext();
+                }
+
+                @Override
+                public List<Point[]> next() {
+                    final BufferedImage image = inputs.next();
+                    ++imageCount;
+                    final Point point = new Point(image.getWidth(), 0);
+                    return Collections.singletonList(new Point[]{point, point, point, point});
+                }
+            };
+        }
+
+        @Override
+        public void close() {
+            // Nothing to close
+        }
+    }
+}
@@ -0,0 +1,208 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.pdfocr.onnxtr.detection;
+
+import com.itextpdf.kernel.geom.Point;
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("UnitTest")
+public class TiledDetectionPredictorTest extends ExtendedITextTest {
+    @Test
+    public void calculateTileOriginsTest() {
+        Assertions.assertArrayEquals(new int[]{0}, TiledDetectionPredictor.calculateTileOrigins(1000, 1024, 128));
+        Assertions.assertArrayEquals(new int[]{0}, TiledDetectionPredictor.calculateTileOrigins(1024, 1024, 128));
+        Assertions.assertArrayEquals(new int[]{0, 659, 1317, 1976},
+                TiledDetectionPredictor.calculateTileOrigins(3000, 1024, 128));
+    }
+
+    @Test
+    public void invalidTileSizeTest() {
+        final ColorRegionPredictor predictor = new ColorRegionPredictor();
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new TiledDetectionPredictor(predictor, 0, 0));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new TiledDetectionPredictor(predictor, 128, 128));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new TiledDetectionPredictor(predictor, 128, -1));
+    }
+
+    @Test
+    public void smallImageIsNotTiledTest() {
+        final BufferedImage image = new BufferedImage(800, 600, BufferedImage.TYPE_3BYTE_BGR);
+        fillRect(image, 100, 100, 200, 40, Color.RED);
+
+        final ColorRegionPredictor predictor = new ColorRegionPredictor();
+        final List<Point[]> boxes = new TiledDetectionPredictor(predictor, 1024, 128)
+                .predict(Collections.singletonList(image)).next();
+
+        Assertions.assertEquals(1, predictor.imageCount);
+        Assertions.assertEquals(1, boxes.size());
+        assertBox(100, 100, 300, 140, boxes.get(0));
+    }
+
+    @Test
+    public void boxesAreStitchedAcrossTilesTest() {
+        final BufferedImage image = new BufferedImage(3000, 1000, BufferedImage.TYPE_3BYTE_BGR);
+        // Word, which is fully visible in the first two tiles
+        fillRect(image, 900, 100, 100, 40, Color.RED);
+        // Line, which is cut by the borders of the first three tiles
+        fillRect(image, 600, 300, 1200, 40, Color.GREEN);
+        // Word, which is only visible in the last tile
+        fillRect(image, 2900, 500, 90, 40, Color.BLUE);
+        // Word in the overlap of the last two tiles
+        fillRect(image, 2100, 700, 150, 40, Color.YELLOW);
+
+        final ColorRegionPredictor predictor = new ColorRegionPredictor();
+        final List<Point[]> boxes = new ArrayList<>(new TiledDetectionPredictor(predictor, 1024, 128)
+                .predict(Collections.singletonList(image)).next());
+        boxes.sort(Comparator.comparingDouble(box -> box[1].getY()));
+
+        Assertions.assertEquals(4, predictor.imageCount);
+        Assertions.assertEquals(4, boxes.size());
+        assertBox(900, 100, 1000, 140, boxes.get(0));
+        assertBox(600, 300, 1800, 340, boxes.get(1));
+        assertBox(2900, 500, 2990, 540, boxes.get(2));
+        assertBox(2100, 700, 2250, 740, boxes.get(3));
+    }
+
+    @Test
+    public void imagesAreBatchedTogetherTest() {
+        final BufferedImage first = new BufferedImage(800, 600, BufferedImage.TYPE_3BYTE_BGR);
+        fillRect(first, 100, 100, 200, 40, Color.RED);
+        final BufferedImage large = new BufferedImage(3000, 1000, BufferedImage.TYPE_3BYTE_BGR);
+        fillRect(large, 600, 300, 1200, 40, Color.GREEN);
+        final BufferedImage last = new BufferedImage(600, 800, BufferedImage.TYPE_3BYTE_BGR);
+        fillRect(last, 50, 700, 300, 40, Color.BLUE);
+
+        final ColorRegionPredictor predictor = new ColorRegionPredictor();
+        final Iterator<List<Point[]>> results = new TiledDetectionPredictor(predictor, 1024, 128)
+                .predict(Arrays.asList(first, large, last).iterator());
+
+        final List<Point[]> firstBoxes = results.next();
+        Assertions.assertEquals(1, firstBoxes.size());
+        assertBox(100, 100, 300, 140, firstBoxes.get(0));
+        final List<Point[]> largeBoxes = results.next();
+        Assertions.assertEquals(1, largeBoxes.size());
+        assertBox(600, 300, 1800, 340, largeBoxes.get(0));
+        final List<Point[]> lastBoxes = results.next();
+        Assertions.assertEquals(1, lastBoxes.size());
+        assertBox(50, 700, 350, 740, lastBoxes.get(0));
+        Assertions.assertFalse(results.hasNext());
+
+        // Both small images and 4 tiles of the large one are passed to the predictor at once
+        Assertions.assertEquals(1, predictor.callCount);
+        Assertions.assertEquals(6, predictor.imageCount);
+    }
+
+    private static void fillRect(BufferedImage image, int x, int y, int width, int height, Color color) {
+        final Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setColor(color);
+            graphics.fillRect(x, y, width, height);
+        } finally {
+            graphics.dispose();
+        }
+    }
+
+    private static void assertBox(double minX, double minY, double maxX, double maxY, Point[] box) {
+        Assertions.assertEquals(4, box.length);
+        // BL, TL, TR, BR
+        Assertions.assertEquals(minX, box[1].getX(), 1E-6);
+        Assertions.assertEquals(minY, box[1].getY(), 1E-6);
+        Assertions.assertEquals(maxX, box[3].getX(), 1E-6);
+        Assertions.assertEquals(maxY, box[3].getY(), 1E-6);
+    }
+
+    /**
+     * Fake detector, which returns a bounding box for each non-black color in
+     * the image.
+     */
+    private static final class ColorRegionPredictor implements IDetectionPredictor {
+        private int imageCount = 0;
+        private int callCount = 0;
+
+        @Override
+        public Iterator<List<Point[]>> predict(Iterator<BufferedImage> inputs) {
+            ++callCount;
+            final List<List<Point[]>> result = new ArrayList<>();
+            while (inputs.hasNext()) {
+                result.add(detect(inputs.next()));
+                ++imageCount;
+            }
+            return result.iterator();
+        }
+
+        @Override
+        public void close() {
+            // Nothing to close
+        }
+
+        private static List<Point[]> detect(BufferedImage image) {
+            // color -> {minX, minY, maxX, maxY}
+            final Map<Integer, int[]> regions = new LinkedHashMap<>();
+            for (int y = 0; y < image.getHeight(); ++y) {
+                for (int x = 0; x < image.getWidth(); ++x) {
+                    final int rgb = image.getRGB(x, y) & 0xFFFFFF;
+                    if (rgb == 0) {
+                        continue;
+                    }
+                    int[] region = regions.get(rgb);
+                    if (region == null) {
+                        region = new int[]{x, y, x, y};
+                        regions.put(rgb, region);
+                    }
+                    region[0] = Math.min(region[0], x);
+                    region[1] = Math.min(region[1], y);
+                    region[2] = Math.max(region[2], x);
+                    region[3] = Math.max(region[3], y);
+                }
+            }
+            final List<Point[]> boxes = new ArrayList<>(regions.size());
+            for (final int[] region : regions.values()) {
+                final double minX = region[0];
+                final double minY = region[1];
+                final double maxX = region[2] + 1;
+                final double maxY = region[3] + 1;
+                boxes.add(new Point[]{
+                        new Point(minX, maxY), new Point(minX, minY), new Point(maxX, minY), new Point(maxX, maxY),
+                });
+            }
+            return boxes;
+        }
+    }
+}
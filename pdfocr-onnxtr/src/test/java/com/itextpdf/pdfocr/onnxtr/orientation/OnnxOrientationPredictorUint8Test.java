@@ -0,0 +1,111 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.pdfocr.onnxtr.orientation;
+
+import com.itextpdf.pdfocr.TextOrientation;
+import com.itextpdf.pdfocr.exceptions.PdfOcrException;
+import com.itextpdf.pdfocr.onnxtr.AbstractOnnxPredictor;
+import com.itextpdf.pdfocr.onnxtr.FloatBufferMdArray;
+import com.itextpdf.pdfocr.onnxtr.OnnxInputProperties;
+import com.itextpdf.pdfocr.onnxtr.exceptions.PdfOcrOnnxTrExceptionMessageConstant;
+import com.itextpdf.pdfocr.onnxtr.util.BufferedImageUtil;
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The model used here is a tiny generated one with a uint8 input of shape [-1, 3, 256, 256]. It
+ * averages each input channel and multiplies the result by a [3, 4] matrix, so mostly red images
+ * get label 0, mostly green ones get label 1 and mostly blue ones get label 2.
+ */
+@Tag("IntegrationTest")
+public class OnnxOrientationPredictorUint8Test extends ExtendedITextTest {
+    private static final String UINT8_MODEL =
+            "./src/test/resources/com/itextpdf/pdfocr/onnxtr/orientation/OnnxOrientationPredictorUint8Test/uint8_orientation.onnx";
+
+    @Test
+    public void predictWithUint8ModelTest() {
+        try (OnnxOrientationPredictor predictor = OnnxOrientationPredictor.mobileNetV3(UINT8_MODEL)) {
+            final Iterator<TextOrientation> result = predictor.predict(Arrays.asList(
+                    createFilledImage(Color.RED),
+                    createFilledImage(Color.GREEN),
+                    createFilledImage(Color.BLUE)
+            ).iterator());
+            Assertions.assertEquals(TextOrientation.HORIZONTAL, result.next());
+            Assertions.assertEquals(TextOrientation.HORIZONTAL_ROTATED_90, result.next());
+            Assertions.assertEquals(TextOrientation.HORIZONTAL_ROTATED_180, result.next());
+            Assertions.assertFalse(result.hasNext());
+        }
+    }
+
+    @Test
+    public void uint8ModelWithoutUint8SupportTest() {
+        final OnnxInputProperties inputProperties =
+                OnnxOrientationPredictorProperties.mobileNetV3(UINT8_MODEL).getInputProperties();
+        final Exception e = Assertions.assertThrows(PdfOcrException.class,
+                () -> new FloatOnlyPredictor(UINT8_MODEL, inputProperties));
+        Assertions.assertEquals(PdfOcrOnnxTrExceptionMessageConstant.MODEL_DID_NOT_PASS_VALIDATION, e.getMessage());
+        Assertions.assertEquals(PdfOcrOnnxTrExceptionMessageConstant.UINT8_INPUT_IS_NOT_SUPPORTED,
+                e.getCause().getMessage());
+    }
+
+    private static BufferedImage createFilledImage(Color color) {
+        final BufferedImage image = new BufferedImage(64, 64, BufferedImage.TYPE_3BYTE_BGR);
+        final Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setColor(color);
+            graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+        } finally {
+            graphics.dispose();
+        }
+        return image;
+    }
+
+    private static final class FloatOnlyPredictor extends AbstractOnnxPredictor<BufferedImage, Integer> {
+        private final OnnxInputProperties inputProperties;
+
+        FloatOnlyPredictor(String modelPath, OnnxInputProperties inputProperties) {
+            super(modelPath, inputProperties, new long[] {-1, 4});
+            this.inputProperties = inputProperties;
+        }
+
+        @Override
+        protected FloatBufferMdArray toInputBuffer(List<BufferedImage> batch) {
+            return BufferedImageUtil.toBchwInput(batch, inputProperties);
+        }
+
+        @Override
+        protected List<Integer> fromOutputBuffer(List<BufferedImage> inputBatch, FloatBufferMdArray outputBatch) {
+            return new ArrayList<>();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.pdfocr.onnxtr.orientation;
+
+import com.itextpdf.pdfocr.TextOrientation;
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("UnitTest")
+public class PageOrientationPredictorTest extends ExtendedITextTest {
+    @Test
+    public void invalidSampleSizeTest() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new PageOrientationPredictor(new HeightOrientationPredictor(), 0));
+    }
+
+    @Test
+    public void uniformPageTest() {
+        final HeightOrientationPredictor predictor = new HeightOrientationPredictor();
+        final PageOrientationPredictor pagePredictor = new PageOrientationPredictor(predictor, 3);
+        final List<BufferedImage> images = new ArrayList<>();
+        for (int i = 0; i < 10; ++i) {
+            images.add(newImage(10 + i, 1));
+        }
+
+        final List<TextOrientation> result = predict(pagePredictor, images);
+
+        Assertions.assertEquals(Collections.nCopies(10, TextOrientation.HORIZONTAL_ROTATED_90), result);
+        Assertions.assertEquals(3, predictor.imageCount);
+        Assertions.assertEquals(1, pagePredictor.getUniformPageCount());
+        Assertions.assertEquals(0, pagePredictor.getFallbackPageCount());
+        Assertions.assertEquals(0, pagePredictor.getShortPageCount());
+        Assertions.assertEquals(3, pagePredictor.getPredictedImageCount());
+        Assertions.assertEquals(7, pagePredictor.getSkippedImageCount());
+    }
+
+    @Test
+    public void mixedPageFallsBackToPerCropTest() {
+        final HeightOrientationPredictor predictor = new HeightOrientationPredictor();
+        final PageOrientationPredictor pagePredictor = new PageOrientationPredictor(predictor, 2);
+        // Two widest crops disagree
+        final List<BufferedImage> images = Arrays.asList(
+                newImage(10, 0), newImage(50, 2), newImage(40, 0), newImage(20, 3), newImage(30, 1)
+        );
+
+        final List<TextOrientation> result = predict(pagePredictor, images);
+
+        Assertions.assertEquals(Arrays.asList(
+                TextOrientation.HORIZONTAL,
+                TextOrientation.HORIZONTAL_ROTATED_180,
+                TextOrientation.HORIZONTAL,
+                TextOrientation.HORIZONTAL_ROTATED_270,
+                TextOrientation.HORIZONTAL_ROTATED_90
+        ), result);
+        Assertions.assertEquals(5, predictor.imageCount);
+        Assertions.assertEquals(0, pagePredictor.getUniformPageCount());
+        Assertions.assertEquals(1, pagePredictor.getFallbackPageCount());
+        Assertions.assertEquals(0, pagePredictor.getSkippedImageCount());
+    }
+
+    @Test
+    public void smallPageTest() {
+        final HeightOrientationPredictor predictor = new HeightOrientationPredictor();
+        final PageOrientationPredictor pagePredictor = new PageOrientationPredictor(predictor, 8);
+
+        Assertions.assertTrue(predict(pagePredictor, Collections.<BufferedImage>emptyList()).isEmpty());
+        Assertions.assertEquals(Arrays.asList(TextOrientation.HORIZONTAL, TextOrientation.HORIZONTAL_ROTATED_270),
+                predict(pagePredictor, Arrays.asList(newImage(10, 0), newImage(10, 3))));
+        Assertions.assertEquals(2, predictor.imageCount);
+        Assertions.assertEquals(2, pagePredictor.getShortPageCount());
+        Assertions.assertEquals(0, pagePredictor.getUniformPageCount());
+        Assertions.assertEquals(0, pagePredictor.getFallbackPageCount());
+        Assertions.assertEquals(2, pagePredictor.getPredictedImageCount());
+    }
+
+    private static List<TextOrientation> predict(PageOrientationPredictor predictor, List<BufferedImage> images) {
+        final List<TextOrientation> result = new ArrayList<>();
+        predictor.predict(images).forEachRemaining(result::add);
+        return result;
+    }
+
+    /**
+     * Creates an image, for which the fake predictor returns the orientation with the specified index.
+     */
+    private static BufferedImage newImage(int width, int orientationIndex) {
+        // Height 0 is not allowed, so using 4 instead
+        return new BufferedImage(width, orientationIndex == 0 ? 4 : orientationIndex, BufferedImage.TYPE_3BYTE_BGR);
+    }
+
+    /**
+     * Fake predictor, which picks orientation based on the image height modulo 4.
+     */
+    private static final class HeightOrientationPredictor implements IOrientationPredictor {
+        private int imageCount = 0;
+
+        @Override
+        public Iterator<TextOrientation> predict(Iterator<BufferedImage> inputs) {
+            final List<TextOrientation> result = new ArrayList<>();
+            while (inputs.hasNext()) {
+                final int height = inputs.next().getHeight();
+                ++imageCount;
+                result.add(TextOrientation.values()[height % 4]);
+            }
+            return result.iterator();
+        }
+
+        @Override
+        public void close() {
+            // Nothing to close
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.pdfocr.onnxtr.recognition;
+
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("UnitTest")
+public class CachingRecognitionPredictorTest extends ExtendedITextTest {
+    @Test
+    public void invalidCacheSizeTest() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new CachingRecognitionPredictor(new CountingPredictor(), 0));
+    }
+
+    @Test
+    public void repeatedCropsAreRecognizedOnceTest() {
+        final CountingPredictor predictor = new CountingPredictor();
+        final CachingRecognitionPredictor cachingPredictor = new CachingRecognitionPredictor(predictor);
+
+        // Same header on two pages, plus a crop repeating within a page
+        final List<String> firstPage = recognize(cachingPredictor,
+                newCrop(200, 40, 10), newCrop(120, 40, 50), newCrop(200, 40, 10));
+        final List<String> secondPage = recognize(cachingPredictor,
+                newCrop(200, 40, 10), newCrop(160, 40, 90));
+
+        Assertions.assertEquals(Arrays.asList("0", "1", "0"), firstPage);
+        Assertions.assertEquals(Arrays.asList("0", "2"), secondPage);
+        Assertions.assertEquals(3, predictor.imageCount);
+        Assertions.assertEquals(2, cachingPredictor.getHitCount());
+        Assertions.assertEquals(3, cachingPredictor.getMissCount());
+        Assertions.assertEquals(0.4, cachingPredictor.getHitRate(), 1E-9);
+    }
+
+    @Test
+    public void similarCropsAreNotMergedTest() {
+        final CountingPredictor predictor = new CountingPredictor();
+        final CachingRecognitionPredictor cachingPredictor = new CachingRecognitionPredictor(predictor);
+
+        // Single pixel difference, same content at a different scale and a one pixel wider crop
+        final BufferedImage modified = newCrop(200, 40, 10);
+        modified.setRGB(199, 39, Color.LIGHT_GRAY.getRGB());
+        final List<String> result = recognize(cachingPredictor,
+                newCrop(200, 40, 10), modified, newCrop(400, 80, 20), newCrop(201, 40, 10));
+
+        Assertions.assertEquals(Arrays.asList("0", "1", "2", "3"), result);
+        Assertions.assertEquals(4, predictor.imageCount);
+        Assertions.assertEquals(0, cachingPredictor.getHitCount());
+    }
+
+    @Test
+    public void leastRecentlyUsedEntriesAreEvictedTest() {
+        final CountingPredictor predictor = new CountingPredictor();
+        final CachingRecognitionPredictor cachingPredictor = new CachingRecognitionPredictor(predictor, 2);
+
+        recognize(cachingPredictor, newCrop(100, 40, 10), newCrop(100, 40, 50));
+        // Touching the first crop, so the second one is evicted by the third
+        recognize(cachingPredictor, newCrop(100, 40, 10));
+        recognize(cachingPredictor, newCrop(100, 40, 90));
+        final List<String> result = recognize(cachingPredictor, newCrop(100, 40, 10), newCrop(100, 40, 50));
+
+        Assertions.assertEquals(Arrays.asList("0", "3"), result);
+        Assertions.assertEquals(4, predictor.imageCount);
+
+        cachingPredictor.clearCache();
+        recognize(cachingPredictor, newCrop(100, 40, 10));
+        Assertions.assertEquals(5, predictor.imageCount);
+    }
+
+    private static List<String> recognize(CachingRecognitionPredictor predictor, BufferedImage... images) {
+        final List<String> result = new ArrayList<>();
+        predictor.predict(Arrays.asList(images)).forEachRemaining(result::add);
+        return result;
+    }
+
+    private static BufferedImage newCrop(int width, int height, int textX) {
+        final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_3BYTE_BGR);
+        final Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.setColor(Color.BLACK);
+            graphics.fillRect(textX, height / 4, 20, height / 2);
+        } finally {
+            graphics.dispose();
+        }
+        return image;
+    }
+
+    /**
+     * Fake recognizer, which returns the sequential number of the recognized image.
+     */
+    private static final class CountingPredictor implements IRecognitionPredictor {
+        private int imageCount = 0;
+
+        @Override
+        public Iterator<String> predict(Iterator<BufferedImage> inputs) {
+            final List<String> result = new ArrayList<>();
+            while (inputs.hasNext()) {
+                inputs.next();
+                result.add(String.valueOf(imageCount));
+                ++imageCount;
+            }
+            return result.iterator();
+        }
+
+        @Override
+        public void close() {
+            // Nothing to close
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.pdfocr.onnxtr.recognition;
+
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("UnitTest")
+public class CascadeRecognitionPredictorTest extends ExtendedITextTest {
+    @Test
+    public void invalidThresholdTest() {
+        final FakePredictor predictor = new FakePredictor("fast");
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new CascadeRecognitionPredictor(predictor, predictor, -0.1F));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new CascadeRecognitionPredictor(predictor, predictor, 1.1F));
+    }
+
+    @Test
+    public void lowConfidenceImagesAreEscalatedTest() {
+        final FakePredictor fast = new FakePredictor("fast");
+        final FakePredictor accurate = new FakePredictor("accurate");
+        final CascadeRecognitionPredictor cascade = new CascadeRecognitionPredictor(fast, accurate, 0.5F);
+        // Fake confidence is width / 100
+        final List<BufferedImage> images = Arrays.asList(
+                newImage(90), newImage(20), newImage(70), newImage(10), newImage(50)
+        );
+
+        final List<RecognitionResult> results = new ArrayList<>();
+        cascade.predictWithConfidence(images).forEachRemaining(results::add);
+
+        Assertions.assertEquals(Arrays.asList(
+                new RecognitionResult("fast90", 0.9F),
+                new RecognitionResult("accurate20", 0.2F),
+                new RecognitionResult("fast70", 0.7F),
+                new RecognitionResult("accurate10", 0.1F),
+                new RecognitionResult("fast50", 0.5F)
+        ), results);
+        Assertions.assertEquals(5, fast.imageCount);
+        Assertions.assertEquals(2, accurate.imageCount);
+        Assertions.assertEquals(5, cascade.getRecognizedImageCount());
+        Assertions.assertEquals(2, cascade.getEscalatedImageCount());
+        Assertions.assertEquals(0.4, cascade.getEscalationRate(), 1E-9);
+    }
+
+    @Test
+    public void predictReturnsTextTest() {
+        final CascadeRecognitionPredictor cascade = new CascadeRecognitionPredictor(
+                new FakePredictor("fast"), new FakePredictor("accurate"));
+        final List<String> results = new ArrayList<>();
+        cascade.predict(Arrays.asList(newImage(95), newImage(30))).forEachRemaining(results::add);
+
+        Assertions.assertEquals(Arrays.asList("fast95", "accurate30"), results);
+        Assertions.assertEquals(0.5, cascade.getEscalationRate(), 1E-9);
+    }
+
+    private static BufferedImage newImage(int width) {
+        return new BufferedImage(width, 1, BufferedImage.TYPE_3BYTE_BGR);
+    }
+
+    /**
+     * Fake recognizer, which returns the prefix with the image width as text
+     * and the image width divided by 100 as confidence.
+     */
+    private static final class FakePredictor implements IRecognitionPredictor {
+        private final String prefix;
+        private int imageCount = 0;
+
+        FakePredictor(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Iterator<String> predict(Iterator<BufferedImage> inputs) {
+            final Iterator<RecognitionResult> results = predictWithConfidence(inputs);
+            final List<String> strings = new ArrayList<>();
+            results.forEachRemaining(result -> strings.add(result.getText()));
+            return strings.iterator();
+        }
+
+        @Override
+        public Iterator<RecognitionResult> predictWithConfidence(Iterator<BufferedImage> inputs) {
+            final List<RecognitionResult> results = new ArrayList<>();
+            while (inputs.hasNext()) {
+                final BufferedImage image = inputs.next();
+                ++imageCount;
+                results.add(new RecognitionResult(prefix + image.getWidth(), image.getWidth() / 100F));
+            }
+            return results.iterator();
+        }
+
+        @Override
+        public void close() {
+            // Nothing to close
+        }
+    }
+}
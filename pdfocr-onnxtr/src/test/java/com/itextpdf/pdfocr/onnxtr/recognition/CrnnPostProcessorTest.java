@@ -0,0 +1,99 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.pdfocr.onnxtr.recognition;
+
+import com.itextpdf.pdfocr.onnxtr.FloatBufferMdArray;
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("UnitTest")
+public class CrnnPostProcessorTest extends ExtendedITextTest {
+    @Test
+    public void processHeapBuffer() {
+        final CrnnPostProcessor postProcessor = new CrnnPostProcessor(new Vocabulary("AB"));
+        final FloatBufferMdArray output = new FloatBufferMdArray(FloatBuffer.wrap(createOutput()), new long[]{2, 5, 3});
+        Assertions.assertEquals("ABA", postProcessor.process(output.getSubArray(0)));
+        Assertions.assertEquals("B", postProcessor.process(output.getSubArray(1)));
+    }
+
+    @Test
+    public void processDirectBuffer() {
+        final CrnnPostProcessor postProcessor = new CrnnPostProcessor(new Vocabulary("AB"));
+        final float[] values = createOutput();
+        final FloatBuffer directBuffer = ByteBuffer.allocateDirect(values.length * Float.BYTES)
+                .order(ByteOrder.nativeOrder())
+                .asFloatBuffer();
+        directBuffer.put(values);
+        directBuffer.rewind();
+        final FloatBufferMdArray output = new FloatBufferMdArray(directBuffer, new long[]{2, 5, 3});
+        Assertions.assertEquals("ABA", postProcessor.process(output.getSubArray(0)));
+        Assertions.assertEquals("B", postProcessor.process(output.getSubArray(1)));
+    }
+
+    @Test
+    public void processWithConfidence() {
+        final CrnnPostProcessor postProcessor = new CrnnPostProcessor(new Vocabulary("AB"));
+        final FloatBufferMdArray output = new FloatBufferMdArray(FloatBuffer.wrap(createOutput()), new long[]{2, 5, 3});
+
+        final RecognitionResult first = postProcessor.processWithConfidence(output.getSubArray(0));
+        Assertions.assertEquals("ABA", first.getText());
+        // Least confident step is the last "A"
+        Assertions.assertEquals(softmax(0.6, 0.3, 0.1), first.getConfidence(), 1E-6F);
+
+        final RecognitionResult second = postProcessor.processWithConfidence(output.getSubArray(1));
+        Assertions.assertEquals("B", second.getText());
+        Assertions.assertEquals(softmax(0.7, 0.1, 0.2), second.getConfidence(), 1E-6F);
+    }
+
+    private static float softmax(double value, double... others) {
+        double sum = Math.exp(value);
+        for (final double other : others) {
+            sum += Math.exp(other);
+        }
+        return (float) (Math.exp(value) / sum);
+    }
+
+    private static float[] createOutput() {
+        // Labels: 0 is "A", 1 is "B", 2 is <blank>
+        return new float[]{
+                // A A B <blank> A
+                0.9F, 0.0F, 0.1F,
+                0.8F, 0.1F, 0.1F,
+                0.1F, 0.7F, 0.2F,
+                0.1F, 0.1F, 0.8F,
+                0.6F, 0.3F, 0.1F,
+                // <blank> B B <blank> <blank>
+                0.1F, 0.1F, 0.8F,
+                0.1F, 0.7F, 0.2F,
+                0.1F, 0.7F, 0.2F,
+                0.1F, 0.1F, 0.8F,
+                0.1F, 0.1F, 0.8F,
+        };
+    }
+}
@@ -0,0 +1,99 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.pdfocr.onnxtr.recognition;
+
+import com.itextpdf.pdfocr.onnxtr.FloatBufferMdArray;
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("UnitTest")
+public class EndOfStringPostProcessorTest extends ExtendedITextTest {
+    @Test
+    public void processDirectBuffer() {
+        // Labels: 0 is "A", 1 is "B", 2 is <eos>, 3 is an additional token
+        final EndOfStringPostProcessor postProcessor = new EndOfStringPostProcessor(new Vocabulary("AB"), 1);
+        final float[] values = createOutput();
+        final FloatBuffer directBuffer = ByteBuffer.allocateDirect(values.length * Float.BYTES)
+                .order(ByteOrder.nativeOrder())
+                .asFloatBuffer();
+        directBuffer.put(values);
+        directBuffer.rewind();
+        final FloatBufferMdArray output = new FloatBufferMdArray(directBuffer, new long[]{2, 5, 4});
+        Assertions.assertEquals("BAA", postProcessor.process(output.getSubArray(0)));
+        Assertions.assertEquals("A", postProcessor.process(output.getSubArray(1)));
+    }
+
+    @Test
+    public void processWithConfidence() {
+        final EndOfStringPostProcessor postProcessor = new EndOfStringPostProcessor(new Vocabulary("AB"), 1);
+        final FloatBufferMdArray output = new FloatBufferMdArray(FloatBuffer.wrap(createOutput()), new long[]{2, 5, 4});
+        final RecognitionResult result = postProcessor.processWithConfidence(output.getSubArray(0));
+        Assertions.assertEquals("BAA", result.getText());
+        Assertions.assertEquals(softmax(0.7, 0.1, 0.1, 0.1), result.getConfidence(), 1E-6F);
+
+        // Steps after <eos> should not affect the confidence
+        final float[] values = new float[]{
+                // A <eos> B
+                0.9F, 0.1F, 0.1F, 0.1F,
+                0.1F, 0.1F, 0.9F, 0.1F,
+                0.3F, 0.4F, 0.3F, 0.3F,
+        };
+        final RecognitionResult shortResult = postProcessor.processWithConfidence(
+                new FloatBufferMdArray(FloatBuffer.wrap(values), new long[]{3, 4}));
+        Assertions.assertEquals("A", shortResult.getText());
+        Assertions.assertEquals(softmax(0.9, 0.1, 0.1, 0.1), shortResult.getConfidence(), 1E-6F);
+    }
+
+    private static float softmax(double value, double... others) {
+        double sum = Math.exp(value);
+        for (final double other : others) {
+            sum += Math.exp(other);
+        }
+        return (float) (Math.exp(value) / sum);
+    }
+
+    private static float[] createOutput() {
+        // Labels: 0 is "A", 1 is "B", 2 is <eos>, 3 is an additional token
+        return new float[]{
+                // B A A <eos> B
+                0.1F, 0.7F, 0.1F, 0.1F,
+                0.7F, 0.1F, 0.1F, 0.1F,
+                0.7F, 0.1F, 0.1F, 0.1F,
+                0.1F, 0.1F, 0.7F, 0.1F,
+                0.1F, 0.7F, 0.1F, 0.1F,
+                // <pad> A <eos> A A
+                0.1F, 0.1F, 0.1F, 0.7F,
+                0.7F, 0.1F, 0.1F, 0.1F,
+                0.1F, 0.1F, 0.7F, 0.1F,
+                0.7F, 0.1F, 0.1F, 0.1F,
+                0.7F, 0.1F, 0.1F, 0.1F,
+        };
+    }
+}
+
@@ -0,0 +1,63 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.pdfocr.onnxtr.recognition;
+
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("UnitTest")
+public class OnnxRecognitionPredictorTest extends ExtendedITextTest {
+    @Test
+    public void dynamicBatchWidthTest() {
+        // 20x10 crop is 64 wide at height 32, the widest crop defines the width
+        Assertions.assertEquals(64, OnnxRecognitionPredictor.calculateDynamicBatchWidth(Arrays.asList(
+                new BufferedImage(20, 10, BufferedImage.TYPE_3BYTE_BGR),
+                new BufferedImage(10, 10, BufferedImage.TYPE_3BYTE_BGR)), 32, 128));
+        // Width is aligned to a multiple of 8
+        Assertions.assertEquals(40, OnnxRecognitionPredictor.calculateDynamicBatchWidth(Collections.singletonList(
+                new BufferedImage(11, 10, BufferedImage.TYPE_3BYTE_BGR)), 32, 128));
+        Assertions.assertEquals(8, OnnxRecognitionPredictor.calculateDynamicBatchWidth(Collections.singletonList(
+                new BufferedImage(1, 10, BufferedImage.TYPE_3BYTE_BGR)), 32, 128));
+    }
+
+    @Test
+    public void dynamicBatchWidthLimitTest() {
+        // Split crops have aspect ratios up to about 8.4, which is wider than the 32x128 input
+        final BufferedImage splitCrop = new BufferedImage(84, 10, BufferedImage.TYPE_3BYTE_BGR);
+        // Default limit is the input properties width
+        Assertions.assertEquals(128, OnnxRecognitionPredictor.calculateDynamicBatchWidth(
+                Collections.singletonList(splitCrop), 32, 128));
+        // A raised limit takes long lines as is
+        final BufferedImage line = new BufferedImage(400, 10, BufferedImage.TYPE_3BYTE_BGR);
+        Assertions.assertEquals(1280, OnnxRecognitionPredictor.calculateDynamicBatchWidth(
+                Collections.singletonList(line), 32, 128 * 16));
+        Assertions.assertEquals(128 * 4, OnnxRecognitionPredictor.calculateDynamicBatchWidth(
+                Collections.singletonList(line), 32, 128 * 4));
+    }
+}
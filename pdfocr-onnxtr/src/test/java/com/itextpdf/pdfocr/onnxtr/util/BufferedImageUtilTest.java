@@ -22,15 +22,25 @@
  */
 package com.itextpdf.pdfocr.onnxtr.util;
 
+import com.itextpdf.kernel.geom.Point;
+import com.itextpdf.pdfocr.onnxtr.ByteBufferMdArray;
 import com.itextpdf.pdfocr.onnxtr.FloatBufferMdArray;
 import com.itextpdf.pdfocr.onnxtr.OnnxInputProperties;
 import com.itextpdf.test.ExtendedITextTest;
 
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
 import java.awt.image.WritableRaster;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
@@ -68,6 +78,139 @@ public class BufferedImageUtilTest extends ExtendedITextTest {
         toBchwInputBasicTest(expectedShape, expectedData, images, props);
     }
 
+    @Test
+    public void toBchwInputMatchesPerPixelConversionTest() {
+        final Random random = new Random(42);
+        // Different types, sizes and aspect ratios, so that both padding directions are used
+        final List<BufferedImage> images = Arrays.asList(
+                newRandomImage(random, 300, 40, BufferedImage.TYPE_3BYTE_BGR),
+                newRandomImage(random, 17, 90, BufferedImage.TYPE_INT_RGB),
+                newRandomImage(random, 128, 32, BufferedImage.TYPE_INT_ARGB),
+                newRandomImage(random, 5, 5, BufferedImage.TYPE_BYTE_GRAY),
+                newRandomImage(random, 1000, 12, BufferedImage.TYPE_3BYTE_BGR)
+        );
+        for (final boolean symmetricPad : new boolean[]{false, true}) {
+            final OnnxInputProperties props = new OnnxInputProperties(
+                    new float[]{0.694F, 0.695F, 0.693F},
+                    new float[]{0.299F, 0.296F, 0.301F},
+                    new long[]{8, 3, 32, 128},
+                    symmetricPad
+            );
+            final float[] expected = toBchwInputPerPixel(images, props);
+            final FloatBuffer actualBuffer = BufferedImageUtil.toBchwInput(images, props).getData();
+            final float[] actual = new float[actualBuffer.remaining()];
+            actualBuffer.get(actual);
+            Assertions.assertArrayEquals(expected, actual, 1E-6F);
+        }
+    }
+
+    @Test
+    public void toBchwUint8InputMatchesFloatInputTest() {
+        final Random random = new Random(42);
+        final List<BufferedImage> images = Arrays.asList(
+                newRandomImage(random, 300, 40, BufferedImage.TYPE_3BYTE_BGR),
+                newRandomImage(random, 17, 90, BufferedImage.TYPE_INT_RGB),
+                newRandomImage(random, 5, 5, BufferedImage.TYPE_BYTE_GRAY)
+        );
+        // With such mean and std float input just holds the raw sample values
+        final OnnxInputProperties props = new OnnxInputProperties(
+                new float[]{0F, 0F, 0F},
+                new float[]{1F / 255, 1F / 255, 1F / 255},
+                new long[]{4, 3, 32, 128},
+                true
+        );
+        final ByteBufferMdArray result = BufferedImageUtil.toBchwUint8Input(images, props, 96);
+        Assertions.assertArrayEquals(new long[]{3, 3, 32, 96}, result.getShape());
+        final FloatBuffer expectedBuffer = BufferedImageUtil.toBchwInput(images, props, 96).getData();
+        final ByteBuffer actualBuffer = result.getData();
+        Assertions.assertEquals(expectedBuffer.remaining(), actualBuffer.remaining());
+        while (expectedBuffer.hasRemaining()) {
+            Assertions.assertEquals(expectedBuffer.get(), actualBuffer.get() & 0xFF, 1E-3F);
+        }
+    }
+
+    @Test
+    public void toBchwInputWithWidthOverrideTest() {
+        final Random random = new Random(42);
+        final List<BufferedImage> images = Arrays.asList(
+                newRandomImage(random, 40, 10, BufferedImage.TYPE_3BYTE_BGR),
+                newRandomImage(random, 64, 10, BufferedImage.TYPE_3BYTE_BGR)
+        );
+        final OnnxInputProperties props = new OnnxInputProperties(
+                new float[]{0.694F, 0.695F, 0.693F},
+                new float[]{0.299F, 0.296F, 0.301F},
+                new long[]{8, 3, 32, 512},
+                false
+        );
+        final OnnxInputProperties narrowProps = new OnnxInputProperties(
+                new float[]{0.694F, 0.695F, 0.693F},
+                new float[]{0.299F, 0.296F, 0.301F},
+                new long[]{8, 3, 32, 208},
+                false
+        );
+        final FloatBufferMdArray result = BufferedImageUtil.toBchwInput(images, props, 208);
+        Assertions.assertArrayEquals(new long[]{2, 3, 32, 208}, result.getShape());
+        // Same as if the properties themselves had the narrower width
+        final FloatBuffer expectedBuffer = BufferedImageUtil.toBchwInput(images, narrowProps).getData();
+        final FloatBuffer actualBuffer = result.getData();
+        Assertions.assertEquals(expectedBuffer, actualBuffer);
+    }
+
+    public static Iterable<Object[]> extractAxisAlignedBoxTestParams() {
+        return Arrays.asList(new Object[][] {
+                {BufferedImage.TYPE_3BYTE_BGR},
+                {BufferedImage.TYPE_INT_RGB},
+        });
+    }
+
+    @ParameterizedTest(name = "extractAxisAlignedBoxTest: {0}")
+    @MethodSource("extractAxisAlignedBoxTestParams")
+    public void extractAxisAlignedBoxTest(int imageType) {
+        final BufferedImage image = newRandomImage(new Random(7), 20, 10, imageType);
+        final Point[] box = new Point[] {
+                new Point(2, 8), new Point(2, 3), new Point(12, 3), new Point(12, 8),
+        };
+        final List<BufferedImage> crops = BufferedImageUtil.extractBoxes(image, Collections.singletonList(box));
+        Assertions.assertEquals(1, crops.size());
+        final BufferedImage crop = crops.get(0);
+        Assertions.assertEquals(10, crop.getWidth());
+        Assertions.assertEquals(5, crop.getHeight());
+        for (int y = 0; y < crop.getHeight(); ++y) {
+            for (int x = 0; x < crop.getWidth(); ++x) {
+                Assertions.assertEquals(image.getRGB(2 + x, 3 + y) & 0xFFFFFF, crop.getRGB(x, y) & 0xFFFFFF);
+            }
+        }
+    }
+
+    @Test
+    public void extractAxisAlignedBoxOutOfBoundsTest() {
+        final BufferedImage image = newRandomImage(new Random(7), 20, 10, BufferedImage.TYPE_INT_RGB);
+        final Point[] box = new Point[] {
+                new Point(15, 12), new Point(15, 6), new Point(25, 6), new Point(25, 12),
+        };
+        final BufferedImage crop = BufferedImageUtil.extractBoxes(image, Collections.singletonList(box)).get(0);
+        Assertions.assertEquals(10, crop.getWidth());
+        Assertions.assertEquals(6, crop.getHeight());
+        Assertions.assertEquals(image.getRGB(15, 6) & 0xFFFFFF, crop.getRGB(0, 0) & 0xFFFFFF);
+        Assertions.assertEquals(image.getRGB(19, 9) & 0xFFFFFF, crop.getRGB(4, 3) & 0xFFFFFF);
+        // Outside of the source image everything should be black
+        Assertions.assertEquals(0, crop.getRGB(5, 0) & 0xFFFFFF);
+        Assertions.assertEquals(0, crop.getRGB(0, 4) & 0xFFFFFF);
+    }
+
+    @Test
+    public void extractRotatedBoxTest() {
+        final BufferedImage image = newRandomImage(new Random(7), 40, 40, BufferedImage.TYPE_INT_RGB);
+        // Box, rotated by 45 degrees
+        final Point[] box = new Point[] {
+                new Point(10, 20), new Point(20, 10), new Point(30, 20), new Point(20, 30),
+        };
+        final BufferedImage crop = BufferedImageUtil.extractBoxes(image, Collections.singletonList(box)).get(0);
+        Assertions.assertEquals(BufferedImage.TYPE_3BYTE_BGR, crop.getType());
+        Assertions.assertEquals(14, crop.getWidth());
+        Assertions.assertEquals(14, crop.getHeight());
+    }
+
     public static Iterable<Object[]> truncateToRatioTestParams() {
         return Arrays.asList(new Object[][] {
                 {new Dimensions2D(100, 20), new Dimensions2D(100, 20), 8.},
@@ -98,6 +241,59 @@ public class BufferedImageUtilTest extends ExtendedITextTest {
         Assertions.assertArrayEquals(expectedData, actualData, 1E-6F);
     }
 
+    /**
+     * Reference implementation of the BCHW conversion, which resizes each image into a new
+     * image and normalizes it pixel by pixel.
+     */
+    private static float[] toBchwInputPerPixel(List<BufferedImage> images, OnnxInputProperties props) {
+        final int width = props.getWidth();
+        final int height = props.getHeight();
+        final float[] result = new float[images.size() * 3 * width * height];
+        int index = 0;
+        for (final BufferedImage image : images) {
+            final BufferedImage resized = new BufferedImage(width, height, BufferedImage.TYPE_3BYTE_BGR);
+            final Graphics2D graphics = resized.createGraphics();
+            graphics.setColor(Color.BLACK);
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            final double widthRatio = (double) width / image.getWidth();
+            final double heightRatio = (double) height / image.getHeight();
+            if (heightRatio > widthRatio) {
+                final int scaledHeight = (int) Math.round(image.getHeight() * widthRatio);
+                final int yPos = props.useSymmetricPad() ? (height - scaledHeight) / 2 : 0;
+                graphics.fillRect(0, 0, width, yPos);
+                graphics.fillRect(0, yPos + scaledHeight, width, height - scaledHeight - yPos);
+                graphics.drawImage(image, 0, yPos, width, scaledHeight, Color.WHITE, null);
+            } else {
+                final int scaledWidth = (int) Math.round(image.getWidth() * heightRatio);
+                final int xPos = props.useSymmetricPad() ? (width - scaledWidth) / 2 : 0;
+                graphics.fillRect(0, 0, xPos, height);
+                graphics.fillRect(xPos + scaledWidth, 0, width - scaledWidth - xPos, height);
+                graphics.drawImage(image, xPos, 0, scaledWidth, height, Color.WHITE, null);
+            }
+            graphics.dispose();
+            final Raster raster = resized.getRaster();
+            for (int band = 0; band < 3; ++band) {
+                for (int y = 0; y < height; ++y) {
+                    for (int x = 0; x < width; ++x) {
+                        final double v = raster.getSample(x, y, band) / 255.0;
+                        result[index++] = (float) ((v - (double) props.getMean(band)) / props.getStd(band));
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private static BufferedImage newRandomImage(Random random, int width, int height, int type) {
+        final BufferedImage img = new BufferedImage(width, height, type);
+        for (int y = 0; y < height; ++y) {
+            for (int x = 0; x < width; ++x) {
+                img.setRGB(x, y, random.nextInt());
+            }
+        }
+        return img;
+    }
+
     private static BufferedImage newBlankInputImage(Dimensions2D dims) {
         return new BufferedImage(dims.getWidth(), dims.getHeight(), BufferedImage.TYPE_3BYTE_BGR);
     }
@@ -24,6 +24,9 @@ package com.itextpdf.pdfocr.onnxtr.util;
 
 import com.itextpdf.test.ExtendedITextTest;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
@@ -51,6 +54,53 @@ public class MathUtilTest extends ExtendedITextTest {
         Assertions.assertEquals(1, MathUtil.argmax(new float[] {1, 3, 3}));
     }
 
+    @Test
+    public void argmaxBufferWithInvalidArgs() {
+        Assertions.assertThrows(NullPointerException.class, () -> MathUtil.argmax(null, 0, 1));
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> MathUtil.argmax(FloatBuffer.wrap(new float[] {1}), 0, 0)
+        );
+    }
+
+    @Test
+    public void argmaxBufferWithValidArgs() {
+        final FloatBuffer heapBuffer = FloatBuffer.wrap(new float[] {5, 1, 3, 2, 4, 4});
+        Assertions.assertEquals(0, MathUtil.argmax(heapBuffer, 0, 6));
+        Assertions.assertEquals(1, MathUtil.argmax(heapBuffer, 1, 3));
+        Assertions.assertEquals(0, MathUtil.argmax(heapBuffer, 4, 2));
+
+        final FloatBuffer directBuffer = ByteBuffer.allocateDirect(6 * Float.BYTES)
+                .order(ByteOrder.nativeOrder())
+                .asFloatBuffer();
+        directBuffer.put(heapBuffer.duplicate());
+        Assertions.assertEquals(1, MathUtil.argmax(directBuffer, 1, 3));
+        Assertions.assertEquals(0, MathUtil.argmax(directBuffer, 4, 2));
+        // Absolute reads should not move the buffer
+        Assertions.assertEquals(6, directBuffer.position());
+    }
+
+    @Test
+    public void softmaxWithInvalidArgs() {
+        Assertions.assertThrows(NullPointerException.class, () -> MathUtil.softmax(null, 0, 1, 0));
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> MathUtil.softmax(FloatBuffer.wrap(new float[] {1}), 0, 0, 0)
+        );
+    }
+
+    @Test
+    public void softmaxWithValidArgs() {
+        final FloatBuffer buffer = FloatBuffer.wrap(new float[] {7, 0, 0, 1000, 2, 1000, 9});
+        Assertions.assertEquals(1F, MathUtil.softmax(buffer, 0, 1, 0), 1E-6F);
+        Assertions.assertEquals(0.5F, MathUtil.softmax(buffer, 1, 2, 0), 1E-6F);
+        // Large values should not overflow
+        Assertions.assertEquals(0.5F, MathUtil.softmax(buffer, 3, 3, 2), 1E-6F);
+        // Two-element softmax is a sigmoid of the difference
+        Assertions.assertEquals(MathUtil.expit(2F), MathUtil.softmax(FloatBuffer.wrap(new float[] {2, 0}), 0, 2, 0),
+                1E-6F);
+    }
+
     @Test
     public void clampWithInvalidArgs() {
         Assertions.assertThrows(IllegalArgumentException.class, () -> MathUtil.clamp(2, 3, 1));
@@ -49,8 +49,6 @@ import com.itextpdf.pdfocr.util.TiffImageUtil;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
@@ -89,6 +87,12 @@ public abstract class AbstractTesseract4OcrEngine implements IOcrEngine, IProduc
 
     private ThreadLocal<IMetaInfo> threadLocalMetaInfo = new ThreadLocal<>();
 
+    /**
+     * Reader of the TIFF image which pages are being preprocessed one by one
+     * in the current thread, so that each page is decoded only once.
+     */
+    private final ThreadLocal<TiffPageReader> threadLocalTiffPageReader = new ThreadLocal<>();
+
     /**
      * Creates a new {@link Tesseract4OcrEngineProperties} instance
      * based on another {@link Tesseract4OcrEngineProperties} instance (copy
@@ -425,6 +429,54 @@ public abstract class AbstractTesseract4OcrEngine implements IOcrEngine, IProduc
     abstract void doTesseractOcr(File inputImage, List<File> outputFiles, OutputFormat outputFormat, int pageNumber,
             boolean dispatchEvent, AbstractPdfOcrEventHelper eventHelper);
 
+    /**
+     * Performs tesseract OCR using command line tool
+     * or a wrapper for Tesseract OCR API and returns the result for each
+     * processed page as a string.
+     *
+     * @param inputImage input image {@link java.io.File}
+     * @param outputFormat selected {@link OutputFormat} for tesseract
+     * @param pageNumber number of page to be processed
+     * @param numOfResults expected number of results (one per each page of the
+     *                     TIFF image not requiring preprocessing, otherwise one)
+     * @param dispatchEvent indicates if event needs to be dispatched
+     * @param eventHelper event helper
+     * @return {@link java.util.List} of result strings (one per each page),
+     * elements are {@code null} for pages without result
+     * @throws IOException if error occurred during reading the result
+     */
+    List<String> getTesseractOcrResults(File inputImage, OutputFormat outputFormat, int pageNumber,
+            int numOfResults, boolean dispatchEvent, AbstractPdfOcrEventHelper eventHelper) throws IOException {
+        return getTesseractOcrResults(inputImage, Collections.<OutputFormat>singletonList(outputFormat),
+                pageNumber, numOfResults, dispatchEvent, eventHelper).get(outputFormat);
+    }
+
+    /**
+     * Performs tesseract OCR using command line tool
+     * or a wrapper for Tesseract OCR API and returns the result for each
+     * processed page as a string in each of the requested formats.
+     *
+     * <p>
+     * Recognition is performed only once, all the requested formats
+     * are rendered from the same recognition result.
+     *
+     * @param inputImage input image {@link java.io.File}
+     * @param outputFormats {@link java.util.List} of {@link OutputFormat} to render
+     *                      the result in, the first one is the main format
+     * @param pageNumber number of page to be processed
+     * @param numOfResults expected number of results (one per each page of the
+     *                     TIFF image not requiring preprocessing, otherwise one)
+     * @param dispatchEvent indicates if event needs to be dispatched
+     * @param eventHelper event helper
+     * @return {@link java.util.Map} where key is {@link OutputFormat} and value is
+     * {@link java.util.List} of result strings (one per each page), elements are
+     * {@code null} for pages without result
+     * @throws IOException if error occurred during reading the result
+     */
+    abstract Map<OutputFormat, List<String>> getTesseractOcrResults(File inputImage,
+            List<OutputFormat> outputFormats, int pageNumber, int numOfResults, boolean dispatchEvent,
+            AbstractPdfOcrEventHelper eventHelper) throws IOException;
+
     /**
      * Gets path to provided tess data directory.
      *
@@ -448,6 +500,19 @@ public abstract class AbstractTesseract4OcrEngine implements IOcrEngine, IProduc
         return event;
     }
 
+    /**
+     * Gets {@link TiffPageReader} of the provided image if its pages
+     * are being preprocessed in the current thread.
+     *
+     * @param inputImage input image {@link java.io.File}
+     * @return {@link TiffPageReader} of the image or {@code null} if there is no
+     * such reader
+     */
+    TiffPageReader getTiffPageReader(final File inputImage) {
+        final TiffPageReader reader = threadLocalTiffPageReader.get();
+        return reader != null && reader.getInputFile().equals(inputImage) ? reader : null;
+    }
+
     void onEventStatistics(final AbstractPdfOcrEventHelper eventHelper) {
         eventHelper.onEvent(new PdfOcrOutputTypeStatisticsEvent(PdfOcrOutputType.DATA,
                 PdfOcrTesseract4ProductData.getInstance()));
@@ -468,32 +533,30 @@ public abstract class AbstractTesseract4OcrEngine implements IOcrEngine, IProduc
 
         Map<Integer, List<TextInfo>> imageData = new LinkedHashMap<Integer, List<TextInfo>>();
         StringBuilder data = new StringBuilder();
-        List<File> tempFiles = new ArrayList<File>();
         ITesseractOcrResult result = null;
         try {
             // image needs to be paginated only if it's tiff or preprocessing isn't required
-            int realNumOfPages = TiffImageUtil.isTiffImage(input) ? ImagePreprocessingUtil.getNumberOfPageTiff(input) : 1;
+            final boolean isTiff = TiffImageUtil.isTiffImage(input);
+            int realNumOfPages = isTiff ? ImagePreprocessingUtil.getNumberOfPageTiff(input) : 1;
             int numOfPages = getTesseract4OcrEngineProperties().isPreprocessingImages() ? realNumOfPages : 1;
             int numOfFiles = getTesseract4OcrEngineProperties().isPreprocessingImages() ? 1 : realNumOfPages;
+            if (isTiff && getTesseract4OcrEngineProperties().isPreprocessingImages()) {
+                threadLocalTiffPageReader.set(new TiffPageReader(input));
+            }
 
             for (int page = 1; page <= numOfPages; page++) {
-                String extension = outputFormat.equals(OutputFormat.HOCR) ? ".hocr" : ".txt";
-                for (int i = 0; i < numOfFiles; i++) {
-                    tempFiles.add(createTempFile(extension));
-                }
-
-                doTesseractOcr(input, tempFiles, outputFormat, page, true, eventHelper);
+                final boolean useTxt = outputFormat.equals(OutputFormat.HOCR)
+                        && getTesseract4OcrEngineProperties().isUseTxtToImproveHocrParsing();
+                final List<OutputFormat> outputFormats = useTxt
+                        ? Arrays.<OutputFormat>asList(OutputFormat.HOCR, OutputFormat.TXT)
+                        : Collections.<OutputFormat>singletonList(outputFormat);
+                Map<OutputFormat, List<String>> allResults = getTesseractOcrResults(input, outputFormats, page,
+                        numOfFiles, true, eventHelper);
+                List<String> results = allResults.get(outputFormat);
                 if (outputFormat.equals(OutputFormat.HOCR)) {
-                    List<File> tempTxtFiles = null;
-                    if (getTesseract4OcrEngineProperties().isUseTxtToImproveHocrParsing()) {
-                        tempTxtFiles = new ArrayList<>();
-                        for (int i = 0; i < numOfFiles; i++) {
-                            tempTxtFiles.add(createTempFile(".txt"));
-                        }
-                        doTesseractOcr(input, tempTxtFiles, OutputFormat.TXT, page, false, eventHelper);
-                    }
+                    List<String> txtResults = useTxt ? allResults.get(OutputFormat.TXT) : null;
                     Map<Integer, List<TextInfo>> pageData = TesseractHelper
-                            .parseHocrFile(tempFiles, tempTxtFiles, getTesseract4OcrEngineProperties());
+                            .parseHocr(results, txtResults, getTesseract4OcrEngineProperties());
 
                     if (getTesseract4OcrEngineProperties().isPreprocessingImages()) {
                         imageData.put(page, pageData.get(1));
@@ -502,9 +565,9 @@ public abstract class AbstractTesseract4OcrEngine implements IOcrEngine, IProduc
                     }
                     result = new TextInfoTesseractOcrResult(imageData);
                 } else {
-                    for (File tmpFile : tempFiles) {
-                        if (Files.exists(java.nio.file.Paths.get(tmpFile.getAbsolutePath()))) {
-                            data.append(TesseractHelper.readTxtFile(tmpFile));
+                    for (String pageResult : results) {
+                        if (pageResult != null) {
+                            data.append(pageResult);
                         }
                     }
                     result = new StringTesseractOcrResult(data.toString());
@@ -514,25 +577,11 @@ public abstract class AbstractTesseract4OcrEngine implements IOcrEngine, IProduc
             LoggerFactory.getLogger(getClass()).error(
                     MessageFormatUtil.format(Tesseract4LogMessageConstant.CANNOT_OCR_INPUT_FILE, e.getMessage()));
         } finally {
-            for (File file : tempFiles) {
-                TesseractHelper.deleteFile(file.getAbsolutePath());
-            }
+            threadLocalTiffPageReader.remove();
         }
         return result;
     }
 
-    /**
-     * Creates a temporary file with given extension.
-     *
-     * @param extension file extension for a new file {@link java.lang.String}
-     * @return a new created {@link java.io.File} instance
-     */
-    private File createTempFile(final String extension) {
-        String tmpFileName = TesseractOcrUtil.getTempFilePath(
-                UUID.randomUUID().toString(), extension);
-        return new File(tmpFileName);
-    }
-
     /**
      * Validates input image format.
      * Allowed image formats are listed
@@ -541,7 +590,7 @@ public abstract class AbstractTesseract4OcrEngine implements IOcrEngine, IProduc
      * @param image input image {@link java.io.File}
      * @throws PdfOcrTesseract4Exception if image format is invalid
      */
-    private void verifyImageFormatValidity(final File image)
+    void verifyImageFormatValidity(final File image)
             throws PdfOcrTesseract4Exception {
         ImageType type = TiffImageUtil.getImageType(image);
         boolean isValid = SUPPORTED_IMAGE_FORMATS.contains(type);
@@ -0,0 +1,797 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.pdfocr.tesseract4;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Streaming reader of hOCR documents.
+ *
+ * <p>
+ * Unlike a general purpose HTML parser, the reader doesn't build a DOM of the whole document. It
+ * tokenizes the markup in a single pass and keeps only pages, lines, captions and elements inside
+ * them. Parent, siblings and text are tracked only for elements inside lines and captions, which
+ * is everything needed to retrieve words and their bboxes.
+ *
+ * <p>
+ * The reader supports markup produced by tesseract. Markup, which an HTML parser would restructure
+ * or interpret in a special way (misnested or implicitly closed elements, unexpected tags, unknown
+ * character references and so on), leads to {@link UnsupportedHocrException}, so that such a
+ * document can be parsed by a general purpose HTML parser instead.
+ */
+final class HocrStreamReader {
+    static final String OCR_PAGE = "ocr_page";
+    static final String OCR_LINE = "ocr_line";
+    static final String OCR_CAPTION = "ocr_caption";
+    static final String OCRX_WORD = "ocrx_word";
+
+    private static final String HTML = "html";
+    private static final String HEAD = "head";
+    private static final String BODY = "body";
+    private static final String TITLE = "title";
+    private static final String P = "p";
+    private static final String BR = "br";
+    private static final String CLASS = "class";
+    private static final String ID = "id";
+
+    /**
+     * Tags, which are allowed in the head or outside of pages and don't have any content.
+     */
+    private static final Set<String> HEAD_VOID_TAGS = Collections.unmodifiableSet(
+            new HashSet<>(Arrays.asList("meta", "link")));
+
+    /**
+     * Tags, which are allowed inside paragraphs, lines and captions.
+     */
+    private static final Set<String> PHRASING_TAGS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "span", "strong", "em", "b", "i", "u", "sub", "sup", "small", "big", "font", "s", "strike",
+            "code", "tt", BR)));
+
+    /**
+     * Block tags, which are allowed outside of paragraphs, lines and captions.
+     */
+    private static final Set<String> BLOCK_TAGS = Collections.unmodifiableSet(
+            new HashSet<>(Arrays.asList("div", P)));
+
+    private final String hocr;
+    private final List<OpenElement> openElements = new ArrayList<>();
+    private final List<IHocrElement> pages = new ArrayList<>();
+    private int position = 0;
+    private int openParagraphs = 0;
+    private boolean elementSeen = false;
+    private boolean headSeen = false;
+    private boolean bodySeen = false;
+    private boolean afterBody = false;
+    private StreamedHocrElement currentPage = null;
+    private StreamedHocrElement currentLine = null;
+    private StreamedHocrElement currentWord = null;
+
+    private HocrStreamReader(final String hocr) {
+        this.hocr = hocr;
+    }
+
+    /**
+     * Reads all the pages of the provided hOCR document.
+     *
+     * @param hocr hOCR document
+     * @return {@link java.util.List} of pages, lines and captions of a page can be retrieved
+     * via {@link IHocrElement#getElementsByClass(String)}, words of a line or caption can be
+     * retrieved the same way
+     * @throws UnsupportedHocrException if the document contains markup which isn't supported
+     */
+    static List<IHocrElement> readPages(final String hocr) throws UnsupportedHocrException {
+        return new HocrStreamReader(hocr).read();
+    }
+
+    private List<IHocrElement> read() throws UnsupportedHocrException {
+        if (hocr.indexOf('\0') >= 0) {
+            throw new UnsupportedHocrException();
+        }
+        final int length = hocr.length();
+        while (position < length) {
+            final int markupStart = hocr.indexOf('<', position);
+            final int textEnd = markupStart < 0 ? length : markupStart;
+            if (textEnd > position) {
+                onText(position, textEnd);
+            }
+            position = textEnd;
+            if (markupStart >= 0) {
+                readMarkup();
+            }
+        }
+        while (!openElements.isEmpty()) {
+            popElement();
+        }
+        return pages;
+    }
+
+    private void readMarkup() throws UnsupportedHocrException {
+        final int next = position + 1;
+        final char c = next < hocr.length() ? hocr.charAt(next) : ' ';
+        if (c == '!') {
+            readDeclaration();
+        } else if (c == '?') {
+            skipBogusComment();
+        } else if (c == '/') {
+            readEndTag();
+        } else if (isAsciiLetter(c)) {
+            readStartTag();
+        } else {
+            // not a tag, '<' is a part of the text
+            onText(position, next);
+            position = next;
+        }
+    }
+
+    private void readDeclaration() throws UnsupportedHocrException {
+        if (hocr.startsWith("<!--", position)) {
+            final int contentStart = position + 4;
+            if (hocr.startsWith(">", contentStart) || hocr.startsWith("->", contentStart)) {
+                throw new UnsupportedHocrException();
+            }
+            final int commentEnd = hocr.indexOf("-->", contentStart);
+            final int bangCommentEnd = hocr.indexOf("--!>", contentStart);
+            if (commentEnd < 0 || (bangCommentEnd >= 0 && bangCommentEnd < commentEnd)) {
+                throw new UnsupportedHocrException();
+            }
+            position = commentEnd + 3;
+        } else if (hocr.startsWith("<![", position)) {
+            throw new UnsupportedHocrException();
+        } else {
+            // doctype
+            skipBogusComment();
+        }
+    }
+
+    private void skipBogusComment() {
+        final int end = hocr.indexOf('>', position);
+        position = end < 0 ? hocr.length() : end + 1;
+    }
+
+    private void readEndTag() throws UnsupportedHocrException {
+        final int nameStart = position + 2;
+        if (nameStart >= hocr.length() || !isAsciiLetter(hocr.charAt(nameStart))) {
+            throw new UnsupportedHocrException();
+        }
+        final int nameEnd = findTagNameEnd(nameStart);
+        final int tagEnd = hocr.indexOf('>', nameEnd);
+        if (tagEnd < 0) {
+            throw new UnsupportedHocrException();
+        }
+        for (int i = nameEnd; i < tagEnd; i++) {
+            if (!isTagWhitespace(hocr.charAt(i))) {
+                throw new UnsupportedHocrException();
+            }
+        }
+        position = tagEnd + 1;
+        onEndTag(hocr.substring(nameStart, nameEnd).toLowerCase(Locale.ENGLISH));
+    }
+
+    private void readStartTag() throws UnsupportedHocrException {
+        final int length = hocr.length();
+        final int tagStart = position;
+        final int nameEnd = findTagNameEnd(tagStart + 1);
+        final String name = hocr.substring(tagStart + 1, nameEnd).toLowerCase(Locale.ENGLISH);
+        String classAttribute = null;
+        String id = null;
+        String title = null;
+        boolean selfClosing = false;
+        int i = nameEnd;
+        while (true) {
+            i = skipTagWhitespace(i);
+            if (i >= length) {
+                throw new UnsupportedHocrException();
+            }
+            char c = hocr.charAt(i);
+            if (c == '>') {
+                i++;
+                break;
+            }
+            if (c == '/') {
+                i++;
+                if (i < length && hocr.charAt(i) == '>') {
+                    selfClosing = true;
+                    i++;
+                    break;
+                }
+                continue;
+            }
+            if (c == '=') {
+                throw new UnsupportedHocrException();
+            }
+            final int attributeNameStart = i;
+            while (i < length && !isTagWhitespace(c = hocr.charAt(i)) && c != '/' && c != '>' && c != '=') {
+                if (c == '<') {
+                    throw new UnsupportedHocrException();
+                }
+                i++;
+            }
+            final int attributeNameEnd = i;
+            final int afterName = skipTagWhitespace(i);
+            int valueStart = i;
+            int valueEnd = i;
+            if (afterName < length && hocr.charAt(afterName) == '=') {
+                i = skipTagWhitespace(afterName + 1);
+                if (i >= length || hocr.charAt(i) == '>') {
+                    throw new UnsupportedHocrException();
+                }
+                c = hocr.charAt(i);
+                if (c == '"' || c == '\'') {
+                    valueStart = i + 1;
+                    valueEnd = hocr.indexOf(c, valueStart);
+                    if (valueEnd < 0) {
+                        throw new UnsupportedHocrException();
+                    }
+                    i = valueEnd + 1;
+                } else {
+                    valueStart = i;
+                    while (i < length && !isTagWhitespace(c = hocr.charAt(i)) && c != '>') {
+                        if (c == '"' || c == '\'' || c == '<' || c == '=' || c == '`') {
+                            throw new UnsupportedHocrException();
+                        }
+                        i++;
+                    }
+                    valueEnd = i;
+                }
+            } else {
+                i = afterName;
+            }
+            if (isAttribute(CLASS, attributeNameStart, attributeNameEnd)) {
+                classAttribute = getAttributeValue(classAttribute, valueStart, valueEnd);
+            } else if (isAttribute(ID, attributeNameStart, attributeNameEnd)) {
+                id = getAttributeValue(id, valueStart, valueEnd);
+            } else if (isAttribute(TITLE, attributeNameStart, attributeNameEnd)) {
+                title = getAttributeValue(title, valueStart, valueEnd);
+            }
+        }
+        position = i;
+        onStartTag(name, classAttribute, id, title, selfClosing, tagStart, i);
+    }
+
+    /**
+     * Compares attribute name with the given lowercase ASCII name without creating a new string.
+     */
+    private boolean isAttribute(final String attributeName, final int nameStart, final int nameEnd) {
+        if (nameEnd - nameStart != attributeName.length()) {
+            return false;
+        }
+        for (int i = 0; i < attributeName.length(); i++) {
+            final char c = hocr.charAt(nameStart + i);
+            final char lowerCase = c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+            if (lowerCase != attributeName.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String getAttributeValue(final String previousValue, final int valueStart, final int valueEnd)
+            throws UnsupportedHocrException {
+        if (previousValue != null) {
+            // duplicate attributes are handled differently by different parsers
+            throw new UnsupportedHocrException();
+        }
+        final String value = decode(valueStart, valueEnd);
+        if (value.indexOf('\r') >= 0) {
+            throw new UnsupportedHocrException();
+        }
+        return value;
+    }
+
+    private void onStartTag(final String name, final String classAttribute, final String id, final String title,
+            final boolean selfClosing, final int tagStart, final int tagEnd) throws UnsupportedHocrException {
+        if (afterBody) {
+            throw new UnsupportedHocrException();
+        }
+        final String topName = openElements.isEmpty() ? null : getTop().name;
+        if (selfClosing && (HTML.equals(name) || HEAD.equals(name) || BODY.equals(name))) {
+            throw new UnsupportedHocrException();
+        }
+        if (HTML.equals(name)) {
+            if (elementSeen) {
+                throw new UnsupportedHocrException();
+            }
+            elementSeen = true;
+            pushElement(name, null, selfClosing);
+            return;
+        }
+        elementSeen = true;
+        if (HEAD.equals(name)) {
+            if (headSeen || bodySeen || !(topName == null || HTML.equals(topName))) {
+                throw new UnsupportedHocrException();
+            }
+            headSeen = true;
+            pushElement(name, null, selfClosing);
+            return;
+        }
+        if (TITLE.equals(name) || HEAD_VOID_TAGS.contains(name)) {
+            if (currentPage != null || (TITLE.equals(name) && selfClosing)) {
+                throw new UnsupportedHocrException();
+            }
+            if (TITLE.equals(name)) {
+                skipTitleContent();
+            }
+            return;
+        }
+        if (HEAD.equals(topName)) {
+            // head is closed implicitly
+            popElement();
+        }
+        if (BODY.equals(name)) {
+            if (bodySeen || !(openElements.isEmpty() || HTML.equals(getTop().name))) {
+                throw new UnsupportedHocrException();
+            }
+            bodySeen = true;
+            pushElement(name, null, selfClosing);
+            return;
+        }
+        bodySeen = true;
+        final boolean phrasing = PHRASING_TAGS.contains(name);
+        if (!phrasing && (!BLOCK_TAGS.contains(name) || openParagraphs > 0)) {
+            throw new UnsupportedHocrException();
+        }
+
+        final boolean isPage = hasClass(classAttribute, OCR_PAGE);
+        final boolean isLine = hasClass(classAttribute, OCR_LINE);
+        final boolean isCaption = hasClass(classAttribute, OCR_CAPTION);
+        final boolean isWord = hasClass(classAttribute, OCRX_WORD);
+        StreamedHocrElement element = null;
+        if (isPage) {
+            if (currentPage != null || isLine || isCaption || isWord) {
+                throw new UnsupportedHocrException();
+            }
+            element = new StreamedHocrElement(hocr, id, title, tagStart, tagEnd, null);
+            currentPage = element;
+            pages.add(element);
+        } else if (currentPage != null) {
+            if (currentLine == null) {
+                if (isLine || isCaption) {
+                    if (isWord) {
+                        throw new UnsupportedHocrException();
+                    }
+                    element = new StreamedHocrElement(hocr, id, title, tagStart, tagEnd, null);
+                    element.startText();
+                    currentLine = element;
+                    if (isLine) {
+                        currentPage.addElementByClass(OCR_LINE, element);
+                    }
+                    if (isCaption) {
+                        currentPage.addElementByClass(OCR_CAPTION, element);
+                    }
+                }
+            } else {
+                if (isLine || isCaption || !phrasing || (isWord && currentWord != null)) {
+                    throw new UnsupportedHocrException();
+                }
+                if (BR.equals(name)) {
+                    appendLineBreak();
+                }
+                element = new StreamedHocrElement(hocr, id, title, tagStart, tagEnd, getTop().element);
+                element.startText();
+                if (isWord) {
+                    currentWord = element;
+                    currentLine.addElementByClass(OCRX_WORD, element);
+                }
+            }
+        }
+        pushElement(name, element, selfClosing || BR.equals(name));
+    }
+
+    private void onEndTag(final String name) throws UnsupportedHocrException {
+        if (BODY.equals(name) || HTML.equals(name)) {
+            // elements, which are still open, are closed at the end of the document
+            afterBody = true;
+            if (!openElements.isEmpty() && name.equals(getTop().name)) {
+                popElement();
+            }
+            return;
+        }
+        if (openElements.isEmpty() || !name.equals(getTop().name)) {
+            throw new UnsupportedHocrException();
+        }
+        popElement();
+    }
+
+    private void onText(final int start, final int end) throws UnsupportedHocrException {
+        if (afterBody || !bodySeen) {
+            // text outside of the body is moved by HTML parser
+            for (int i = start; i < end; i++) {
+                if (!isTagWhitespace(hocr.charAt(i))) {
+                    throw new UnsupportedHocrException();
+                }
+            }
+        }
+        if (currentLine == null) {
+            return;
+        }
+        final String text = decode(start, end);
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            // no-break space and invisible characters are normalized differently by different parsers
+            if (c == '\u00A0' || c == '\u00AD' || (c >= '\u200B' && c <= '\u200D')) {
+                throw new UnsupportedHocrException();
+            }
+        }
+        for (OpenElement openElement : openElements) {
+            if (openElement.element != null && openElement.element.text != null) {
+                appendNormalizedText(openElement.element.text, text);
+            }
+        }
+    }
+
+    private void appendLineBreak() {
+        for (OpenElement openElement : openElements) {
+            if (openElement.element != null && openElement.element.text != null) {
+                final StringBuilder text = openElement.element.text;
+                if (text.length() > 0 && text.charAt(text.length() - 1) != ' ') {
+                    text.append(' ');
+                }
+            }
+        }
+    }
+
+    private void skipTitleContent() throws UnsupportedHocrException {
+        int end = hocr.indexOf("</", position);
+        while (end >= 0) {
+            final int nameEnd = end + 2 + TITLE.length();
+            if (hocr.regionMatches(true, end + 2, TITLE, 0, TITLE.length()) && nameEnd < hocr.length()) {
+                final char c = hocr.charAt(nameEnd);
+                if (isTagWhitespace(c) || c == '/' || c == '>') {
+                    final int tagEnd = hocr.indexOf('>', nameEnd);
+                    if (tagEnd < 0) {
+                        throw new UnsupportedHocrException();
+                    }
+                    position = tagEnd + 1;
+                    return;
+                }
+            }
+            end = hocr.indexOf("</", end + 2);
+        }
+        throw new UnsupportedHocrException();
+    }
+
+    private void pushElement(final String name, final StreamedHocrElement element, final boolean empty) {
+        openElements.add(new OpenElement(name, element));
+        if (P.equals(name)) {
+            openParagraphs++;
+        }
+        if (empty) {
+            popElement();
+        }
+    }
+
+    private void popElement() {
+        final OpenElement openElement = openElements.remove(openElements.size() - 1);
+        if (P.equals(openElement.name)) {
+            openParagraphs--;
+        }
+        final StreamedHocrElement element = openElement.element;
+        if (element != null) {
+            element.finish(position);
+            if (element == currentWord) {
+                currentWord = null;
+            } else if (element == currentLine) {
+                currentLine = null;
+            } else if (element == currentPage) {
+                currentPage = null;
+            }
+        }
+    }
+
+    private OpenElement getTop() {
+        return openElements.get(openElements.size() - 1);
+    }
+
+    private int findTagNameEnd(final int nameStart) throws UnsupportedHocrException {
+        int i = nameStart;
+        while (i < hocr.length()) {
+            final char c = hocr.charAt(i);
+            if (isTagWhitespace(c) || c == '/' || c == '>') {
+                break;
+            }
+            if (c == '<') {
+                throw new UnsupportedHocrException();
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private int skipTagWhitespace(final int start) {
+        int i = start;
+        while (i < hocr.length() && isTagWhitespace(hocr.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Decodes character references in the specified part of the document.
+     */
+    private String decode(final int start, final int end) throws UnsupportedHocrException {
+        int ampersand = indexOf('&', start, end);
+        if (ampersand < 0) {
+            return hocr.substring(start, end);
+        }
+        final StringBuilder result = new StringBuilder(end - start);
+        int copied = start;
+        while (ampersand >= 0) {
+            result.append(hocr, copied, ampersand);
+            final int semicolon = indexOf(';', ampersand, end);
+            if (semicolon < 0) {
+                throw new UnsupportedHocrException();
+            }
+            appendCharacterReference(result, hocr.substring(ampersand + 1, semicolon));
+            copied = semicolon + 1;
+            ampersand = indexOf('&', copied, end);
+        }
+        result.append(hocr, copied, end);
+        return result.toString();
+    }
+
+    /**
+     * Finds the character in the specified part of the document, unlike {@link String#indexOf(int, int)}
+     * it doesn't look through the rest of the document.
+     */
+    private int indexOf(final char c, final int start, final int end) {
+        for (int i = start; i < end; i++) {
+            if (hocr.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void appendCharacterReference(final StringBuilder result, final String reference)
+            throws UnsupportedHocrException {
+        switch (reference) {
+            case "amp":
+                result.append('&');
+                return;
+            case "lt":
+                result.append('<');
+                return;
+            case "gt":
+                result.append('>');
+                return;
+            case "quot":
+                result.append('"');
+                return;
+            case "apos":
+                result.append('\'');
+                return;
+            case "nbsp":
+                result.append('\u00A0');
+                return;
+            default:
+                break;
+        }
+        final boolean hex = reference.startsWith("#x") || reference.startsWith("#X");
+        final int digitsStart = hex ? 2 : 1;
+        // longer references may overflow
+        if (!reference.startsWith("#") || reference.length() <= digitsStart || reference.length() > digitsStart + 6) {
+            throw new UnsupportedHocrException();
+        }
+        int codePoint = 0;
+        for (int i = digitsStart; i < reference.length(); i++) {
+            final int digit = Character.digit(reference.charAt(i), hex ? 16 : 10);
+            if (digit < 0 || reference.charAt(i) > 'f') {
+                throw new UnsupportedHocrException();
+            }
+            codePoint = codePoint * (hex ? 16 : 10) + digit;
+        }
+        // replaced characters are handled differently by different parsers
+        if (codePoint == 0 || codePoint > Character.MAX_CODE_POINT || (codePoint >= 0x80 && codePoint <= 0x9F)
+                || (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE)) {
+            throw new UnsupportedHocrException();
+        }
+        result.appendCodePoint(codePoint);
+    }
+
+    /**
+     * Appends text collapsing whitespaces the same way HTML parser does it when
+     * retrieving text of an element.
+     */
+    private static void appendNormalizedText(final StringBuilder accumulator, final String text) {
+        final boolean stripLeading = accumulator.length() > 0 && accumulator.charAt(accumulator.length() - 1) == ' ';
+        boolean lastWasWhite = false;
+        boolean reachedNonWhite = false;
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if (isTagWhitespace(c)) {
+                if ((stripLeading && !reachedNonWhite) || lastWasWhite) {
+                    continue;
+                }
+                accumulator.append(' ');
+                lastWasWhite = true;
+            } else {
+                accumulator.append(c);
+                lastWasWhite = false;
+                reachedNonWhite = true;
+            }
+        }
+    }
+
+    private static boolean hasClass(final String classAttribute, final String className) {
+        if (classAttribute == null) {
+            return false;
+        }
+        final int length = classAttribute.length();
+        int start = 0;
+        while (start < length) {
+            while (start < length && Character.isWhitespace(classAttribute.charAt(start))) {
+                start++;
+            }
+            int end = start;
+            while (end < length && !Character.isWhitespace(classAttribute.charAt(end))) {
+                end++;
+            }
+            if (end - start == className.length()
+                    && classAttribute.regionMatches(true, start, className, 0, className.length())) {
+                return true;
+            }
+            start = end;
+        }
+        return false;
+    }
+
+    private static boolean isTagWhitespace(final char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\f' || c == '\r';
+    }
+
+    private static boolean isAsciiLetter(final char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    /**
+     * Exception thrown if hOCR document contains markup, which isn't supported by {@link HocrStreamReader}.
+     */
+    static final class UnsupportedHocrException extends Exception {
+        UnsupportedHocrException() {
+            super();
+        }
+    }
+
+    private static final class OpenElement {
+        private final String name;
+        private final StreamedHocrElement element;
+
+        OpenElement(final String name, final StreamedHocrElement element) {
+            this.name = name;
+            this.element = element;
+        }
+    }
+
+    /**
+     * {@link IHocrElement} read by {@link HocrStreamReader}.
+     */
+    private static final class StreamedHocrElement implements IHocrElement {
+        private final String source;
+        private final String id;
+        private final String title;
+        private final int start;
+        private final StreamedHocrElement parent;
+        private final int indexInParent;
+        private final List<IHocrElement> children = new ArrayList<>();
+        private final Map<String, List<IHocrElement>> elementsByClass = new HashMap<>();
+        private StringBuilder text = null;
+        private String finishedText = null;
+        private int end;
+
+        StreamedHocrElement(final String source, final String id, final String title,
+                final int start, final int tagEnd, final StreamedHocrElement parent) {
+            this.source = source;
+            this.id = id == null ? "" : id;
+            this.title = title == null ? "" : title;
+            this.start = start;
+            this.end = tagEnd;
+            this.parent = parent;
+            if (parent == null) {
+                indexInParent = -1;
+            } else {
+                indexInParent = parent.children.size();
+                parent.children.add(this);
+            }
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public String getTitle() {
+            return title;
+        }
+
+        @Override
+        public String getText() {
+            return finishedText;
+        }
+
+        @Override
+        public IHocrElement getParent() {
+            return parent;
+        }
+
+        @Override
+        public IHocrElement getPreviousElementSibling() {
+            return parent == null || indexInParent == 0 ? null : parent.children.get(indexInParent - 1);
+        }
+
+        @Override
+        public IHocrElement getNextElementSibling() {
+            return parent == null || indexInParent + 1 >= parent.children.size()
+                    ? null : parent.children.get(indexInParent + 1);
+        }
+
+        @Override
+        public List<IHocrElement> getChildElements() {
+            return Collections.unmodifiableList(children);
+        }
+
+        @Override
+        public List<IHocrElement> getElementsByClass(final String className) {
+            final List<IHocrElement> elements = elementsByClass.get(className);
+            return elements == null
+                    ? Collections.<IHocrElement>emptyList() : Collections.unmodifiableList(elements);
+        }
+
+        /**
+         * Returns the source markup of the element.
+         */
+        @Override
+        public String toString() {
+            return source.substring(start, end);
+        }
+
+        void addElementByClass(final String className, final IHocrElement element) {
+            List<IHocrElement> elements = elementsByClass.get(className);
+            if (elements == null) {
+                elements = new ArrayList<>();
+                elementsByClass.put(className, elements);
+            }
+            elements.add(element);
+        }
+
+        void startText() {
+            text = new StringBuilder();
+        }
+
+        void finish(final int end) {
+            this.end = end;
+            if (text != null) {
+                finishedText = text.toString().trim();
+                text = null;
+            }
+        }
+    }
+}
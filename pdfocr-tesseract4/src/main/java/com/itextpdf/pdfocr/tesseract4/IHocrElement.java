@@ -0,0 +1,90 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.pdfocr.tesseract4;
+
+import java.util.List;
+
+/**
+ * Element of a parsed hOCR document, which provides only the data required to
+ * retrieve {@link com.itextpdf.pdfocr.TextInfo} elements from it.
+ */
+interface IHocrElement {
+    /**
+     * Gets value of the "id" attribute of the element.
+     *
+     * @return id of the element or empty string if it is not set
+     */
+    String getId();
+
+    /**
+     * Gets value of the "title" attribute of the element, which contains
+     * hOCR properties like bbox, textangle or x_wconf.
+     *
+     * @return title of the element or empty string if it is not set
+     */
+    String getTitle();
+
+    /**
+     * Gets normalized text of the element and all its descendants.
+     *
+     * @return text of the element or {@code null} if text isn't available for the element
+     */
+    String getText();
+
+    /**
+     * Gets parent element.
+     *
+     * @return parent element or {@code null} if there is no parent
+     */
+    IHocrElement getParent();
+
+    /**
+     * Gets previous sibling element.
+     *
+     * @return previous sibling element or {@code null} if there is no such element
+     */
+    IHocrElement getPreviousElementSibling();
+
+    /**
+     * Gets next sibling element.
+     *
+     * @return next sibling element or {@code null} if there is no such element
+     */
+    IHocrElement getNextElementSibling();
+
+    /**
+     * Gets child elements.
+     *
+     * @return {@link java.util.List} of child elements
+     */
+    List<IHocrElement> getChildElements();
+
+    /**
+     * Finds all the descendant elements, including the element itself,
+     * having given class, in the document order.
+     *
+     * @param className name of the class
+     * @return {@link java.util.List} of found elements
+     */
+    List<IHocrElement> getElementsByClass(String className);
+}
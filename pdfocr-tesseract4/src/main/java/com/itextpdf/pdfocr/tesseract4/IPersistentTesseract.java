@@ -0,0 +1,67 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.pdfocr.tesseract4;
+
+import net.sourceforge.lept4j.Pix;
+import net.sourceforge.tess4j.TesseractException;
+
+/**
+ * Tesseract instance, which keeps its native handle initialized between recognitions
+ * and can collect plain text alongside the main result.
+ *
+ * <p>
+ * Implemented by {@link PersistentTesseract} and {@link PersistentTesseract1}, which share
+ * their logic via {@link PersistentTesseractState}.
+ */
+interface IPersistentTesseract {
+    /**
+     * Releases the native handle. The next recognition will initialize a new one.
+     */
+    void release();
+
+    /**
+     * Sets whether plain UTF-8 text shall be collected for each recognized page
+     * in addition to the main result, see {@link #takeCollectedText()}. The text is
+     * rendered from the same recognition as the main result.
+     *
+     * @param textCollected true if text shall be collected, false otherwise
+     */
+    void setTextCollected(boolean textCollected);
+
+    /**
+     * Returns the text collected since the previous call and clears it.
+     *
+     * @return collected text as {@link java.lang.String}
+     */
+    String takeCollectedText();
+
+    /**
+     * Performs OCR on the provided {@link net.sourceforge.lept4j.Pix}. The pix is
+     * passed to the native API as is, without conversion to raw image data.
+     *
+     * @param pix {@link net.sourceforge.lept4j.Pix} to be recognized
+     * @return recognized text in the requested format
+     * @throws TesseractException if tesseract recognition failed
+     */
+    String doOCR(Pix pix) throws TesseractException;
+}
@@ -119,10 +119,30 @@ class ImagePreprocessingUtil {
      */
     static Pix preprocessImage(final File inputFile, final int pageNumber,
             final ImagePreprocessingOptions imagePreprocessingOptions) throws PdfOcrTesseract4Exception {
+        return preprocessImage(inputFile, pageNumber, imagePreprocessingOptions, null);
+    }
+
+    /**
+     * Performs basic image preprocessing using buffered image (if provided).
+     * Preprocessed image will be saved in temporary directory.
+     *
+     * @param inputFile input image {@link File}
+     * @param pageNumber number of page to be preprocessed
+     * @param imagePreprocessingOptions {@link ImagePreprocessingOptions}
+     * @param tiffPageReader {@link TiffPageReader} to read the page of TIFF input image with,
+     *                       if {@code null} TIFF image is read from scratch
+     * @return created preprocessed image as {@link net.sourceforge.lept4j.Pix}
+     * @throws PdfOcrTesseract4Exception if it was not possible to read or convert input file
+     */
+    static Pix preprocessImage(final File inputFile, final int pageNumber,
+            final ImagePreprocessingOptions imagePreprocessingOptions,
+            final TiffPageReader tiffPageReader) throws PdfOcrTesseract4Exception {
 
         Pix pix;
         // read image
-        if (TiffImageUtil.isTiffImage(inputFile)) {
+        if (tiffPageReader != null) {
+            pix = TesseractOcrUtil.readPixPageFromTiff(tiffPageReader, pageNumber - 1);
+        } else if (TiffImageUtil.isTiffImage(inputFile)) {
             pix = TesseractOcrUtil.readPixPageFromTiff(inputFile, pageNumber - 1);
         } else {
             pix = TesseractOcrUtil.readPix(inputFile);
@@ -141,6 +141,20 @@ final class LeptonicaWrapper {
         return Leptonica1.pixRotate180(pix1, pix2);
     }
 
+    public static Pix pixCreate(int width, int height, int depth) {
+        if (JDK_MAJOR_VERSION < LEPTONICA_NOT_SUPPORTED_JDK_VERSION) {
+            return Leptonica.INSTANCE.pixCreate(width, height, depth);
+        }
+        return Leptonica1.pixCreate(width, height, depth);
+    }
+
+    public static int pixSetSpp(Pix pix, int spp) {
+        if (JDK_MAJOR_VERSION < LEPTONICA_NOT_SUPPORTED_JDK_VERSION) {
+            return Leptonica.INSTANCE.pixSetSpp(pix, spp);
+        }
+        return Leptonica1.pixSetSpp(pix, spp);
+    }
+
     /**
      * gets java runtime version.
      *
@@ -0,0 +1,216 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.pdfocr.tesseract4;
+
+import com.sun.jna.Pointer;
+import java.awt.Rectangle;
+import java.awt.image.RenderedImage;
+import java.io.IOException;
+import java.util.List;
+import net.sourceforge.lept4j.Pix;
+import net.sourceforge.tess4j.Tesseract;
+import net.sourceforge.tess4j.TesseractException;
+
+/**
+ * {@link Tesseract} implementation, which keeps its native handle initialized between
+ * recognitions.
+ *
+ * <p>
+ * {@link Tesseract} initializes the native API, which includes loading of traineddata for all
+ * the languages, before each recognition and disposes it afterwards. This class only
+ * re-initializes the handle if data path, language, OCR engine mode, page segmentation mode,
+ * configs or init-only variables have changed since the last initialization. The handle
+ * shall be released via {@link #release()} after all usages.
+ */
+class PersistentTesseract extends Tesseract implements IPersistentTesseract {
+    private final PersistentTesseractState state = new PersistentTesseractState(new ApiAdapter());
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setDatapath(String datapath) {
+        super.setDatapath(datapath);
+        state.setParameter("datapath", datapath);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setLanguage(String language) {
+        super.setLanguage(language);
+        state.setParameter("language", language);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setOcrEngineMode(int ocrEngineMode) {
+        super.setOcrEngineMode(ocrEngineMode);
+        state.setParameter("ocrEngineMode", String.valueOf(ocrEngineMode));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setPageSegMode(int mode) {
+        super.setPageSegMode(mode);
+        // page segmentation mode is applied only during the initialization
+        state.setParameter("pageSegMode", String.valueOf(mode));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setConfigs(List<String> configs) {
+        super.setConfigs(configs);
+        state.setParameter("configs", String.valueOf(configs));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setTessVariable(String key, String value) {
+        super.setTessVariable(key, value);
+        state.setVariable(key, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setTextCollected(boolean textCollected) {
+        state.setTextCollected(textCollected);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String takeCollectedText() {
+        return state.takeCollectedText();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String doOCR(Pix pix) throws TesseractException {
+        return state.doOCR(this, pix);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void release() {
+        state.release();
+    }
+
+    /**
+     * Sets the pending {@link net.sourceforge.lept4j.Pix} if any instead of
+     * the provided image, see {@link PersistentTesseractState#setImage(RenderedImage, Rectangle)}.
+     */
+    @Override
+    protected void setImage(RenderedImage image, Rectangle rect) throws IOException {
+        state.setImage(image, rect);
+    }
+
+    /**
+     * Gets the main result for the recognized page and collects plain text if required,
+     * see {@link PersistentTesseractState#getOCRText(String, int)}.
+     */
+    @Override
+    protected String getOCRText(String filename, int pageNum) {
+        return state.getOCRText(filename, pageNum);
+    }
+
+    /**
+     * Initializes the native handle only if it is not initialized yet or
+     * initialization parameters have changed, see {@link PersistentTesseractState#init()}.
+     */
+    @Override
+    protected void init() {
+        state.init();
+    }
+
+    /**
+     * Keeps the native handle alive for the next recognition, see {@link #release()}.
+     */
+    @Override
+    protected void dispose() {
+        // handle is reused
+    }
+
+    private final class ApiAdapter implements PersistentTesseractState.ITesseractApiAdapter {
+        @Override
+        public void superSetImage(RenderedImage image, Rectangle rect) throws IOException {
+            PersistentTesseract.super.setImage(image, rect);
+        }
+
+        @Override
+        public String superGetOCRText(String filename, int pageNum) {
+            return PersistentTesseract.super.getOCRText(filename, pageNum);
+        }
+
+        @Override
+        public void superInit() {
+            PersistentTesseract.super.init();
+        }
+
+        @Override
+        public void superDispose() {
+            PersistentTesseract.super.dispose();
+        }
+
+        @Override
+        public void setImage(Pix pix) {
+            getAPI().TessBaseAPISetImage2(getHandle(), pix);
+        }
+
+        @Override
+        public void setSourceResolution(int ppi) {
+            getAPI().TessBaseAPISetSourceResolution(getHandle(), ppi);
+        }
+
+        @Override
+        public void setRectangle(int left, int top, int width, int height) {
+            getAPI().TessBaseAPISetRectangle(getHandle(), left, top, width, height);
+        }
+
+        @Override
+        public Pointer getUtf8Text() {
+            return getAPI().TessBaseAPIGetUTF8Text(getHandle());
+        }
+
+        @Override
+        public void deleteText(Pointer text) {
+            getAPI().TessDeleteText(text);
+        }
+    }
+}
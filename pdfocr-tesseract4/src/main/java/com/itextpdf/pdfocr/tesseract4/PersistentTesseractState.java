@@ -0,0 +1,260 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.pdfocr.tesseract4;
+
+import com.sun.jna.Pointer;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.RenderedImage;
+import java.io.IOException;
+import net.sourceforge.lept4j.Pix;
+import net.sourceforge.tess4j.ITesseract;
+import net.sourceforge.tess4j.TesseractException;
+
+/**
+ * Logic shared by {@link IPersistentTesseract} implementations: initialization
+ * bookkeeping of the native handle, recognition of a pending pix and collection
+ * of plain text.
+ *
+ * <p>
+ * Implementations only differ in the way they call the native API, so they
+ * forward to this class and provide these calls via {@link ITesseractApiAdapter}.
+ */
+final class PersistentTesseractState {
+    /**
+     * Image passed through the general recognition flow while the actual image
+     * is set from the pending pix.
+     */
+    private static final BufferedImage PLACEHOLDER_IMAGE = new BufferedImage(1, 1, BufferedImage.TYPE_BYTE_GRAY);
+
+    private final ITesseractApiAdapter adapter;
+    private final TesseractInitializationState initializationState = new TesseractInitializationState();
+    private final StringBuilder collectedText = new StringBuilder();
+    private boolean textCollected;
+    private Pix pendingPix;
+
+    /**
+     * Creates new {@link PersistentTesseractState} instance.
+     *
+     * @param adapter {@link ITesseractApiAdapter} of the tesseract instance,
+     *                which forwards to this state
+     */
+    PersistentTesseractState(ITesseractApiAdapter adapter) {
+        this.adapter = adapter;
+    }
+
+    /**
+     * Stores initialization parameter, see
+     * {@link TesseractInitializationState#setParameter(String, String)}.
+     *
+     * @param name name of the parameter
+     * @param value value of the parameter
+     */
+    void setParameter(String name, String value) {
+        initializationState.setParameter(name, value);
+    }
+
+    /**
+     * Stores tesseract variable, see
+     * {@link TesseractInitializationState#setVariable(String, String)}.
+     *
+     * @param key name of the variable
+     * @param value value of the variable
+     */
+    void setVariable(String key, String value) {
+        initializationState.setVariable(key, value);
+    }
+
+    /**
+     * See {@link IPersistentTesseract#setTextCollected(boolean)}.
+     *
+     * @param textCollected true if text shall be collected, false otherwise
+     */
+    void setTextCollected(boolean textCollected) {
+        this.textCollected = textCollected;
+        collectedText.setLength(0);
+    }
+
+    /**
+     * See {@link IPersistentTesseract#takeCollectedText()}.
+     *
+     * @return collected text as {@link java.lang.String}
+     */
+    String takeCollectedText() {
+        final String text = collectedText.toString();
+        collectedText.setLength(0);
+        return text;
+    }
+
+    /**
+     * See {@link IPersistentTesseract#doOCR(Pix)}.
+     *
+     * @param tesseract tesseract instance, which forwards to this state
+     * @param pix {@link net.sourceforge.lept4j.Pix} to be recognized
+     * @return recognized text in the requested format
+     * @throws TesseractException if tesseract recognition failed
+     */
+    String doOCR(ITesseract tesseract, Pix pix) throws TesseractException {
+        pendingPix = pix;
+        try {
+            return tesseract.doOCR(PLACEHOLDER_IMAGE);
+        } finally {
+            pendingPix = null;
+        }
+    }
+
+    /**
+     * Sets the pending {@link net.sourceforge.lept4j.Pix} if any instead of
+     * the provided image.
+     *
+     * @param image image to be set if there is no pending pix
+     * @param rect region of interest
+     * @throws IOException if the image can't be set
+     */
+    void setImage(RenderedImage image, Rectangle rect) throws IOException {
+        if (pendingPix == null) {
+            adapter.superSetImage(image, rect);
+            return;
+        }
+        adapter.setImage(pendingPix);
+        // raw image data has no resolution, reset the one of the pix to get the same results
+        adapter.setSourceResolution(0);
+        if (rect != null && !rect.isEmpty()) {
+            adapter.setRectangle(rect.x, rect.y, rect.width, rect.height);
+        }
+    }
+
+    /**
+     * Gets the main result for the recognized page and collects
+     * plain text if required.
+     *
+     * @param filename input file name
+     * @param pageNum page number
+     * @return recognized text in the requested format
+     */
+    String getOCRText(String filename, int pageNum) {
+        final String result = adapter.superGetOCRText(filename, pageNum);
+        if (textCollected) {
+            final Pointer textPtr = adapter.getUtf8Text();
+            if (textPtr != null) {
+                collectedText.append(textPtr.getString(0));
+                adapter.deleteText(textPtr);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * See {@link IPersistentTesseract#release()}.
+     */
+    void release() {
+        if (initializationState.isInitialized()) {
+            adapter.superDispose();
+            initializationState.markReleased();
+        }
+    }
+
+    /**
+     * Initializes the native handle only if it is not initialized yet or
+     * initialization parameters have changed.
+     */
+    void init() {
+        if (initializationState.isInitializationRequired()) {
+            release();
+            adapter.superInit();
+            initializationState.markInitialized();
+        }
+    }
+
+    /**
+     * Calls of the tesseract instance, which differ between the implementations:
+     * base class methods and native API calls on its handle.
+     */
+    interface ITesseractApiAdapter {
+        /**
+         * Calls base class implementation of setting the image.
+         *
+         * @param image image to be set
+         * @param rect region of interest
+         * @throws IOException if the image can't be set
+         */
+        void superSetImage(RenderedImage image, Rectangle rect) throws IOException;
+
+        /**
+         * Calls base class implementation of getting the recognition result.
+         *
+         * @param filename input file name
+         * @param pageNum page number
+         * @return recognized text in the requested format
+         */
+        String superGetOCRText(String filename, int pageNum);
+
+        /**
+         * Calls base class initialization of the native handle.
+         */
+        void superInit();
+
+        /**
+         * Calls base class disposal of the native handle.
+         */
+        void superDispose();
+
+        /**
+         * Calls {@code TessBaseAPISetImage2} on the handle.
+         *
+         * @param pix {@link net.sourceforge.lept4j.Pix} to be set
+         */
+        void setImage(Pix pix);
+
+        /**
+         * Calls {@code TessBaseAPISetSourceResolution} on the handle.
+         *
+         * @param ppi resolution of the image
+         */
+        void setSourceResolution(int ppi);
+
+        /**
+         * Calls {@code TessBaseAPISetRectangle} on the handle.
+         *
+         * @param left left coordinate of the rectangle
+         * @param top top coordinate of the rectangle
+         * @param width width of the rectangle
+         * @param height height of the rectangle
+         */
+        void setRectangle(int left, int top, int width, int height);
+
+        /**
+         * Calls {@code TessBaseAPIGetUTF8Text} on the handle.
+         *
+         * @return pointer to the recognized text, shall be deleted via {@link #deleteText(Pointer)}
+         */
+        Pointer getUtf8Text();
+
+        /**
+         * Calls {@code TessDeleteText}.
+         *
+         * @param text pointer to the text to be deleted
+         */
+        void deleteText(Pointer text);
+    }
+}
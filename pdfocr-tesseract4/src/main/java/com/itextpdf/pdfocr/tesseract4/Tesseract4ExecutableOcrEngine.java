@@ -27,19 +27,28 @@ import com.itextpdf.commons.actions.confirmations.EventConfirmationType;
 import com.itextpdf.commons.utils.MessageFormatUtil;
 import com.itextpdf.commons.utils.StringNormalizer;
 import com.itextpdf.pdfocr.AbstractPdfOcrEventHelper;
+import com.itextpdf.pdfocr.OcrProcessContext;
+import com.itextpdf.pdfocr.TextInfo;
 import com.itextpdf.pdfocr.tesseract4.actions.events.PdfOcrTesseract4ProductEvent;
 import com.itextpdf.pdfocr.tesseract4.exceptions.PdfOcrTesseract4Exception;
 import com.itextpdf.pdfocr.tesseract4.exceptions.PdfOcrTesseract4ExceptionMessageConstant;
 import com.itextpdf.pdfocr.tesseract4.logs.Tesseract4LogMessageConstant;
+import com.itextpdf.pdfocr.util.TiffImageUtil;
 
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import net.sourceforge.lept4j.Pix;
 import org.slf4j.LoggerFactory;
@@ -52,6 +61,15 @@ import org.slf4j.LoggerFactory;
  * (optical character recognition engine for various operating systems).
  * Please note that it's assumed that "tesseract" has already been
  * installed locally.
+ *
+ * <p>
+ * Engine can be used from several threads at the same time, each OCR call
+ * runs its own tesseract process. Number of concurrently running processes
+ * can be bounded by {@link #setProcessPool(TesseractProcessPool)}. Temporary
+ * user words file, which is created from the user words set in
+ * {@link Tesseract4OcrEngineProperties}, is shared by the concurrent calls and
+ * is deleted only when none of them uses it anymore, so calls started after
+ * that run without user words.
  */
 public class Tesseract4ExecutableOcrEngine extends AbstractTesseract4OcrEngine {
 
@@ -61,6 +79,44 @@ public class Tesseract4ExecutableOcrEngine extends AbstractTesseract4OcrEngine {
      */
     private String pathToExecutable;
 
+    /**
+     * Path to tesseract executable, which has been successfully checked,
+     * {@code null} if there was no successful check.
+     */
+    private volatile String validatedExecutable;
+
+    /**
+     * Tess data directory and languages, for which tess data has been
+     * successfully validated, {@code null} if there was no successful validation.
+     */
+    private volatile String validatedTessData;
+
+    /**
+     * Results of the batch recognition for the current thread, see
+     * {@link #doBatchImageOcr(List, OcrProcessContext)}. Key is built from
+     * the input image and the number of page by {@link #getBatchResultKey(File, int)}.
+     */
+    private final ThreadLocal<Map<String, Map<OutputFormat, List<String>>>> threadLocalBatchResults =
+            new ThreadLocal<>();
+
+    /**
+     * Pool, which runs tesseract processes, {@code null} if processes are
+     * run directly without any limit.
+     */
+    private volatile TesseractProcessPool processPool;
+
+    /**
+     * Monitor, which guards {@link #userWordsFileUsages}.
+     */
+    private final Object userWordsFileLock = new Object();
+
+    /**
+     * Number of OCR calls, which are using the user words file at the moment.
+     * Temporary user words file is deleted only when the last of them is done,
+     * see {@link #releaseUserWordsFile()}. Guarded by {@link #userWordsFileLock}.
+     */
+    private int userWordsFileUsages = 0;
+
     /**
      * Creates a new {@link Tesseract4ExecutableOcrEngine} instance.
      *
@@ -103,6 +159,105 @@ public class Tesseract4ExecutableOcrEngine extends AbstractTesseract4OcrEngine {
         pathToExecutable = path;
     }
 
+    /**
+     * Gets pool, which runs tesseract processes.
+     *
+     * @return {@link TesseractProcessPool} or {@code null} if processes are
+     * run directly
+     */
+    public final TesseractProcessPool getProcessPool() {
+        return processPool;
+    }
+
+    /**
+     * Sets pool, which runs tesseract processes. Pool bounds the number of
+     * processes running at the same time, when the engine is used from
+     * several threads, and applies per-process OpenMP thread limit and
+     * timeout. By default there is no pool, each OCR call starts its
+     * process directly.
+     *
+     * @param processPool {@link TesseractProcessPool} or {@code null} to run
+     *                    processes directly
+     */
+    public final void setProcessPool(final TesseractProcessPool processPool) {
+        this.processPool = processPool;
+    }
+
+    /**
+     * Checks tesseract executable and validates tess data for the current
+     * configuration even if they have already been validated.
+     *
+     * <p>
+     * Tesseract executable and tess data are validated only once per path to
+     * executable, tess data directory and languages, before the first OCR with them.
+     * This method can be used to validate them again if the executable or
+     * traineddata files have been changed since then.
+     *
+     * @throws PdfOcrTesseract4Exception if path to tesseract executable is not set
+     * or incorrect, tesseract is not installed or traineddata for some of the
+     * languages cannot be found
+     */
+    public final void revalidateEnvironment() {
+        validatedExecutable = null;
+        validatedTessData = null;
+        validateEnvironment(getExecutableCommand());
+    }
+
+    /**
+     * Reads data from the provided input images and returns retrieved data
+     * for each image in the format described in
+     * {@link AbstractTesseract4OcrEngine#doImageOcr(File)}.
+     * See {@link #doBatchImageOcr(List, OcrProcessContext)} for details.
+     *
+     * @param inputImages {@link java.util.List} of input images
+     * @return {@link java.util.List} of results, one per each input image
+     */
+    public final List<Map<Integer, List<TextInfo>>> doBatchImageOcr(final List<File> inputImages) {
+        return doBatchImageOcr(inputImages, new OcrProcessContext(new Tesseract4EventHelper()));
+    }
+
+    /**
+     * Reads data from the provided input images and returns retrieved data
+     * for each image in the format described in
+     * {@link AbstractTesseract4OcrEngine#doImageOcr(File, OcrProcessContext)}.
+     *
+     * <p>
+     * All the images are OCRed by a single tesseract process run, so that
+     * the process is started and traineddata is loaded only once, which is
+     * considerably faster for a number of small images. Tesseract writes
+     * the result for all the images to a single hOCR document, which is split
+     * back to the results of each image. If the result of some image cannot
+     * be retrieved this way, e.g. tesseract failed to read the image, the image
+     * is OCRed by a separate process run.
+     *
+     * @param inputImages {@link java.util.List} of input images
+     * @param ocrProcessContext ocr process context
+     * @return {@link java.util.List} of results, one per each input image
+     * in the same order
+     */
+    public final List<Map<Integer, List<TextInfo>>> doBatchImageOcr(final List<File> inputImages,
+            final OcrProcessContext ocrProcessContext) {
+        for (File inputImage : inputImages) {
+            verifyImageFormatValidity(inputImage);
+        }
+        final List<Map<Integer, List<TextInfo>>> results = new ArrayList<Map<Integer, List<TextInfo>>>(
+                inputImages.size());
+        // user words file is used by the batch run and by the separate runs for the images without result
+        retainUserWordsFile();
+        try {
+            if (inputImages.size() > 1) {
+                threadLocalBatchResults.set(getBatchTesseractOcrResults(inputImages));
+            }
+            for (File inputImage : inputImages) {
+                results.add(doImageOcr(inputImage, ocrProcessContext));
+            }
+        } finally {
+            threadLocalBatchResults.remove();
+            releaseUserWordsFile();
+        }
+        return results;
+    }
+
     /**
      * Performs tesseract OCR using command line tool for the selected page
      * of input image (by default 1st).
@@ -125,6 +280,85 @@ public class Tesseract4ExecutableOcrEngine extends AbstractTesseract4OcrEngine {
             final List<File> outputFiles, final OutputFormat outputFormat,
             final int pageNumber, final boolean dispatchEvent,
             AbstractPdfOcrEventHelper eventHelper) {
+        doTesseractOcr(inputImage, outputFiles.get(0), Collections.<OutputFormat>singletonList(outputFormat),
+                pageNumber, dispatchEvent, eventHelper);
+    }
+
+    /**
+     * Performs tesseract OCR using command line tool and returns the result for each
+     * processed page as a string in each of the requested formats.
+     *
+     * <p>
+     * The result is written by tesseract to temporary files, which are read and deleted afterwards.
+     * All the requested formats are produced by a single tesseract process run.
+     *
+     * @param inputImage input image {@link java.io.File}
+     * @param outputFormats {@link java.util.List} of {@link OutputFormat} to render
+     *                      the result in, the first one is the main format
+     * @param pageNumber number of page to be processed
+     * @param numOfResults expected number of results, not used as all the pages
+     *                     are written by tesseract to a single file
+     * @param dispatchEvent indicates if event needs to be dispatched
+     * @param eventHelper event helper
+     * @return {@link java.util.Map} where key is {@link OutputFormat} and value is
+     * {@link java.util.List} of result strings, elements are {@code null} if
+     * there is no result
+     * @throws IOException if error occurred during reading the result
+     */
+    @Override
+    Map<OutputFormat, List<String>> getTesseractOcrResults(final File inputImage,
+            final List<OutputFormat> outputFormats, final int pageNumber, final int numOfResults,
+            final boolean dispatchEvent, final AbstractPdfOcrEventHelper eventHelper) throws IOException {
+        final Map<OutputFormat, List<String>> batchResults = getBatchResults(inputImage, pageNumber, outputFormats);
+        if (batchResults != null) {
+            onBatchResultsUsed(dispatchEvent, eventHelper);
+            return batchResults;
+        }
+        final String mainExtension = getOutputFileExtension(outputFormats.get(0));
+        final String mainPath = TesseractOcrUtil.getTempFilePath(UUID.randomUUID().toString(), mainExtension);
+        // all the output files share the same base name, only extension differs
+        final String basePath = mainPath.substring(0, mainPath.length() - mainExtension.length());
+        Map<OutputFormat, File> outputFiles = new LinkedHashMap<OutputFormat, File>();
+        for (OutputFormat outputFormat : outputFormats) {
+            outputFiles.put(outputFormat, new File(basePath + getOutputFileExtension(outputFormat)));
+        }
+        try {
+            doTesseractOcr(inputImage, outputFiles.get(outputFormats.get(0)), outputFormats, pageNumber,
+                    dispatchEvent, eventHelper);
+            Map<OutputFormat, List<String>> results = new LinkedHashMap<OutputFormat, List<String>>();
+            for (Map.Entry<OutputFormat, File> entry : outputFiles.entrySet()) {
+                final File outputFile = entry.getValue();
+                String result = null;
+                if (Files.exists(Paths.get(outputFile.getAbsolutePath()))) {
+                    result = TesseractHelper.readFileContent(outputFile);
+                }
+                results.put(entry.getKey(), Collections.<String>singletonList(result));
+            }
+            return results;
+        } finally {
+            for (File outputFile : outputFiles.values()) {
+                TesseractHelper.deleteFile(outputFile.getAbsolutePath());
+            }
+        }
+    }
+
+    /**
+     * Performs tesseract OCR using command line tool for the selected page
+     * of input image (by default 1st) in a single process run.
+     *
+     * @param inputImage input image {@link java.io.File}
+     * @param outputFile output file for the main format, output files for
+     *                   other formats differ only by extension
+     * @param outputFormats {@link java.util.List} of {@link OutputFormat} to render
+     *                      the result in, the first one is the main format
+     * @param pageNumber number of page to be processed
+     * @param dispatchEvent indicates if event needs to be dispatched
+     * @param eventHelper event helper
+     */
+    private void doTesseractOcr(final File inputImage,
+            final File outputFile, final List<OutputFormat> outputFormats,
+            final int pageNumber, final boolean dispatchEvent,
+            AbstractPdfOcrEventHelper eventHelper) {
         List<String> params = new ArrayList<String>();
         String execPath = null;
         String imagePath = null;
@@ -136,26 +370,16 @@ public class Tesseract4ExecutableOcrEngine extends AbstractTesseract4OcrEngine {
         if (dispatchEvent) {
             event = onEvent(eventHelper);
         }
+        retainUserWordsFile();
         try {
             imagePath = inputImage.getAbsolutePath();
             // path to tesseract executable
-            if (getPathToExecutable() == null || getPathToExecutable().isEmpty()) {
-                throw new PdfOcrTesseract4Exception(
-                        PdfOcrTesseract4ExceptionMessageConstant.CANNOT_FIND_PATH_TO_TESSERACT_EXECUTABLE);
-            } else {
-                if (isWindows()) {
-                    execPath = addQuotes(getPathToExecutable());
-                } else {
-                    execPath = getPathToExecutable();
-                }
-            }
-            checkTesseractInstalled(execPath);
+            execPath = getExecutableCommand();
+            // validate executable and languages before preprocessing started
+            validateEnvironment(execPath);
             // path to tess data
             addTessData(params);
 
-            // validate languages before preprocessing started
-            validateLanguages(getTesseract4OcrEngineProperties().getLanguages());
-
             // preprocess input file if needed
             imagePath = preprocessImage(inputImage, pageNumber);
 
@@ -168,7 +392,7 @@ public class Tesseract4ExecutableOcrEngine extends AbstractTesseract4OcrEngine {
             // input file
             addInputFile(params, imagePath);
             // output file
-            addOutputFile(params, outputFiles.get(0), outputFormat, imagePath);
+            addOutputFile(params, outputFile, outputFormats.get(0), imagePath);
             // page segmentation mode
             addPageSegMode(params);
             // add user words if needed
@@ -176,7 +400,7 @@ public class Tesseract4ExecutableOcrEngine extends AbstractTesseract4OcrEngine {
             // required languages
             addLanguages(params);
 
-            addOutputFormat(params, outputFormat);
+            addOutputFormats(params, outputFormats);
 
             addPreserveInterwordSpaces(params);
 
@@ -184,7 +408,7 @@ public class Tesseract4ExecutableOcrEngine extends AbstractTesseract4OcrEngine {
             addDefaultDpi(params);
 
             // run tesseract process
-            TesseractHelper.runCommand(execPath, params, workingDirectory);
+            runTesseract(execPath, params, workingDirectory);
 
             // statistics event
             onEventStatistics(eventHelper);
@@ -207,6 +431,29 @@ public class Tesseract4ExecutableOcrEngine extends AbstractTesseract4OcrEngine {
                                 Tesseract4LogMessageConstant.CANNOT_DELETE_FILE,
                                 imagePath, e.getMessage()));
             }
+            releaseUserWordsFile();
+        }
+    }
+
+    /**
+     * Marks the user words file as used by an OCR call, so that a temporary
+     * file isn't deleted until the call is done.
+     */
+    private void retainUserWordsFile() {
+        synchronized (userWordsFileLock) {
+            ++userWordsFileUsages;
+        }
+    }
+
+    /**
+     * Marks the user words file as no longer used by an OCR call and deletes
+     * it if it is temporary and not used by any other call.
+     */
+    private void releaseUserWordsFile() {
+        synchronized (userWordsFileLock) {
+            if (--userWordsFileUsages > 0) {
+                return;
+            }
             try {
                 if (getTesseract4OcrEngineProperties()
                         .getPathToUserWordsFile() != null
@@ -226,6 +473,181 @@ public class Tesseract4ExecutableOcrEngine extends AbstractTesseract4OcrEngine {
         }
     }
 
+    /**
+     * Performs tesseract OCR for all the pages of the provided images, which
+     * would be OCRed by {@link #doImageOcr(File, OcrProcessContext)}, using
+     * command line tool in a single process run.
+     *
+     * @param inputImages {@link java.util.List} of input images
+     * @return {@link java.util.Map} where key is built by {@link #getBatchResultKey(File, int)}
+     * and value is the result of the page in the same format as returned by
+     * {@link #getTesseractOcrResults(File, List, int, int, boolean, AbstractPdfOcrEventHelper)},
+     * pages without result are absent
+     */
+    private Map<String, Map<OutputFormat, List<String>>> getBatchTesseractOcrResults(final List<File> inputImages) {
+        final Map<String, Map<OutputFormat, List<String>>> batchResults =
+                new HashMap<String, Map<OutputFormat, List<String>>>();
+        final boolean useTxt = getTesseract4OcrEngineProperties().isUseTxtToImproveHocrParsing();
+        final List<OutputFormat> outputFormats = useTxt
+                ? Arrays.<OutputFormat>asList(OutputFormat.HOCR, OutputFormat.TXT)
+                : Collections.<OutputFormat>singletonList(OutputFormat.HOCR);
+        final String execPath = getExecutableCommand();
+        validateEnvironment(execPath);
+
+        final List<String> keys = new ArrayList<String>();
+        final List<File> sourceImages = new ArrayList<File>();
+        final List<String> imagePaths = new ArrayList<String>();
+        final String listPath = TesseractOcrUtil.getTempFilePath(UUID.randomUUID().toString(), ".txt");
+        final String mainExtension = getOutputFileExtension(OutputFormat.HOCR);
+        final String mainPath = TesseractOcrUtil.getTempFilePath(UUID.randomUUID().toString(), mainExtension);
+        final String basePath = mainPath.substring(0, mainPath.length() - mainExtension.length());
+        final File hocrFile = new File(mainPath);
+        final File txtFile = new File(basePath + getOutputFileExtension(OutputFormat.TXT));
+        try {
+            for (File inputImage : inputImages) {
+                // pages are OCRed separately only if preprocessing is required
+                final boolean preprocessTiff = getTesseract4OcrEngineProperties().isPreprocessingImages()
+                        && TiffImageUtil.isTiffImage(inputImage);
+                final int numOfPages = preprocessTiff ? ImagePreprocessingUtil.getNumberOfPageTiff(inputImage) : 1;
+                final TiffPageReader tiffPageReader = preprocessTiff ? new TiffPageReader(inputImage) : null;
+                for (int page = 1; page <= numOfPages; page++) {
+                    keys.add(getBatchResultKey(inputImage, page));
+                    sourceImages.add(inputImage);
+                    imagePaths.add(preprocessImage(inputImage, page, tiffPageReader));
+                }
+            }
+            Files.write(Paths.get(listPath), String.join("\n", imagePaths).getBytes(StandardCharsets.UTF_8));
+
+            final List<String> params = new ArrayList<String>();
+            addTessData(params);
+            addInputFile(params, listPath);
+            addOutputFile(params, hocrFile, OutputFormat.HOCR, listPath);
+            addPageSegMode(params);
+            addUserWords(params, listPath);
+            addLanguages(params);
+            addOutputFormats(params, outputFormats);
+            addPreserveInterwordSpaces(params);
+            addDefaultDpi(params);
+            String replacement = isWindows() ? "" : "/";
+            String workingDirectory = TesseractOcrUtil.getParentDirectoryFile(listPath)
+                    .replace("file:///", replacement).replace("file:/", replacement);
+            runTesseract(execPath, params, workingDirectory);
+
+            if (!Files.exists(Paths.get(hocrFile.getAbsolutePath()))) {
+                return batchResults;
+            }
+            final List<List<String>> imagePages = TesseractHelper.splitHocrByImages(
+                    TesseractHelper.readFileContent(hocrFile), imagePaths);
+            if (imagePages == null) {
+                return batchResults;
+            }
+            List<String> txtPages = null;
+            if (useTxt) {
+                if (!Files.exists(Paths.get(txtFile.getAbsolutePath()))) {
+                    return batchResults;
+                }
+                int numOfPages = 0;
+                for (List<String> pages : imagePages) {
+                    numOfPages += pages.size();
+                }
+                // txt pages are matched to hocr pages by order, so images are OCRed
+                // separately if the numbers of pages differ
+                txtPages = TesseractHelper.splitTxtByPages(TesseractHelper.readFileContent(txtFile), numOfPages);
+                if (txtPages == null) {
+                    return batchResults;
+                }
+            }
+            int pageIdx = 0;
+            for (int i = 0; i < keys.size(); i++) {
+                final List<String> pages = imagePages.get(i);
+                if (pages.isEmpty()) {
+                    continue;
+                }
+                final Map<OutputFormat, List<String>> result = new LinkedHashMap<OutputFormat, List<String>>();
+                result.put(OutputFormat.HOCR,
+                        Collections.<String>singletonList(TesseractHelper.buildHocrDocument(pages)));
+                if (txtPages != null) {
+                    StringBuilder txtBuilder = new StringBuilder();
+                    for (int j = pageIdx; j < pageIdx + pages.size(); j++) {
+                        txtBuilder.append(txtPages.get(j)).append('\f');
+                    }
+                    result.put(OutputFormat.TXT, Collections.<String>singletonList(txtBuilder.toString()));
+                }
+                pageIdx += pages.size();
+                batchResults.put(keys.get(i), result);
+            }
+        } catch (PdfOcrTesseract4Exception | IOException e) {
+            // images will be OCRed separately
+            LoggerFactory.getLogger(getClass()).info(MessageFormatUtil.format(
+                    Tesseract4LogMessageConstant.CANNOT_OCR_IMAGES_IN_BATCH, e.getMessage()));
+            batchResults.clear();
+        } finally {
+            for (int i = 0; i < imagePaths.size(); i++) {
+                if (!sourceImages.get(i).getAbsolutePath().equals(imagePaths.get(i))) {
+                    TesseractHelper.deleteFile(imagePaths.get(i));
+                }
+            }
+            TesseractHelper.deleteFile(listPath);
+            TesseractHelper.deleteFile(hocrFile.getAbsolutePath());
+            TesseractHelper.deleteFile(txtFile.getAbsolutePath());
+        }
+        return batchResults;
+    }
+
+    /**
+     * Gets results of the batch recognition for the provided page of the image
+     * if there are such results for the current thread.
+     *
+     * @param inputImage input image {@link java.io.File}
+     * @param pageNumber number of page
+     * @param outputFormats {@link java.util.List} of requested {@link OutputFormat}
+     * @return results in the requested formats or {@code null} if there are no such results
+     */
+    private Map<OutputFormat, List<String>> getBatchResults(final File inputImage, final int pageNumber,
+            final List<OutputFormat> outputFormats) {
+        final Map<String, Map<OutputFormat, List<String>>> batchResults = threadLocalBatchResults.get();
+        if (batchResults == null) {
+            return null;
+        }
+        final Map<OutputFormat, List<String>> results = batchResults.get(getBatchResultKey(inputImage, pageNumber));
+        if (results == null || !results.keySet().equals(new HashSet<OutputFormat>(outputFormats))) {
+            return null;
+        }
+        return results;
+    }
+
+    /**
+     * Dispatches the same events for the results of the batch recognition,
+     * which are dispatched when the page is OCRed separately.
+     *
+     * @param dispatchEvent indicates if event needs to be dispatched
+     * @param eventHelper event helper
+     */
+    private void onBatchResultsUsed(final boolean dispatchEvent, AbstractPdfOcrEventHelper eventHelper) {
+        if (eventHelper == null) {
+            eventHelper = new Tesseract4EventHelper();
+        }
+        PdfOcrTesseract4ProductEvent event = null;
+        if (dispatchEvent) {
+            event = onEvent(eventHelper);
+        }
+        onEventStatistics(eventHelper);
+        if (event != null && event.getConfirmationType() == EventConfirmationType.ON_DEMAND) {
+            eventHelper.onEvent(new ConfirmEvent(event));
+        }
+    }
+
+    /**
+     * Gets key of the batch recognition result.
+     *
+     * @param inputImage input image {@link java.io.File}
+     * @param pageNumber number of page
+     * @return key of the result
+     */
+    private static String getBatchResultKey(final File inputImage, final int pageNumber) {
+        return inputImage.getAbsolutePath() + File.pathSeparatorChar + pageNumber;
+    }
+
     /**
      * Sets hocr output format.
      *
@@ -249,14 +671,28 @@ public class Tesseract4ExecutableOcrEngine extends AbstractTesseract4OcrEngine {
     }
 
     /**
-     * Add output format.
+     * Sets txt output format.
      *
      * @param command result command as list of strings
-     * @param outputFormat output format
      */
-    private void addOutputFormat(final List<String> command, OutputFormat outputFormat) {
-        if (outputFormat == OutputFormat.HOCR) {
+    private void setTxtOutput(final List<String> command) {
+        command.add("-c");
+        command.add("tessedit_create_txt=1");
+    }
+
+    /**
+     * Add output formats. Txt is produced by default only if
+     * no other format is requested, so it is set explicitly otherwise.
+     *
+     * @param command result command as list of strings
+     * @param outputFormats output formats
+     */
+    private void addOutputFormats(final List<String> command, List<OutputFormat> outputFormats) {
+        if (outputFormats.contains(OutputFormat.HOCR)) {
             setHocrOutput(command);
+            if (outputFormats.contains(OutputFormat.TXT)) {
+                setTxtOutput(command);
+            }
         }
     }
 
@@ -281,7 +717,7 @@ public class Tesseract4ExecutableOcrEngine extends AbstractTesseract4OcrEngine {
                     : userWordsFile.getAbsolutePath();
 
             command.add("--user-words");
-            command.add(addQuotes(filePath));
+            command.add(filePath);
             command.add("--oem");
             command.add("0");
         }
@@ -304,7 +740,7 @@ public class Tesseract4ExecutableOcrEngine extends AbstractTesseract4OcrEngine {
      */
     private void addTessData(final List<String> command) {
         command.add("--tessdata-dir");
-        command.add(addQuotes(getTessData()));
+        command.add(getTessData());
     }
 
     /**
@@ -339,7 +775,7 @@ public class Tesseract4ExecutableOcrEngine extends AbstractTesseract4OcrEngine {
      */
     private void addInputFile(final List<String> command,
             final String imagePath) {
-        command.add(addQuotes(new File(imagePath).getName()));
+        command.add(new File(imagePath).getName());
     }
 
     /**
@@ -352,8 +788,7 @@ public class Tesseract4ExecutableOcrEngine extends AbstractTesseract4OcrEngine {
     private void addOutputFile(final List<String> command,
             final File outputFile, final OutputFormat outputFormat,
             final String inputImagePath) {
-        String extension = outputFormat.equals(OutputFormat.HOCR)
-                ? ".hocr" : ".txt";
+        String extension = getOutputFileExtension(outputFormat);
         try {
             // Workaround for a non-ASCII characters in path
             // Currently works only if the user words (or output files) reside in the same directory as the input image
@@ -369,13 +804,23 @@ public class Tesseract4ExecutableOcrEngine extends AbstractTesseract4OcrEngine {
                     MessageFormatUtil.format(
                             Tesseract4LogMessageConstant.CREATED_TEMPORARY_FILE,
                             outputFile.getAbsolutePath()));
-            command.add(addQuotes(fileName));
+            command.add(fileName);
         } catch (Exception e) {
             throw new PdfOcrTesseract4Exception(PdfOcrTesseract4ExceptionMessageConstant
                     .TESSERACT_FAILED);
         }
     }
 
+    /**
+     * Gets extension of the file tesseract writes result in given format to.
+     *
+     * @param outputFormat {@link OutputFormat} of the result
+     * @return file extension as a {@link java.lang.String}
+     */
+    private static String getOutputFileExtension(final OutputFormat outputFormat) {
+        return outputFormat.equals(OutputFormat.HOCR) ? ".hocr" : ".txt";
+    }
+
     /**
      * Surrounds given string with quotes.
      *
@@ -402,12 +847,29 @@ public class Tesseract4ExecutableOcrEngine extends AbstractTesseract4OcrEngine {
      */
     private String preprocessImage(final File inputImage,
             final int pageNumber) throws PdfOcrTesseract4Exception {
+        return preprocessImage(inputImage, pageNumber, getTiffPageReader(inputImage));
+    }
+
+    /**
+     * Preprocess given image if it is needed.
+     *
+     * @param inputImage original input image {@link java.io.File}
+     * @param pageNumber number of page to be OCRed
+     * @param tiffPageReader {@link TiffPageReader} to read the page of TIFF image with,
+     *                       {@code null} if the image shall be read from scratch
+     * @return path to output image as {@link java.lang.String}
+     * @throws PdfOcrTesseract4Exception if preprocessing cannot be done or file
+     * is invalid
+     */
+    private String preprocessImage(final File inputImage, final int pageNumber,
+            final TiffPageReader tiffPageReader) throws PdfOcrTesseract4Exception {
         String tmpFileName = TesseractOcrUtil.getTempFilePath(UUID.randomUUID().toString(), getExtension(inputImage));
         String path = inputImage.getAbsolutePath();
         try {
             if (getTesseract4OcrEngineProperties().isPreprocessingImages()) {
                 Pix pix = ImagePreprocessingUtil.preprocessImage(inputImage, pageNumber,
-                        getTesseract4OcrEngineProperties().getImagePreprocessingOptions());
+                        getTesseract4OcrEngineProperties().getImagePreprocessingOptions(),
+                        tiffPageReader);
                 TesseractOcrUtil.savePixToPngFile(tmpFileName, pix);
                 if (!Files.exists(Paths.get(tmpFileName))) {
                     BufferedImage img = TesseractOcrUtil.convertPixToImage(pix);
@@ -430,6 +892,71 @@ public class Tesseract4ExecutableOcrEngine extends AbstractTesseract4OcrEngine {
         return path;
     }
 
+    /**
+     * Gets path to tesseract executable to be used in command.
+     *
+     * @return path to tesseract executable, quoted on Windows
+     * @throws PdfOcrTesseract4Exception if path to tesseract executable is not set
+     */
+    private String getExecutableCommand() throws PdfOcrTesseract4Exception {
+        if (getPathToExecutable() == null || getPathToExecutable().isEmpty()) {
+            throw new PdfOcrTesseract4Exception(
+                    PdfOcrTesseract4ExceptionMessageConstant.CANNOT_FIND_PATH_TO_TESSERACT_EXECUTABLE);
+        } else {
+            if (isWindows()) {
+                return addQuotes(getPathToExecutable());
+            } else {
+                return getPathToExecutable();
+            }
+        }
+    }
+
+    /**
+     * Runs tesseract process either directly or via the process pool, if it's set.
+     *
+     * @param execPath path to tesseract executable as returned by {@link #getExecutableCommand()}
+     * @param params {@link java.util.List} of command line arguments without quotes
+     * @param workingDirectory path to the working directory
+     * @throws PdfOcrTesseract4Exception if tesseract failed
+     */
+    private void runTesseract(final String execPath, final List<String> params,
+            final String workingDirectory) throws PdfOcrTesseract4Exception {
+        final TesseractProcessPool pool = processPool;
+        if (pool == null) {
+            // command line is split to arguments by whitespaces, so each argument is quoted
+            final List<String> quotedParams = new ArrayList<String>(params.size());
+            for (String param : params) {
+                quotedParams.add(addQuotes(param));
+            }
+            TesseractHelper.runCommand(execPath, quotedParams, workingDirectory);
+        } else {
+            // arguments are passed to the process as is
+            pool.runCommand(getPathToExecutable(), params, workingDirectory);
+        }
+    }
+
+    /**
+     * Checks tesseract executable and validates tess data for the required
+     * languages unless they have already been validated for the same
+     * configuration, see {@link #revalidateEnvironment()}.
+     *
+     * @param execPath path to tesseract executable
+     * @throws PdfOcrTesseract4Exception if tesseract is not installed or traineddata
+     * for some of the languages cannot be found
+     */
+    private void validateEnvironment(final String execPath) throws PdfOcrTesseract4Exception {
+        if (!execPath.equals(validatedExecutable)) {
+            checkTesseractInstalled(execPath);
+            validatedExecutable = execPath;
+        }
+        final List<String> languages = getTesseract4OcrEngineProperties().getLanguages();
+        final String tessData = getTessData() + File.pathSeparatorChar + languages;
+        if (!tessData.equals(validatedTessData)) {
+            validateLanguages(languages);
+            validatedTessData = tessData;
+        }
+    }
+
     /**
      * Check whether tesseract executable is installed on the machine and
      * provided path to tesseract executable is correct.
@@ -36,7 +36,10 @@ import com.itextpdf.pdfocr.util.TiffImageUtil;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import net.sourceforge.lept4j.Pix;
@@ -52,10 +55,15 @@ import org.slf4j.LoggerFactory;
  * using tess4j.
  *
  * <p>
+ * Tesseract API handle is kept initialized between OCR calls and is only re-initialized, when
+ * data path, languages, OCR engine mode or other settings applied during initialization change.
+ * So the instance should be closed after all usages to release the native resources.
+ *
+ * <p>
  * Please note that this class is not thread-safe, in other words this Tesseract engine cannot
  * be used for multithreaded processing. You should create one instance per thread
  */
-public class Tesseract4LibOcrEngine extends AbstractTesseract4OcrEngine {
+public class Tesseract4LibOcrEngine extends AbstractTesseract4OcrEngine implements AutoCloseable {
 
     /**
      * {@link net.sourceforge.tess4j.ITesseract} Instance.
@@ -87,6 +95,16 @@ public class Tesseract4LibOcrEngine extends AbstractTesseract4OcrEngine {
         return tesseractInstance;
     }
 
+    /**
+     * Releases the native tesseract API handle, which is kept initialized
+     * between OCR calls. The engine can still be used afterwards, in which
+     * case the handle is initialized again.
+     */
+    @Override
+    public void close() {
+        TesseractOcrUtil.releaseTesseractInstance(tesseractInstance);
+    }
+
     /**
      * Initializes instance of tesseract if it haven't been already
      * initialized or it have been disposed and sets all the required
@@ -156,6 +174,49 @@ public class Tesseract4LibOcrEngine extends AbstractTesseract4OcrEngine {
     void doTesseractOcr(final File inputImage,
             final List<File> outputFiles, final OutputFormat outputFormat,
             final int pageNumber, final boolean dispatchEvent, AbstractPdfOcrEventHelper eventHelper) {
+        final int numOfOutputFiles = outputFiles == null ? 0 : outputFiles.size();
+        List<String> resultList = getTesseractOcrResults(inputImage,
+                Collections.<OutputFormat>singletonList(outputFormat), pageNumber,
+                numOfOutputFiles, dispatchEvent, eventHelper).get(outputFormat);
+
+        // list of result strings is written to separate files
+        // (one for each page)
+        for (int i = 0; i < resultList.size(); i++) {
+            String result = resultList.get(i);
+            File outputFile = i >= numOfOutputFiles ? null : outputFiles.get(i);
+            if (result != null && outputFile != null) {
+                PdfOcrFileUtil.writeToTextFile(outputFile.getAbsolutePath(), result);
+            }
+        }
+    }
+
+    /**
+     * Performs tesseract OCR using wrapper for Tesseract OCR API for the selected page
+     * of input image (by default 1st) and returns the result in memory, without
+     * writing it to any intermediate file.
+     *
+     * <p>
+     * If both {@link OutputFormat#HOCR} (as the main format) and {@link OutputFormat#TXT}
+     * are requested, text is rendered from the same recognition as hOCR.
+     *
+     * @param inputImage input image {@link java.io.File}
+     * @param outputFormats {@link java.util.List} of {@link OutputFormat} to render
+     *                      the result in, the first one is the main format
+     * @param pageNumber number of page to be processed
+     * @param numOfResults expected number of results, not used as the number of
+     *                     results is defined by the input image itself
+     * @param dispatchEvent indicates if event needs to be dispatched
+     * @param eventHelper event helper
+     * @return {@link java.util.Map} where key is {@link OutputFormat} and value is
+     * {@link java.util.List} of result strings (one per each page)
+     */
+    @Override
+    Map<OutputFormat, List<String>> getTesseractOcrResults(final File inputImage,
+            final List<OutputFormat> outputFormats, final int pageNumber, final int numOfResults,
+            final boolean dispatchEvent, AbstractPdfOcrEventHelper eventHelper) {
+        final OutputFormat outputFormat = outputFormats.get(0);
+        final boolean textCollected = outputFormat == OutputFormat.HOCR
+                && outputFormats.contains(OutputFormat.TXT);
         PdfOcrTesseract4ProductEvent event = null;
         if (eventHelper == null) {
             eventHelper = new Tesseract4EventHelper();
@@ -169,25 +230,25 @@ public class Tesseract4LibOcrEngine extends AbstractTesseract4OcrEngine {
             validateTessDataPath(getTessData());
             validateLanguages(getTesseract4OcrEngineProperties().getLanguages());
             initializeTesseract(outputFormat);
+            TesseractOcrUtil.setTextCollected(getTesseractInstance(), textCollected);
 
             // if preprocessing is not needed and provided image is tiff,
             // the image will be paginated and separate pages will be OCRed
             List<String> resultList = new ArrayList<String>();
+            List<String> textResultList = textCollected ? new ArrayList<String>() : null;
             if (!getTesseract4OcrEngineProperties().isPreprocessingImages() && TiffImageUtil.isTiffImage(inputImage)) {
-                resultList = getOcrResultForMultiPage(inputImage, outputFormat);
+                resultList = getOcrResultForMultiPage(inputImage, outputFormat, textResultList);
             } else {
                 resultList.add(getOcrResultForSinglePage(inputImage, outputFormat, pageNumber));
-            }
-
-            // list of result strings is written to separate files
-            // (one for each page)
-            for (int i = 0; i < resultList.size(); i++) {
-                String result = resultList.get(i);
-                File outputFile = i >= outputFiles.size() ? null : outputFiles.get(i);
-                if (result != null && outputFile != null) {
-                    PdfOcrFileUtil.writeToTextFile(outputFile.getAbsolutePath(), result);
+                if (textCollected) {
+                    textResultList.add(TesseractOcrUtil.takeCollectedText(getTesseractInstance()));
                 }
             }
+            Map<OutputFormat, List<String>> results = new LinkedHashMap<OutputFormat, List<String>>();
+            results.put(outputFormat, resultList);
+            if (textCollected) {
+                results.put(OutputFormat.TXT, textResultList);
+            }
 
             // statistics event
             onEventStatistics(eventHelper);
@@ -196,11 +257,13 @@ public class Tesseract4LibOcrEngine extends AbstractTesseract4OcrEngine {
             if (event != null && event.getConfirmationType() == EventConfirmationType.ON_DEMAND) {
                 eventHelper.onEvent(new ConfirmEvent(event));
             }
+            return results;
         } catch (PdfOcrTesseract4Exception e) {
             LoggerFactory.getLogger(getClass()).error(e.getMessage());
             throw new PdfOcrTesseract4Exception(e.getMessage(), e);
         } finally {
             if (tesseractInstance != null) {
+                TesseractOcrUtil.setTextCollected(tesseractInstance, false);
                 TesseractOcrUtil.disposeTesseractInstance(tesseractInstance);
             }
             if (getTesseract4OcrEngineProperties().getPathToUserWordsFile() != null &&
@@ -235,10 +298,12 @@ public class Tesseract4LibOcrEngine extends AbstractTesseract4OcrEngine {
      *
      * @param inputImage input image {@link java.io.File}
      * @param outputFormat selected {@link OutputFormat} for tesseract
-     * @return list of result string that will be written to a temporary files
-     * later
+     * @param textResultList list to add text collected alongside the result for each page to,
+     *                       {@code null} if text is not collected
+     * @return list of result strings (one per each page)
      */
-    private List<String> getOcrResultForMultiPage(final File inputImage, final OutputFormat outputFormat) {
+    private List<String> getOcrResultForMultiPage(final File inputImage, final OutputFormat outputFormat,
+            final List<String> textResultList) {
         List<String> resultList = new ArrayList<String>();
         try {
             initializeTesseract(outputFormat);
@@ -251,6 +316,9 @@ public class Tesseract4LibOcrEngine extends AbstractTesseract4OcrEngine {
                         util.getListOfPages().get(i),
                         outputFormat);
                 resultList.add(result);
+                if (textResultList != null) {
+                    textResultList.add(TesseractOcrUtil.takeCollectedText(getTesseractInstance()));
+                }
             }
         } catch (TesseractException e) {
             String msg = MessageFormatUtil.format(Tesseract4LogMessageConstant.TESSERACT_FAILED, e.getMessage());
@@ -269,7 +337,7 @@ public class Tesseract4LibOcrEngine extends AbstractTesseract4OcrEngine {
      * @param inputImage input image {@link java.io.File}
      * @param outputFormat selected {@link OutputFormat} for tesseract
      * @param pageNumber number of page to be OCRed
-     * @return result as string that will be written to a temporary file later
+     * @return result as string
      */
     private String getOcrResultForSinglePage(final File inputImage, final OutputFormat outputFormat, final int pageNumber) {
         String result = null;
@@ -279,7 +347,8 @@ public class Tesseract4LibOcrEngine extends AbstractTesseract4OcrEngine {
                 // preprocess and try to ocr
                 Pix pix = ImagePreprocessingUtil
                         .preprocessImage(inputImage, pageNumber,
-                                getTesseract4OcrEngineProperties().getImagePreprocessingOptions());
+                                getTesseract4OcrEngineProperties().getImagePreprocessingOptions(),
+                                getTiffPageReader(inputImage));
                 result = new TesseractOcrUtil().getOcrResultAsString(
                         getTesseractInstance(),
                         pix,
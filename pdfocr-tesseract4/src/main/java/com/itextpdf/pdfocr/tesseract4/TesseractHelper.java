@@ -34,17 +34,15 @@ import com.itextpdf.pdfocr.tesseract4.logs.Tesseract4LogMessageConstant;
 import com.itextpdf.styledxmlparser.jsoup.Jsoup;
 import com.itextpdf.styledxmlparser.jsoup.nodes.Document;
 import com.itextpdf.styledxmlparser.jsoup.nodes.Element;
-import com.itextpdf.styledxmlparser.jsoup.nodes.Node;
-import com.itextpdf.styledxmlparser.jsoup.select.Elements;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -65,7 +63,9 @@ public class TesseractHelper {
             .getLogger(TesseractHelper.class);
 
     /**
-     * Patterns for matching hOCR element bboxes.
+     * Patterns for matching hOCR element bboxes. They are used only for titles
+     * containing line terminators, other titles are parsed without regular
+     * expressions.
      */
     private static final Pattern BBOX_PATTERN = Pattern.compile(".*bbox(\\s+\\d+){4}.*");
     private static final Pattern BBOX_COORDINATE_PATTERN = Pattern
@@ -94,17 +94,24 @@ public class TesseractHelper {
      */
     private static final float PX_TO_PT = 3F / 4F;
 
-    private static final String NEW_LINE_PATTERN = "\n+";
-    private static final String SPACE_PATTERN = " +";
-    private static final String NEW_LINE_OR_SPACE_PATTERN = "[\n ]+";
+    /**
+     * Pattern for matching page id in the start tag of hOCR page.
+     */
+    private static final Pattern PAGE_ID_PATTERN = Pattern.compile("(\\sid\\s*=\\s*['\"]?)page_\\d+");
+
+    private static final String LINE_SEPARATOR_PATTERN = "\r\n|\r|\n";
     private static final String PAGE_PREFIX_PATTERN = "page_";
+    private static final String IMAGE_NAME_PREFIX = "image \"";
+    private static final char TXT_PAGE_SEPARATOR = '\f';
 
-    private static final String OCR_PAGE = "ocr_page";
-    private static final String OCR_LINE = "ocr_line";
-    private static final String OCR_CAPTION = "ocr_caption";
-    private static final String OCRX_WORD = "ocrx_word";
+    private static final String OCR_PAGE = HocrStreamReader.OCR_PAGE;
+    private static final String OCR_LINE = HocrStreamReader.OCR_LINE;
+    private static final String OCR_CAPTION = HocrStreamReader.OCR_CAPTION;
+    private static final String OCRX_WORD = HocrStreamReader.OCRX_WORD;
     private static final String TITLE = "title";
     private static final String X_WCONF = "x_wconf";
+    private static final String BBOX = "bbox";
+    private static final String TEXTANGLE = "textangle";
 
 
     /**
@@ -135,30 +142,82 @@ public class TesseractHelper {
             final List<File> inputFiles, final List<File> txtInputFiles,
             final Tesseract4OcrEngineProperties tesseract4OcrEngineProperties)
             throws IOException {
-        Map<Integer, List<TextInfo>> imageData =
-                new LinkedHashMap<Integer, List<TextInfo>>();
-        Map<String, Node> unparsedBBoxes = new LinkedHashMap<>();
-
+        List<String> hocrResults = new ArrayList<String>(inputFiles.size());
+        List<String> txtResults = txtInputFiles == null ? null : new ArrayList<String>(txtInputFiles.size());
         for (int inputFileIdx = 0; inputFileIdx < inputFiles.size(); inputFileIdx++) {
             final File inputFile = inputFiles.get(inputFileIdx);
-            List<String> txt = null;
-            if (txtInputFiles != null) {
-                final File txtInputFile = txtInputFiles.get(inputFileIdx);
-                txt = Files.readAllLines(txtInputFile.toPath(), StandardCharsets.UTF_8);
+            if (txtResults != null) {
+                txtResults.add(readFileContent(txtInputFiles.get(inputFileIdx)));
             }
             if (inputFile != null
                     && Files.exists(
                     java.nio.file.Paths
                             .get(inputFile.getAbsolutePath()))) {
-                FileInputStream fileInputStream =
-                        new FileInputStream(inputFile.getAbsolutePath());
-                Document doc = Jsoup.parse(fileInputStream,
-                        java.nio.charset.StandardCharsets.UTF_8.name(),
-                        inputFile.getAbsolutePath());
-                Elements pages = doc.getElementsByClass(OCR_PAGE);
-
-                for (Element page : pages) {
-                    String[] pageNum = page.id().split(PAGE_PREFIX_PATTERN);
+                hocrResults.add(readFileContent(inputFile));
+            } else {
+                hocrResults.add(null);
+            }
+        }
+        return parseHocr(hocrResults, txtResults, tesseract4OcrEngineProperties);
+    }
+
+    /**
+     * Parses each hocr result from the provided list, retrieves text, and
+     * returns data in the format described below.
+     *
+     * @param hocrResults list of hocr results, one per each OCRed image
+     *                    ({@code null} elements are skipped)
+     * @param txtResults list of results in txt format used to make hocr recognition result more precise,
+     *                   one per each hocr result, or {@code null} if not needed.
+     *                   See {@link #parseHocrFile(List, List, Tesseract4OcrEngineProperties)} for details
+     * @param tesseract4OcrEngineProperties {@link Tesseract4OcrEngineProperties}
+     * @return {@link java.util.Map} where key is {@link java.lang.Integer}
+     * representing the number of the page and value is
+     * {@link java.util.List} of {@link TextInfo} elements where each
+     * {@link TextInfo} element contains a word or a line and its 4
+     * coordinates(bbox)
+     */
+    static Map<Integer, List<TextInfo>> parseHocr(
+            final List<String> hocrResults, final List<String> txtResults,
+            final Tesseract4OcrEngineProperties tesseract4OcrEngineProperties) {
+        return parseHocr(hocrResults, txtResults, tesseract4OcrEngineProperties, true);
+    }
+
+    /**
+     * Parses each hocr result from the provided list, retrieves text, and
+     * returns data in the format described in
+     * {@link #parseHocr(List, List, Tesseract4OcrEngineProperties)}.
+     *
+     * @param hocrResults list of hocr results, one per each OCRed image
+     *                    ({@code null} elements are skipped)
+     * @param txtResults list of results in txt format used to make hocr recognition result more precise,
+     *                   one per each hocr result, or {@code null} if not needed
+     * @param tesseract4OcrEngineProperties {@link Tesseract4OcrEngineProperties}
+     * @param useStreamReader if true, hocr results are read by {@link HocrStreamReader} whenever
+     *                        it is possible, otherwise they are always parsed as regular HTML documents
+     * @return {@link java.util.Map} where key is {@link java.lang.Integer}
+     * representing the number of the page and value is
+     * {@link java.util.List} of {@link TextInfo} elements
+     */
+    static Map<Integer, List<TextInfo>> parseHocr(
+            final List<String> hocrResults, final List<String> txtResults,
+            final Tesseract4OcrEngineProperties tesseract4OcrEngineProperties,
+            final boolean useStreamReader) {
+        Map<Integer, List<TextInfo>> imageData =
+                new LinkedHashMap<Integer, List<TextInfo>>();
+        Map<String, IHocrElement> unparsedBBoxes = new LinkedHashMap<>();
+
+        for (int resultIdx = 0; resultIdx < hocrResults.size(); resultIdx++) {
+            final String hocrResult = hocrResults.get(resultIdx);
+            Map<String, String> txt = null;
+            if (txtResults != null) {
+                txt = indexTxtLines(splitToLines(txtResults.get(resultIdx)));
+            }
+            if (hocrResult != null) {
+                final List<IHocrElement> pages = useStreamReader
+                        ? readPages(hocrResult) : parsePages(hocrResult);
+                for (IHocrElement page : pages) {
+                    String[] pageNum = page.getId().split(PAGE_PREFIX_PATTERN);
                     int pageNumber = Integer
                             .parseInt(pageNum[pageNum.length - 1]);
                     final List<TextInfo> textData = getTextData(page,
@@ -173,29 +232,146 @@ public class TesseractHelper {
                         imageData.put(pageNumber, textData);
                     }
                 }
-                fileInputStream.close();
             }
         }
-        for (Node node : unparsedBBoxes.values()) {
+        for (IHocrElement element : unparsedBBoxes.values()) {
             LOGGER.warn(MessageFormatUtil.format(
                     Tesseract4LogMessageConstant.CANNOT_PARSE_NODE_BBOX,
-                    node.toString()
+                    element.toString()
             ));
         }
         return imageData;
     }
 
+    /**
+     * Reads pages of the hocr document. Document is read by
+     * {@link HocrStreamReader}, which doesn't build the whole DOM.
+     * If the document contains markup not supported by the reader,
+     * it is parsed as a regular HTML document instead.
+     *
+     * @param hocr hocr document
+     * @return {@link java.util.List} of pages
+     */
+    static List<IHocrElement> readPages(final String hocr) {
+        try {
+            return HocrStreamReader.readPages(hocr);
+        } catch (HocrStreamReader.UnsupportedHocrException e) {
+            return parsePages(hocr);
+        }
+    }
+
+    /**
+     * Parses hocr document as a regular HTML document and retrieves its pages.
+     *
+     * @param hocr hocr document
+     * @return {@link java.util.List} of pages
+     */
+    static List<IHocrElement> parsePages(final String hocr) {
+        final Document doc = Jsoup.parse(hocr);
+        return JsoupHocrElement.wrap(doc.getElementsByClass(OCR_PAGE));
+    }
+
+    /**
+     * Splits hocr document produced by a single tesseract run for several
+     * images into pages of each image. Page is attributed to the image by the
+     * image name in the title of the page.
+     *
+     * @param hocr hocr document
+     * @param imageNames names of the images in the order they were OCRed
+     * @return {@link java.util.List} of page markups for each image, lists are
+     * empty for images without pages, or {@code null} if some page cannot be
+     * attributed to an image or pages are not in the order of the images
+     */
+    static List<List<String>> splitHocrByImages(final String hocr, final List<String> imageNames) {
+        final Map<String, Integer> imageIndices = new HashMap<String, Integer>();
+        final List<List<String>> imagePages = new ArrayList<List<String>>(imageNames.size());
+        for (int i = 0; i < imageNames.size(); i++) {
+            imageIndices.put(imageNames.get(i), i);
+            imagePages.add(new ArrayList<String>());
+        }
+        int lastIndex = 0;
+        for (IHocrElement page : readPages(hocr)) {
+            final String imageName = parseImageName(page.getTitle());
+            final Integer index = imageName == null ? null : imageIndices.get(imageName);
+            if (index == null || index < lastIndex) {
+                return null;
+            }
+            imagePages.get(index).add(page.toString());
+            lastIndex = index;
+        }
+        return imagePages;
+    }
+
+    /**
+     * Builds hocr document from the page markups. Pages are renumbered
+     * starting from 1, as if the document was produced for a single image.
+     *
+     * @param pages markups of the pages
+     * @return hocr document
+     */
+    static String buildHocrDocument(final List<String> pages) {
+        final StringBuilder hocr = new StringBuilder("<html>\n<body>\n");
+        for (int i = 0; i < pages.size(); i++) {
+            final String page = pages.get(i);
+            final int startTagEnd = page.indexOf('>') + 1;
+            hocr.append(PAGE_ID_PATTERN.matcher(page.substring(0, startTagEnd))
+                            .replaceFirst("$1" + PAGE_PREFIX_PATTERN + (i + 1)))
+                    .append(page, startTagEnd, page.length())
+                    .append('\n');
+        }
+        return hocr.append("</body>\n</html>\n").toString();
+    }
+
+    /**
+     * Splits txt result produced by a single tesseract run for several pages
+     * into texts of the pages. Pages are separated by form feed characters.
+     *
+     * @param txt txt result
+     * @param numOfPages expected number of pages
+     * @return {@link java.util.List} of page texts without separators or
+     * {@code null} if number of pages differs from the expected one
+     */
+    static List<String> splitTxtByPages(final String txt, final int numOfPages) {
+        final List<String> pages = new ArrayList<String>(numOfPages);
+        int start = 0;
+        int end = txt.indexOf(TXT_PAGE_SEPARATOR);
+        while (end != -1) {
+            pages.add(txt.substring(start, end));
+            start = end + 1;
+            end = txt.indexOf(TXT_PAGE_SEPARATOR, start);
+        }
+        // separator may either follow each page or only be put between pages
+        if (start < txt.length()) {
+            pages.add(txt.substring(start));
+        }
+        return pages.size() == numOfPages ? pages : null;
+    }
+
+    /**
+     * Gets image name from the title of hocr page, e.g. {@code image "name"; bbox 0 0 10 10}.
+     *
+     * @param title title of hocr page
+     * @return image name or {@code null} if there is no one
+     */
+    static String parseImageName(final String title) {
+        if (!title.startsWith(IMAGE_NAME_PREFIX)) {
+            return null;
+        }
+        final int end = title.indexOf('"', IMAGE_NAME_PREFIX.length());
+        return end == -1 ? null : title.substring(IMAGE_NAME_PREFIX.length(), end);
+    }
+
     /**
      * Get and align (if needed) bbox of the element.
      */
-    static Rectangle getAlignedBBox(Element object,
+    static Rectangle getAlignedBBox(IHocrElement object,
                                       TextPositioning textPositioning,
                                       Rectangle pageBbox,
-                                      Map<String, Node> unparsedBBoxes) {
+                                      Map<String, IHocrElement> unparsedBBoxes) {
         final Rectangle box = parseBBox(object, pageBbox, unparsedBBoxes);
         if (TextPositioning.BY_WORDS_AND_LINES == textPositioning
                 || TextPositioning.BY_WORDS == textPositioning) {
-            Node line = object.parent();
+            IHocrElement line = object.getParent();
             final Rectangle lineBbox = parseBBox(line, pageBbox, unparsedBBoxes);
             if (TextPositioning.BY_WORDS_AND_LINES == textPositioning) {
                 box.setBbox(box.getLeft(),
@@ -212,44 +388,129 @@ public class TesseractHelper {
     /**
      * Parses element bbox.
      *
-     * @param node element containing bbox
+     * @param element element containing bbox
      * @param pageBBox element containing parent page bbox
      * @param unparsedBBoxes list of element ids with bboxes which could not be parsed
      * @return parsed bbox
      */
-    static Rectangle parseBBox(Node node, Rectangle pageBBox, Map<String, Node> unparsedBBoxes) {
-        List<Float> bbox = new ArrayList<>();
-        Matcher bboxMatcher = BBOX_PATTERN.matcher(node.attr(TITLE));
-        if (bboxMatcher.matches()) {
-            Matcher bboxCoordinateMatcher =
-                    BBOX_COORDINATE_PATTERN
-                            .matcher(bboxMatcher.group());
-            if (bboxCoordinateMatcher.matches()) {
-                for (int i = 0; i < BBOX_ARRAY_SIZE; i++) {
-                    String coord = bboxCoordinateMatcher
-                            .group(i + 1);
-                    bbox.add(Float.parseFloat(coord));
+    static Rectangle parseBBox(IHocrElement element, Rectangle pageBBox,
+                               Map<String, IHocrElement> unparsedBBoxes) {
+        float[] bbox = parseBBoxCoordinates(element.getTitle());
+        if (bbox == null) {
+            bbox = new float[BBOX_ARRAY_SIZE];
+            String id = element.getId();
+            if (!unparsedBBoxes.containsKey(id)) {
+                unparsedBBoxes.put(id, element);
+            }
+        }
+        if (pageBBox == null) {
+            return new Rectangle(toPoints(bbox[LEFT_IDX]),
+                    toPoints(bbox[TOP_IDX]),
+                    toPoints(bbox[RIGHT_IDX]),
+                    toPoints(bbox[BOTTOM_IDX] - bbox[TOP_IDX]));
+        } else {
+            return new Rectangle(0, 0).setBbox(toPoints(bbox[LEFT_IDX]),
+                    pageBBox.getTop() - toPoints(bbox[TOP_IDX]),
+                    toPoints(bbox[RIGHT_IDX]),
+                    pageBBox.getTop() - toPoints(bbox[BOTTOM_IDX]));
+        }
+    }
+
+    /**
+     * Parses bbox coordinates from the hOCR element title.
+     *
+     * @param title title of the hOCR element
+     * @return array of four bbox coordinates or {@code null} if title doesn't contain bbox
+     */
+    static float[] parseBBoxCoordinates(final String title) {
+        if (containsLineTerminator(title)) {
+            return parseBBoxCoordinatesWithRegex(title);
+        }
+        final List<int[]> tokens = tokenizeTitle(title);
+        boolean bboxFound = false;
+        for (int i = 0; i + BBOX_ARRAY_SIZE < tokens.size() && !bboxFound; i++) {
+            final int[] token = tokens.get(i);
+            bboxFound = token[1] - token[0] >= BBOX.length()
+                    && title.regionMatches(token[1] - BBOX.length(), BBOX, 0, BBOX.length())
+                    && areCoordinateTokens(title, tokens, i + 1);
+        }
+        if (!bboxFound) {
+            return null;
+        }
+        // coordinates are taken from the last suitable sequence of numbers, the same way the pattern does it
+        for (int i = tokens.size() - BBOX_ARRAY_SIZE; i >= 0; i--) {
+            if (tokens.get(i)[0] > 0 && areCoordinateTokens(title, tokens, i)) {
+                final float[] bbox = new float[BBOX_ARRAY_SIZE];
+                for (int j = 0; j < BBOX_ARRAY_SIZE; j++) {
+                    final int[] token = tokens.get(i + j);
+                    bbox[j] = Float.parseFloat(title.substring(token[0],
+                            getDigitsEnd(title, token[0], token[1])));
                 }
+                return bbox;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parses word confidence from the hOCR element title.
+     *
+     * @param title title of the hOCR element
+     * @return word confidence or -1 if title doesn't contain x_wconf
+     */
+    static int parseWordConfidence(final String title) {
+        if (containsLineTerminator(title)) {
+            final Matcher matcher = WCONF_PATTERN.matcher(title);
+            if (matcher.matches()) {
+                return Integer.parseInt(matcher.group(1).replaceAll(X_WCONF, "").trim());
             }
+            return -1;
         }
-        if (bbox.size() == 0) {
-            bbox = Arrays.asList(0f, 0f, 0f, 0f);
-            String id = node.attr("id");
-            if (id != null && !unparsedBBoxes.containsKey(id)) {
-                unparsedBBoxes.put(id, node);
+        int idx = title.lastIndexOf(X_WCONF);
+        while (idx >= 0) {
+            int digitsStart = idx + X_WCONF.length();
+            while (digitsStart < title.length() && title.charAt(digitsStart) == ' ') {
+                digitsStart++;
             }
+            final int digitsEnd = getDigitsEnd(title, digitsStart, title.length());
+            if (digitsEnd > digitsStart) {
+                return Integer.parseInt(title.substring(digitsStart, digitsEnd));
+            }
+            idx = title.lastIndexOf(X_WCONF, idx - 1);
         }
-        if (pageBBox == null) {
-            return new Rectangle(toPoints(bbox.get(LEFT_IDX)),
-                    toPoints(bbox.get(TOP_IDX)),
-                    toPoints(bbox.get(RIGHT_IDX)),
-                    toPoints(bbox.get(BOTTOM_IDX) - bbox.get(TOP_IDX)));
-        } else {
-            return new Rectangle(0, 0).setBbox(toPoints(bbox.get(LEFT_IDX)),
-                    pageBBox.getTop() - toPoints(bbox.get(TOP_IDX)),
-                    toPoints(bbox.get(RIGHT_IDX)),
-                    pageBBox.getTop() - toPoints(bbox.get(BOTTOM_IDX)));
+        return -1;
+    }
+
+    /**
+     * Parses text angle from the hOCR element title.
+     *
+     * @param title title of the hOCR element
+     * @return text angle or {@code null} if title doesn't contain textangle
+     */
+    static String parseTextAngle(final String title) {
+        if (containsLineTerminator(title)) {
+            final Matcher matcher = TEXTANGLE_PATTERN.matcher(title);
+            return matcher.find() ? matcher.group(1) : null;
+        }
+        int propertyStart = 0;
+        while (propertyStart <= title.length()) {
+            int propertyEnd = title.indexOf(';', propertyStart);
+            if (propertyEnd < 0) {
+                propertyEnd = title.length();
+            }
+            int i = skipTitleWhitespaces(title, propertyStart, propertyEnd);
+            if (title.startsWith(TEXTANGLE, i) && i + TEXTANGLE.length() <= propertyEnd) {
+                i += TEXTANGLE.length();
+                final int digitsStart = skipTitleWhitespaces(title, i, propertyEnd);
+                final int digitsEnd = getDigitsEnd(title, digitsStart, propertyEnd);
+                if (digitsStart > i && digitsEnd > digitsStart
+                        && skipTitleWhitespaces(title, digitsEnd, propertyEnd) == propertyEnd) {
+                    return title.substring(digitsStart, digitsEnd);
+                }
+            }
+            propertyStart = propertyEnd + 1;
         }
+        return null;
     }
 
     /**
@@ -260,13 +521,11 @@ public class TesseractHelper {
      *
      * @return {@link TextOrientation} of the line if present, otherwise HORIZONTAL
      */
-    private static TextOrientation extractTextOrientation(Node line) {
-        final String title = line.attr(TITLE);
-        final Matcher matcher = TEXTANGLE_PATTERN.matcher(title);
-        if (!matcher.find()) {
+    private static TextOrientation extractTextOrientation(IHocrElement line) {
+        final String angleString = parseTextAngle(line.getTitle());
+        if (angleString == null) {
             return TextOrientation.HORIZONTAL;
         }
-        final String angleString = matcher.group(1);
         switch (angleString) {
             case "270":
                 return TextOrientation.HORIZONTAL_ROTATED_270;
@@ -284,28 +543,28 @@ public class TesseractHelper {
      * Sometimes hOCR file contains broke character bboxes which are equal to page bbox.
      * This method attempts to detect and fix them.
      */
-    static void detectAndFixBrokenBBoxes(Element object, Rectangle bbox,
+    static void detectAndFixBrokenBBoxes(IHocrElement object, Rectangle bbox,
                                          Rectangle lineBbox, Rectangle pageBbox,
-                                         Map<String, Node> unparsedBBoxes) {
+                                         Map<String, IHocrElement> unparsedBBoxes) {
         if (bbox.getLeft() < lineBbox.getLeft()
                 || bbox.getLeft() > lineBbox.getRight()) {
-            if (object.previousElementSibling() == null) {
+            if (object.getPreviousElementSibling() == null) {
                 bbox.setX(lineBbox.getLeft());
             } else {
-                Element sibling = object.previousElementSibling();
+                IHocrElement sibling = object.getPreviousElementSibling();
                 final Rectangle siblingBBox = parseBBox(sibling, pageBbox, unparsedBBoxes);
                 bbox.setX(siblingBBox.getRight());
             }
         }
         if (bbox.getRight() > lineBbox.getRight()
                 || bbox.getRight() < lineBbox.getLeft()) {
-            if (object.nextElementSibling() == null) {
+            if (object.getNextElementSibling() == null) {
                 bbox.setBbox(bbox.getLeft(),
                         bbox.getBottom(),
                         lineBbox.getRight(),
                         bbox.getTop());
             } else {
-                Element sibling = object.nextElementSibling();
+                IHocrElement sibling = object.getNextElementSibling();
                 final Rectangle siblingBBox = parseBBox(sibling, pageBbox, unparsedBBoxes);
                 bbox.setBbox(bbox.getLeft(),
                         bbox.getBottom(),
@@ -369,6 +628,17 @@ public class TesseractHelper {
         return content;
     }
 
+    /**
+     * Reads the whole content of the file as UTF-8 string.
+     *
+     * @param file input {@link java.io.File} to be read
+     * @return content of the file as {@link java.lang.String}
+     * @throws IOException if error occurred during reading the file
+     */
+    static String readFileContent(final File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+
     /**
      * Runs given command.
      *
@@ -415,18 +685,83 @@ public class TesseractHelper {
         }
     }
 
+    /**
+     * Splits text into lines the same way lines of a text file are read.
+     */
+    private static List<String> splitToLines(String text) {
+        if (text == null || text.isEmpty()) {
+            return new ArrayList<String>();
+        }
+        return Arrays.asList(text.split(LINE_SEPARATOR_PATTERN));
+    }
+
+    /**
+     * Indexes txt lines by their text without spaces, so that hocr line can be
+     * found in txt without looking through all the lines. If several lines have
+     * the same text, the first one is indexed.
+     */
+    private static Map<String, String> indexTxtLines(List<String> txtLines) {
+        Map<String, String> index = new HashMap<String, String>(txtLines.size() * 2);
+        for (String txtLine : txtLines) {
+            final String key = removeSpaces(txtLine);
+            if (!index.containsKey(key)) {
+                index.put(key, txtLine);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Removes all space characters from the text.
+     */
+    private static String removeSpaces(String text) {
+        if (text.indexOf(' ') < 0) {
+            return text;
+        }
+        StringBuilder result = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if (c != ' ') {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * Splits txt line into items separated by spaces, line breaks are ignored
+     * and sequences of spaces are treated as a single separator.
+     */
+    private static String[] splitTxtLineToItems(String txtLine) {
+        StringBuilder normalizedLine = new StringBuilder(txtLine.length());
+        boolean lastWasSpace = false;
+        for (int i = 0; i < txtLine.length(); i++) {
+            final char c = txtLine.charAt(i);
+            if (c == ' ') {
+                if (!lastWasSpace) {
+                    normalizedLine.append(c);
+                }
+                lastWasSpace = true;
+            } else if (c != '\n') {
+                normalizedLine.append(c);
+                lastWasSpace = false;
+            }
+        }
+        return normalizedLine.toString().split(" ");
+    }
+
     /**
      * Gets list of text infos from hocr page.
      */
-    private static List<TextInfo> getTextData(Element page,
+    private static List<TextInfo> getTextData(IHocrElement page,
                                               Tesseract4OcrEngineProperties tesseract4OcrEngineProperties,
-                                              List<String> txt,
-                                              Map<String, Node> unparsedBBoxes) {
+                                              Map<String, String> txt,
+                                              Map<String, IHocrElement> unparsedBBoxes) {
         final Rectangle pageBbox = parseBBox(page, null, unparsedBBoxes);
         final List<String> searchedClasses = Arrays.<String>asList(OCR_LINE, OCR_CAPTION);
-        Elements objects = new Elements();
+        List<IHocrElement> objects = new ArrayList<IHocrElement>();
         for (int i = 0; i < searchedClasses.size(); i++) {
-            Elements foundElements = page
+            List<IHocrElement> foundElements = page
                     .getElementsByClass(
                             searchedClasses.get(i));
             for (int j = 0; j < foundElements.size(); j++) {
@@ -443,14 +778,14 @@ public class TesseractHelper {
     /**
      * Gets list of text infos from elements within hocr page.
      */
-    private static List<TextInfo> getTextData(List<Element> pageObjects,
+    private static List<TextInfo> getTextData(List<IHocrElement> pageObjects,
                                               Tesseract4OcrEngineProperties tesseract4OcrEngineProperties,
-                                              List<String> txt,
+                                              Map<String, String> txt,
                                               Rectangle pageBbox,
-                                              Map<String, Node> unparsedBBoxes) {
+                                              Map<String, IHocrElement> unparsedBBoxes) {
         List<TextInfo> textData = new ArrayList<TextInfo>();
-        for (Element lineOrCaption : pageObjects) {
-            if (!lineOrCaption.text().isEmpty() && isElementConfident(lineOrCaption,
+        for (IHocrElement lineOrCaption : pageObjects) {
+            if (!lineOrCaption.getText().isEmpty() && isElementConfident(lineOrCaption,
                     tesseract4OcrEngineProperties.getMinimalConfidenceLevel())) {
                 String hocrLineInTxt = findHocrLineInTxt(lineOrCaption, txt);
                 if (tesseract4OcrEngineProperties.getTextPositioning() == TextPositioning.BY_WORDS
@@ -479,29 +814,17 @@ public class TesseractHelper {
      * Decides if <code>lineOrCaption</code> is confident or not given into account
      * minimalConfidenceLevel property of {@link Tesseract4OcrEngineProperties}.
      */
-    private static boolean isElementConfident(Element lineOrCaption, int minimalConfidenceLevel) {
+    private static boolean isElementConfident(IHocrElement lineOrCaption, int minimalConfidenceLevel) {
         if (minimalConfidenceLevel == 0) {
             return true;
         } else {
             int wconfTotal = 0;
             int wconfCount = 0;
-            for (Node node : lineOrCaption.childNodes()) {
-                if (node instanceof Element) {
-                    String title = ((Element)node).attr(TITLE);
-                    Matcher matcher = WCONF_PATTERN.matcher(title);
-                    if (matcher.matches()) {
-                        String wconf = null;
-                        try {
-                            wconf = matcher.group(1);
-                        } catch (Exception e) {
-                            //No need to do anything here
-                        }
-                        if (wconf != null) {
-                            wconf = wconf.replaceAll(X_WCONF, "").trim();
-                            wconfTotal += Integer.parseInt(wconf);
-                            wconfCount++;
-                        }
-                    }
+            for (IHocrElement element : lineOrCaption.getChildElements()) {
+                final int wconf = parseWordConfidence(element.getTitle());
+                if (wconf >= 0) {
+                    wconfTotal += wconf;
+                    wconfCount++;
                 }
             }
             if (wconfCount > 0) {
@@ -515,36 +838,41 @@ public class TesseractHelper {
     /**
      * Gets list of words represented by text infos from hocr line.
      */
-    private static List<TextInfo> getTextDataForWords(Element lineOrCaption,
+    private static List<TextInfo> getTextDataForWords(IHocrElement lineOrCaption,
                                                       String txtLine,
                                                       TextPositioning textPositioning,
                                                       Rectangle pageBbox,
-                                                      Map<String, Node> unparsedBBoxes) {
+                                                      Map<String, IHocrElement> unparsedBBoxes) {
         List<TextInfo> textData = new ArrayList<TextInfo>();
         final TextOrientation textOrientation = extractTextOrientation(lineOrCaption);
         if (txtLine == null) {
-            for (Element word : lineOrCaption.getElementsByClass(OCRX_WORD)) {
+            for (IHocrElement word : lineOrCaption.getElementsByClass(OCRX_WORD)) {
                 final Rectangle bboxRect = getAlignedBBox(word,
                         textPositioning, pageBbox,
                         unparsedBBoxes);
-                addToTextData(textData, word.text(), bboxRect, textOrientation);
+                addToTextData(textData, word.getText(), bboxRect, textOrientation);
             }
         } else {
             List<TextInfo> textInfos = new ArrayList<>();
-            final String txtLine1 = txtLine.replaceAll(NEW_LINE_PATTERN, "");
-            final String txtLine2 = txtLine1.replaceAll(SPACE_PATTERN, " ");
-            String[] lineItems = txtLine2.split(" ");
-            for (Element word : lineOrCaption.getElementsByClass(OCRX_WORD)) {
+            // text of the words collected since the last matched item, without spaces
+            StringBuilder wordsText = new StringBuilder();
+            final String[] lineItems = splitTxtLineToItems(txtLine);
+            int lineItemIdx = 0;
+            for (IHocrElement word : lineOrCaption.getElementsByClass(OCRX_WORD)) {
+                if (lineItemIdx >= lineItems.length) {
+                    break;
+                }
                 final Rectangle bboxRect = getAlignedBBox(word,
                         textPositioning, pageBbox,
                         unparsedBBoxes);
-                textInfos.add(new TextInfo(word.text(),
+                textInfos.add(new TextInfo(word.getText(),
                         bboxRect));
-                if (lineItems[0].replaceAll(NEW_LINE_OR_SPACE_PATTERN, "")
-                        .equals(getTextInfosText(textInfos).replaceAll(SPACE_PATTERN, ""))) {
-                    lineItems = Arrays.copyOfRange(lineItems, 1, lineItems.length);
+                wordsText.append(removeSpaces(word.getText()));
+                if (lineItems[lineItemIdx].contentEquals(wordsText)) {
+                    lineItemIdx++;
                     addToTextData(textData, mergeTextInfos(textInfos));
                     textInfos.clear();
+                    wordsText.setLength(0);
                 }
             }
         }
@@ -554,17 +882,17 @@ public class TesseractHelper {
     /**
      * Gets list of lines represented by text infos from hocr line.
      */
-    private static List<TextInfo> getTextDataForLines(Element lineOrCaption,
+    private static List<TextInfo> getTextDataForLines(IHocrElement lineOrCaption,
                                                       String txtLine,
                                                       Rectangle pageBbox,
-                                                      Map<String, Node> unparsedBBoxes) {
+                                                      Map<String, IHocrElement> unparsedBBoxes) {
         List<TextInfo> textData = new ArrayList<TextInfo>();
         final Rectangle bboxRect = getAlignedBBox(lineOrCaption,
                 TextPositioning.BY_LINES, pageBbox,
                 unparsedBBoxes);
         final TextOrientation textOrientation = extractTextOrientation(lineOrCaption);
         if (txtLine == null) {
-            addToTextData(textData, lineOrCaption.text(), bboxRect, textOrientation);
+            addToTextData(textData, lineOrCaption.getText(), bboxRect, textOrientation);
         } else {
             addToTextData(textData, txtLine, bboxRect, textOrientation);
         }
@@ -590,17 +918,6 @@ public class TesseractHelper {
         textData.add(new TextInfo(textInfo));
     }
 
-    /**
-     * Gets common text for list of text infos.
-     */
-    private static String getTextInfosText(List<TextInfo> textInfos) {
-        StringBuilder text = new StringBuilder();
-        for (TextInfo textInfo : textInfos) {
-            text.append(textInfo.getText());
-        }
-        return text.toString();
-    }
-
     /**
      * Merges text infos.
      *
@@ -609,8 +926,9 @@ public class TesseractHelper {
      */
     private static TextInfo mergeTextInfos(List<TextInfo> textInfos) {
         TextInfo textInfo = new TextInfo(textInfos.get(0));
+        StringBuilder text = new StringBuilder(textInfo.getText());
         for (int i = 1; i < textInfos.size(); i++) {
-            textInfo.setText(textInfo.getText() + textInfos.get(i).getText());
+            text.append(textInfos.get(i).getText());
             Rectangle leftBBox = textInfo.getBboxRect();
             Rectangle rightBBox = textInfos.get(i).getBboxRect();
             textInfo.setBboxRect(new Rectangle(0, 0).setBbox(
@@ -620,27 +938,192 @@ public class TesseractHelper {
                     Math.max(leftBBox.getTop(), rightBBox.getTop())
             ));
         }
+        textInfo.setText(text.toString());
         return textInfo;
     }
 
     /**
      * Attempts to find HOCR line text in provided TXT.
      *
+     * @param line hocr line
+     * @param txt txt lines indexed by their text without spaces
      * @return text line if found, otherwise null
      */
-    private static String findHocrLineInTxt(Element line, List<String> txt) {
+    private static String findHocrLineInTxt(IHocrElement line, Map<String, String> txt) {
         if (txt == null) {
             return null;
         }
-        String hocrLineText = line.text().replaceAll(SPACE_PATTERN, "");
+        String hocrLineText = removeSpaces(line.getText());
         if (hocrLineText.isEmpty()) {
             return null;
         }
-        for (String txtLine : txt) {
-            if (txtLine.replaceAll(SPACE_PATTERN, "").equals(hocrLineText)) {
-                return txtLine;
+        return txt.get(hocrLineText);
+    }
+
+    /**
+     * Parses bbox coordinates from the hOCR element title using regular expressions.
+     */
+    private static float[] parseBBoxCoordinatesWithRegex(final String title) {
+        Matcher bboxMatcher = BBOX_PATTERN.matcher(title);
+        if (bboxMatcher.matches()) {
+            Matcher bboxCoordinateMatcher =
+                    BBOX_COORDINATE_PATTERN
+                            .matcher(bboxMatcher.group());
+            if (bboxCoordinateMatcher.matches()) {
+                final float[] bbox = new float[BBOX_ARRAY_SIZE];
+                for (int i = 0; i < BBOX_ARRAY_SIZE; i++) {
+                    bbox[i] = Float.parseFloat(bboxCoordinateMatcher.group(i + 1));
+                }
+                return bbox;
             }
         }
         return null;
     }
+
+    /**
+     * Splits title into whitespace separated tokens.
+     *
+     * @return {@link java.util.List} of start and end indices of the tokens
+     */
+    private static List<int[]> tokenizeTitle(final String title) {
+        final List<int[]> tokens = new ArrayList<int[]>();
+        int i = 0;
+        while (i < title.length()) {
+            final int start = skipTitleWhitespaces(title, i, title.length());
+            int end = start;
+            while (end < title.length() && !isTitleWhitespace(title.charAt(end))) {
+                end++;
+            }
+            if (end > start) {
+                tokens.add(new int[] {start, end});
+            }
+            i = end;
+        }
+        return tokens;
+    }
+
+    /**
+     * Checks if the tokens starting from the given one can be parsed as bbox coordinates:
+     * first three tokens consist of digits and the fourth one starts with a digit.
+     */
+    private static boolean areCoordinateTokens(final String title, final List<int[]> tokens, final int firstToken) {
+        for (int i = 0; i < BBOX_ARRAY_SIZE; i++) {
+            final int[] token = tokens.get(firstToken + i);
+            final int digitsEnd = getDigitsEnd(title, token[0], token[1]);
+            if (digitsEnd == token[0] || (i < BBOX_ARRAY_SIZE - 1 && digitsEnd != token[1])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets end index of the sequence of digits starting from the given index.
+     */
+    private static int getDigitsEnd(final String title, final int start, final int end) {
+        int i = start;
+        while (i < end && title.charAt(i) >= '0' && title.charAt(i) <= '9') {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Gets index of the first non-whitespace character starting from the given index.
+     */
+    private static int skipTitleWhitespaces(final String title, final int start, final int end) {
+        int i = start;
+        while (i < end && isTitleWhitespace(title.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Checks if character is a whitespace in terms of regular expressions
+     * used for parsing titles, line terminators are not expected here.
+     */
+    private static boolean isTitleWhitespace(final char c) {
+        return c == ' ' || c == '\t' || c == '\u000B' || c == '\f';
+    }
+
+    /**
+     * Checks if title contains line terminators, which are handled by regular
+     * expressions in a special way.
+     */
+    private static boolean containsLineTerminator(final String title) {
+        for (int i = 0; i < title.length(); i++) {
+            final char c = title.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@link IHocrElement} backed by the element of the parsed HTML document.
+     */
+    private static final class JsoupHocrElement implements IHocrElement {
+        private final Element element;
+
+        JsoupHocrElement(final Element element) {
+            this.element = element;
+        }
+
+        static List<IHocrElement> wrap(final List<Element> elements) {
+            final List<IHocrElement> result = new ArrayList<IHocrElement>(elements.size());
+            for (Element element : elements) {
+                result.add(new JsoupHocrElement(element));
+            }
+            return result;
+        }
+
+        @Override
+        public String getId() {
+            return element.attr("id");
+        }
+
+        @Override
+        public String getTitle() {
+            return element.attr(TITLE);
+        }
+
+        @Override
+        public String getText() {
+            return element.text();
+        }
+
+        @Override
+        public IHocrElement getParent() {
+            return element.parent() == null ? null : new JsoupHocrElement(element.parent());
+        }
+
+        @Override
+        public IHocrElement getPreviousElementSibling() {
+            final Element sibling = element.previousElementSibling();
+            return sibling == null ? null : new JsoupHocrElement(sibling);
+        }
+
+        @Override
+        public IHocrElement getNextElementSibling() {
+            final Element sibling = element.nextElementSibling();
+            return sibling == null ? null : new JsoupHocrElement(sibling);
+        }
+
+        @Override
+        public List<IHocrElement> getChildElements() {
+            return wrap(element.children());
+        }
+
+        @Override
+        public List<IHocrElement> getElementsByClass(final String className) {
+            return wrap(element.getElementsByClass(className));
+        }
+
+        @Override
+        public String toString() {
+            return element.toString();
+        }
+    }
 }
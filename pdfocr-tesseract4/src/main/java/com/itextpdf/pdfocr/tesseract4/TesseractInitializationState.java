@@ -0,0 +1,122 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.pdfocr.tesseract4;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Tracks the parameters, which a native tesseract handle was initialized with.
+ *
+ * <p>
+ * Loading traineddata happens during the initialization of the handle, so it is
+ * expensive, especially for multiple languages. This class allows to keep a handle
+ * alive between recognitions and to re-initialize it only if one of the parameters,
+ * which are applied at the initialization, has actually changed.
+ */
+final class TesseractInitializationState {
+    /**
+     * Tesseract variables, which only take effect during the initialization of the handle.
+     */
+    private static final Set<String> INIT_ONLY_VARIABLES = Collections.unmodifiableSet(new HashSet<>(
+            Arrays.asList("load_system_dawg", "load_freq_dawg", "user_words_suffix", "user_words_file")));
+
+    /**
+     * Current values of the initialization parameters.
+     */
+    private final Map<String, String> parameters = new HashMap<>();
+
+    /**
+     * Whether handle is initialized.
+     */
+    private boolean initialized = false;
+
+    /**
+     * Whether any initialization parameter has changed since the handle was initialized.
+     */
+    private boolean changed = false;
+
+    /**
+     * Sets value of an initialization parameter, like data path, language or OCR engine mode.
+     *
+     * @param name name of the parameter
+     * @param value new value of the parameter
+     */
+    void setParameter(final String name, final String value) {
+        final String previousValue = parameters.put(name, value);
+        if (!Objects.equals(previousValue, value)) {
+            changed = true;
+        }
+    }
+
+    /**
+     * Sets value of a tesseract variable. Only variables, which are applied during the
+     * initialization of the handle, are tracked.
+     *
+     * @param name name of the variable
+     * @param value new value of the variable
+     */
+    void setVariable(final String name, final String value) {
+        if (INIT_ONLY_VARIABLES.contains(name)) {
+            setParameter("variable:" + name, value);
+        }
+    }
+
+    /**
+     * Checks whether handle is initialized.
+     *
+     * @return true if handle is initialized
+     */
+    boolean isInitialized() {
+        return initialized;
+    }
+
+    /**
+     * Checks whether handle needs to be (re-)initialized before the next recognition.
+     *
+     * @return true if handle is not initialized or initialization parameters have changed
+     */
+    boolean isInitializationRequired() {
+        return !initialized || changed;
+    }
+
+    /**
+     * Marks handle as initialized with the current parameters.
+     */
+    void markInitialized() {
+        initialized = true;
+        changed = false;
+    }
+
+    /**
+     * Marks handle as released.
+     */
+    void markReleased() {
+        initialized = false;
+    }
+}
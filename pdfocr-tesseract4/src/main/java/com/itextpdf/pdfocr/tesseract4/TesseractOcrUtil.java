@@ -34,6 +34,8 @@ import com.ochafik.lang.jnaerator.runtime.NativeSize;
 import com.ochafik.lang.jnaerator.runtime.NativeSizeByReference;
 import com.sun.jna.ptr.PointerByReference;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.awt.image.WritableRaster;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
@@ -51,8 +53,6 @@ import javax.imageio.ImageIO;
 import net.sourceforge.lept4j.ILeptonica;
 import net.sourceforge.lept4j.Pix;
 import net.sourceforge.tess4j.ITesseract;
-import net.sourceforge.tess4j.Tesseract;
-import net.sourceforge.tess4j.Tesseract1;
 import net.sourceforge.tess4j.TesseractException;
 import org.apache.commons.imaging.Imaging;
 import org.apache.commons.imaging.common.ImageMetadata;
@@ -111,9 +111,23 @@ class TesseractOcrUtil {
      */
     static Pix readPixPageFromTiff(final File inputFile,
             final int pageNumber) {
+        return readPixPageFromTiff(new TiffPageReader(inputFile), pageNumber);
+    }
+
+    /**
+     * Reads required page from tiff image using provided {@link TiffPageReader}.
+     * Only the required page is decoded.
+     * Note that rotation is always applied when image read.
+     *
+     * @param tiffPageReader {@link TiffPageReader} of input image
+     * @param pageNumber number of page
+     * @return result {@link net.sourceforge.lept4j.Pix} object created from
+     * given image
+     */
+    static Pix readPixPageFromTiff(final TiffPageReader tiffPageReader,
+            final int pageNumber) {
         Pix pix = null;
-        BufferedImage img = TesseractOcrUtil
-                .getImagePage(inputFile, pageNumber);
+        BufferedImage img = tiffPageReader.readPage(pageNumber);
         if (img != null) {
             pix = readPix(img);
         }
@@ -329,9 +343,9 @@ class TesseractOcrUtil {
             final String userWordsFilePath) {
         try {
             if (isWindowsPlatform) {
-                return new Tesseract1();
+                return new PersistentTesseract1();
             } else {
-                return new Tesseract();
+                return new PersistentTesseract();
             }
         } catch (LinkageError e) {
             throw new PdfOcrTesseract4Exception(isWindowsPlatform ?
@@ -360,13 +374,57 @@ class TesseractOcrUtil {
     static void disposeTesseractInstance(final ITesseract tesseractInstance) {
     }
 
+    /**
+     * Releases native resources of {@link net.sourceforge.tess4j.ITesseract} instance,
+     * which are kept alive between recognitions.
+     *
+     * @param tesseractInstance {@link net.sourceforge.tess4j.ITesseract}
+     *                          object to release
+     */
+    static void releaseTesseractInstance(final ITesseract tesseractInstance) {
+        if (tesseractInstance instanceof IPersistentTesseract) {
+            ((IPersistentTesseract) tesseractInstance).release();
+        }
+    }
+
+    /**
+     * Sets whether plain text shall be collected alongside the main
+     * result of {@link net.sourceforge.tess4j.ITesseract} instance.
+     *
+     * @param tesseractInstance {@link net.sourceforge.tess4j.ITesseract}
+     *                          object to set up
+     * @param textCollected true if text shall be collected, false otherwise
+     */
+    static void setTextCollected(final ITesseract tesseractInstance, final boolean textCollected) {
+        if (tesseractInstance instanceof IPersistentTesseract) {
+            ((IPersistentTesseract) tesseractInstance).setTextCollected(textCollected);
+        }
+    }
+
+    /**
+     * Gets plain text collected by {@link net.sourceforge.tess4j.ITesseract} instance
+     * since the previous call.
+     *
+     * @param tesseractInstance {@link net.sourceforge.tess4j.ITesseract}
+     *                          object to get text from
+     * @return collected text or {@code null} if the instance doesn't collect text
+     */
+    static String takeCollectedText(final ITesseract tesseractInstance) {
+        if (tesseractInstance instanceof IPersistentTesseract) {
+            return ((IPersistentTesseract) tesseractInstance).takeCollectedText();
+        }
+        return null;
+    }
+
     static Pix readPixFromFile(File inputImage) {
         return LeptonicaWrapper.pixRead(inputImage.getAbsolutePath());
     }
 
     /**
      * Converts Leptonica {@link net.sourceforge.lept4j.Pix}
-     * to {@link java.awt.image.BufferedImage} with
+     * to {@link java.awt.image.BufferedImage}.
+     * Pixels of 8bpp images without colormap and of 32bpp images
+     * are copied directly, other images are converted via
      * {@link net.sourceforge.lept4j.ILeptonica#IFF_PNG} image format.
      *
      * @param inputPix input {@link net.sourceforge.lept4j.Pix} object
@@ -375,7 +433,10 @@ class TesseractOcrUtil {
      */
     static BufferedImage convertPixToImage(final Pix inputPix) throws IOException {
         if (inputPix != null) {
-            BufferedImage bi = null;
+            BufferedImage bi = copyPixToImage(inputPix);
+            if (bi != null) {
+                return bi;
+            }
             PointerByReference pdata = new PointerByReference();
             try {
                 NativeSizeByReference psize = new NativeSizeByReference();
@@ -420,16 +481,7 @@ class TesseractOcrUtil {
      * @return requested image page as a {@link java.awt.image.BufferedImage}
      */
     static BufferedImage getImagePage(File inputFile, int page) {
-        List<BufferedImage> pages = TiffImageUtil.getAllImages(inputFile);
-        if (page >= pages.size()) {
-            LOGGER.warn(MessageFormatUtil.format(
-                    Tesseract4LogMessageConstant.PAGE_NUMBER_IS_INCORRECT,
-                    page,
-                    inputFile.getAbsolutePath()));
-            return null;
-        }
-
-        return pages.get(page);
+        return new TiffPageReader(inputFile).readPage(page);
     }
 
     /**
@@ -596,6 +648,10 @@ class TesseractOcrUtil {
             final Pix pix, final OutputFormat outputFormat)
             throws TesseractException, IOException {
         if (pix != null) {
+            // pix is set to the native API directly if possible
+            if (tesseractInstance instanceof IPersistentTesseract) {
+                return ((IPersistentTesseract) tesseractInstance).doOCR(pix);
+            }
             BufferedImage bufferedImage = convertPixToImage(pix);
             return getOcrResultAsString(tesseractInstance,
                     bufferedImage, outputFormat);
@@ -606,12 +662,17 @@ class TesseractOcrUtil {
 
     /**
      * Read {@link net.sourceforge.lept4j.Pix} from {@link java.awt.image.BufferedImage}.
-     * Note that rotation is always applied when image read.
+     * Pixels of gray and RGB images are copied directly, other images are
+     * converted via PNG image format.
      *
      * @param image {@link java.awt.image.BufferedImage} to read from
      * @return Pix result {@link net.sourceforge.lept4j.Pix}
      */
     static Pix readPix(final BufferedImage image) {
+        Pix pix = copyImageToPix(image);
+        if (pix != null) {
+            return pix;
+        }
         try {
             ByteArrayOutputStream baos = new ByteArrayOutputStream();
             ImageIO.write(image, "png", baos);
@@ -624,6 +685,132 @@ class TesseractOcrUtil {
         }
     }
 
+    /**
+     * Copies pixels of {@link java.awt.image.BufferedImage} to a new
+     * {@link net.sourceforge.lept4j.Pix}. 8-bit gray images are copied to
+     * 8bpp pix, RGB images are copied to 32bpp pix with 3 samples per pixel
+     * and RGBA images are copied to 32bpp pix with 4 samples per pixel,
+     * i.e. the same pix as would be read from PNG image.
+     *
+     * @param image {@link java.awt.image.BufferedImage} to copy
+     * @return result {@link net.sourceforge.lept4j.Pix} or {@code null}
+     * if image type is not supported
+     */
+    static Pix copyImageToPix(final BufferedImage image) {
+        final int samplesPerPixel;
+        switch (image.getType()) {
+            case BufferedImage.TYPE_BYTE_GRAY:
+                samplesPerPixel = 1;
+                break;
+            case BufferedImage.TYPE_INT_RGB:
+            case BufferedImage.TYPE_INT_BGR:
+            case BufferedImage.TYPE_3BYTE_BGR:
+                samplesPerPixel = 3;
+                break;
+            case BufferedImage.TYPE_INT_ARGB:
+            case BufferedImage.TYPE_4BYTE_ABGR:
+                samplesPerPixel = 4;
+                break;
+            default:
+                return null;
+        }
+        final int width = image.getWidth();
+        final int height = image.getHeight();
+        final Pix pix = LeptonicaWrapper.pixCreate(width, height,
+                samplesPerPixel == 1 ? 8 : 32);
+        if (pix == null) {
+            return null;
+        }
+        if (samplesPerPixel == 4) {
+            LeptonicaWrapper.pixSetSpp(pix, samplesPerPixel);
+            pix.read();
+        }
+        final int wpl = pix.wpl;
+        final int[] words = new int[wpl * height];
+        if (samplesPerPixel == 1) {
+            final WritableRaster raster = image.getRaster();
+            final byte[] row = new byte[width];
+            for (int y = 0; y < height; ++y) {
+                raster.getDataElements(0, y, width, 1, row);
+                final int offset = y * wpl;
+                for (int x = 0; x < width; ++x) {
+                    // leptonica stores the leftmost pixel in the most significant byte of a word
+                    words[offset + (x >> 2)] |= (row[x] & 0xFF) << (24 - ((x & 3) << 3));
+                }
+            }
+        } else {
+            final int[] row = new int[width];
+            for (int y = 0; y < height; ++y) {
+                image.getRGB(0, y, width, 1, row, 0, width);
+                final int offset = y * wpl;
+                for (int x = 0; x < width; ++x) {
+                    // 0xAARRGGBB is stored as 0xRRGGBBAA, alpha is zero for RGB images
+                    words[offset + x] = samplesPerPixel == 4
+                            ? row[x] << 8 | row[x] >>> 24
+                            : row[x] << 8;
+                }
+            }
+        }
+        pix.data.getPointer().write(0, words, 0, words.length);
+        return pix;
+    }
+
+    /**
+     * Copies pixels of {@link net.sourceforge.lept4j.Pix} to a new
+     * {@link java.awt.image.BufferedImage} of the same type as would be
+     * read from PNG image written by leptonica.
+     *
+     * @param pix {@link net.sourceforge.lept4j.Pix} to copy
+     * @return result {@link java.awt.image.BufferedImage} or {@code null}
+     * if pix depth or colormap are not supported
+     */
+    static BufferedImage copyPixToImage(final Pix pix) {
+        if (pix.colormap != null || pix.data == null) {
+            return null;
+        }
+        final int depth = LeptonicaWrapper.pixGetDepth(pix);
+        final int imageType;
+        if (depth == 8) {
+            imageType = BufferedImage.TYPE_BYTE_GRAY;
+        } else if (depth == 32 && pix.spp == 3) {
+            imageType = BufferedImage.TYPE_3BYTE_BGR;
+        } else if (depth == 32 && pix.spp == 4) {
+            imageType = BufferedImage.TYPE_4BYTE_ABGR;
+        } else {
+            return null;
+        }
+        final int width = pix.w;
+        final int height = pix.h;
+        final int wpl = pix.wpl;
+        final int[] words = pix.data.getPointer().getIntArray(0, wpl * height);
+        final BufferedImage image = new BufferedImage(width, height, imageType);
+        final byte[] bytes = ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+        int index = 0;
+        if (depth == 8) {
+            for (int y = 0; y < height; ++y) {
+                final int offset = y * wpl;
+                for (int x = 0; x < width; ++x) {
+                    bytes[index++] = (byte) (words[offset + (x >> 2)] >>> (24 - ((x & 3) << 3)));
+                }
+            }
+        } else {
+            final boolean hasAlpha = imageType == BufferedImage.TYPE_4BYTE_ABGR;
+            for (int y = 0; y < height; ++y) {
+                final int offset = y * wpl;
+                for (int x = 0; x < width; ++x) {
+                    final int word = words[offset + x];
+                    if (hasAlpha) {
+                        bytes[index++] = (byte) word;
+                    }
+                    bytes[index++] = (byte) (word >>> 8);
+                    bytes[index++] = (byte) (word >>> 16);
+                    bytes[index++] = (byte) (word >>> 24);
+                }
+            }
+        }
+        return image;
+    }
+
     /**
      * Read {@link net.sourceforge.lept4j.Pix} from {@link java.io.File}.
      * Note that rotation is always applied when image read.
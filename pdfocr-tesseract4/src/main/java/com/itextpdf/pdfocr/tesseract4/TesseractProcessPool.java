@@ -0,0 +1,416 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.pdfocr.tesseract4;
+
+import com.itextpdf.commons.utils.MessageFormatUtil;
+import com.itextpdf.pdfocr.tesseract4.exceptions.PdfOcrTesseract4Exception;
+import com.itextpdf.pdfocr.tesseract4.exceptions.PdfOcrTesseract4ExceptionMessageConstant;
+import com.itextpdf.pdfocr.tesseract4.logs.Tesseract4LogMessageConstant;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pool, which bounds the number of tesseract processes running at the same
+ * time, see {@link Tesseract4ExecutableOcrEngine#setProcessPool(TesseractProcessPool)}.
+ *
+ * <p>
+ * Tesseract parallelizes recognition of a single image with OpenMP, which
+ * scales poorly beyond a few threads. On machines with many cores it is
+ * considerably faster to run several single-threaded tesseract processes in
+ * parallel, e.g. OCR images or pages from several threads with the same
+ * {@link Tesseract4ExecutableOcrEngine} (or several
+ * {@link com.itextpdf.pdfocr.OcrPdfCreator} instances using it). Processes
+ * above the limit wait in a first-in, first-out queue for a running process
+ * to finish.
+ *
+ * <p>
+ * Each process is started with {@code OMP_THREAD_LIMIT} environment variable,
+ * see {@link #setOmpThreadLimit(int)}, and can be limited in time, see
+ * {@link #setProcessTimeout(long)}. Queueing and running metrics are
+ * collected for all the processes of the pool.
+ *
+ * <p>
+ * A single pool can be shared by several engines, so that the limit is
+ * applied to all of them.
+ */
+public class TesseractProcessPool {
+
+    /**
+     * Name of the environment variable, which limits the number of OpenMP threads.
+     */
+    static final String OMP_THREAD_LIMIT = "OMP_THREAD_LIMIT";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TesseractProcessPool.class);
+
+    /**
+     * Maximum number of concurrently running processes.
+     */
+    private final int maxConcurrentProcesses;
+
+    /**
+     * Fair semaphore, which holds a permit per running process.
+     */
+    private final Semaphore processPermits;
+
+    /**
+     * Value of {@code OMP_THREAD_LIMIT} for the processes or 0, if it isn't set.
+     */
+    private volatile int ompThreadLimit = 1;
+
+    /**
+     * Process timeout in milliseconds or 0, if there is no timeout.
+     */
+    private volatile long processTimeout = 0;
+
+    /**
+     * Monitor, which guards the metrics.
+     */
+    private final Object metricsLock = new Object();
+
+    /**
+     * Number of processes waiting for a permit. Guarded by {@link #metricsLock}.
+     */
+    private int queuedProcesses = 0;
+
+    /**
+     * Number of currently running processes. Guarded by {@link #metricsLock}.
+     */
+    private int runningProcesses = 0;
+
+    /**
+     * Number of finished processes, either successfully or not. Guarded by {@link #metricsLock}.
+     */
+    private long completedProcesses = 0;
+
+    /**
+     * Number of processes, which failed or were killed. Guarded by {@link #metricsLock}.
+     */
+    private long failedProcesses = 0;
+
+    /**
+     * Number of processes, which were killed by timeout. Guarded by {@link #metricsLock}.
+     */
+    private long timedOutProcesses = 0;
+
+    /**
+     * Total time in nanoseconds spent in the queue. Guarded by {@link #metricsLock}.
+     */
+    private long totalQueueWaitTime = 0;
+
+    /**
+     * Maximum time in nanoseconds spent in the queue. Guarded by {@link #metricsLock}.
+     */
+    private long maxQueueWaitTime = 0;
+
+    /**
+     * Total time in nanoseconds of the process runs. Guarded by {@link #metricsLock}.
+     */
+    private long totalRunTime = 0;
+
+    /**
+     * Creates a new {@link TesseractProcessPool} instance.
+     *
+     * @param maxConcurrentProcesses maximum number of tesseract processes
+     *                               running at the same time, should be positive
+     * @throws PdfOcrTesseract4Exception if the number of processes isn't positive
+     */
+    public TesseractProcessPool(final int maxConcurrentProcesses) {
+        if (maxConcurrentProcesses <= 0) {
+            throw new PdfOcrTesseract4Exception(
+                    PdfOcrTesseract4ExceptionMessageConstant.MAX_CONCURRENT_PROCESSES_SHOULD_BE_POSITIVE);
+        }
+        this.maxConcurrentProcesses = maxConcurrentProcesses;
+        this.processPermits = new Semaphore(maxConcurrentProcesses, true);
+    }
+
+    /**
+     * Gets maximum number of tesseract processes running at the same time.
+     *
+     * @return maximum number of concurrent processes
+     */
+    public final int getMaxConcurrentProcesses() {
+        return maxConcurrentProcesses;
+    }
+
+    /**
+     * Gets value of {@code OMP_THREAD_LIMIT} environment variable for the
+     * tesseract processes.
+     *
+     * @return maximum number of OpenMP threads per process or 0, if the
+     * variable is inherited from the current process
+     */
+    public final int getOmpThreadLimit() {
+        return ompThreadLimit;
+    }
+
+    /**
+     * Sets value of {@code OMP_THREAD_LIMIT} environment variable for the
+     * tesseract processes. By default it's 1, i.e. each process is
+     * single-threaded and parallelism is achieved by running several processes.
+     *
+     * @param ompThreadLimit maximum number of OpenMP threads per process or 0
+     *                       to inherit the variable from the current process
+     * @return the {@link TesseractProcessPool} instance
+     * @throws PdfOcrTesseract4Exception if the limit is negative
+     */
+    public final TesseractProcessPool setOmpThreadLimit(final int ompThreadLimit) {
+        if (ompThreadLimit < 0) {
+            throw new PdfOcrTesseract4Exception(
+                    PdfOcrTesseract4ExceptionMessageConstant.OMP_THREAD_LIMIT_SHOULD_BE_NON_NEGATIVE);
+        }
+        this.ompThreadLimit = ompThreadLimit;
+        return this;
+    }
+
+    /**
+     * Gets timeout of a single tesseract process run.
+     *
+     * @return timeout in milliseconds or 0, if there is no timeout
+     */
+    public final long getProcessTimeout() {
+        return processTimeout;
+    }
+
+    /**
+     * Sets timeout of a single tesseract process run. Time spent in the queue
+     * is not included. Process, which doesn't finish in time, is killed and
+     * OCR of the image fails. By default there is no timeout.
+     *
+     * @param processTimeout timeout in milliseconds or 0 for no timeout
+     * @return the {@link TesseractProcessPool} instance
+     * @throws PdfOcrTesseract4Exception if the timeout is negative
+     */
+    public final TesseractProcessPool setProcessTimeout(final long processTimeout) {
+        if (processTimeout < 0) {
+            throw new PdfOcrTesseract4Exception(
+                    PdfOcrTesseract4ExceptionMessageConstant.PROCESS_TIMEOUT_SHOULD_BE_NON_NEGATIVE);
+        }
+        this.processTimeout = processTimeout;
+        return this;
+    }
+
+    /**
+     * Gets number of processes waiting in the queue for a running process to finish.
+     *
+     * @return number of queued processes
+     */
+    public final int getQueuedProcesses() {
+        synchronized (metricsLock) {
+            return queuedProcesses;
+        }
+    }
+
+    /**
+     * Gets number of currently running processes.
+     *
+     * @return number of running processes
+     */
+    public final int getRunningProcesses() {
+        synchronized (metricsLock) {
+            return runningProcesses;
+        }
+    }
+
+    /**
+     * Gets number of processes, which have finished, either successfully or not.
+     *
+     * @return number of completed processes
+     */
+    public final long getCompletedProcesses() {
+        synchronized (metricsLock) {
+            return completedProcesses;
+        }
+    }
+
+    /**
+     * Gets number of processes, which have failed, including the ones killed by timeout.
+     *
+     * @return number of failed processes
+     */
+    public final long getFailedProcesses() {
+        synchronized (metricsLock) {
+            return failedProcesses;
+        }
+    }
+
+    /**
+     * Gets number of processes, which have been killed by timeout.
+     *
+     * @return number of timed out processes
+     */
+    public final long getTimedOutProcesses() {
+        synchronized (metricsLock) {
+            return timedOutProcesses;
+        }
+    }
+
+    /**
+     * Gets total time, which processes have spent in the queue.
+     *
+     * @return total queue wait time in milliseconds
+     */
+    public final long getTotalQueueWaitTime() {
+        synchronized (metricsLock) {
+            return TimeUnit.NANOSECONDS.toMillis(totalQueueWaitTime);
+        }
+    }
+
+    /**
+     * Gets maximum time, which a single process has spent in the queue.
+     *
+     * @return maximum queue wait time in milliseconds
+     */
+    public final long getMaxQueueWaitTime() {
+        synchronized (metricsLock) {
+            return TimeUnit.NANOSECONDS.toMillis(maxQueueWaitTime);
+        }
+    }
+
+    /**
+     * Gets total time of the completed process runs.
+     *
+     * @return total run time in milliseconds
+     */
+    public final long getTotalRunTime() {
+        synchronized (metricsLock) {
+            return TimeUnit.NANOSECONDS.toMillis(totalRunTime);
+        }
+    }
+
+    /**
+     * Runs given command from the specific working directory as soon as
+     * the number of running processes allows and waits for it to finish.
+     *
+     * @param execPath path to the executable
+     * @param paramsList {@link java.util.List} of command line arguments, which
+     *                   are passed to the process as is, i.e. without quotes
+     * @param workingDirPath path to the working directory
+     * @throws PdfOcrTesseract4Exception if provided command failed, didn't
+     * finish in time or waiting was interrupted
+     */
+    void runCommand(final String execPath, final List<String> paramsList,
+            final String workingDirPath) throws PdfOcrTesseract4Exception {
+        final String command = execPath + " " + String.join(" ", paramsList);
+        final long queuedTime = System.nanoTime();
+        synchronized (metricsLock) {
+            ++queuedProcesses;
+        }
+        try {
+            processPermits.acquire();
+        } catch (InterruptedException e) {
+            synchronized (metricsLock) {
+                --queuedProcesses;
+            }
+            Thread.currentThread().interrupt();
+            throw new PdfOcrTesseract4Exception(
+                    PdfOcrTesseract4ExceptionMessageConstant.TESSERACT_PROCESS_WAS_INTERRUPTED, e);
+        }
+        final long startTime = System.nanoTime();
+        synchronized (metricsLock) {
+            --queuedProcesses;
+            ++runningProcesses;
+            totalQueueWaitTime += startTime - queuedTime;
+            maxQueueWaitTime = Math.max(maxQueueWaitTime, startTime - queuedTime);
+        }
+        boolean succeeded = false;
+        boolean timedOut = false;
+        File outputFile = null;
+        try {
+            outputFile = new File(TesseractOcrUtil.getTempFilePath(UUID.randomUUID().toString(), ".log"));
+            final Process process = startProcess(execPath, paramsList, workingDirPath, outputFile);
+            final long timeout = processTimeout;
+            try {
+                if (timeout > 0 && !process.waitFor(timeout, TimeUnit.MILLISECONDS)) {
+                    timedOut = true;
+                    process.destroyForcibly().waitFor();
+                    LOGGER.error(MessageFormatUtil.format(
+                            Tesseract4LogMessageConstant.TESSERACT_PROCESS_TIMED_OUT, String.valueOf(timeout), command));
+                    throw new PdfOcrTesseract4Exception(
+                            PdfOcrTesseract4ExceptionMessageConstant.TESSERACT_PROCESS_TIMED_OUT)
+                            .setMessageParams(String.valueOf(timeout));
+                }
+                succeeded = process.waitFor() == 0;
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+                throw new PdfOcrTesseract4Exception(
+                        PdfOcrTesseract4ExceptionMessageConstant.TESSERACT_PROCESS_WAS_INTERRUPTED, e);
+            }
+            if (!succeeded) {
+                LOGGER.error(MessageFormatUtil.format(Tesseract4LogMessageConstant.COMMAND_FAILED,
+                        command + ": " + TesseractHelper.readFileContent(outputFile)));
+                throw new PdfOcrTesseract4Exception(PdfOcrTesseract4ExceptionMessageConstant.TESSERACT_FAILED);
+            }
+        } catch (IOException e) {
+            LOGGER.error(MessageFormatUtil.format(Tesseract4LogMessageConstant.COMMAND_FAILED, e.getMessage()));
+            throw new PdfOcrTesseract4Exception(PdfOcrTesseract4ExceptionMessageConstant.TESSERACT_FAILED, e);
+        } finally {
+            processPermits.release();
+            synchronized (metricsLock) {
+                --runningProcesses;
+                ++completedProcesses;
+                totalRunTime += System.nanoTime() - startTime;
+                if (!succeeded) {
+                    ++failedProcesses;
+                }
+                if (timedOut) {
+                    ++timedOutProcesses;
+                }
+            }
+            if (outputFile != null) {
+                TesseractHelper.deleteFile(outputFile.getAbsolutePath());
+            }
+        }
+    }
+
+    /**
+     * Starts the process with {@code OMP_THREAD_LIMIT} set. Standard output
+     * and error streams are redirected to the file, so that the process
+     * never blocks on them and its output can be logged if it fails.
+     */
+    private Process startProcess(final String execPath, final List<String> paramsList,
+            final String workingDirPath, final File outputFile) throws IOException {
+        final List<String> command = new ArrayList<String>(paramsList.size() + 1);
+        command.add(execPath);
+        command.addAll(paramsList);
+        final ProcessBuilder processBuilder = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(outputFile);
+        if (workingDirPath != null) {
+            processBuilder.directory(new File(workingDirPath));
+        }
+        final int threadLimit = ompThreadLimit;
+        if (threadLimit > 0) {
+            processBuilder.environment().put(OMP_THREAD_LIMIT, String.valueOf(threadLimit));
+        }
+        return processBuilder.start();
+    }
+}
@@ -0,0 +1,196 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.pdfocr.tesseract4;
+
+import com.itextpdf.commons.utils.MessageFormatUtil;
+import com.itextpdf.pdfocr.logs.PdfOcrLogMessageConstant;
+import com.itextpdf.pdfocr.tesseract4.logs.Tesseract4LogMessageConstant;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.apache.commons.imaging.FormatCompliance;
+import org.apache.commons.imaging.common.bytesource.ByteSourceFile;
+import org.apache.commons.imaging.formats.tiff.TiffContents;
+import org.apache.commons.imaging.formats.tiff.TiffDirectory;
+import org.apache.commons.imaging.formats.tiff.TiffField;
+import org.apache.commons.imaging.formats.tiff.TiffHeader;
+import org.apache.commons.imaging.formats.tiff.TiffReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reader of separate pages of TIFF image.
+ *
+ * <p>
+ * TIFF directories are read once on creation without image data, while image
+ * data of a page is read and decoded only when the page is requested. Pages are indexed the same way as in
+ * {@link com.itextpdf.pdfocr.util.TiffImageUtil#getAllImages(File)}, i.e.
+ * directories without image data are skipped.
+ */
+final class TiffPageReader {
+
+    /**
+     * The logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(TiffPageReader.class);
+
+    /**
+     * TIFF image file.
+     */
+    private final File inputFile;
+
+    /**
+     * Byte order of TIFF image.
+     */
+    private ByteOrder byteOrder;
+
+    /**
+     * Indices of TIFF directories with image data, one per page, in the order
+     * the directories are read.
+     */
+    private List<Integer> pages = Collections.<Integer>emptyList();
+
+    /**
+     * Creates a new {@link TiffPageReader} instance and reads TIFF directories
+     * of the provided image.
+     *
+     * @param inputFile TIFF image {@link java.io.File}
+     */
+    TiffPageReader(final File inputFile) {
+        this.inputFile = inputFile;
+        try {
+            final TiffReader tiffReader = new TiffReader(false);
+            final TiffContents contents = tiffReader.readDirectories(new ByteSourceFile(inputFile), false,
+                    FormatCompliance.getDefault());
+            final List<Integer> directoryIndices = new ArrayList<Integer>();
+            for (int i = 0; i < contents.directories.size(); i++) {
+                if (contents.directories.get(i).hasTiffImageData()) {
+                    directoryIndices.add(i);
+                }
+            }
+            byteOrder = tiffReader.getByteOrder();
+            pages = directoryIndices;
+        } catch (Exception e) {
+            LOGGER.error(MessageFormatUtil.format(PdfOcrLogMessageConstant.CANNOT_RETRIEVE_PAGES_FROM_IMAGE,
+                    inputFile.getAbsolutePath(), e.getMessage()));
+        }
+    }
+
+    /**
+     * Gets TIFF image file.
+     *
+     * @return TIFF image {@link java.io.File}
+     */
+    File getInputFile() {
+        return inputFile;
+    }
+
+    /**
+     * Gets number of pages in TIFF image.
+     *
+     * @return number of pages, 0 if TIFF image cannot be read
+     */
+    int getNumberOfPages() {
+        return pages.size();
+    }
+
+    /**
+     * Reads image data of requested page of TIFF image and decodes it.
+     *
+     * @param page zero-based number of page
+     * @return requested page as a {@link java.awt.image.BufferedImage} or
+     * {@code null} if the page doesn't exist or cannot be decoded
+     */
+    BufferedImage readPage(final int page) {
+        if (page < 0 || page >= pages.size()) {
+            LOGGER.warn(MessageFormatUtil.format(
+                    Tesseract4LogMessageConstant.PAGE_NUMBER_IS_INCORRECT,
+                    page,
+                    inputFile.getAbsolutePath()));
+            return null;
+        }
+        try {
+            final PageDirectoryListener listener = new PageDirectoryListener(pages.get(page));
+            new TiffReader(false).read(new ByteSourceFile(inputFile), Collections.<String, Object>emptyMap(),
+                    FormatCompliance.getDefault(), listener);
+            return listener.getDirectory() == null ? null : listener.getDirectory().getTiffImage(byteOrder);
+        } catch (Exception e) {
+            LOGGER.error(MessageFormatUtil.format(PdfOcrLogMessageConstant.CANNOT_RETRIEVE_PAGES_FROM_IMAGE,
+                    inputFile.getAbsolutePath(), e.getMessage()));
+            return null;
+        }
+    }
+
+    /**
+     * Listener, which reads image data of a single TIFF directory only and
+     * stops reading once this directory is reached.
+     */
+    private static final class PageDirectoryListener implements TiffReader.Listener {
+        private final int directoryIndex;
+        private int readDirectories = 0;
+        private TiffDirectory directory;
+
+        PageDirectoryListener(final int directoryIndex) {
+            this.directoryIndex = directoryIndex;
+        }
+
+        TiffDirectory getDirectory() {
+            return directory;
+        }
+
+        @Override
+        public boolean setTiffHeader(final TiffHeader tiffHeader) {
+            return true;
+        }
+
+        @Override
+        public boolean addDirectory(final TiffDirectory directory) {
+            if (readDirectories++ == directoryIndex) {
+                this.directory = directory;
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public boolean addField(final TiffField field) {
+            return true;
+        }
+
+        @Override
+        public boolean readImageData() {
+            // called for each directory before it is added
+            return readDirectories == directoryIndex;
+        }
+
+        @Override
+        public boolean readOffsetDirectories() {
+            // same as for the directories read on creation, so that indices match
+            return true;
+        }
+    }
+}
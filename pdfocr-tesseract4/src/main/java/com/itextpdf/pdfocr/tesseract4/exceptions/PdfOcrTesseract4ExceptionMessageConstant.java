@@ -48,6 +48,12 @@ public class PdfOcrTesseract4ExceptionMessageConstant {
             "Path to tess data directory cannot be null and must be set to a valid directory";
     public static final String PATH_TO_TESS_DATA_DIRECTORY_CONTAINS_NON_ASCII_CHARACTERS =
             "Path to tess data should contain only ASCII characters";
+    public static final String MAX_CONCURRENT_PROCESSES_SHOULD_BE_POSITIVE =
+            "Maximum number of concurrent tesseract processes should be positive.";
+    public static final String OMP_THREAD_LIMIT_SHOULD_BE_NON_NEGATIVE = "OMP thread limit should be non-negative.";
+    public static final String PROCESS_TIMEOUT_SHOULD_BE_NON_NEGATIVE = "Process timeout should be non-negative.";
+    public static final String TESSERACT_PROCESS_TIMED_OUT = "Tesseract process did not finish in {0} ms";
+    public static final String TESSERACT_PROCESS_WAS_INTERRUPTED = "Waiting for tesseract process was interrupted";
 
     private PdfOcrTesseract4ExceptionMessageConstant() {
         //Private constructor will prevent the instantiation of this class directly
@@ -30,10 +30,15 @@ public class Tesseract4LogMessageConstant {
 
     public static final String COMMAND_FAILED = "Command failed: {0}";
 
+    public static final String TESSERACT_PROCESS_TIMED_OUT = "Process did not finish in {0} ms and was killed: {1}";
+
     public static final String CANNOT_READ_FILE = "Cannot read file {0}: {1}";
 
     public static final String CANNOT_OCR_INPUT_FILE = "Cannot ocr input file: {0}";
 
+    public static final String CANNOT_OCR_IMAGES_IN_BATCH = "Cannot ocr images in batch, they will be OCRed "
+            + "separately: {0}";
+
     public static final String CANNOT_USE_USER_WORDS = "Cannot use custom user words: {0}";
 
     @Deprecated
@@ -22,6 +22,8 @@
  */
 package com.itextpdf.pdfocr;
 
+import com.itextpdf.commons.utils.MessageFormatUtil;
+import com.itextpdf.kernel.geom.Rectangle;
 import com.itextpdf.pdfocr.tesseract4.Tesseract4ExecutableOcrEngine;
 import com.itextpdf.pdfocr.tesseract4.exceptions.PdfOcrTesseract4ExceptionMessageConstant;
 import com.itextpdf.pdfocr.tesseract4.logs.Tesseract4LogMessageConstant;
@@ -31,6 +33,13 @@ import com.itextpdf.test.annotations.LogMessage;
 import com.itextpdf.test.annotations.LogMessages;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Tag;
@@ -84,4 +93,82 @@ public class TesseractExecutableIntegrationTest extends IntegrationTestHelper {
                 file));
         Assertions.assertEquals(PdfOcrTesseract4ExceptionMessageConstant.TESSERACT_NOT_FOUND, exception.getMessage());
     }
+
+    @LogMessages(messages = {
+        @LogMessage(messageTemplate =
+                Tesseract4LogMessageConstant.COMMAND_FAILED, count = 1)
+    })
+    @Test
+    public void testRevalidateEnvironmentWithIncorrectPathToTesseractExecutable() {
+        Tesseract4ExecutableOcrEngine tesseractExecutableReader = new Tesseract4ExecutableOcrEngine(
+                "path\\to\\executable\\", new Tesseract4OcrEngineProperties().setPathToTessData(getTessDataDirectory()));
+        Exception exception = Assertions.assertThrows(PdfOcrTesseract4Exception.class,
+                () -> tesseractExecutableReader.revalidateEnvironment());
+        Assertions.assertEquals(PdfOcrTesseract4ExceptionMessageConstant.TESSERACT_NOT_FOUND, exception.getMessage());
+    }
+
+    @Test
+    public void testRevalidateEnvironmentAfterLanguagesChanged() {
+        Tesseract4OcrEngineProperties properties = new Tesseract4OcrEngineProperties()
+                .setPathToTessData(getTessDataDirectory());
+        Tesseract4ExecutableOcrEngine tesseractExecutableReader = new Tesseract4ExecutableOcrEngine(properties);
+        tesseractExecutableReader.revalidateEnvironment();
+
+        properties.setLanguages(Collections.<String>singletonList("missing"));
+        Exception exception = Assertions.assertThrows(PdfOcrTesseract4Exception.class,
+                () -> tesseractExecutableReader.revalidateEnvironment());
+        Assertions.assertEquals(MessageFormatUtil.format(PdfOcrTesseract4ExceptionMessageConstant.INCORRECT_LANGUAGE,
+                "missing.traineddata", getTessDataDirectory().getAbsolutePath()), exception.getMessage());
+    }
+
+    @Test
+    public void testBatchImageOcr() {
+        Tesseract4ExecutableOcrEngine tesseractExecutableReader = new Tesseract4ExecutableOcrEngine(
+                new Tesseract4OcrEngineProperties().setPathToTessData(getTessDataDirectory()));
+        List<File> files = Arrays.asList(new File(TEST_IMAGES_DIRECTORY + "numbers_01.jpg"),
+                new File(TEST_IMAGES_DIRECTORY + "numbers_02.jpg"),
+                new File(TEST_IMAGES_DIRECTORY + "numbers_01.tif"));
+        List<Map<Integer, List<TextInfo>>> results = tesseractExecutableReader.doBatchImageOcr(files);
+        Assertions.assertEquals(files.size(), results.size());
+        for (int i = 0; i < files.size(); i++) {
+            Map<Integer, List<TextInfo>> expected = tesseractExecutableReader.doImageOcr(files.get(i));
+            Map<Integer, List<TextInfo>> actual = results.get(i);
+            Assertions.assertEquals(expected.keySet(), actual.keySet());
+            for (Map.Entry<Integer, List<TextInfo>> page : expected.entrySet()) {
+                List<TextInfo> expectedTextInfos = page.getValue();
+                List<TextInfo> actualTextInfos = actual.get(page.getKey());
+                Assertions.assertEquals(expectedTextInfos.size(), actualTextInfos.size());
+                for (int j = 0; j < expectedTextInfos.size(); j++) {
+                    Assertions.assertEquals(expectedTextInfos.get(j).getText(), actualTextInfos.get(j).getText());
+                    Assertions.assertEquals(toList(expectedTextInfos.get(j).getBboxRect()),
+                            toList(actualTextInfos.get(j).getBboxRect()));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testBatchImageOcrWithUnreadableImage() throws IOException {
+        Tesseract4ExecutableOcrEngine tesseractExecutableReader = new Tesseract4ExecutableOcrEngine(
+                new Tesseract4OcrEngineProperties().setPathToTessData(getTessDataDirectory()));
+        // image has a valid jpeg header, so it passes format validation, but tesseract cannot read it
+        File unreadableImage = new File(getTargetDirectory() + "testBatchImageOcrWithUnreadableImage.jpg");
+        byte[] imageBytes = Files.readAllBytes(Paths.get(TEST_IMAGES_DIRECTORY + "numbers_01.jpg"));
+        Files.write(unreadableImage.toPath(), Arrays.copyOf(imageBytes, 32));
+        List<File> files = Arrays.asList(new File(TEST_IMAGES_DIRECTORY + "numbers_01.jpg"),
+                unreadableImage,
+                new File(TEST_IMAGES_DIRECTORY + "numbers_02.jpg"));
+
+        // batch run doesn't produce a result for the unreadable image, so it is OCRed
+        // separately and fails the same way, as it does without batching
+        Exception batchException = Assertions.assertThrows(PdfOcrTesseract4Exception.class,
+                () -> tesseractExecutableReader.doBatchImageOcr(files));
+        Exception exception = Assertions.assertThrows(PdfOcrTesseract4Exception.class,
+                () -> tesseractExecutableReader.doImageOcr(unreadableImage));
+        Assertions.assertEquals(exception.getMessage(), batchException.getMessage());
+    }
+
+    private static List<Float> toList(Rectangle rectangle) {
+        return Arrays.asList(rectangle.getLeft(), rectangle.getBottom(), rectangle.getRight(), rectangle.getTop());
+    }
 }
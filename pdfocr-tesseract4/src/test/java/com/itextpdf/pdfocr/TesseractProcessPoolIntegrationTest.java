@@ -0,0 +1,160 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.pdfocr;
+
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import com.itextpdf.pdfocr.tesseract4.Tesseract4ExecutableOcrEngine;
+import com.itextpdf.pdfocr.tesseract4.Tesseract4OcrEngineProperties;
+import com.itextpdf.pdfocr.tesseract4.TesseractProcessPool;
+import com.itextpdf.pdfocr.tesseract4.exceptions.PdfOcrTesseract4Exception;
+import com.itextpdf.pdfocr.tesseract4.exceptions.PdfOcrTesseract4ExceptionMessageConstant;
+import com.itextpdf.pdfocr.tesseract4.logs.Tesseract4LogMessageConstant;
+import com.itextpdf.test.annotations.LogMessage;
+import com.itextpdf.test.annotations.LogMessages;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("IntegrationTest")
+public class TesseractProcessPoolIntegrationTest extends IntegrationTestHelper {
+
+    private static final String[] IMAGES = {"numbers_01.jpg", "numbers_02.jpg", "englishText.bmp"};
+
+    private static final int THREAD_COUNT = 6;
+
+    @Test
+    public void concurrentOcrPdfCreatorTest() throws Exception {
+        final Tesseract4ExecutableOcrEngine engine = new Tesseract4ExecutableOcrEngine(
+                new Tesseract4OcrEngineProperties().setPathToTessData(getTessDataDirectory()));
+        final List<String> expected = new ArrayList<String>(IMAGES.length);
+        for (String image : IMAGES) {
+            expected.add(createPdfAndGetText(engine, new File(TEST_IMAGES_DIRECTORY + image)));
+        }
+
+        final TesseractProcessPool pool = new TesseractProcessPool(2).setProcessTimeout(60000);
+        engine.setProcessPool(pool);
+        final ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        try {
+            final CountDownLatch startLatch = new CountDownLatch(THREAD_COUNT);
+            final List<Future<String>> futures = new ArrayList<Future<String>>(THREAD_COUNT);
+            for (int t = 0; t < THREAD_COUNT; ++t) {
+                final File image = new File(TEST_IMAGES_DIRECTORY + IMAGES[t % IMAGES.length]);
+                futures.add(executor.submit((Callable<String>) () -> {
+                    startLatch.countDown();
+                    startLatch.await();
+                    return createPdfAndGetText(engine, image);
+                }));
+            }
+            for (int t = 0; t < THREAD_COUNT; ++t) {
+                Assertions.assertEquals(expected.get(t % IMAGES.length), futures.get(t).get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assertions.assertEquals(2, pool.getMaxConcurrentProcesses());
+        Assertions.assertEquals(1, pool.getOmpThreadLimit());
+        Assertions.assertEquals(THREAD_COUNT, pool.getCompletedProcesses());
+        Assertions.assertEquals(0, pool.getFailedProcesses());
+        Assertions.assertEquals(0, pool.getTimedOutProcesses());
+        Assertions.assertEquals(0, pool.getQueuedProcesses());
+        Assertions.assertEquals(0, pool.getRunningProcesses());
+        // only two of the processes could start right away
+        Assertions.assertTrue(pool.getMaxQueueWaitTime() > 0);
+        Assertions.assertTrue(pool.getTotalQueueWaitTime() >= pool.getMaxQueueWaitTime());
+        Assertions.assertTrue(pool.getTotalRunTime() > 0);
+    }
+
+    @LogMessages(messages = {
+            @LogMessage(messageTemplate = Tesseract4LogMessageConstant.TESSERACT_PROCESS_TIMED_OUT, count = 1),
+            @LogMessage(messageTemplate = PdfOcrTesseract4ExceptionMessageConstant.TESSERACT_PROCESS_TIMED_OUT,
+                    count = 1)
+    })
+    @Test
+    public void processTimeoutTest() {
+        final Tesseract4ExecutableOcrEngine engine = new Tesseract4ExecutableOcrEngine(
+                new Tesseract4OcrEngineProperties().setPathToTessData(getTessDataDirectory()));
+        final TesseractProcessPool pool = new TesseractProcessPool(1).setProcessTimeout(1);
+        engine.setProcessPool(pool);
+        final File image = new File(TEST_IMAGES_DIRECTORY + "numbers_01.jpg");
+
+        Exception exception = Assertions.assertThrows(PdfOcrTesseract4Exception.class,
+                () -> engine.doImageOcr(image));
+        Assertions.assertEquals(PdfOcrTesseract4ExceptionMessageConstant.TESSERACT_PROCESS_TIMED_OUT
+                .replace("{0}", "1"), exception.getMessage());
+        Assertions.assertEquals(1, pool.getCompletedProcesses());
+        Assertions.assertEquals(1, pool.getFailedProcesses());
+        Assertions.assertEquals(1, pool.getTimedOutProcesses());
+        Assertions.assertEquals(0, pool.getRunningProcesses());
+
+        // pool is released after the timeout
+        pool.setProcessTimeout(0).setOmpThreadLimit(0);
+        Assertions.assertFalse(engine.doImageOcr(image).isEmpty());
+        Assertions.assertEquals(1, pool.getFailedProcesses());
+    }
+
+    @Test
+    public void invalidPoolParametersTest() {
+        Exception exception = Assertions.assertThrows(PdfOcrTesseract4Exception.class,
+                () -> new TesseractProcessPool(0));
+        Assertions.assertEquals(PdfOcrTesseract4ExceptionMessageConstant.MAX_CONCURRENT_PROCESSES_SHOULD_BE_POSITIVE,
+                exception.getMessage());
+        final TesseractProcessPool pool = new TesseractProcessPool(1);
+        exception = Assertions.assertThrows(PdfOcrTesseract4Exception.class, () -> pool.setOmpThreadLimit(-1));
+        Assertions.assertEquals(PdfOcrTesseract4ExceptionMessageConstant.OMP_THREAD_LIMIT_SHOULD_BE_NON_NEGATIVE,
+                exception.getMessage());
+        exception = Assertions.assertThrows(PdfOcrTesseract4Exception.class, () -> pool.setProcessTimeout(-1));
+        Assertions.assertEquals(PdfOcrTesseract4ExceptionMessageConstant.PROCESS_TIMEOUT_SHOULD_BE_NON_NEGATIVE,
+                exception.getMessage());
+        Assertions.assertEquals(1, pool.getOmpThreadLimit());
+        Assertions.assertEquals(0, pool.getProcessTimeout());
+    }
+
+    private static String createPdfAndGetText(Tesseract4ExecutableOcrEngine engine, File image)
+            throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        final PdfDocument pdfDocument = new OcrPdfCreator(engine)
+                .createPdf(Collections.<File>singletonList(image), new PdfWriter(baos));
+        pdfDocument.close();
+        try (PdfDocument resultDocument = new PdfDocument(
+                new PdfReader(new ByteArrayInputStream(baos.toByteArray())))) {
+            return PdfTextExtractor.getTextFromPage(resultDocument.getPage(1));
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.pdfocr.tesseract4;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Benchmark of hOCR parsing on a dense newspaper page, which compares
+ * {@link HocrStreamReader} with the HTML parser, which is used as a fallback.
+ *
+ * <p>
+ * It isn't a test, so it isn't run during the build. It can be run from the
+ * root directory of the project after test classes are compiled:
+ * <pre>
+ * mvn -pl pdfocr-tesseract4 test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.itextpdf.pdfocr.tesseract4.HocrParserBenchmark
+ *     -Dexec.args="[measured iterations] [lines] [columns]"
+ * </pre>
+ * By default the page has 6 columns of 150 lines with 12 words each, i.e.
+ * 10800 words, which is close to tesseract output for a broadsheet page.
+ * Both parsers produce the same results, which is checked by
+ * {@link HocrStreamReaderTest}.
+ */
+public final class HocrParserBenchmark {
+    private static final int DEFAULT_ITERATIONS = 50;
+    private static final int DEFAULT_LINES = 900;
+    private static final int DEFAULT_COLUMNS = 6;
+    private static final int WARM_UP_ITERATIONS = 20;
+
+    private HocrParserBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        final int iterations = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ITERATIONS;
+        final int lines = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_LINES;
+        final int columns = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_COLUMNS;
+        final List<String> hocrResults = Collections.singletonList(
+                HocrStreamReaderTest.createNewspaperHocr(lines, columns));
+        System.out.println("Dense newspaper page: " + lines * 12 + " words, "
+                + hocrResults.get(0).length() / 1024 + " KiB of hOCR");
+
+        for (final TextPositioning textPositioning : TextPositioning.values()) {
+            final Tesseract4OcrEngineProperties properties = new Tesseract4OcrEngineProperties()
+                    .setTextPositioning(textPositioning);
+            for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+                TesseractHelper.parseHocr(hocrResults, null, properties, false);
+                TesseractHelper.parseHocr(hocrResults, null, properties, true);
+            }
+            // Runs of both parsers alternate, so that both are affected by the same noise
+            final long[] htmlParserTimes = new long[iterations];
+            final long[] streamReaderTimes = new long[iterations];
+            for (int i = 0; i < iterations; i++) {
+                long start = System.nanoTime();
+                TesseractHelper.parseHocr(hocrResults, null, properties, false);
+                htmlParserTimes[i] = System.nanoTime() - start;
+                start = System.nanoTime();
+                TesseractHelper.parseHocr(hocrResults, null, properties, true);
+                streamReaderTimes[i] = System.nanoTime() - start;
+            }
+            final double htmlParserMedian = getMedianMillis(htmlParserTimes);
+            final double streamReaderMedian = getMedianMillis(streamReaderTimes);
+            System.out.println(String.format("%-18s HTML parser %8.2f ms, stream reader %8.2f ms, x%.1f",
+                    textPositioning, htmlParserMedian, streamReaderMedian, htmlParserMedian / streamReaderMedian));
+        }
+    }
+
+    private static double getMedianMillis(long[] times) {
+        final long[] sorted = times.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2] / 1_000_000.0;
+    }
+}
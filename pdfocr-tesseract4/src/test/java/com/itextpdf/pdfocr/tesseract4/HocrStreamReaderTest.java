@@ -0,0 +1,253 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.pdfocr.tesseract4;
+
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.pdfocr.IntegrationTestHelper;
+import com.itextpdf.pdfocr.TextInfo;
+import com.itextpdf.pdfocr.tesseract4.logs.Tesseract4LogMessageConstant;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.LogMessage;
+import com.itextpdf.test.annotations.LogMessages;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("UnitTest")
+public class HocrStreamReaderTest extends ExtendedITextTest {
+
+    private static final String TEST_DOCUMENTS_DIRECTORY = IntegrationTestHelper.TEST_DIRECTORY
+            + "documents" + File.separator;
+
+    private static final int NEWSPAPER_LINES = 200;
+    private static final int NEWSPAPER_COLUMNS = 2;
+    private static final int NEWSPAPER_WORDS_PER_LINE = 12;
+
+    @LogMessages(messages = {
+            @LogMessage(messageTemplate = Tesseract4LogMessageConstant.CANNOT_PARSE_NODE_BBOX, count = 8)
+    })
+    @Test
+    public void brokenBBoxesFixtureTest() throws IOException {
+        String hocr = TesseractHelper.readFileContent(new File(TEST_DOCUMENTS_DIRECTORY + "broken_bboxes.hocr"));
+        Assertions.assertDoesNotThrow(() -> HocrStreamReader.readPages(hocr));
+
+        assertSameResults(hocr, null, TextPositioning.BY_WORDS_AND_LINES, 0);
+    }
+
+    @Test
+    public void denseNewspaperPageTest() throws HocrStreamReader.UnsupportedHocrException {
+        String hocr = createNewspaperHocr(NEWSPAPER_LINES, NEWSPAPER_COLUMNS);
+        List<IHocrElement> pages = HocrStreamReader.readPages(hocr);
+        Assertions.assertEquals(1, pages.size());
+        Assertions.assertEquals(NEWSPAPER_LINES, pages.get(0).getElementsByClass("ocr_line").size()
+                + pages.get(0).getElementsByClass("ocr_caption").size());
+
+        for (TextPositioning textPositioning : TextPositioning.values()) {
+            assertSameResults(hocr, null, textPositioning, 0);
+            assertSameResults(hocr, null, textPositioning, 50);
+        }
+    }
+
+    @Test
+    public void denseNewspaperPageWithTxtTest() {
+        String hocr = createNewspaperHocr(NEWSPAPER_LINES, NEWSPAPER_COLUMNS);
+        StringBuilder txt = new StringBuilder();
+        for (int line = 0; line < NEWSPAPER_LINES; line++) {
+            for (int word = 0; word < NEWSPAPER_WORDS_PER_LINE; word++) {
+                txt.append(getWord(line, word)).append(word + 1 < NEWSPAPER_WORDS_PER_LINE ? " " : "\n");
+            }
+        }
+
+        assertSameResults(hocr, txt.toString(), TextPositioning.BY_WORDS, 0);
+        assertSameResults(hocr, txt.toString(), TextPositioning.BY_LINES, 0);
+    }
+
+    @Test
+    public void unsupportedMarkupFallbackTest() {
+        String hocr = "<html><body><div class='ocr_page' id='page_1' title='bbox 0 0 100 100'>"
+                + "<table><tr><td><span class='ocr_line' id='line_1_1' title='bbox 10 10 90 20'>"
+                + "<span class='ocrx_word' id='word_1_1' title='bbox 10 10 40 20; x_wconf 90'>A&copy;</span> "
+                + "<span class='ocrx_word' id='word_1_2' title='bbox 50 10 90 20; x_wconf 90'>B</span>"
+                + "</span></td></tr></table></div></body></html>";
+        Assertions.assertThrows(HocrStreamReader.UnsupportedHocrException.class,
+                () -> HocrStreamReader.readPages(hocr));
+
+        Map<Integer, List<TextInfo>> result = TesseractHelper.parseHocr(Collections.singletonList(hocr), null,
+                new Tesseract4OcrEngineProperties().setTextPositioning(TextPositioning.BY_WORDS));
+        Assertions.assertEquals(2, result.get(1).size());
+        Assertions.assertEquals("A©", result.get(1).get(0).getText());
+        Assertions.assertEquals("B", result.get(1).get(1).getText());
+        assertSameResults(hocr, null, TextPositioning.BY_WORDS, 0);
+    }
+
+    @Test
+    public void textInsideLineTest() throws HocrStreamReader.UnsupportedHocrException {
+        String hocr = "<div class='ocr_page' id='page_2' title='bbox 0 0 100 100'>"
+                + "<span class='ocr_line' id='line_1' title='bbox 10 10 90 20; textangle 90'>\n "
+                + "<span class='ocrx_word' id='w_1' title='bbox 10 10 40 20'><strong>A</strong>&amp;<br/>b</span>"
+                + "<!-- comment -->  <span class='ocrx_word' id='w_2' title='bbox 50 10 90 20'> x &lt; y </span>\n"
+                + "</span></div>";
+        IHocrElement page = HocrStreamReader.readPages(hocr).get(0);
+        Assertions.assertEquals("page_2", page.getId());
+        IHocrElement line = page.getElementsByClass("ocr_line").get(0);
+        Assertions.assertEquals("A& b x < y", line.getText());
+        List<IHocrElement> words = line.getElementsByClass("ocrx_word");
+        Assertions.assertEquals(2, words.size());
+        Assertions.assertEquals("A& b", words.get(0).getText());
+        Assertions.assertEquals("x < y", words.get(1).getText());
+        Assertions.assertEquals("w_2", words.get(0).getNextElementSibling().getId());
+        Assertions.assertEquals("w_1", words.get(1).getPreviousElementSibling().getId());
+        Assertions.assertEquals("bbox 10 10 90 20; textangle 90", words.get(0).getParent().getTitle());
+        Assertions.assertEquals(2, words.get(0).getChildElements().size());
+
+        assertSameResults(hocr, null, TextPositioning.BY_WORDS_AND_LINES, 0);
+        assertSameResults(hocr, null, TextPositioning.BY_LINES, 0);
+    }
+
+    @Test
+    public void parseTitleTest() {
+        Assertions.assertArrayEquals(new float[] {1, 2, 3, 4},
+                TesseractHelper.parseBBoxCoordinates("bbox 1 2 3 4; x_wconf 95"));
+        Assertions.assertArrayEquals(new float[] {5, 6, 7, 8},
+                TesseractHelper.parseBBoxCoordinates("image \"\"; bbox 1 2 3 4; ppageno 5 6 7 8"));
+        Assertions.assertArrayEquals(new float[] {1, 2, 3, 4},
+                TesseractHelper.parseBBoxCoordinates("bbox\n1 2 3 4"));
+        Assertions.assertNull(TesseractHelper.parseBBoxCoordinates("bbox ; x_wconf 93"));
+        Assertions.assertNull(TesseractHelper.parseBBoxCoordinates("bbox 1 2 3"));
+        Assertions.assertNull(TesseractHelper.parseBBoxCoordinates("x_bbox1 1 2 3 4"));
+
+        Assertions.assertEquals(95, TesseractHelper.parseWordConfidence("bbox 1 2 3 4; x_wconf 95"));
+        Assertions.assertEquals(7, TesseractHelper.parseWordConfidence("x_wconf 3; x_wconf  7"));
+        Assertions.assertEquals(-1, TesseractHelper.parseWordConfidence("bbox 1 2 3 4; x_wconf"));
+
+        Assertions.assertEquals("90", TesseractHelper.parseTextAngle("bbox 1 2 3 4; textangle 90; x_size 5"));
+        Assertions.assertEquals("270", TesseractHelper.parseTextAngle("textangle 270"));
+        Assertions.assertNull(TesseractHelper.parseTextAngle("bbox 1 2 3 4; textangle 90 x"));
+        Assertions.assertNull(TesseractHelper.parseTextAngle("bbox 1 2 3 4"));
+    }
+
+    private static void assertSameResults(String hocr, String txt, TextPositioning textPositioning,
+            int minimalConfidenceLevel) {
+        Tesseract4OcrEngineProperties properties = new Tesseract4OcrEngineProperties()
+                .setTextPositioning(textPositioning)
+                .setMinimalConfidenceLevel(minimalConfidenceLevel);
+        List<String> txtResults = txt == null ? null : Collections.singletonList(txt);
+        Map<Integer, List<TextInfo>> expected = TesseractHelper.parseHocr(Collections.singletonList(hocr),
+                txtResults, properties, false);
+        Map<Integer, List<TextInfo>> actual = TesseractHelper.parseHocr(Collections.singletonList(hocr),
+                txtResults, properties, true);
+
+        Assertions.assertEquals(expected.keySet(), actual.keySet());
+        for (Map.Entry<Integer, List<TextInfo>> page : expected.entrySet()) {
+            List<TextInfo> expectedTextInfos = page.getValue();
+            List<TextInfo> actualTextInfos = actual.get(page.getKey());
+            Assertions.assertEquals(expectedTextInfos.size(), actualTextInfos.size());
+            for (int i = 0; i < expectedTextInfos.size(); i++) {
+                TextInfo expectedTextInfo = expectedTextInfos.get(i);
+                TextInfo actualTextInfo = actualTextInfos.get(i);
+                Assertions.assertEquals(expectedTextInfo.getText(), actualTextInfo.getText());
+                Assertions.assertEquals(expectedTextInfo.getOrientation(), actualTextInfo.getOrientation());
+                Assertions.assertEquals(toList(expectedTextInfo.getBboxRect()), toList(actualTextInfo.getBboxRect()));
+            }
+        }
+    }
+
+    private static List<Float> toList(Rectangle rectangle) {
+        return Arrays.asList(rectangle.getLeft(), rectangle.getBottom(), rectangle.getRight(), rectangle.getTop());
+    }
+
+    private static String getWord(int line, int word) {
+        return (line * NEWSPAPER_WORDS_PER_LINE + word) % 7 == 0 ? "&" : "word" + line + "_" + word;
+    }
+
+    /**
+     * Creates hOCR page which looks like tesseract output for a dense newspaper page:
+     * columns of paragraphs, some rotated lines and captions.
+     *
+     * @param lines count of lines on the page, each line has 12 words
+     * @param columns count of columns, which the lines are split into
+     * @return hOCR of the page
+     */
+    static String createNewspaperHocr(int lines, int columns) {
+        int linesPerColumn = lines / columns;
+        StringBuilder hocr = new StringBuilder();
+        hocr.append("<!DOCTYPE html PUBLIC \"-//W3C//DTD XHTML 1.0 Transitional//EN\"\n")
+                .append("    \"http://www.w3.org/TR/xhtml1/DTD/xhtml1-transitional.dtd\">\n")
+                .append("<html xmlns=\"http://www.w3.org/1999/xhtml\" xml:lang=\"en\" lang=\"en\">\n <head>\n")
+                .append("  <title></title>\n")
+                .append("  <meta http-equiv=\"Content-Type\" content=\"text/html;charset=utf-8\"/>\n")
+                .append("  <meta name='ocr-system' content='tesseract 4.1.1' />\n")
+                .append(" </head>\n <body>\n")
+                .append("  <div class='ocr_page' id='page_1' title='image \"newspaper.png\"; bbox 0 0 ")
+                .append(150 + columns * 2450).append(' ').append(200 + linesPerColumn * 65).append(";")
+                .append(" ppageno 0'>\n");
+        for (int line = 0; line < lines; line++) {
+            int column = Math.min(line / linesPerColumn, columns - 1);
+            int left = 100 + column * 2450;
+            int top = 100 + (line % linesPerColumn) * 65;
+            if (line % 10 == 0) {
+                hocr.append("   <div class='ocr_carea' id='block_1_").append(line).append("' title=\"bbox ")
+                        .append(left).append(' ').append(top).append(' ').append(left + 2400).append(' ')
+                        .append(top + 650).append("\">\n")
+                        .append("    <p class='ocr_par' id='par_1_").append(line).append("' lang='eng' title=\"bbox ")
+                        .append(left).append(' ').append(top).append(' ').append(left + 2400).append(' ')
+                        .append(top + 650).append("\">\n");
+            }
+            String lineClass = line % 25 == 24 ? "ocr_caption" : "ocr_line";
+            hocr.append("     <span class='").append(lineClass).append("' id='line_1_").append(line)
+                    .append("' title=\"bbox ").append(left).append(' ').append(top).append(' ')
+                    .append(left + 2400).append(' ').append(top + 50).append("; baseline 0.001 -12;")
+                    .append(line % 40 == 39 ? " textangle 90;" : "")
+                    .append(" x_size 50; x_descenders 12; x_ascenders 13\">\n");
+            for (int word = 0; word < NEWSPAPER_WORDS_PER_LINE; word++) {
+                int wordLeft = left + word * 200;
+                hocr.append("      <span class='ocrx_word' id='word_1_").append(line * NEWSPAPER_WORDS_PER_LINE + word)
+                        .append("' title='bbox ").append(wordLeft).append(' ').append(top + 2).append(' ')
+                        .append(wordLeft + 180).append(' ').append(top + 48).append("; x_wconf ")
+                        .append((line * 31 + word * 17) % 100).append("'>");
+                String text = getWord(line, word);
+                if ("&".equals(text)) {
+                    hocr.append("&amp;");
+                } else if (word % 5 == 4) {
+                    hocr.append("<strong>").append(text).append("</strong>");
+                } else {
+                    hocr.append(text);
+                }
+                hocr.append("</span>\n");
+            }
+            hocr.append("     </span>\n");
+            if (line % 10 == 9) {
+                hocr.append("    </p>\n   </div>\n");
+            }
+        }
+        hocr.append("  </div>\n </body>\n</html>\n");
+        return hocr.toString();
+    }
+}
@@ -32,9 +32,19 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 public abstract class TesseractHelperTest extends IntegrationTestHelper {
 
@@ -84,6 +94,60 @@ public abstract class TesseractHelperTest extends IntegrationTestHelper {
         Assertions.assertEquals(expected, result.trim());
     }
 
+    @Test
+    public void testTesseract4OcrResultsWithHocrFormat()
+            throws IOException, InterruptedException {
+        String path = TEST_IMAGES_DIRECTORY + "numbers_01.jpg";
+        String expected = "619121";
+        File imgFile = new File(path);
+
+        List<String> results = tesseractReader.getTesseractOcrResults(imgFile,
+                OutputFormat.HOCR, 1, 1, true, null);
+        Assertions.assertEquals(1, results.size());
+        Map<Integer, List<TextInfo>> pageData = TesseractHelper
+                .parseHocr(results, null,
+                        tesseractReader
+                                .getTesseract4OcrEngineProperties()
+                );
+
+        String result = getTextFromPage(pageData.get(1));
+        Assertions.assertEquals(expected, result.trim());
+
+        if (!isExecutableReaderType) {
+            // lib engine passes the results in memory, so no intermediate files are written
+            // watching for created files, as temporary files are deleted right after use
+            try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+                Paths.get(System.getProperty("java.io.tmpdir"))
+                        .register(watchService, StandardWatchEventKinds.ENTRY_CREATE);
+                Map<Integer, List<TextInfo>> imageOcrData = tesseractReader.doImageOcr(imgFile);
+                Assertions.assertEquals(expected, getTextFromPage(imageOcrData.get(1)).trim());
+                Assertions.assertEquals(Collections.<String>emptySet(), getCreatedHocrAndTxtFiles(watchService));
+            }
+        }
+    }
+
+    @Test
+    public void testTesseract4OcrResultsWithHocrAndTxtFormats()
+            throws IOException {
+        String path = TEST_IMAGES_DIRECTORY + "numbers_01.jpg";
+        String expected = "619121";
+        File imgFile = new File(path);
+
+        Map<OutputFormat, List<String>> results = tesseractReader.getTesseractOcrResults(imgFile,
+                Arrays.<OutputFormat>asList(OutputFormat.HOCR, OutputFormat.TXT), 1, 1, true, null);
+        Assertions.assertEquals(1, results.get(OutputFormat.HOCR).size());
+        Assertions.assertEquals(1, results.get(OutputFormat.TXT).size());
+        Assertions.assertEquals(expected, results.get(OutputFormat.TXT).get(0).trim());
+        Map<Integer, List<TextInfo>> pageData = TesseractHelper
+                .parseHocr(results.get(OutputFormat.HOCR), results.get(OutputFormat.TXT),
+                        tesseractReader
+                                .getTesseract4OcrEngineProperties()
+                );
+
+        String result = getTextFromPage(pageData.get(1));
+        Assertions.assertEquals(expected, result.trim());
+    }
+
     /**
      * Concatenates provided text items to one string.
      */
@@ -96,4 +160,18 @@ public abstract class TesseractHelperTest extends IntegrationTestHelper {
         return stringBuilder.toString().trim();
     }
 
+    private static Set<String> getCreatedHocrAndTxtFiles(WatchService watchService) throws InterruptedException {
+        Set<String> result = new HashSet<>();
+        WatchKey key;
+        while ((key = watchService.poll(1, TimeUnit.SECONDS)) != null) {
+            for (WatchEvent<?> event : key.pollEvents()) {
+                String name = String.valueOf(event.context());
+                if (name.endsWith(".hocr") || name.endsWith(".txt")) {
+                    result.add(name);
+                }
+            }
+            key.reset();
+        }
+        return result;
+    }
 }
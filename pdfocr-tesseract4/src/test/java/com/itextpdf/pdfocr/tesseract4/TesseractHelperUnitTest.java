@@ -0,0 +1,135 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.pdfocr.tesseract4;
+
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.pdfocr.TextInfo;
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("UnitTest")
+public class TesseractHelperUnitTest extends ExtendedITextTest {
+    @Test
+    public void wordsMergedByTxtLinesTest() {
+        String hocr = "<div class='ocr_page' id='page_1' title='bbox 0 0 100 100'>"
+                + "<span class='ocr_line' id='line_1' title='bbox 10 10 90 20'>"
+                + "<span class='ocrx_word' id='w_1' title='bbox 10 10 20 20'>x</span> "
+                + "<span class='ocrx_word' id='w_2' title='bbox 20 10 30 20'>y</span> "
+                + "<span class='ocrx_word' id='w_3' title='bbox 40 10 50 20'>z</span></span>"
+                + "<span class='ocr_line' id='line_2' title='bbox 10 30 90 40'>"
+                + "<span class='ocrx_word' id='w_4' title='bbox 10 30 20 40'>u</span> "
+                + "<span class='ocrx_word' id='w_5' title='bbox 20 30 30 40'>v</span></span></div>";
+        String txt = "first line\nx y  z\nxy z\n\n";
+        Map<Integer, List<TextInfo>> result = TesseractHelper.parseHocr(Collections.singletonList(hocr),
+                Collections.singletonList(txt),
+                new Tesseract4OcrEngineProperties().setTextPositioning(TextPositioning.BY_WORDS));
+
+        List<TextInfo> textInfos = result.get(1);
+        Assertions.assertEquals(5, textInfos.size());
+        // first suitable txt line is used
+        Assertions.assertEquals("x", textInfos.get(0).getText());
+        Assertions.assertEquals("y", textInfos.get(1).getText());
+        Assertions.assertEquals("z", textInfos.get(2).getText());
+        // line which isn't found in txt is split into words as is
+        Assertions.assertEquals("u", textInfos.get(3).getText());
+        Assertions.assertEquals("v", textInfos.get(4).getText());
+
+        txt = "xy z";
+        result = TesseractHelper.parseHocr(Collections.singletonList(hocr), Collections.singletonList(txt),
+                new Tesseract4OcrEngineProperties().setTextPositioning(TextPositioning.BY_WORDS));
+        textInfos = result.get(1);
+        Assertions.assertEquals(4, textInfos.size());
+        Assertions.assertEquals("xy", textInfos.get(0).getText());
+        Assertions.assertEquals(Arrays.asList(7.5f, 60f, 22.5f, 67.5f), toList(textInfos.get(0).getBboxRect()));
+        Assertions.assertEquals("z", textInfos.get(1).getText());
+        Assertions.assertEquals("u", textInfos.get(2).getText());
+        Assertions.assertEquals("v", textInfos.get(3).getText());
+    }
+
+    @Test
+    public void txtItemsRunOutMidLineTest() {
+        // last word has no text, so txt items run out before the words of the line
+        String hocr = "<div class='ocr_page' id='page_1' title='bbox 0 0 100 100'>"
+                + "<span class='ocr_line' id='line_1' title='bbox 10 10 90 20'>"
+                + "<span class='ocrx_word' id='w_1' title='bbox 10 10 20 20'>x</span> "
+                + "<span class='ocrx_word' id='w_2' title='bbox 30 10 40 20'>y</span> "
+                + "<span class='ocrx_word' id='w_3' title='bbox 50 10 60 20'> </span></span></div>";
+        Map<Integer, List<TextInfo>> result = TesseractHelper.parseHocr(Collections.singletonList(hocr),
+                Collections.singletonList("x y\n"),
+                new Tesseract4OcrEngineProperties().setTextPositioning(TextPositioning.BY_WORDS));
+
+        List<TextInfo> textInfos = result.get(1);
+        Assertions.assertEquals(2, textInfos.size());
+        Assertions.assertEquals("x", textInfos.get(0).getText());
+        Assertions.assertEquals("y", textInfos.get(1).getText());
+    }
+
+    @Test
+    public void splitBatchResultsTest() {
+        String hocr = "<html><body>\n"
+                + "<div class='ocr_page' id='page_1' title='image \"a.png\"; bbox 0 0 100 100; ppageno 0'>"
+                + "<span class='ocr_line' id='line_1_1' title='bbox 10 10 90 20'>"
+                + "<span class='ocrx_word' id='word_1_1' title='bbox 10 10 90 20'>a</span></span></div>\n"
+                + "<div class='ocr_page' id='page_2' title='image \"b.tif\"; bbox 0 0 50 50; ppageno 0'>"
+                + "<span class='ocr_line' id='line_2_1' title='bbox 5 5 45 15'>"
+                + "<span class='ocrx_word' id='word_2_1' title='bbox 5 5 45 15'>b1</span></span></div>\n"
+                + "<div class='ocr_page' id='page_3' title='image \"b.tif\"; bbox 0 0 50 50; ppageno 1'>"
+                + "<span class='ocr_line' id='line_3_1' title='bbox 5 5 45 15'>"
+                + "<span class='ocrx_word' id='word_3_1' title='bbox 5 5 45 15'>b2</span></span></div>\n"
+                + "</body></html>";
+        List<List<String>> imagePages = TesseractHelper.splitHocrByImages(hocr,
+                Arrays.asList("a.png", "b.tif", "c.jpg"));
+        Assertions.assertNotNull(imagePages);
+        Assertions.assertEquals(Arrays.asList(1, 2, 0), Arrays.asList(imagePages.get(0).size(),
+                imagePages.get(1).size(), imagePages.get(2).size()));
+        Assertions.assertNull(TesseractHelper.splitHocrByImages(hocr, Arrays.asList("b.tif", "a.png")));
+        Assertions.assertNull(TesseractHelper.splitHocrByImages(hocr, Collections.singletonList("a.png")));
+
+        String imageHocr = TesseractHelper.buildHocrDocument(imagePages.get(1));
+        Map<Integer, List<TextInfo>> result = TesseractHelper.parseHocr(Collections.singletonList(imageHocr),
+                null, new Tesseract4OcrEngineProperties().setTextPositioning(TextPositioning.BY_WORDS));
+        Assertions.assertEquals(2, result.size());
+        Assertions.assertEquals("b1", result.get(1).get(0).getText());
+        Assertions.assertEquals("b2", result.get(2).get(0).getText());
+
+        Assertions.assertEquals(Arrays.asList("a\n", "b1\n", ""),
+                TesseractHelper.splitTxtByPages("a\n\fb1\n\f\f", 3));
+        Assertions.assertEquals(Arrays.asList("a\n", "b1\n"), TesseractHelper.splitTxtByPages("a\n\fb1\n", 2));
+        Assertions.assertNull(TesseractHelper.splitTxtByPages("a\n\fb1\n\f", 3));
+
+        Assertions.assertEquals("a.png", TesseractHelper.parseImageName("image \"a.png\"; bbox 0 0 1 1"));
+        Assertions.assertNull(TesseractHelper.parseImageName("bbox 0 0 1 1"));
+        Assertions.assertNull(TesseractHelper.parseImageName("image \"a.png; bbox 0 0 1 1"));
+    }
+
+    private static List<Float> toList(Rectangle rectangle) {
+        return Arrays.asList(rectangle.getLeft(), rectangle.getBottom(), rectangle.getRight(), rectangle.getTop());
+    }
+}
@@ -0,0 +1,75 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.pdfocr.tesseract4;
+
+import com.itextpdf.test.ExtendedITextTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("UnitTest")
+public class TesseractInitializationStateTest extends ExtendedITextTest {
+    @Test
+    public void initializationIsRequiredOnlyAfterChangesTest() {
+        TesseractInitializationState state = new TesseractInitializationState();
+        Assertions.assertTrue(state.isInitializationRequired());
+
+        state.setParameter("datapath", "tessdata");
+        state.setParameter("language", "eng+deu+fra");
+        state.markInitialized();
+        Assertions.assertTrue(state.isInitialized());
+        Assertions.assertFalse(state.isInitializationRequired());
+
+        // same values are applied before each recognition
+        state.setParameter("datapath", "tessdata");
+        state.setParameter("language", "eng+deu+fra");
+        state.setVariable("tessedit_create_hocr", "1");
+        Assertions.assertFalse(state.isInitializationRequired());
+
+        state.setParameter("language", "eng");
+        Assertions.assertTrue(state.isInitializationRequired());
+        state.markInitialized();
+        Assertions.assertFalse(state.isInitializationRequired());
+    }
+
+    @Test
+    public void initOnlyVariablesRequireInitializationTest() {
+        TesseractInitializationState state = new TesseractInitializationState();
+        state.markInitialized();
+
+        state.setVariable("user_defined_dpi", "300");
+        Assertions.assertFalse(state.isInitializationRequired());
+
+        state.setVariable("user_words_file", "words.txt");
+        Assertions.assertTrue(state.isInitializationRequired());
+    }
+
+    @Test
+    public void releasedStateRequiresInitializationTest() {
+        TesseractInitializationState state = new TesseractInitializationState();
+        state.markInitialized();
+        state.markReleased();
+        Assertions.assertFalse(state.isInitialized());
+        Assertions.assertTrue(state.isInitializationRequired());
+    }
+}
@@ -27,15 +27,19 @@ import com.itextpdf.io.image.ImageDataFactory;
 import com.itextpdf.pdfocr.IntegrationTestHelper;
 import com.itextpdf.pdfocr.logs.PdfOcrLogMessageConstant;
 import com.itextpdf.pdfocr.tesseract4.logs.Tesseract4LogMessageConstant;
+import com.itextpdf.pdfocr.util.TiffImageUtil;
 import com.itextpdf.test.annotations.LogMessage;
 import com.itextpdf.test.annotations.LogMessages;
 
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.List;
 import javax.imageio.ImageIO;
 import net.sourceforge.lept4j.Pix;
 import net.sourceforge.tess4j.TesseractException;
@@ -65,6 +69,59 @@ public class TesseractOcrUtilTest extends IntegrationTestHelper {
         Assertions.assertTrue(result.contains(expected));
     }
 
+    @Test
+    public void testTesseract4OcrForPixAndBufferedImage()
+            throws TesseractException, IOException {
+        String path = TEST_IMAGES_DIRECTORY + "numbers_01.jpg";
+        Pix pix = TesseractOcrUtil.readPix(new File(path));
+        Tesseract4LibOcrEngine tesseract4LibOcrEngine = getTesseract4LibOcrEngine();
+        tesseract4LibOcrEngine.setTesseract4OcrEngineProperties(
+                new Tesseract4OcrEngineProperties()
+                        .setPathToTessData(getTessDataDirectory()));
+        tesseract4LibOcrEngine.initializeTesseract(OutputFormat.HOCR);
+
+        TesseractOcrUtil util = new TesseractOcrUtil();
+        String pixResult = util.getOcrResultAsString(
+                tesseract4LibOcrEngine.getTesseractInstance(),
+                pix, OutputFormat.HOCR);
+        String imageResult = util.getOcrResultAsString(
+                tesseract4LibOcrEngine.getTesseractInstance(),
+                TesseractOcrUtil.convertPixToImage(pix), OutputFormat.HOCR);
+        TesseractOcrUtil.destroyPix(pix);
+        Assertions.assertEquals(imageResult, pixResult);
+    }
+
+    @Test
+    public void testImageAndPixRawCopy() throws IOException {
+        int[] types = new int[] {BufferedImage.TYPE_BYTE_GRAY, BufferedImage.TYPE_INT_RGB,
+                BufferedImage.TYPE_3BYTE_BGR, BufferedImage.TYPE_INT_ARGB};
+        for (int type : types) {
+            BufferedImage image = new BufferedImage(13, 7, type);
+            for (int y = 0; y < image.getHeight(); ++y) {
+                for (int x = 0; x < image.getWidth(); ++x) {
+                    image.setRGB(x, y, 0x80000000 | (x * 17 + y * 5) << 16 | x * 3 << 8 | y * 31);
+                }
+            }
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            ImageIO.write(image, "png", baos);
+            Pix pngPix = TesseractOcrUtil.readPix(baos.toByteArray());
+            Pix copiedPix = TesseractOcrUtil.readPix(image);
+            Assertions.assertEquals(pngPix.d, copiedPix.d);
+            Assertions.assertEquals(pngPix.spp, copiedPix.spp);
+
+            BufferedImage copiedImage = TesseractOcrUtil.convertPixToImage(copiedPix);
+            BufferedImage pngImage = ImageIO.read(new ByteArrayInputStream(baos.toByteArray()));
+            TesseractOcrUtil.destroyPix(pngPix);
+            TesseractOcrUtil.destroyPix(copiedPix);
+            Assertions.assertEquals(pngImage.getType(), copiedImage.getType());
+            for (int y = 0; y < image.getHeight(); ++y) {
+                for (int x = 0; x < image.getWidth(); ++x) {
+                    Assertions.assertEquals(pngImage.getRGB(x, y), copiedImage.getRGB(x, y));
+                }
+            }
+        }
+    }
+
     @Test
     public void testGetOcrResultAsStringForFile()
             throws TesseractException {
@@ -107,6 +164,35 @@ public class TesseractOcrUtilTest extends IntegrationTestHelper {
         Assertions.assertNull(page);
     }
 
+    @Test
+    public void testReadingTiffPagesSeparately() {
+        File imgFile = new File(TEST_IMAGES_DIRECTORY + "multipage.tiff");
+        List<BufferedImage> allPages = TiffImageUtil.getAllImages(imgFile);
+        TiffPageReader tiffPageReader = new TiffPageReader(imgFile);
+        Assertions.assertEquals(allPages.size(), tiffPageReader.getNumberOfPages());
+        Assertions.assertTrue(allPages.size() > 1);
+        for (int page = allPages.size() - 1; page >= 0; --page) {
+            BufferedImage expected = allPages.get(page);
+            BufferedImage actual = tiffPageReader.readPage(page);
+            Assertions.assertEquals(expected.getWidth(), actual.getWidth());
+            Assertions.assertEquals(expected.getHeight(), actual.getHeight());
+            for (int y = 0; y < expected.getHeight(); ++y) {
+                for (int x = 0; x < expected.getWidth(); ++x) {
+                    Assertions.assertEquals(expected.getRGB(x, y), actual.getRGB(x, y));
+                }
+            }
+        }
+    }
+
+    @LogMessages(messages = {
+            @LogMessage(messageTemplate = Tesseract4LogMessageConstant.PAGE_NUMBER_IS_INCORRECT)
+    })
+    @Test
+    public void testReadingNegativePageFromTiff() {
+        File imgFile = new File(TEST_IMAGES_DIRECTORY + "multipage.tiff");
+        Assertions.assertNull(new TiffPageReader(imgFile).readPage(-1));
+    }
+
     @Test
     public void testPreprocessingConditions() throws IOException {
         Pix pix = null;